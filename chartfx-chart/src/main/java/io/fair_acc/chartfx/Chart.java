@@ -43,6 +43,7 @@ import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.chartfx.utils.PropUtil;
 import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.events.EventSource;
@@ -99,6 +100,8 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     // Inner canvas for the drawn content
     protected final ResizableCanvas canvas = StyleUtil.addStyles(new ResizableCanvas(), "chart-canvas");
+    // Optional cached per-renderer canvas layers stacked on top of the main canvas (see XYChart#layeredRenderingProperty)
+    protected final Pane canvasLayers = StyleUtil.addStyles(new FullSizePane(), "chart-canvas-layers");
     protected final Pane canvasForeground = StyleUtil.addStyles(new FullSizePane(), "chart-canvas-foreground");
     protected final Group pluginsArea = FXUtils.createUnmanagedGroup();
 
@@ -206,7 +209,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         }
 
         // Register the layout hooks where chart elements get drawn
-        FXUtils.registerLayoutHooks(this, this::runPreLayout, this::runPostLayout);
+        FXUtils.registerLayoutHooks(this, this::runPreLayout, this::runPrepareRender, this::runPostLayout);
 
         // Setup listeners
         showing.bind(FXUtils.getShowingBinding(this));
@@ -232,6 +235,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         // hiddenPane.setMouseTransparent(true);
         plotArea.setPickOnBounds(false);
 
+        canvasLayers.setMouseTransparent(true);
         getCanvasForeground().setManaged(false);
         getCanvasForeground().setMouseTransparent(true);
         getCanvas().toFront();
@@ -264,9 +268,10 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         //           > hidden elements for zoom etc.
         //           > plot area
         //             > canvas (main)
+        //             > canvas layers (optional)
         //             > canvas foreground
         //             > plugins
-        var canvasArea = StyleUtil.addStyles(new FullSizePane(canvas, canvasForeground, pluginsArea), "chart-canvas-area");
+        var canvasArea = StyleUtil.addStyles(new FullSizePane(canvas, canvasLayers, canvasForeground, pluginsArea), "chart-canvas-area");
         plotArea.setContent(canvasArea);
         axesAndCanvasPane.addCenter(plotBackground, plotArea, plotForeGround);
         titleLegendPane.addCenter(axesAndCanvasPane);
@@ -557,6 +562,30 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         benchLayoutChildren.stop();
     }
 
+    /**
+     * Gets called after the layout pass of all charts in the scene and before any of them draws, so that renderers can
+     * prepare the drawing concurrently (see {@link Renderer#prepareRender()}). Renderers that are not going to be
+     * re-drawn in this pulse (see {@link #isRedrawPending(Renderer)}) are skipped.
+     */
+    protected void runPrepareRender() {
+        if (state.isClean() && !hasLocked) {
+            return;
+        }
+        for (Renderer renderer : renderers) {
+            if (isRedrawPending(renderer)) {
+                renderer.prepareRender();
+            }
+        }
+    }
+
+    /**
+     * @param renderer the renderer to be checked
+     * @return true if the renderer is going to be re-drawn by the next {@link #redrawCanvas()} (default: always)
+     */
+    protected boolean isRedrawPending(final Renderer renderer) {
+        return true;
+    }
+
     protected void runPostLayout() {
         benchCssAndLayout.stop();
 
@@ -597,7 +626,19 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     protected void ensureLockedDataSets() {
         if (!hasLocked) {
-            forEachDataSet(ds -> lockedDataSets.add(ds.lock().readLock()));
+            forEachDataSet(ds -> {
+                if (ds instanceof SnapshotDataSet snapshotDataSet && snapshotDataSet.isSnapshotMode()) {
+                    // renders an immutable snapshot rather than blocking writers for the whole frame
+                    snapshotDataSets.add(snapshotDataSet);
+                } else {
+                    lockedDataSets.add(ds.lock().readLock());
+                }
+            });
+            for (Renderer renderer : renderers) {
+                for (DataSetNode datasetNode : renderer.getDatasetNodes()) {
+                    datasetNode.acquireRenderedDataSet();
+                }
+            }
             hasLocked = true;
         }
     }
@@ -624,8 +665,25 @@ public abstract class Chart extends Region implements EventSource, Measurable {
             ds.getBitState().clear(); // technically a 'write'
             ds.lock().readUnLock();
         }
-        hasLocked = false;
         lockedDataSets.clear();
+
+        for (Renderer renderer : renderers) {
+            for (DataSetNode datasetNode : renderer.getDatasetNodes()) {
+                datasetNode.releaseRenderedDataSet();
+            }
+        }
+        for (var ds : snapshotDataSets) {
+            for (AxisDescription axisDescription : ds.getAxisDescriptions()) {
+                axisDescription.getBitState().clear();
+            }
+            ds.getBitState().clear();
+            if (ds.isSnapshotOutdated()) {
+                // modified by a writer during this frame -> make sure the changes get picked up by the next one
+                ds.fireInvalidated(ChartBits.DataSetData);
+            }
+        }
+        snapshotDataSets.clear();
+        hasLocked = false;
     }
 
     protected void forEachDataSet(Consumer<DataSet> action) {
@@ -637,6 +695,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
     }
 
     private final List<DataSet> lockedDataSets = new ArrayList<>();
+    private final List<SnapshotDataSet> snapshotDataSets = new ArrayList<>();
     private boolean hasLocked = false;
 
     public final ObjectProperty<Legend> legendProperty() {
@@ -1,5 +1,8 @@
 package io.fair_acc.chartfx;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -8,7 +11,14 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
+import javafx.scene.CacheHint;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
 
 import io.fair_acc.bench.DurationMeasure;
 import io.fair_acc.bench.MeasurementRecorder;
@@ -17,15 +27,19 @@ import io.fair_acc.chartfx.axes.spi.AxisRange;
 import io.fair_acc.chartfx.plugins.ChartPlugin;
 import io.fair_acc.chartfx.renderer.PolarTickStep;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.spi.AbstractRendererXY;
 import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
 import io.fair_acc.chartfx.renderer.spi.GridRenderer;
 import io.fair_acc.chartfx.renderer.spi.LabelledMarkerRenderer;
+import io.fair_acc.chartfx.ui.ResizableCanvas;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.chartfx.utils.PropUtil;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.EventSource;
 import io.fair_acc.dataset.utils.AssertUtils;
 
 /**
@@ -41,9 +55,21 @@ import io.fair_acc.dataset.utils.AssertUtils;
  */
 public class XYChart extends Chart {
     protected static final int BURST_LIMIT_MS = 15;
+    // chart state bits that only require re-drawing the layers of the affected data sets
+    private static final int DATA_LAYER_BITS = BitState.mask(ChartBits.DataSetData, ChartBits.DataSetRange, ChartBits.DataSetName,
+            ChartBits.DataSetStyle, ChartBits.DataSetMetaData, ChartBits.DataSetPermutation, ChartBits.DataSetMeasurement,
+            ChartBits.DataViewWindow, ChartBits.ChartLegend, ChartBits.ChartPlugins, ChartBits.ChartPluginState);
+    // data set bits that are compatible with scrolling the already rendered pixels, i.e. appended data
+    private static final int SCROLL_BITS = BitState.mask(ChartBits.DataSetData, ChartBits.DataSetRange);
+    // additional display range [pixel] that is included when rendering the exposed strip (line/marker continuity)
+    private static final double SCROLL_PADDING = 16.0;
     protected final BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer(this);
+    private final BooleanProperty layeredRendering = new SimpleBooleanProperty(this, "layeredRendering", false);
+    private final BooleanProperty scrollBlitting = new SimpleBooleanProperty(this, "scrollBlitting", false);
+    private final Map<Renderer, CanvasLayer> layers = new IdentityHashMap<>();
+    private boolean layersChanged = true;
 
     /**
      * Construct a new XYChart with the given axes.
@@ -89,6 +115,11 @@ public class XYChart extends Chart {
                 gridRenderer.drawOnTopProperty());
 
         getRenderers().addListener(this::rendererChanged);
+        getRenderers().addListener((ListChangeListener<Renderer>) change -> layersChanged = true);
+        PropUtil.runOnChange(() -> {
+            layersChanged = true;
+            fireInvalidated(ChartBits.ChartCanvas);
+        }, layeredRendering, scrollBlitting, gridRenderer.drawOnTopProperty());
 
         // TODO: get rid of default instance. It's created if anyone wants to use getDatasets()
         getRenderers().add(new ErrorDataSetRenderer());
@@ -140,6 +171,16 @@ public class XYChart extends Chart {
         return gridRenderer;
     }
 
+    /**
+     * @param renderer the renderer that is about to draw
+     * @return the canvas the renderer should draw into, i.e. its own layer if {@link #layeredRenderingProperty()} is
+     *         enabled or the main canvas otherwise
+     */
+    public Canvas getRendererCanvas(final Renderer renderer) {
+        final CanvasLayer layer = layers.get(renderer);
+        return layer == null ? canvas : layer.canvas;
+    }
+
     public PolarTickStep getPolarStepSize() {
         return polarStepSizeProperty().get();
     }
@@ -162,6 +203,20 @@ public class XYChart extends Chart {
         return getFirstAxis(Orientation.VERTICAL);
     }
 
+    /**
+     * @return true if the grid and each renderer draw into their own cached canvas layer
+     */
+    public final boolean isLayeredRendering() {
+        return layeredRenderingProperty().get();
+    }
+
+    /**
+     * @return true if the already rendered data are shifted rather than re-drawn when the x-axis only scrolls
+     */
+    public final boolean isScrollBlitting() {
+        return scrollBlittingProperty().get();
+    }
+
     /**
      * whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -180,6 +235,42 @@ public class XYChart extends Chart {
         return polarPlot;
     }
 
+    /**
+     * Layered rendering: the grid and each renderer draw into their own cached canvas layer that is composited by the
+     * scene graph. A layer is only cleared and re-drawn if the datasets of its renderer (or the renderer itself) changed,
+     * or on global changes (e.g. axis ranges, layout or styling), i.e. static traces and the grid are not re-drawn when
+     * only a fast-updating dataset of another renderer changes. N.B. every layer requires a canvas of the chart's size.
+     * Renderers group datasets that should share a layer. Custom renderers need to draw into
+     * {@link #getRendererCanvas(Renderer)}.
+     *
+     * @return layered rendering property (default: false)
+     */
+    public final BooleanProperty layeredRenderingProperty() {
+        return layeredRendering;
+    }
+
+    /**
+     * Strip-chart mode for rolling time-series (e.g. {@code CircularDoubleErrorDataSet} or
+     * {@code FifoDoubleErrorDataSet} with an auto-advancing time axis): if the x-axis only scrolled by a given pixel
+     * delta, while its span, the y-axis range, the chart size and the renderer style remain unchanged, the already
+     * rendered pixels of each renderer layer are shifted (to the nearest pixel) and only the newly exposed strip and
+     * the data appended after the previously last sample are drawn. Any other change (e.g. y-range change or zoom)
+     * results in a full redraw. The drawing cost thus scales with the number of new rather than visible points.
+     * <p>
+     * N.B. the pixels are shifted via {@link Canvas#snapshot(SnapshotParameters, WritableImage)}, i.e. a full GPU
+     * read-back of every scrolled layer per frame (scaled by the output scale on HiDPI screens). This only pays off if
+     * re-drawing the visible points is more expensive, e.g. for dense traces, and should be measured for sparse ones.
+     * <p>
+     * Assumes append-only data sets sorted in x and implies {@link #layeredRenderingProperty() layered rendering}.
+     * Only renderers derived from {@link AbstractRendererXY} are scrolled, others as well as polar plots are fully
+     * re-drawn.
+     *
+     * @return scroll-blitting property (default: false)
+     */
+    public final BooleanProperty scrollBlittingProperty() {
+        return scrollBlitting;
+    }
+
     public ObjectProperty<PolarTickStep> polarStepSizeProperty() {
         return polarStepSize;
     }
@@ -195,6 +286,24 @@ public class XYChart extends Chart {
         return this;
     }
 
+    /**
+     * @param state true: the grid and each renderer draw into their own cached canvas layer
+     * @return itself (fluent design)
+     */
+    public final XYChart setLayeredRendering(final boolean state) {
+        layeredRenderingProperty().set(state);
+        return this;
+    }
+
+    /**
+     * @param state true: the already rendered data are shifted rather than re-drawn when the x-axis only scrolls
+     * @return itself (fluent design)
+     */
+    public final XYChart setScrollBlitting(final boolean state) {
+        scrollBlittingProperty().set(state);
+        return this;
+    }
+
     public void setPolarStepSize(final PolarTickStep step) {
         polarStepSizeProperty().set(step);
     }
@@ -203,8 +312,9 @@ public class XYChart extends Chart {
     public void updateAxisRange() {
         // Update the axis definitions of all datasets. We do it here, so we can make better
         // use of multi-threading. The datasets are already locked, so we can use a parallel
-        // stream without extra synchronization.
-        getRenderers().stream().flatMap(renderer -> renderer.getDatasetNodes().stream()).filter(DataSetNode::isVisible).map(DataSetNode::getDataSet).filter(ds -> ds.getBitState().isDirty(ChartBits.DataSetData, ChartBits.DataSetRange)).distinct().forEach(dataset -> dataset.getAxisDescriptions().parallelStream().filter(axisD -> !axisD.isDefined() || axisD.getBitState().isDirty()).forEach(axisDescription -> dataset.recomputeLimits(axisDescription.getDimIndex())));
+        // stream without extra synchronization. Data sets in snapshot mode are not locked, hence their (immutable)
+        // snapshots are used instead.
+        getRenderers().stream().flatMap(renderer -> renderer.getDatasetNodes().stream()).filter(DataSetNode::isVisible).map(DataSetNode::getRenderedDataSet).filter(ds -> ds.getBitState().isDirty(ChartBits.DataSetData, ChartBits.DataSetRange)).distinct().forEach(dataset -> dataset.getAxisDescriptions().parallelStream().filter(axisD -> !axisD.isDefined() || axisD.getBitState().isDirty()).forEach(axisDescription -> dataset.recomputeLimits(axisDescription.getDimIndex())));
 
         // Update each axis
         for (Axis axis : getAxes()) {
@@ -262,6 +372,14 @@ public class XYChart extends Chart {
         FXUtils.assertJavaFxThread();
 
         final GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (layersChanged) {
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            updateLayers();
+        }
+        if (isLayered()) {
+            redrawLayers();
+            return;
+        }
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
         // Bottom grid
@@ -286,6 +404,103 @@ public class XYChart extends Chart {
         }
     }
 
+    protected void redrawLayers() {
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        final boolean globalChange = state.isDirty(~DATA_LAYER_BITS);
+        // axis changes are checked per layer if the data are scrolled
+        final boolean scrollable = isScrollBlitting() && !isPolarPlot() && !state.isDirty(~(DATA_LAYER_BITS | ChartBits.AxisMask));
+
+        // Bottom grid
+        if (!gridRenderer.isDrawOnTop() && layers.get(gridRenderer).prepare(width, height, globalChange)) {
+            benchDrawGrid.start();
+            gridRenderer.render();
+            benchDrawGrid.stop();
+        }
+
+        // Data
+        benchDrawData.start();
+        for (final Renderer renderer : getRenderers()) {
+            final CanvasLayer layer = layers.get(renderer);
+            final int dirtyBits = getDirtyBits(renderer);
+            if (scrollable && renderer instanceof AbstractRendererXY<?> xyRenderer && (dirtyBits & ~SCROLL_BITS) == 0
+                    && layer.scroll(xyRenderer, width, height, dirtyBits != 0)) {
+                continue;
+            }
+            if (layer.prepare(width, height, globalChange || dirtyBits != 0)) {
+                renderer.render();
+                layer.capture(renderer);
+            }
+        }
+        benchDrawData.stop();
+
+        // Top grid
+        if (gridRenderer.isDrawOnTop() && layers.get(gridRenderer).prepare(width, height, globalChange)) {
+            benchDrawGrid.start();
+            gridRenderer.render();
+            benchDrawGrid.stop();
+        }
+    }
+
+    /**
+     * In layered mode, only renderers whose layer is cleared in {@link #redrawLayers()}, i.e. on global changes or if
+     * their data sets (or the renderer itself) changed, need to prepare their drawing.
+     */
+    @Override
+    protected boolean isRedrawPending(final Renderer renderer) {
+        if (!isLayered() || layersChanged || state.isDirty(~DATA_LAYER_BITS)) {
+            return true;
+        }
+        final CanvasLayer layer = layers.get(renderer);
+        return layer == null || !layer.isValid(canvas.getWidth(), canvas.getHeight()) || getDirtyBits(renderer) != 0;
+    }
+
+    private void updateLayers() {
+        layersChanged = false;
+        final Map<Renderer, CanvasLayer> oldLayers = new IdentityHashMap<>(layers);
+        layers.clear();
+        canvasLayers.getChildren().clear();
+        if (!isLayered()) {
+            return;
+        }
+        if (!gridRenderer.isDrawOnTop()) {
+            addLayer(gridRenderer, oldLayers);
+        }
+        for (final Renderer renderer : getRenderers()) {
+            addLayer(renderer, oldLayers);
+        }
+        if (gridRenderer.isDrawOnTop()) {
+            addLayer(gridRenderer, oldLayers);
+        }
+    }
+
+    private void addLayer(final Renderer renderer, final Map<Renderer, CanvasLayer> oldLayers) {
+        final CanvasLayer layer = layers.computeIfAbsent(renderer, r -> {
+            final CanvasLayer oldLayer = oldLayers.get(r);
+            return oldLayer == null ? new CanvasLayer() : oldLayer;
+        });
+        layer.valid = false; // z-order or content may have changed
+        canvasLayers.getChildren().add(layer.canvas);
+    }
+
+    private boolean isLayered() {
+        return isLayeredRendering() || isScrollBlitting();
+    }
+
+    /**
+     * @return the dirty data set bits of the renderer, renderer changes are reported as {@link ChartBits#ChartCanvas}
+     */
+    private static int getDirtyBits(final Renderer renderer) {
+        int bits = 0;
+        if (renderer instanceof EventSource && ((EventSource) renderer).getBitState().isDirty()) {
+            bits |= ChartBits.ChartCanvas.getAsInt();
+        }
+        for (final DataSetNode node : renderer.getDatasetNodes()) {
+            bits |= node.getDataSet().getBitState().getBits() & ChartBits.DataSetMask;
+        }
+        return bits;
+    }
+
     /**
      * @param recorder recorder for this chart and all nested components
      */
@@ -330,4 +545,145 @@ public class XYChart extends Chart {
 
     private DurationMeasure benchDrawData = DurationMeasure.DISABLED;
     private DurationMeasure benchDrawGrid = DurationMeasure.DISABLED;
+
+    private static class CanvasLayer {
+        private final ResizableCanvas canvas = new ResizableCanvas();
+        private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+        private WritableImage snapshot;
+        private boolean valid;
+        // axis state the rendered content is based upon (scroll-blitting)
+        private Axis xAxis;
+        private Axis yAxis;
+        private double originX = Double.NaN; // x value at display position 0 of the content
+        private double spanX;
+        private double minY;
+        private double maxY;
+        private double lastX; // largest (i.e. last) rendered x value
+
+        CanvasLayer() {
+            snapshotParameters.setFill(Color.TRANSPARENT);
+            canvas.setCache(true);
+            canvas.setCacheHint(CacheHint.QUALITY);
+        }
+
+        /**
+         * @return true if the content is up-to-date for the given size, i.e. is only re-drawn on changes
+         */
+        boolean isValid(final double width, final double height) {
+            return valid && canvas.getWidth() == width && canvas.getHeight() == height;
+        }
+
+        /**
+         * @return true if the layer has been cleared and needs to be re-drawn
+         */
+        boolean prepare(final double width, final double height, final boolean dirty) {
+            if (canvas.getWidth() != width || canvas.getHeight() != height) {
+                // N.B. layers added after the layout pass need to be sized immediately
+                canvas.resizeRelocate(0, 0, width, height);
+                valid = false;
+            }
+            if (valid && !dirty) {
+                return false;
+            }
+            canvas.getGraphicsContext2D().clearRect(0, 0, width, height);
+            valid = true;
+            xAxis = null;
+            return true;
+        }
+
+        /**
+         * records the axis state and rendered data range after a full redraw
+         */
+        void capture(final Renderer renderer) {
+            if (!(renderer instanceof AbstractRendererXY<?> xyRenderer)) {
+                return;
+            }
+            xAxis = xyRenderer.getFirstAxis(Orientation.HORIZONTAL);
+            yAxis = xyRenderer.getFirstAxis(Orientation.VERTICAL);
+            if (xAxis == null || yAxis == null) {
+                xAxis = null;
+                return;
+            }
+            originX = xAxis.getValueForDisplay(0.0);
+            spanX = xAxis.getMax() - xAxis.getMin();
+            minY = yAxis.getMin();
+            maxY = yAxis.getMax();
+            lastX = getLastX(renderer);
+        }
+
+        /**
+         * Shifts the rendered content according to the x-axis movement and draws the newly exposed strip as well as
+         * the data appended after the previously last sample.
+         *
+         * @return false if the axis state is not compatible with scrolling and the layer needs a full redraw
+         */
+        boolean scroll(final AbstractRendererXY<?> renderer, final double width, final double height, final boolean dataChanged) {
+            if (!valid || xAxis == null || xAxis != renderer.getFirstAxis(Orientation.HORIZONTAL) || yAxis != renderer.getFirstAxis(Orientation.VERTICAL)
+                    || canvas.getWidth() != width || canvas.getHeight() != height || xAxis.isLogAxis()
+                    || yAxis.getMin() != minY || yAxis.getMax() != maxY
+                    || Math.abs(xAxis.getMax() - xAxis.getMin() - spanX) > 1e-9 * Math.abs(spanX)) {
+                return false;
+            }
+            final double origin = xAxis.getDisplayPosition(originX);
+            final long shift = Math.round(origin);
+            if (Math.abs(shift) >= width || (dataChanged && !Double.isFinite(lastX))) {
+                return false;
+            }
+            if (shift == 0 && !dataChanged) {
+                return true;
+            }
+
+            // bounding range of the exposed strip (empty for shift == 0) and the appended data
+            double from = shift > 0 ? 0.0 : width + shift;
+            double to = shift >= 0 ? shift : width;
+            if (dataChanged) {
+                final double last = xAxis.getDisplayPosition(lastX);
+                final boolean inverted = xAxis.isInvertedAxis();
+                from = Math.min(from, inverted ? 0.0 : last - SCROLL_PADDING);
+                to = Math.max(to, inverted ? last + SCROLL_PADDING : width);
+            }
+            from = Math.max(0.0, from);
+            to = Math.min(width, to);
+
+            final GraphicsContext gc = canvas.getGraphicsContext2D();
+            if (shift != 0) {
+                blit(gc, shift, width, height);
+            }
+            if (to > from) {
+                gc.clearRect(from, 0, to - from, height);
+                renderer.render(from, to, SCROLL_PADDING);
+            }
+
+            // the content is aligned to the nearest pixel, i.e. the residual offset is bounded by half a pixel
+            originX = xAxis.getValueForDisplay(origin - shift);
+            lastX = getLastX(renderer);
+            return true;
+        }
+
+        private void blit(final GraphicsContext gc, final long shift, final double width, final double height) {
+            final Window window = canvas.getScene() == null ? null : canvas.getScene().getWindow();
+            final double scale = window == null ? 1.0 : window.getRenderScaleX();
+            final int imageWidth = (int) Math.ceil(width * scale);
+            final int imageHeight = (int) Math.ceil(height * scale);
+            if (snapshot == null || (int) snapshot.getWidth() != imageWidth || (int) snapshot.getHeight() != imageHeight) {
+                snapshot = new WritableImage(imageWidth, imageHeight);
+            }
+            snapshotParameters.setTransform(Transform.scale(scale, scale));
+            canvas.snapshot(snapshotParameters, snapshot);
+            gc.clearRect(0, 0, width, height);
+            gc.drawImage(snapshot, 0, 0, imageWidth, imageHeight, shift, 0, imageWidth / scale, imageHeight / scale);
+        }
+
+        private static double getLastX(final Renderer renderer) {
+            double last = Double.NaN;
+            for (final DataSetNode node : renderer.getDatasetNodes()) {
+                final DataSet dataSet = node.getRenderedDataSet();
+                if (node.isVisible() && dataSet != null && dataSet.getDataCount() > 0) {
+                    final double x = dataSet.get(DataSet.DIM_X, dataSet.getDataCount() - 1);
+                    last = Double.isNaN(last) ? x : Math.max(last, x);
+                }
+            }
+            return last;
+        }
+    }
 }
@@ -79,6 +79,22 @@ public interface Axis extends AxisDescription, Measurable.EmptyDefault {
      */
     double getDisplayPosition(double value);
 
+    /**
+     * Batch version of {@link #getDisplayPosition(double)}: dst[i] = getDisplayPosition(src[i]) for i in [from, to[.
+     * Implementations may override this with specialised (e.g. unrolled or parallel) kernels that avoid the per-point
+     * virtual call. N.B. 'src' and 'dst' may be the same array (in-place transform).
+     *
+     * @param src data values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param dst display positions or Double.NaN if the value is not valid
+     */
+    default void getDisplayPositions(final double[] src, final int from, final int to, final double[] dst) {
+        for (int i = from; i < to; i++) {
+            dst[i] = getDisplayPosition(src[i]);
+        }
+    }
+
     double getHeight();
 
     /**
@@ -22,8 +22,10 @@ import io.fair_acc.bench.MeasurementRecorder;
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.AxisLabelFormatter;
 import io.fair_acc.chartfx.axes.AxisLabelOverlapPolicy;
+import io.fair_acc.chartfx.axes.spi.format.AbstractFormatter;
 import io.fair_acc.chartfx.axes.spi.format.DefaultFormatter;
 import io.fair_acc.chartfx.axes.spi.format.DefaultTimeFormatter;
+import io.fair_acc.chartfx.axes.spi.format.FormatterLabelCache;
 import io.fair_acc.chartfx.ui.ResizableCanvas;
 import io.fair_acc.chartfx.ui.css.LineStyle;
 import io.fair_acc.chartfx.ui.css.TextStyle;
@@ -184,6 +186,16 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         return canvas.getGraphicsContext2D();
     }
 
+    /**
+     * @return the label (and label bounds) cache of the default formatter, or null if a custom tick label formatter is used
+     */
+    protected FormatterLabelCache getTickLabelCache() {
+        if (getTickLabelFormatter() == null && getAxisLabelFormatter() instanceof AbstractFormatter) {
+            return ((AbstractFormatter) getAxisLabelFormatter()).getLabelCache();
+        }
+        return null;
+    }
+
     /**
      * Get the string label name for a tick mark with the given value
      *
@@ -682,10 +694,16 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
 
         // Update the existing mark objects
         List<TickMark> marks = FXUtils.sizedList(getTickMarks(), newTickValues.size(), () -> new TickMark(getTickLabelStyle()));
+        final FormatterLabelCache labelCache = getTickLabelCache();
         int i = 0;
         for (var mark : marks) {
             var tick = newTickValues.getDouble(i++);
-            mark.setValue(tick, isTickLabelsVisible() ? getTickMarkLabel(tick) : "");
+            if (isTickLabelsVisible()) {
+                // N.B. the formatter caches the labels w.r.t. the scaled value (see getTickMarkLabel)
+                mark.setValue(tick, getTickMarkLabel(tick), labelCache, tick / getUnitScaling());
+            } else {
+                mark.setValue(tick, "");
+            }
         }
 
         oldTickValues.setAll(newTickValues);
@@ -968,7 +986,7 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
 
     protected double measureTickMarkLength(final double major) {
         // N.B. this is a known performance hot-spot -> start optimisation here
-        tmpTickMark.setValue(major, getTickMarkLabel(major));
+        tmpTickMark.setValue(major, getTickMarkLabel(major), getTickLabelCache(), major / getUnitScaling());
         return getSide().isHorizontal() ? tmpTickMark.getWidth() : tmpTickMark.getHeight();
     }
 
@@ -1230,6 +1248,9 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         benchComputePrefSize = recorder.newDuration("axis-computePrefSize");
         benchUpdateDirtyContent = recorder.newDuration("axis-updateDirtyContent");
         benchDrawAxis = recorder.newDuration("axis-drawAxis");
+        if (getAxisLabelFormatter() instanceof Measurable) {
+            ((Measurable) getAxisLabelFormatter()).setRecorder(recorder.addPrefix("axis"));
+        }
     }
 
     private DurationMeasure benchComputePrefSize = DurationMeasure.DISABLED;
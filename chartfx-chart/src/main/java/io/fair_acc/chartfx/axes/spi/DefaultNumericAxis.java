@@ -12,6 +12,7 @@ import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.AxisTransform;
 import io.fair_acc.chartfx.axes.LogAxisType;
 import io.fair_acc.chartfx.axes.TickUnitSupplier;
+import io.fair_acc.chartfx.axes.spi.transforms.AxisTransformKernels;
 import io.fair_acc.chartfx.axes.spi.transforms.DefaultAxisTransform;
 import io.fair_acc.chartfx.axes.spi.transforms.LogarithmicAxisTransform;
 import io.fair_acc.chartfx.axes.spi.transforms.LogarithmicTimeAxisTransform;
@@ -42,6 +43,8 @@ public class DefaultNumericAxis extends AbstractAxis implements Axis {
     private final transient LogarithmicAxisTransform logTransform = new LogarithmicAxisTransform(this);
     private final transient LogarithmicTimeAxisTransform logTimeTransform = new LogarithmicTimeAxisTransform(this);
     private transient AxisTransform axisTransform = linearTransform;
+    // false: sub-class overrides getDisplayPosition(double) -> no bulk kernels
+    private final transient boolean bulkKernels = AxisTransformKernels.isDisplayPositionDeclaredBy(getClass(), DefaultNumericAxis.class);
     protected boolean isUpdating;
 
     private final transient BooleanProperty forceZeroInRange = PropUtil.createBooleanProperty(this, "forceZeroInRange", false, invalidateAxisRange);
@@ -194,6 +197,43 @@ public class DefaultNumericAxis extends AbstractAxis implements Axis {
         return getDisplayPositionImpl(value);
     }
 
+    /**
+     * Batch version of {@link #getDisplayPosition(double)} using the linear and log10-based bulk kernels of
+     * {@link AxisTransformKernels}. N.B. falls back to the per-point {@link #getDisplayPosition(double)} for sub-classes
+     * overriding the latter.
+     */
+    @Override
+    public void getDisplayPositions(final double[] src, final int from, final int to, final double[] dst) {
+        if (!bulkKernels) {
+            Axis.super.getDisplayPositions(src, from, to, dst);
+            return;
+        }
+        if (!isLogAxis) {
+            // same as getDisplayPosition(double) reduced to 'offset + scale * value'
+            AxisTransformKernels.linear(src, from, to, dst, isInvertedAxis ? offset - cache.localOffset2 : cache.localOffset2,
+                    isInvertedAxis ? -cache.localScale : cache.localScale);
+            return;
+        }
+        if (axisTransform != logTransform) { // NOPMD -- identity check, e.g. the log-time transform has no bulk kernel
+            for (int i = from; i < to; i++) {
+                dst[i] = getDisplayPosition(src[i]);
+            }
+            return;
+        }
+        // log_base(value) = log10(value) / log10(base)
+        double logOffset = -cache.lowerBoundLog * cache.logScaleLengthInv;
+        double logScale = cache.logScaleLengthInv / Math.log10(logTransform.getLogarithmBase());
+        if (cache.isVerticalAxis) {
+            logOffset = cache.axisLength - logOffset;
+            logScale = -logScale;
+        }
+        if (isInvertedAxis) {
+            logOffset = offset - logOffset;
+            logScale = -logScale;
+        }
+        AxisTransformKernels.logarithmic(src, from, to, dst, logOffset, logScale);
+    }
+
     /**
      * Returns the value of the {@link #logarithmBaseProperty()}.
      *
@@ -15,6 +15,7 @@ import io.fair_acc.chartfx.axes.AxisTransform;
 import io.fair_acc.chartfx.axes.LogAxisType;
 import io.fair_acc.chartfx.axes.TickUnitSupplier;
 import io.fair_acc.chartfx.axes.spi.format.DefaultTickUnitSupplier;
+import io.fair_acc.chartfx.axes.spi.transforms.AxisTransformKernels;
 import io.fair_acc.chartfx.axes.spi.transforms.DefaultAxisTransform;
 import io.fair_acc.chartfx.ui.css.CssPropertyFactory;
 import io.fair_acc.dataset.AxisDescription;
@@ -55,6 +56,8 @@ public class OscilloscopeAxis extends AbstractAxis implements Axis {
     private final StyleableDoubleProperty axisZeroPosition = CSS.createDoubleProperty(this, "axisZeroPosition", 0.5, true, (oldVal, newVal) -> Math.max(0.0, Math.min(newVal, 1.0)), this::requestAxisLayout);
     private final StyleableDoubleProperty axisZeroValue = CSS.createDoubleProperty(this, "axisZeroValue", 0.0, true, null, this::requestAxisLayout);
     private final transient Cache cache = new Cache();
+    // false: sub-class overrides getDisplayPosition(double) -> no bulk kernels
+    private final transient boolean bulkKernels = AxisTransformKernels.isDisplayPositionDeclaredBy(getClass(), OscilloscopeAxis.class);
     protected boolean isUpdating;
     private boolean computingRange = false;
 
@@ -408,6 +411,16 @@ public class OscilloscopeAxis extends AbstractAxis implements Axis {
         return cache.localOffset + (value - cache.localCurrentLowerBound) * cache.localScale;
     }
 
+    @Override
+    public void getDisplayPositions(final double[] src, final int from, final int to, final double[] dst) {
+        if (!bulkKernels) {
+            Axis.super.getDisplayPositions(src, from, to, dst);
+            return;
+        }
+        // N.B. localOffset2 = localOffset - localCurrentLowerBound * localScale
+        AxisTransformKernels.linear(src, from, to, dst, cache.localOffset2, cache.localScale);
+    }
+
     protected class Cache {
         protected double localScale;
         protected double localCurrentLowerBound;
@@ -8,6 +8,7 @@ import javafx.geometry.VPos;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
+import io.fair_acc.chartfx.axes.spi.format.FormatterLabelCache;
 import io.fair_acc.chartfx.ui.css.TextStyle;
 import io.fair_acc.chartfx.ui.geometry.Side;
 
@@ -28,6 +29,8 @@ public class TickMark {
     private boolean visible = true; // whether the tick mark should be displayed
     private final TextStyle style;
     private long usedStyle = -1;
+    private FormatterLabelCache boundsCache; // optional shared label bounds
+    private double boundsCacheKey = Double.NaN;
 
     /**
      * @param style a styleable node that the text can be rendered into
@@ -42,6 +45,17 @@ public class TickMark {
      * @param tickMarkLabel string label associated with tick
      */
     public void setValue(double tickValue, String tickMarkLabel) {
+        setValue(tickValue, tickMarkLabel, null, Double.NaN);
+    }
+
+    /**
+     * Updates a tick mark and shares the measured label bounds via the given cache
+     * @param tickValue numeric value of tick
+     * @param tickMarkLabel string label associated with tick
+     * @param boundsCache the formatter cache the label has been retrieved from (null: measure individually)
+     * @param boundsCacheKey the key of the label in the cache
+     */
+    public void setValue(double tickValue, String tickMarkLabel, FormatterLabelCache boundsCache, double boundsCacheKey) {
         // Get size on demand
         if (!Objects.equals(tickMarkLabel, text)) {
             this.height = -1;
@@ -49,13 +63,19 @@ public class TickMark {
         }
         this.tickValue = tickValue;
         this.text = tickMarkLabel;
+        this.boundsCache = boundsCache;
+        this.boundsCacheKey = boundsCacheKey;
     }
 
     private void updateTextSize() {
-        if (usedStyle != style.getChangeCounter() || height < 0) {
+        final long changeCounter = style.getChangeCounter();
+        if (usedStyle != changeCounter || height < 0) {
             if (text == null || text.isEmpty()) {
                 height = 0;
                 width = 0;
+            } else if (boundsCache != null && !Double.isNaN(boundsCache.getWidth(boundsCacheKey, text, style, changeCounter))) {
+                width = boundsCache.getWidth(boundsCacheKey, text, style, changeCounter);
+                height = boundsCache.getHeight(boundsCacheKey, text, style, changeCounter);
             } else {
                 // N.B. important: usage of getBoundsInParent() which also takes into
                 // account text rotations
@@ -63,8 +83,11 @@ public class TickMark {
                 var bounds = style.getBoundsInParent();
                 height = bounds.getHeight();
                 width = bounds.getWidth();
+                if (boundsCache != null) {
+                    boundsCache.setBounds(boundsCacheKey, text, style, changeCounter, width, height);
+                }
             }
-            usedStyle = style.getChangeCounter();
+            usedStyle = changeCounter;
         }
     }
 
@@ -8,6 +8,8 @@ import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.util.StringConverter;
 
+import io.fair_acc.bench.Measurable;
+import io.fair_acc.bench.MeasurementRecorder;
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.AxisLabelFormatter;
 import io.fair_acc.chartfx.axes.TickUnitSupplier;
@@ -16,7 +18,7 @@ import io.fair_acc.dataset.spi.fastutil.DoubleArrayList;
 /**
  * @author rstein
  */
-public abstract class AbstractFormatter extends StringConverter<Number> implements AxisLabelFormatter {
+public abstract class AbstractFormatter extends StringConverter<Number> implements AxisLabelFormatter, Measurable {
     private static final TickUnitSupplier DEFAULT_TICK_UNIT_SUPPLIER = new DefaultTickUnitSupplier();
     private final ObjectProperty<TickUnitSupplier> tickUnitSupplier = new SimpleObjectProperty<>(this,
             "tickUnitSupplier", AbstractFormatter.DEFAULT_TICK_UNIT_SUPPLIER);
@@ -53,6 +55,13 @@ public abstract class AbstractFormatter extends StringConverter<Number> implemen
         }
     }
 
+    /**
+     * @return cache of the formatted labels and their measured bounds
+     */
+    public FormatterLabelCache getLabelCache() {
+        return labelCache;
+    }
+
     protected double getLogRange() {
         final double diff = getRange();
 
@@ -75,6 +84,11 @@ public abstract class AbstractFormatter extends StringConverter<Number> implemen
 
     protected abstract void rangeUpdated();
 
+    @Override
+    public void setRecorder(final MeasurementRecorder recorder) {
+        labelCache.setRecorder(recorder);
+    }
+
     /**
      * sets the min/max threshold when to change from one formatter domain to the other
      *
@@ -5,6 +5,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -22,6 +23,7 @@ public class DefaultTimeFormatter extends AbstractFormatter {
     protected final DateTimeFormatter[] dateFormat;
     protected int oldIndex = -1;
     protected int formatterIndex;
+    private final DoubleFunction<String> timeStringFormatter = this::getTimeString;
 
     protected ObjectProperty<ZoneOffset> timeZone = new SimpleObjectProperty<>(ZoneOffset.UTC);
 
@@ -130,6 +132,6 @@ public class DefaultTimeFormatter extends AbstractFormatter {
 
     @Override
     public String toString(final Number utcValueSeconds) {
-        return labelCache.computeIfAbsent(utcValueSeconds, this::getTimeString);
+        return labelCache.get(utcValueSeconds.doubleValue(), timeStringFormatter);
     }
 }
@@ -1,36 +1,307 @@
 package io.fair_acc.chartfx.axes.spi.format;
 
-import java.util.WeakHashMap;
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
 
 import javafx.util.StringConverter;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.fair_acc.bench.DurationMeasure;
+import io.fair_acc.bench.Measurable;
+import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.dataset.utils.AssertUtils;
 
 /**
- * Simple cache to keep recurring results of String formatters
+ * Bounded least-recently-used cache to keep recurring results of String formatters as well as the measured label
+ * bounds.
+ * <p>
+ * The tick values are used as primitive {@code double} keys (i.e. no boxing) in an open-addressing table, the entries
+ * are kept in pre-allocated arrays and the least-recently used entry is recycled once the capacity is reached. The
+ * label width and height are stored together with the style (font) and its change counter they have been measured
+ * with, and are implicitly invalidated once either changes.
+ * <p>
+ * Not thread-safe: intended to be used by the formatter and tick marks of an axis on the FX thread.
  *
  * @author rstein
  */
-public class FormatterLabelCache extends WeakHashMap<Number, String> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(FormatterLabelCache.class);
+public class FormatterLabelCache implements Measurable {
+    public static final int DEFAULT_CAPACITY = 512;
+    private static final int NONE = -1;
+    private final int capacity;
+    private final int mask;
+    private final int[] table; // hash -> entry index, NONE: empty
+    private final long[] keys;
+    private final String[] labels;
+    private final double[] widths;
+    private final double[] heights;
+    private final Object[] boundsStyle;
+    private final long[] boundsStamp;
+    private final int[] prev; // LRU list towards the most recently used entry
+    private final int[] next; // LRU list towards the least recently used entry
+    private int head = NONE; // most recently used
+    private int tail = NONE; // least recently used
+    private int size;
+    private long hits;
+    private long misses;
+    private DurationMeasure benchMiss = DurationMeasure.DISABLED;
 
     public FormatterLabelCache() {
-        super();
+        this(DEFAULT_CAPACITY);
     }
 
-    public String get(final StringConverter<Number> formatter, final Number value) {
-        return computeIfAbsent(value, formatter::toString);
+    /**
+     * @param capacity maximum number of cached labels
+     */
+    public FormatterLabelCache(final int capacity) {
+        AssertUtils.gtThanZero("capacity", capacity);
+        this.capacity = capacity;
+        final int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        mask = tableSize - 1;
+        table = new int[tableSize];
+        Arrays.fill(table, NONE);
+        keys = new long[capacity];
+        labels = new String[capacity];
+        widths = new double[capacity];
+        heights = new double[capacity];
+        boundsStyle = new Object[capacity];
+        boundsStamp = new long[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
     }
 
-    // @Override
-    // public String get(Object key) {
-    // String ret = super.get(key);
-    // if (ret == null) {
-    // System.out.println("cache missed");
-    // } else {
-    // System.out.println("cache hit");
-    // }
-    // return ret;
-    // }
+    public void clear() {
+        Arrays.fill(table, NONE);
+        Arrays.fill(labels, null);
+        Arrays.fill(boundsStyle, null);
+        head = NONE;
+        tail = NONE;
+        size = 0;
+    }
+
+    /**
+     * @param value the (primitive) key
+     * @param formatter the formatter that is invoked on cache misses
+     * @return the cached or newly formatted label
+     */
+    public String get(final double value, final DoubleFunction<String> formatter) {
+        final long key = Double.doubleToLongBits(value);
+        final int entry = find(key);
+        if (entry != NONE) {
+            hits++;
+            touch(entry);
+            return labels[entry];
+        }
+        misses++;
+        benchMiss.start();
+        final String label = formatter.apply(value);
+        insert(key, label);
+        benchMiss.stop();
+        return label;
+    }
+
+    /**
+     * @param formatter the formatter that is invoked on cache misses
+     * @param value the (primitive) key
+     * @return the cached or newly formatted label
+     */
+    public String get(final StringConverter<Number> formatter, final double value) {
+        final long key = Double.doubleToLongBits(value);
+        final int entry = find(key);
+        if (entry != NONE) {
+            hits++;
+            touch(entry);
+            return labels[entry];
+        }
+        misses++;
+        benchMiss.start();
+        final String label = formatter.toString(value);
+        insert(key, label);
+        benchMiss.stop();
+        return label;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param value the (primitive) key
+     * @param label the label the bounds have been measured for
+     * @param style the style (font) the bounds have been measured with
+     * @param styleStamp change counter of the style
+     * @return the cached label height or {@code Double.NaN} if not available
+     */
+    public double getHeight(final double value, final String label, final Object style, final long styleStamp) {
+        final int entry = findBounds(value, label, style, styleStamp);
+        return entry == NONE ? Double.NaN : heights[entry];
+    }
+
+    /**
+     * @return number of lookups that have been served from the cache
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return fraction of lookups that have been served from the cache, {@code Double.NaN} if there were none
+     */
+    public double getHitRate() {
+        final long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    /**
+     * @return number of lookups that required formatting a new label
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @param value the (primitive) key
+     * @param label the label the bounds have been measured for
+     * @param style the style (font) the bounds have been measured with
+     * @param styleStamp change counter of the style
+     * @return the cached label width or {@code Double.NaN} if not available
+     */
+    public double getWidth(final double value, final String label, final Object style, final long styleStamp) {
+        final int entry = findBounds(value, label, style, styleStamp);
+        return entry == NONE ? Double.NaN : widths[entry];
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Stores the measured label bounds. N.B. ignored if the value's label is not (or no longer) cached.
+     *
+     * @param value the (primitive) key
+     * @param label the label the bounds have been measured for
+     * @param style the style (font) the bounds have been measured with
+     * @param styleStamp change counter of the style
+     * @param width measured label width
+     * @param height measured label height
+     */
+    public void setBounds(final double value, final String label, final Object style, final long styleStamp, final double width, final double height) {
+        final int entry = find(Double.doubleToLongBits(value));
+        if (entry == NONE || !label.equals(labels[entry])) {
+            return;
+        }
+        widths[entry] = width;
+        heights[entry] = height;
+        boundsStyle[entry] = style;
+        boundsStamp[entry] = styleStamp;
+    }
+
+    @Override
+    public void setRecorder(final MeasurementRecorder recorder) {
+        benchMiss = recorder.newDebugDuration("labelCache-miss");
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int find(final long key) {
+        for (int slot = hash(key);; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == NONE) {
+                return NONE;
+            }
+            if (keys[entry] == key) {
+                return entry;
+            }
+        }
+    }
+
+    private int findBounds(final double value, final String label, final Object style, final long styleStamp) {
+        final int entry = find(Double.doubleToLongBits(value));
+        if (entry == NONE || boundsStyle[entry] != style || boundsStamp[entry] != styleStamp || !label.equals(labels[entry])) {
+            return NONE;
+        }
+        return entry;
+    }
+
+    private int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void insert(final long key, final String label) {
+        final int entry;
+        if (size < capacity) {
+            entry = size++;
+        } else {
+            // recycle the least recently used entry
+            entry = tail;
+            removeFromTable(keys[entry]);
+            unlink(entry);
+        }
+        keys[entry] = key;
+        labels[entry] = label;
+        boundsStyle[entry] = null;
+        int slot = hash(key);
+        while (table[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+        linkFirst(entry);
+    }
+
+    private void linkFirst(final int entry) {
+        prev[entry] = NONE;
+        next[entry] = head;
+        if (head != NONE) {
+            prev[head] = entry;
+        }
+        head = entry;
+        if (tail == NONE) {
+            tail = entry;
+        }
+    }
+
+    private void removeFromTable(final long key) {
+        int slot = hash(key);
+        while (keys[table[slot]] != key) {
+            slot = (slot + 1) & mask;
+        }
+        // backward-shift deletion to keep the linear probing sequences intact
+        int gap = slot;
+        for (int probe = (gap + 1) & mask;; probe = (probe + 1) & mask) {
+            final int entry = table[probe];
+            if (entry == NONE) {
+                break;
+            }
+            final int home = hash(keys[entry]);
+            if (((probe - home) & mask) >= ((probe - gap) & mask)) {
+                table[gap] = entry;
+                gap = probe;
+            }
+        }
+        table[gap] = NONE;
+    }
+
+    private void touch(final int entry) {
+        if (entry != head) {
+            unlink(entry);
+            linkFirst(entry);
+        }
+    }
+
+    private void unlink(final int entry) {
+        final int before = prev[entry];
+        final int after = next[entry];
+        if (before == NONE) {
+            head = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            tail = before;
+        } else {
+            prev[after] = before;
+        }
+    }
 }
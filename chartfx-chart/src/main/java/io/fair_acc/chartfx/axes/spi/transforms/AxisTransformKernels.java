@@ -0,0 +1,162 @@
+package io.fair_acc.chartfx.axes.spi.transforms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Bulk data-to-display coordinate kernels used by the batch {@link io.fair_acc.chartfx.axes.Axis#getDisplayPositions
+ * Axis::getDisplayPositions} implementations. The axes reduce their (linear or logarithmic) transform and
+ * inversion/orientation handling to an affine 'offset + scale * f(value)' that is evaluated in tight unrolled loops
+ * rather than through a virtual call per data point.
+ * <p>
+ * Ranges exceeding {@link #getParallelThreshold()} are split into chunks that are processed on the common
+ * {@link ForkJoinPool}. N.B. 'src' and 'dst' may be the same array (in-place transform).
+ */
+public final class AxisTransformKernels {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+    private static int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private static final ClassValue<Class<?>> DISPLAY_POSITION_DECLARING_CLASS = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("getDisplayPosition", double.class).getDeclaringClass();
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private AxisTransformKernels() {
+        // static helper class
+    }
+
+    /**
+     * @return minimum number of samples above which the transform is split across the common fork-join pool
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * The bulk kernels replicate the scalar transform of the axis implementing them and are thus only valid as long as
+     * a sub-class does not override {@code getDisplayPosition(double)}. The result is cached per class.
+     *
+     * @param type run-time class of the axis
+     * @param base axis class implementing the bulk kernels
+     * @return {@code true} if {@code getDisplayPosition(double)} of {@code type} is the one declared by {@code base}
+     */
+    public static boolean isDisplayPositionDeclaredBy(final Class<?> type, final Class<?> base) {
+        return DISPLAY_POSITION_DECLARING_CLASS.get(type) == base;
+    }
+
+    /**
+     * dst[i] = offset + scale * src[i] for i in [from, to[
+     *
+     * @param src input values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param dst output values
+     * @param offset affine offset
+     * @param scale affine scale
+     */
+    public static void linear(final double[] src, final int from, final int to, final double[] dst, final double offset, final double scale) {
+        checkRange(src, from, to, dst);
+        final int nChunks = getChunkCount(to - from);
+        if (nChunks <= 1) {
+            linearKernel(src, from, to, dst, offset, scale);
+            return;
+        }
+        final int chunkSize = (to - from + nChunks - 1) / nChunks;
+        IntStream.range(0, nChunks).parallel().forEach(chunk -> {
+            final int start = from + chunk * chunkSize;
+            linearKernel(src, start, Math.min(start + chunkSize, to), dst, offset, scale);
+        });
+    }
+
+    /**
+     * dst[i] = offset + scale * log10(src[i]) for i in [from, to[, and {@code Double.NaN} for non-positive values
+     *
+     * @param src input values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param dst output values
+     * @param offset affine offset
+     * @param scale affine scale (N.B. w.r.t. log10, i.e. including the conversion to the axis' logarithm base)
+     */
+    public static void logarithmic(final double[] src, final int from, final int to, final double[] dst, final double offset, final double scale) {
+        checkRange(src, from, to, dst);
+        final int nChunks = getChunkCount(to - from);
+        if (nChunks <= 1) {
+            logarithmicKernel(src, from, to, dst, offset, scale);
+            return;
+        }
+        final int chunkSize = (to - from + nChunks - 1) / nChunks;
+        IntStream.range(0, nChunks).parallel().forEach(chunk -> {
+            final int start = from + chunk * chunkSize;
+            logarithmicKernel(src, start, Math.min(start + chunkSize, to), dst, offset, scale);
+        });
+    }
+
+    /**
+     * @param threshold minimum number of samples above which the transform is split across the common fork-join pool
+     */
+    public static void setParallelThreshold(final int threshold) {
+        AssertUtils.gtThanZero("threshold", threshold);
+        parallelThreshold = threshold;
+    }
+
+    private static void checkRange(final double[] src, final int from, final int to, final double[] dst) {
+        AssertUtils.notNull("src", src);
+        AssertUtils.notNull("dst", dst);
+        AssertUtils.indexInBounds(from, src.length + 1);
+        AssertUtils.indexInBounds(to, src.length + 1);
+        AssertUtils.indexInBounds(to, dst.length + 1);
+        AssertUtils.gtOrEqual("to", from, to);
+    }
+
+    private static int getChunkCount(final int length) {
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (length < parallelThreshold || parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(4 * parallelism, length / MIN_CHUNK_SIZE));
+    }
+
+    private static void linearKernel(final double[] src, final int from, final int to, final double[] dst, final double offset, final double scale) {
+        int i = from;
+        for (; i <= to - 4; i += 4) {
+            final double v0 = src[i];
+            final double v1 = src[i + 1];
+            final double v2 = src[i + 2];
+            final double v3 = src[i + 3];
+            dst[i] = offset + scale * v0;
+            dst[i + 1] = offset + scale * v1;
+            dst[i + 2] = offset + scale * v2;
+            dst[i + 3] = offset + scale * v3;
+        }
+        for (; i < to; i++) {
+            dst[i] = offset + scale * src[i];
+        }
+    }
+
+    private static void logarithmicKernel(final double[] src, final int from, final int to, final double[] dst, final double offset, final double scale) {
+        int i = from;
+        for (; i <= to - 4; i += 4) {
+            final double v0 = src[i];
+            final double v1 = src[i + 1];
+            final double v2 = src[i + 2];
+            final double v3 = src[i + 3];
+            dst[i] = v0 > 0 ? offset + scale * Math.log10(v0) : Double.NaN;
+            dst[i + 1] = v1 > 0 ? offset + scale * Math.log10(v1) : Double.NaN;
+            dst[i + 2] = v2 > 0 ? offset + scale * Math.log10(v2) : Double.NaN;
+            dst[i + 3] = v3 > 0 ? offset + scale * Math.log10(v3) : Double.NaN;
+        }
+        for (; i < to; i++) {
+            final double v = src[i];
+            dst[i] = v > 0 ? offset + scale * Math.log10(v) : Double.NaN;
+        }
+    }
+}
@@ -80,6 +80,15 @@ public interface Renderer extends Measurable.EmptyDefault {
         // empty by default
     }
 
+    /**
+     * Optional method that allows the renderer to start preparing the drawing (e.g. on a worker thread) as soon as the
+     * final axis ranges and sizes of all charts in the scene are known. Gets called after the layout pass and before
+     * the first chart is drawn. The results need to be consumed (or awaited) in {@link #render()}.
+     */
+    default void prepareRender() { // #NOPMD
+        // empty by default
+    }
+
     default void runPostLayout() { // #NOPMD
         // empty by default
     }
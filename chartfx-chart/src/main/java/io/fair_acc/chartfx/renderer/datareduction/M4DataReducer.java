@@ -0,0 +1,284 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.MinMaxPyramid;
+import io.fair_acc.dataset.utils.ProcessingProfiler;
+
+/**
+ * Min/max preserving (M4-type) data reduction for the ErrorDataSetRenderer that keeps the first, minimum, maximum and
+ * last point of each pixel column, i.e. the reduced line is visually identical to the full-resolution one.
+ * <p>
+ * The reduction is performed in two stages:
+ * <ul>
+ * <li>{@link #reduceDataSet(DataSet, int, int, double)}: data-domain pre-selection based on a per data set
+ * {@link MinMaxPyramid} level matching the pixel density. The pyramid is built once and extended incrementally when
+ * data is appended, so that the draw cost scales with the pixel width rather than with the number of visible samples.
+ * The ErrorDataSetRenderer applies this stage (for sorted data, linear x-axes and non-polar plots) prior to the screen
+ * coordinate transform.
+ * <li>{@link #reducePoints}: screen-domain reduction of the remaining points to at most four per pixel column.
+ * </ul>
+ * N.B. the data-domain stage retains only the y-errors of the selected samples. The pyramids are cached per source
+ * data set, i.e. data sets rendered via (rotating) snapshots should be reduced with their live source as the key, see
+ * {@link #reduceDataSet(DataSet, DataSet, int, int, double, ReductionBuffer)}. The reducer is re-entrant and may be
+ * shared between renderers and threads: the pyramids are guarded internally and the reduced data is written to a
+ * caller-owned {@link ReductionBuffer}.
+ */
+public class M4DataReducer implements RendererDataReducer {
+    // N.B. looked up by identity: the data set's equals/hashCode depend on its (changing) content
+    private final List<MinMaxPyramid> pyramids = new ArrayList<>();
+
+    /**
+     * detaches and drops all cached pyramids
+     */
+    public void clear() {
+        synchronized (pyramids) {
+            pyramids.forEach(MinMaxPyramid::detach);
+            pyramids.clear();
+        }
+    }
+
+    /**
+     * @param dataSet source data set (N.B. should be read-locked by the caller)
+     * @return the up-to-date min/max pyramid of the data set's y-coordinates
+     */
+    public MinMaxPyramid getPyramid(final DataSet dataSet) {
+        return getPyramid(dataSet, dataSet);
+    }
+
+    /**
+     * @param source source data set the pyramid is cached for and invalidated by
+     * @param dataSet the source data set or a consistent copy (snapshot) of it (N.B. should be read-locked by the caller)
+     * @return the min/max pyramid of the source data set's y-coordinates updated to the given data set
+     */
+    public MinMaxPyramid getPyramid(final DataSet source, final DataSet dataSet) {
+        AssertUtils.notNull("source", source);
+        synchronized (pyramids) {
+            MinMaxPyramid pyramid = null;
+            final Iterator<MinMaxPyramid> iterator = pyramids.iterator();
+            while (iterator.hasNext()) {
+                final MinMaxPyramid candidate = iterator.next();
+                final DataSet candidateSource = candidate.getDataSet();
+                if (candidateSource == null) {
+                    iterator.remove(); // source has been garbage collected
+                } else if (candidateSource == source) {
+                    pyramid = candidate;
+                }
+            }
+            if (pyramid == null) {
+                pyramid = new MinMaxPyramid(source, DIM_Y);
+                pyramids.add(pyramid);
+            }
+            return pyramid.update(dataSet);
+        }
+    }
+
+    /**
+     * Data-domain M4 reduction of the index range [indexMin, indexMax[ to about four samples per pixel into a newly
+     * allocated buffer.
+     *
+     * @param dataSet source data set with sorted x-coordinates (N.B. should be read-locked by the caller)
+     * @param indexMin minimum index of the visible range (inclusive)
+     * @param indexMax maximum index of the visible range (exclusive)
+     * @param nPixels number of horizontal pixels the visible range is mapped onto
+     * @return the reduced data set or the source data set if a reduction is not beneficial
+     * @see #reduceDataSet(DataSet, int, int, double, ReductionBuffer)
+     */
+    public DataSet reduceDataSet(final DataSet dataSet, final int indexMin, final int indexMax, final double nPixels) {
+        return reduceDataSet(dataSet, indexMin, indexMax, nPixels, new ReductionBuffer());
+    }
+
+    /**
+     * Data-domain M4 reduction of the index range [indexMin, indexMax[ to about four samples per pixel.
+     * <p>
+     * N.B. the returned data set is owned by the buffer and re-used by subsequent reductions into the same buffer, i.e.
+     * it must be consumed before the next invocation. Concurrent reductions require one buffer per thread.
+     *
+     * @param dataSet source data set with sorted x-coordinates (N.B. should be read-locked by the caller)
+     * @param indexMin minimum index of the visible range (inclusive)
+     * @param indexMax maximum index of the visible range (exclusive)
+     * @param nPixels number of horizontal pixels the visible range is mapped onto
+     * @param buffer caller-owned storage of the reduced data
+     * @return the reduced data set or the source data set if a reduction is not beneficial
+     */
+    public DataSet reduceDataSet(final DataSet dataSet, final int indexMin, final int indexMax, final double nPixels, final ReductionBuffer buffer) {
+        return reduceDataSet(dataSet, dataSet, indexMin, indexMax, nPixels, buffer);
+    }
+
+    /**
+     * Data-domain M4 reduction of the index range [indexMin, indexMax[ of a copy (e.g. snapshot) of the source data set.
+     * The pyramid is shared with all copies of the same source, i.e. appending to the source extends it incrementally
+     * rather than rebuilding one pyramid per copy.
+     *
+     * @param dataSet data set to be reduced with sorted x-coordinates (N.B. should be read-locked by the caller)
+     * @param source source data set of the copy (or the data set itself)
+     * @param indexMin minimum index of the visible range (inclusive)
+     * @param indexMax maximum index of the visible range (exclusive)
+     * @param nPixels number of horizontal pixels the visible range is mapped onto
+     * @param buffer caller-owned storage of the reduced data
+     * @return the reduced data set or the given data set if a reduction is not beneficial
+     * @see #reduceDataSet(DataSet, int, int, double, ReductionBuffer)
+     */
+    public DataSet reduceDataSet(final DataSet dataSet, final DataSet source, final int indexMin, final int indexMax, final double nPixels, final ReductionBuffer buffer) {
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.notNull("buffer", buffer);
+        if (nPixels <= 0 || indexMax - indexMin <= 0) {
+            return dataSet;
+        }
+        final long start = ProcessingProfiler.getTimeStamp();
+        final int level;
+        synchronized (pyramids) {
+            // N.B. the pyramid is shared with other renderers and threads of the same data set
+            final MinMaxPyramid pyramid = getPyramid(source, dataSet);
+            level = pyramid.getLevel((indexMax - indexMin) / nPixels);
+            if (level < 0) {
+                // not dense enough, the screen-domain reduction is sufficient
+                return dataSet;
+            }
+            buffer.nIndices = 0;
+            pyramid.forEachReducedIndex(indexMin, indexMax, level, buffer::addIndex);
+        }
+        final int nIndices = buffer.nIndices;
+        final int[] indices = buffer.indices;
+
+        buffer.ensureCapacity(nIndices);
+        final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+        for (int i = 0; i < nIndices; i++) {
+            final int index = indices[i];
+            buffer.x[i] = dataSet.get(DIM_X, index);
+            buffer.y[i] = dataSet.get(DIM_Y, index);
+            buffer.errorNeg[i] = errorDataSet == null ? 0.0 : errorDataSet.getErrorNegative(DIM_Y, index);
+            buffer.errorPos[i] = errorDataSet == null ? 0.0 : errorDataSet.getErrorPositive(DIM_Y, index);
+        }
+        final DoubleErrorDataSet reducedDataSet = buffer.dataSet;
+        reducedDataSet.set(buffer.x, buffer.y, buffer.errorNeg, buffer.errorPos, nIndices, false);
+        if (dataSet.hasStyles()) {
+            dataSet.forEachStyle(indexMin, indexMax, (index, style) -> {
+                final int reducedIndex = Arrays.binarySearch(indices, 0, nIndices, index);
+                if (reducedIndex >= 0) {
+                    reducedDataSet.addDataStyle(reducedIndex, style);
+                }
+            });
+        }
+
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(start, String.format("M4 pyramid data reduction (level %d: from %d to %d)", level, indexMax - indexMin, nIndices));
+        }
+        return reducedDataSet;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.gtOrEqual("xValues.length", indexMax, xValues.length);
+        final long start = ProcessingProfiler.getTimeStamp();
+
+        // N.B. in-place: the n-th retained point originates from an index >= n, i.e. has not yet been overwritten
+        int count = 0;
+        int index = indexMin;
+        while (index < indexMax) {
+            if (Double.isNaN(yValues[index])) {
+                // NaNs interrupt the line and are always retained
+                moveInPlace(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, index++, count++);
+                continue;
+            }
+            final double column = Math.floor(xValues[index]);
+            int iMin = index;
+            int iMax = index;
+            int next = index + 1;
+            while (next < indexMax && Math.floor(xValues[next]) == column && !Double.isNaN(yValues[next])) {
+                iMin = yValues[next] < yValues[iMin] ? next : iMin;
+                iMax = yValues[next] > yValues[iMax] ? next : iMax;
+                next++;
+            }
+            final int last = next - 1;
+            final int lower = Math.min(iMin, iMax);
+            final int upper = Math.max(iMin, iMax);
+
+            moveInPlace(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, index, count++);
+            if (lower > index) {
+                moveInPlace(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, lower, count++);
+            }
+            if (upper > lower) {
+                moveInPlace(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, upper, count++);
+            }
+            if (last > upper) {
+                moveInPlace(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, last, count++);
+            }
+            index = next;
+        }
+
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(start, String.format("M4 data reduction (from %d to %d)", indexMax - indexMin, count));
+        }
+        return count;
+    }
+
+    private static void moveInPlace(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int fromIndex, final int toIndex) {
+        xValues[toIndex] = xValues[fromIndex];
+        yValues[toIndex] = yValues[fromIndex];
+        // N.B. errors may be null due to a CachedDataPoint optimisation
+        if (xPointErrorsPos != null) {
+            xPointErrorsPos[toIndex] = xPointErrorsPos[fromIndex];
+        }
+        if (xPointErrorsNeg != null) {
+            xPointErrorsNeg[toIndex] = xPointErrorsNeg[fromIndex];
+        }
+        if (yPointErrorsPos != null) {
+            yPointErrorsPos[toIndex] = yPointErrorsPos[fromIndex];
+        }
+        if (yPointErrorsNeg != null) {
+            yPointErrorsNeg[toIndex] = yPointErrorsNeg[fromIndex];
+        }
+        if (styles != null) {
+            styles[toIndex] = styles[fromIndex];
+        }
+        pointSelected[toIndex] = pointSelected[fromIndex];
+    }
+
+    /**
+     * Caller-owned, re-usable storage of the data-domain reduction, see
+     * {@link #reduceDataSet(DataSet, int, int, double, ReductionBuffer)}. N.B. not thread-safe.
+     */
+    public static class ReductionBuffer {
+        private final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("M4-reduced", 0);
+        private int[] indices = new int[0];
+        private int nIndices;
+        private double[] x = new double[0];
+        private double[] y = new double[0];
+        private double[] errorNeg = new double[0];
+        private double[] errorPos = new double[0];
+
+        private void addIndex(final int index) {
+            if (nIndices == indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(1024, indices.length << 1));
+            }
+            indices[nIndices++] = index;
+        }
+
+        private void ensureCapacity(final int size) {
+            if (x.length < size) {
+                x = new double[indices.length];
+                y = new double[indices.length];
+                errorNeg = new double[indices.length];
+                errorPos = new double[indices.length];
+            }
+        }
+    }
+}
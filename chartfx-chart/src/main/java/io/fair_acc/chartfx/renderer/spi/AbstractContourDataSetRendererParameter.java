@@ -15,6 +15,7 @@ import io.fair_acc.chartfx.renderer.spi.utils.ColorGradient;
 public abstract class AbstractContourDataSetRendererParameter<R extends AbstractContourDataSetRendererParameter<R>>
         extends AbstractRendererXYZ<R> {
     private final BooleanProperty altImplementation = new SimpleBooleanProperty(this, "altImplementation", false);
+    private final BooleanProperty multiLevelContours = new SimpleBooleanProperty(this, "multiLevelContours", true);
     private final IntegerProperty reductionFactorX = new SimpleIntegerProperty(this, "reductionFactorX", 2);
     private final IntegerProperty reductionFactorY = new SimpleIntegerProperty(this, "reductionFactorY", 2);
     private final ObjectProperty<ReductionType> reductionType = new SimpleObjectProperty<>(this, "reductionType",
@@ -50,6 +51,8 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         }
     };
 
+    private final BooleanProperty scrollMode = new SimpleBooleanProperty(this, "scrollMode", false);
+
     private final BooleanProperty smooth = new SimpleBooleanProperty(this, "smooth", false) {
         @Override
         protected void invalidated() {
@@ -163,6 +166,24 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         return altImplementationProperty().get();
     }
 
+    /**
+     * Returns the value of the {@link #multiLevelContoursProperty()}.
+     *
+     * @return {@code true} if the single-pass multi-level contouring is used
+     */
+    public boolean isMultiLevelContours() {
+        return multiLevelContoursProperty().get();
+    }
+
+    /**
+     * Returns the value of the {@link #scrollModeProperty()}.
+     *
+     * @return {@code true} if the incremental scroll mode is enabled
+     */
+    public boolean isScrollMode() {
+        return scrollModeProperty().get();
+    }
+
     /**
      * Returns the value of the {@link #smoothProperty()}.
      *
@@ -183,6 +204,17 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         return minHexTileSize;
     }
 
+    /**
+     * Contouring algorithm used for {@link ContourType#CONTOUR}: the single-pass, tiled multi-level marching squares
+     * that re-uses the contours of tiles that did not change since the last update of the same data set (true, default)
+     * or the per-level reference marching squares implementation (false).
+     *
+     * @return multiLevelContours property
+     */
+    public BooleanProperty multiLevelContoursProperty() {
+        return multiLevelContours;
+    }
+
     public IntegerProperty quantisationLevelsProperty() {
         return quantisationLevels;
     }
@@ -199,6 +231,23 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         return reductionType;
     }
 
+    /**
+     * Incremental update mode for live waterfall/spectrogram-type data sets where new rows are appended at the end of
+     * the y grid while the oldest rows drop out at its beginning. The rows are identified by their y grid coordinate and
+     * assumed to be immutable once rendered: only the rows that scrolled in since the last frame are copied, quantised
+     * and -- for {@link ContourType#HEATMAP} -- written to the retained image. Any other change (grid, axis range,
+     * colour gradient, z-range, etc.) falls back to a full update.
+     * <p>
+     * N.B. effective only if no data reduction is applied, i.e. the data fits into the canvas or point reduction is
+     * disabled. By default the scroll mode is disabled.
+     * </p>
+     *
+     * @return scrollMode property
+     */
+    public BooleanProperty scrollModeProperty() {
+        return scrollMode;
+    }
+
     /**
      * This is used to compare different implementation and to potentially fall-back to an older reference
      * implementation
@@ -249,6 +298,15 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         minHexTileSizeProperty().set(minSize);
     }
 
+    /**
+     * Sets the value of the {@link #multiLevelContoursProperty()}.
+     *
+     * @param state {@code true} to use the single-pass multi-level contouring
+     */
+    public void setMultiLevelContours(final boolean state) {
+        multiLevelContoursProperty().set(state);
+    }
+
     public void setNumberQuantisationLevels(final int nQuantisation) {
         quantisationLevelsProperty().set(nQuantisation);
     }
@@ -265,6 +323,15 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         reductionTypeProperty().set(value);
     }
 
+    /**
+     * Sets the value of the {@link #scrollModeProperty()}.
+     *
+     * @param state {@code true} to enable the incremental scroll mode
+     */
+    public void setScrollMode(final boolean state) {
+        scrollModeProperty().set(state);
+    }
+
     /**
      * Sets the value of the {@link #smoothProperty()}.
      *
@@ -55,6 +55,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
             AbstractErrorDataSetRendererParameter.DEFAULT_HISTORY_INTENSITY_FADING);
     private final BooleanProperty drawBubbles = css().createBooleanProperty(this, "drawBubbles", false);
     private final BooleanProperty allowNans = css().createBooleanProperty(this, "allowNans", false);
+    private final BooleanProperty pipelinedRendering = css().createBooleanProperty(this, "pipelinedRendering", false);
 
     /**
      *
@@ -76,7 +77,8 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
                 barWidth,
                 intensityFading,
                 drawBubbles,
-                allowNans);
+                allowNans,
+                pipelinedRendering);
     }
 
     /**
@@ -244,6 +246,14 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         return dynamicBarWidthProperty().get();
     }
 
+    /**
+     * @return true if the screen coordinates and data reduction are prepared on a worker thread and only the drawing is
+     *         performed on the JavaFX application thread
+     */
+    public boolean isPipelinedRendering() {
+        return pipelinedRenderingProperty().get();
+    }
+
     /**
      * @return true if bars drawn to the y==0 axis shall be horizontally shifted for each DataSet
      */
@@ -251,6 +261,20 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         return shiftBarProperty().get();
     }
 
+    /**
+     * Pipelined (opt-in) render mode: the screen coordinate transforms, data reduction and per-point style look-ups are
+     * started on a worker thread as soon as the layout of all charts in the scene is final and run concurrently with
+     * the drawing of other charts, axes and grids. The JavaFX application thread then only waits for the (typically
+     * already finished) result and issues the GraphicsContext calls.
+     * <p>
+     * N.B. the data reducer is invoked from the worker thread and should not be shared with other renderers.
+     *
+     * @return the pipelinedRendering property
+     */
+    public BooleanProperty pipelinedRenderingProperty() {
+        return pipelinedRendering;
+    }
+
     /**
      * Sets whether renderer should draw no, simple (point-to-point), stair-case, Bezier, ... lines
      *
@@ -378,6 +402,16 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         return getThis();
     }
 
+    /**
+     * @see #pipelinedRenderingProperty()
+     * @param state true if the screen coordinates shall be prepared on a worker thread
+     * @return itself (fluent design)
+     */
+    public R setPipelinedRendering(final boolean state) {
+        pipelinedRenderingProperty().set(state);
+        return getThis();
+    }
+
     /**
      * Sets whether renderer should draw no, simple (point-to-point), stair-case, Bezier, ... lines
      *
@@ -443,6 +477,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         drawBarsProperty().bind(other.drawBarsProperty());
         drawBubblesProperty().bind(other.drawBubblesProperty());
         allowNaNsProperty().bind(other.allowNaNsProperty());
+        pipelinedRenderingProperty().bind(other.pipelinedRenderingProperty());
         shiftBarProperty().bind(other.shiftBarProperty());
         shiftBarOffsetProperty().bind(other.shiftBarOffsetProperty());
         dynamicBarWidthProperty().bind(other.dynamicBarWidthProperty());
@@ -479,6 +514,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         drawBarsProperty().unbind();
         drawBubblesProperty().unbind();
         allowNaNsProperty().unbind();
+        pipelinedRenderingProperty().unbind();
         shiftBarProperty().unbind();
         shiftBarOffsetProperty().unbind();
         dynamicBarWidthProperty().unbind();
@@ -3,6 +3,7 @@ package io.fair_acc.chartfx.renderer.spi;
 import java.security.InvalidParameterException;
 
 import javafx.geometry.Orientation;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 
 import io.fair_acc.bench.DurationMeasure;
@@ -58,11 +59,12 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
 
         // N.B. importance of reverse order: start with last index, so that
         // most(-like) important DataSet is drawn on top of the others
+        final GraphicsContext gc = getChart().getRendererCanvas(this).getGraphicsContext2D();
         for (int i = getDatasetNodes().size() - 1; i >= 0; i--) {
             var dataSetNode = getDatasetNodes().get(i);
             if (dataSetNode.isVisible()) {
                 benchDrawOne.start();
-                render(getChart().getCanvas().getGraphicsContext2D(), dataSetNode.getDataSet(), dataSetNode);
+                render(gc, dataSetNode.getRenderedDataSet(), dataSetNode);
                 benchDrawOne.stop();
             }
         }
@@ -70,6 +72,33 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
         benchDrawAll.stop();
     }
 
+    /**
+     * Renders only the horizontal display range [displayFrom, displayTo], e.g. the newly exposed strip of a scrolling
+     * chart. The graphics context is clipped to the range and {@link #xMin}/{@link #xMax} are limited to the range
+     * extended by the given padding, so that lines and markers crossing the boundary remain continuous.
+     *
+     * @param displayFrom lower display coordinate of the range to be drawn
+     * @param displayTo upper display coordinate of the range to be drawn
+     * @param padding additional display range on either side that is included in the data selection
+     */
+    public void render(final double displayFrom, final double displayTo, final double padding) {
+        final Canvas canvas = getChart().getRendererCanvas(this);
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(displayFrom, 0, displayTo - displayFrom, canvas.getHeight());
+        gc.clip();
+        stripFrom = displayFrom - padding;
+        stripTo = displayTo + padding;
+        try {
+            render();
+        } finally {
+            stripFrom = Double.NaN;
+            stripTo = Double.NaN;
+            gc.restore();
+        }
+    }
+
     protected abstract void render(GraphicsContext gc, DataSet dataSet, DataSetNode style);
 
     @Override
@@ -123,7 +152,7 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
     protected void updateAxisRange(AxisRange range, int dim) {
         for (DataSetNode node : getDatasetNodes()) {
             if (node.isVisible()) {
-                updateAxisRange(node.getDataSet(), range, dim);
+                updateAxisRange(node.getRenderedDataSet(), range, dim);
             }
         }
     }
@@ -140,11 +169,21 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
     }
 
     protected void updateCachedVariables() {
-        xMin = xAxis.getValueForDisplay(xAxis.isInvertedAxis() ? xAxis.getLength() : 0.0);
-        xMax = xAxis.getValueForDisplay(xAxis.isInvertedAxis() ? 0.0 : xAxis.getLength());
+        if (Double.isNaN(stripFrom)) {
+            xMin = xAxis.getValueForDisplay(xAxis.isInvertedAxis() ? xAxis.getLength() : 0.0);
+            xMax = xAxis.getValueForDisplay(xAxis.isInvertedAxis() ? 0.0 : xAxis.getLength());
+            return;
+        }
+        // partial (strip) rendering
+        final double from = xAxis.getValueForDisplay(Math.max(0.0, stripFrom));
+        final double to = xAxis.getValueForDisplay(Math.min(xAxis.getLength(), stripTo));
+        xMin = Math.min(from, to);
+        xMax = Math.max(from, to);
     }
 
     protected double xMin, xMax;
+    private double stripFrom = Double.NaN;
+    private double stripTo = Double.NaN;
     protected Axis xAxis;
     protected Axis yAxis;
 
@@ -155,6 +155,9 @@ public class BasicDataSetRenderer extends AbstractRendererXY<BasicDataSetRendere
         if (!isDrawMarker() || !dataSet.hasStyles()) {
             return;
         }
+        // N.B. the graphics context state is only updated if the style differs from the previously drawn point
+        gc.save();
+        lastMarkerStyle = null;
         dataSet.forEachStyle(min, max, (index, string) -> {
             if (!styleParser.tryParse(string)) {
                 return;
@@ -168,16 +171,18 @@ public class BasicDataSetRenderer extends AbstractRendererXY<BasicDataSetRendere
             if (Double.isNaN(y) || Double.isNaN(x)) {
                 return;
             }
-            var customMarker = styleParser.getMarkerType().orElse(style.getMarkerType());
-            var color = styleParser.getMarkerColor().orElse(style.getMarkerColor());
-            gc.save();
-            gc.setFill(color);
-            gc.setStroke(color);
-            gc.setLineDashes(styleParser.getMarkerLineDashes().orElse(style.getMarkerLineDashes()));
-            gc.setLineWidth(styleParser.getMarkerLineWidth().orElse(style.getMarkerLineWidth()));
-            customMarker.draw(gc, x, y, size);
-            gc.restore();
+            if (!string.equals(lastMarkerStyle)) {
+                lastMarkerStyle = string;
+                var color = styleParser.getMarkerColor().orElse(style.getMarkerColor());
+                gc.setFill(color);
+                gc.setStroke(color);
+                gc.setLineDashes(styleParser.getMarkerLineDashes().orElse(style.getMarkerLineDashes()));
+                gc.setLineWidth(styleParser.getMarkerLineWidth().orElse(style.getMarkerLineWidth()));
+            }
+            styleParser.getMarkerType().orElse(style.getMarkerType()).draw(gc, x, y, size);
         });
+        lastMarkerStyle = null;
+        gc.restore();
     }
 
     public boolean isAssumeSortedData() {
@@ -244,6 +249,7 @@ public class BasicDataSetRenderer extends AbstractRendererXY<BasicDataSetRendere
     AggregateDurationMeasure benchPolyLine = AggregateDurationMeasure.DISABLED;
 
     private final DataSetStyleParser styleParser = DataSetStyleParser.newInstance();
+    private String lastMarkerStyle;
 
     @Override
     protected CssPropertyFactory<AbstractRenderer<?>> css() {
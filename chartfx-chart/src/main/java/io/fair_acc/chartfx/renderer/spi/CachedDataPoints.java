@@ -125,14 +125,38 @@ public class CachedDataPoints {
         }
     }
 
+    /**
+     * copies the data values into 'values' and transforms them in-place using the axis' batch transform
+     */
+    private static void computeDisplayPositions(final Axis axis, final DataSet dataSet, final int dimIndex,
+            final double[] values, final int min, final int max) {
+        for (int index = min; index < max; index++) {
+            values[index] = dataSet.get(dimIndex, index);
+        }
+        axis.getDisplayPositions(values, min, max, values);
+    }
+
+    private static void computeDisplayPositions(final Axis axis, final DataSetError dataSet, final int dimIndex,
+            final double[] values, final double[] valuesEN, final double[] valuesEP, final int min, final int max) {
+        for (int index = min; index < max; index++) {
+            final double value = dataSet.get(dimIndex, index);
+            values[index] = value;
+            valuesEN[index] = value - dataSet.getErrorNegative(dimIndex, index);
+            valuesEP[index] = value + dataSet.getErrorPositive(dimIndex, index);
+        }
+        axis.getDisplayPositions(values, min, max, values);
+        axis.getDisplayPositions(valuesEN, min, max, valuesEN);
+        axis.getDisplayPositions(valuesEP, min, max, valuesEP);
+    }
+
     private void computeFullPolar(final Axis yAxis, final DataSetError dataSet, final int min, final int max) {
+        computeDisplayPositions(yAxis, dataSet, DIM_Y, yValues, min, max);
         for (int index = min; index < max; index++) {
             final double x = dataSet.get(DIM_X, index);
-            final double y = dataSet.get(DIM_Y, index);
             // check if error should be surrounded by Math.abs(..)
             // to ensure that they are always positive
             final double phi = x * DEG_TO_RAD;
-            final double r = maxRadius * Math.abs(1 - (yAxis.getDisplayPosition(y) / yRange));
+            final double r = maxRadius * Math.abs(1 - (yValues[index] / yRange));
             xValues[index] = xZero + (r * Math.cos(phi));
             yValues[index] = yZero + (r * Math.sin(phi));
 
@@ -150,13 +174,13 @@ public class CachedDataPoints {
 
     private void computeNoErrorPolar(final Axis yAxis, final DataSet dataSet, final int min, final int max) {
         // experimental transform euclidean to polar coordinates
+        computeDisplayPositions(yAxis, dataSet, DIM_Y, yValues, min, max);
         for (int index = min; index < max; index++) {
             final double x = dataSet.get(DIM_X, index);
-            final double y = dataSet.get(DIM_Y, index);
             // check if error should be surrounded by Math.abs(..)
             // to ensure that they are always positive
             final double phi = x * DEG_TO_RAD;
-            final double r = maxRadius * Math.abs(1 - (yAxis.getDisplayPosition(y) / yRange));
+            final double r = maxRadius * Math.abs(1 - (yValues[index] / yRange));
             xValues[index] = xZero + (r * Math.cos(phi));
             yValues[index] = yZero + (r * Math.sin(phi));
 
@@ -271,19 +295,13 @@ public class CachedDataPoints {
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
             final double minValue = dimIndex == DIM_X ? xMin : yMin;
             final DataSetError ds = (DataSetError) dataSet;
+            computeDisplayPositions(yAxis, ds, dimIndex, values, valuesEN, valuesEP, min, max);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
-
-                values[index] = yAxis.getDisplayPosition(value);
-
-                if (!Double.isNaN(values[index])) {
-                    valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                    valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
-                    continue;
+                if (Double.isNaN(values[index])) {
+                    values[index] = minValue;
+                    valuesEN[index] = minValue;
+                    valuesEP[index] = minValue;
                 }
-                values[index] = minValue;
-                valuesEN[index] = minValue;
-                valuesEP[index] = minValue;
             }
             return;
         }
@@ -294,8 +312,8 @@ public class CachedDataPoints {
         final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
         final double minValue = dimIndex == DIM_X ? xMin : yMin;
 
+        computeDisplayPositions(yAxis, dataSet, dimIndex, values, min, max);
         for (int index = min; index < max; index++) {
-            values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
             if (Double.isFinite(values[index])) {
                 valuesEN[index] = values[index];
                 valuesEP[index] = values[index];
@@ -314,19 +332,14 @@ public class CachedDataPoints {
             final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
             final DataSetError ds = (DataSetError) dataSet;
+            computeDisplayPositions(yAxis, ds, dimIndex, values, valuesEN, valuesEP, min, max);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
-
-                if (!Double.isFinite(value)) {
+                // N.B. non-finite data values map onto non-finite display positions
+                if (!Double.isFinite(values[index])) {
                     values[index] = Double.NaN;
                     valuesEN[index] = Double.NaN;
                     valuesEP[index] = Double.NaN;
-                    continue;
                 }
-
-                values[index] = yAxis.getDisplayPosition(value);
-                valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
             }
             return;
         }
@@ -336,9 +349,8 @@ public class CachedDataPoints {
         final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
         final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
 
+        computeDisplayPositions(yAxis, dataSet, dimIndex, values, min, max);
         for (int index = min; index < max; index++) {
-            values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
-
             if (Double.isFinite(values[index])) {
                 valuesEN[index] = values[index];
                 valuesEP[index] = values[index];
@@ -355,11 +367,8 @@ public class CachedDataPoints {
         // no error attached
         final double[] values = dimIndex == DIM_X ? xValues : yValues;
         final double minValue = dimIndex == DIM_X ? xMin : yMin;
+        computeDisplayPositions(axis, dataSet, dimIndex, values, min, max);
         for (int index = min; index < max; index++) {
-            final double value = dataSet.get(dimIndex, index);
-
-            values[index] = axis.getDisplayPosition(value);
-
             if (Double.isNaN(values[index])) {
                 yValues[index] = minValue;
             }
@@ -375,12 +384,10 @@ public class CachedDataPoints {
             final int min, final int max) {
         // no error attached
         final double[] values = dimIndex == DIM_X ? xValues : yValues;
+        computeDisplayPositions(axis, dataSet, dimIndex, values, min, max);
         for (int index = min; index < max; index++) {
-            final double value = dataSet.get(dimIndex, index);
-
-            if (Double.isFinite(value)) {
-                values[index] = axis.getDisplayPosition(value);
-            } else {
+            // N.B. non-finite data values map onto non-finite display positions
+            if (!Double.isFinite(values[index])) {
                 values[index] = Double.NaN;
             }
         }
@@ -392,13 +399,13 @@ public class CachedDataPoints {
     }
 
     private void computeYonlyPolar(final Axis yAxis, final DataSet dataSet, final int min, final int max) {
+        computeDisplayPositions(yAxis, dataSet, DIM_Y, yValues, min, max);
         for (int index = min; index < max; index++) {
             final double x = dataSet.get(DIM_X, index);
-            final double y = dataSet.get(DIM_Y, index);
             // check if error should be surrounded by Math.abs(..)
             // to ensure that they are always positive
             final double phi = x * DEG_TO_RAD;
-            final double r = maxRadius * Math.abs(1 - (yAxis.getDisplayPosition(y) / yRange));
+            final double r = maxRadius * Math.abs(1 - (yValues[index] / yRange));
             xValues[index] = xZero + (r * Math.cos(phi));
             yValues[index] = yZero + (r * Math.sin(phi));
 
@@ -477,7 +484,9 @@ public class CachedDataPoints {
                 System.arraycopy(errorYPos, indexMin, errorYPos, 0, actualDataCount);
             }
 
-            ProcessingProfiler.getTimeDiff(startTimeStamp, String.format("no data reduction (%d)", actualDataCount));
+            if (ProcessingProfiler.getDebugState()) {
+                ProcessingProfiler.getTimeDiff(startTimeStamp, String.format("no data reduction (%d)", actualDataCount));
+            }
             return;
         }
         if (errorType[DIM_X] == ErrorType.NO_ERROR) {
@@ -4,6 +4,7 @@ import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -35,7 +36,8 @@ import io.fair_acc.dataset.utils.*;
 class ContourDataSetCache extends WritableImageCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetCache.class);
     private static final String PARALLEL_WORKER_ERROR = "one parallel worker thread finished execution with error";
-    private static final int BGRA_BYTE_SIZE = 4;
+    private static final String PIXEL_ARRAY_CACHE_NAME = "ContourDataSetCache-pixelArray";
+    private static final int TRANSPARENT_ARGB = 0x00000000;
     private static final int REF_WIDTH_PARALLEL = 1024;
     private static final int REF_HEIGHT_PARALLEL = 1000;
 
@@ -72,13 +74,39 @@ class ContourDataSetCache extends WritableImageCache {
     protected final boolean xInverted;
     protected final boolean yInverted;
     protected final boolean zInverted;
+    protected final int nQuant;
+    protected final boolean scrollMode;
 
     // temp data variables
-    protected final double[] dataBuffer;
+    protected double[] dataBuffer;
     protected double[] tempDataBuffer;
-    protected final double[] reduced;
+    protected double[] reduced;
+
+    // scroll mode state -- taken over by the cache of the subsequent frame
+    protected double[] quantizedBuffer;
+    protected double[] rowMin;
+    protected double[] rowMax;
+    protected double[] gridX;
+    protected double[] gridY;
+    protected AxisTransform zAxisTransform;
+    protected int nScrolledRows = -1; // rows scrolled in since the previous frame, '-1': not scrolled
+    protected boolean fullUpdate = true; // whether all quantised data has been recomputed
+    protected WritableImage scrollImage;
+    protected ColorGradient scrollImageGradient;
+    protected int scrollImageOffset; // ring-buffer offset of the first image row
 
     public ContourDataSetCache(final XYChart chart, final ContourDataSetRenderer renderer, final DataSet dataSet) {
+        this(chart, renderer, dataSet, null);
+    }
+
+    /**
+     * @param chart the chart to be drawn on
+     * @param renderer the renderer providing the axes and parameters
+     * @param dataSet the data set to be drawn
+     * @param previous cache of the previous frame of the same data set in scroll mode (N.B. its buffers are either
+     *            taken over or released), {@code null}: none
+     */
+    ContourDataSetCache(final XYChart chart, final ContourDataSetRenderer renderer, final DataSet dataSet, final ContourDataSetCache previous) {
         if (dataSet.getDimension() < 3) {
             throw new IllegalArgumentException("dataSet needs be at least 3D but is " + dataSet.getDimension());
         }
@@ -138,12 +166,28 @@ class ContourDataSetCache extends WritableImageCache {
         this.xSize = Math.abs(this.indexXMax - this.indexXMin) + 1;
         this.ySize = Math.abs(this.indexYMax - this.indexYMin) + 1;
 
+        final AxisTransform axisTransform = zAxis.getAxisTransform();
+        if (axisTransform == null) {
+            throw new IllegalArgumentException("zAxis of renderer needs to have an axis transform for its z-Axis");
+        }
+        this.zAxisTransform = axisTransform;
+        this.nQuant = renderer.getNumberQuantisationLevels();
+        this.scrollMode = renderer.isScrollMode();
+        final boolean computeLocalRange = renderer.computeLocalRange()
+                                       && (zAxis.isAutoRanging() || zAxis.isAutoGrowRanging());
+
+        if (scrollMode && !isReductionRequired(renderer)) {
+            updateScrollingData(gridDataSet, renderer, previous, computeLocalRange);
+            ProcessingProfiler.getTimeDiff(start, "incremental copy and quantisation");
+            return;
+        }
+        if (previous != null) {
+            previous.releaseCachedVariables();
+        }
+
         // copy- transform data
         dataBuffer = DoubleArrayCache.getInstance().getArrayExact(this.xSize * this.ySize);
-        // TODO: tune this limit
-        final int minSizeThreshold = REF_WIDTH_PARALLEL * REF_HEIGHT_PARALLEL;
-        final boolean sufficientlyLarge = xSize * ySize < minSizeThreshold;
-        copySubFrame(dataSet, dataBuffer, renderer.isParallelImplementation() && sufficientlyLarge, //
+        copySubFrame(dataSet, dataBuffer, isParallelCopy(renderer), //
                 xInverted, indexXMin, indexXMax, yInverted, indexYMin, indexYMax);
         ProcessingProfiler.getTimeDiff(start, "copySubFrame");
 
@@ -152,8 +196,6 @@ class ContourDataSetCache extends WritableImageCache {
         ProcessingProfiler.getTimeDiff(start, "data reduction");
 
         // compute local Range
-        final boolean computeLocalRange = renderer.computeLocalRange()
-                                       && (zAxis.isAutoRanging() || zAxis.isAutoGrowRanging());
         final DataRange zDataRange = computeLocalRange(reduced, xSize, ySize, computeLocalRange);
         if (zDataRange.isDefined()) {
             zMin = zDataRange.getMin();
@@ -162,23 +204,137 @@ class ContourDataSetCache extends WritableImageCache {
         ProcessingProfiler.getTimeDiff(start, "recompute local z range");
 
         // process continuous to quantised z values
-        final AxisTransform axisTransform = zAxis.getAxisTransform();
-        if (axisTransform == null) {
-            throw new IllegalArgumentException("zAxis of renderer needs to have an axis transform for its z-Axis");
-        }
-        final int nQuant = renderer.getNumberQuantisationLevels();
         quantizeData(reduced, xSize, ySize, zInverted, zMin, zMax, axisTransform, nQuant);
         ProcessingProfiler.getTimeDiff(start, "quantized data");
     }
 
+    /**
+     * Scroll mode: takes over the buffers of the previous frame if only new rows have been appended to the y grid and
+     * copies, evaluates the z-range of and quantises only those. Falls back to a full update otherwise.
+     */
+    private void updateScrollingData(final GridDataSet gridDataSet, final ContourDataSetRenderer renderer,
+            final ContourDataSetCache previous, final boolean computeLocalRange) {
+        final int length = xSize * ySize;
+        nScrolledRows = previous == null ? -1 : getScrolledRows(previous, gridDataSet);
+        final int newRowStart = yInverted ? 0 : ySize - Math.max(nScrolledRows, 0);
+        if (nScrolledRows < 0) {
+            if (previous != null) {
+                previous.releaseCachedVariables();
+            }
+            dataBuffer = DoubleArrayCache.getInstance().getArrayExact(length);
+            quantizedBuffer = DoubleArrayCache.getInstance().getArrayExact(length);
+            rowMin = new double[ySize];
+            rowMax = new double[ySize];
+            gridX = new double[xSize];
+            gridY = new double[ySize];
+            Arrays.setAll(gridX, i -> gridDataSet.getGrid(DIM_X, indexXMin + i));
+            Arrays.setAll(gridY, i -> gridDataSet.getGrid(DIM_Y, indexYMin + i));
+            copySubFrame(gridDataSet, dataBuffer, isParallelCopy(renderer), //
+                    xInverted, indexXMin, indexXMax, yInverted, indexYMin, indexYMax);
+            computeRowRanges(dataBuffer, xSize, 0, ySize, rowMin, rowMax);
+        } else {
+            takeOver(previous);
+            if (nScrolledRows > 0) {
+                // retained rows move away from the end receiving the new rows
+                shiftRows(dataBuffer, xSize, ySize, nScrolledRows, yInverted);
+                shiftRows(quantizedBuffer, xSize, ySize, nScrolledRows, yInverted);
+                shiftRows(rowMin, 1, ySize, nScrolledRows, yInverted);
+                shiftRows(rowMax, 1, ySize, nScrolledRows, yInverted);
+                System.arraycopy(gridY, nScrolledRows, gridY, 0, ySize - nScrolledRows);
+                for (int i = ySize - nScrolledRows; i < ySize; i++) {
+                    gridY[i] = gridDataSet.getGrid(DIM_Y, indexYMin + i);
+                }
+                computeCoordinates(gridDataSet, dataBuffer, length, //
+                        xInverted, indexXMin, indexXMax, //
+                        yInverted, indexYMax - nScrolledRows + 1, indexYMax, indexYMin);
+                computeRowRanges(dataBuffer, xSize, newRowStart, newRowStart + nScrolledRows, rowMin, rowMax);
+            }
+        }
+        reduced = quantizedBuffer;
+
+        final DataRange zDataRange = computeLocalRange ? mergeRowRanges(rowMin, rowMax, ySize) : new DataRange();
+        if (zDataRange.isDefined()) {
+            zMin = zDataRange.getMin();
+            zMax = zDataRange.getMax();
+        }
+
+        // N.B. the retained quantised rows remain valid only if the quantisation is unchanged
+        fullUpdate = nScrolledRows < 0 || previous.zMin != zMin || previous.zMax != zMax || previous.nQuant != nQuant // NOPMD
+                  || previous.zInverted != zInverted || previous.zAxisTransform != zAxisTransform;
+        if (fullUpdate) {
+            System.arraycopy(dataBuffer, 0, quantizedBuffer, 0, length);
+            quantizeRange(quantizedBuffer, 0, length, zInverted, zMin, zMax, zAxisTransform, nQuant);
+        } else if (nScrolledRows > 0) {
+            final int from = newRowStart * xSize;
+            final int to = (newRowStart + nScrolledRows) * xSize;
+            System.arraycopy(dataBuffer, from, quantizedBuffer, from, to - from);
+            quantizeRange(quantizedBuffer, from, to, zInverted, zMin, zMax, zAxisTransform, nQuant);
+        }
+    }
+
+    /**
+     * @param previous cache of the previous frame
+     * @param gridDataSet the data set to be drawn
+     * @return number of rows appended to the y grid since the previous frame or '-1' if the retained data cannot be re-used
+     */
+    protected int getScrolledRows(final ContourDataSetCache previous, final GridDataSet gridDataSet) {
+        if (previous.gridY == null || previous.xSize != xSize || previous.ySize != ySize //
+                || previous.xInverted != xInverted || previous.yInverted != yInverted) {
+            return -1;
+        }
+        for (int i = 0; i < xSize; i++) {
+            if (previous.gridX[i] != gridDataSet.getGrid(DIM_X, indexXMin + i)) {
+                return -1;
+            }
+        }
+        // N.B. the first row of the new window must be one of the previously visible rows
+        final int nRows = Arrays.binarySearch(previous.gridY, gridDataSet.getGrid(DIM_Y, indexYMin));
+        if (nRows < 0) {
+            return -1;
+        }
+        for (int i = nRows; i < ySize; i++) {
+            if (previous.gridY[i] != gridDataSet.getGrid(DIM_Y, indexYMin + i - nRows)) {
+                return -1;
+            }
+        }
+        return nRows;
+    }
+
+    private void takeOver(final ContourDataSetCache previous) {
+        dataBuffer = previous.dataBuffer;
+        quantizedBuffer = previous.quantizedBuffer;
+        rowMin = previous.rowMin;
+        rowMax = previous.rowMax;
+        gridX = previous.gridX;
+        gridY = previous.gridY;
+        scrollImage = previous.scrollImage;
+        scrollImageGradient = previous.scrollImageGradient;
+        scrollImageOffset = previous.scrollImageOffset;
+        previous.dataBuffer = null;
+        previous.quantizedBuffer = null;
+        previous.gridY = null;
+        previous.scrollImage = null;
+    }
+
+    protected boolean isParallelCopy(final ContourDataSetRenderer renderer) {
+        // TODO: tune this limit
+        final int minSizeThreshold = REF_WIDTH_PARALLEL * REF_HEIGHT_PARALLEL;
+        final boolean sufficientlyLarge = xSize * ySize < minSizeThreshold;
+        return renderer.isParallelImplementation() && sufficientlyLarge;
+    }
+
     protected static void quantizeData(final double[] input, final int width, final int height, final boolean inverted,
             final double min, final double max, final AxisTransform axisTransform, final int nQuant) {
+        quantizeRange(input, 0, width * height, inverted, min, max, axisTransform, nQuant);
+    }
+
+    protected static void quantizeRange(final double[] input, final int fromIndex, final int toIndex, final boolean inverted,
+            final double min, final double max, final AxisTransform axisTransform, final int nQuant) {
         final double zMinPixel = axisTransform.forward(min);
         final double zRange = Math.abs(axisTransform.forward(max) - zMinPixel);
         final double zRangeInv = 1.0 / zRange;
 
-        final int length = width * height;
-        for (int index = 0; index < length; index++) {
+        for (int index = fromIndex; index < toIndex; index++) {
             final double z = input[index];
             final double offset = ((axisTransform.forward(z) - zMinPixel) * zRangeInv);
             input[index] = inverted ? quantize(1 - offset, nQuant) : quantize(offset, nQuant);
@@ -188,6 +344,20 @@ class ContourDataSetCache extends WritableImageCache {
     public void releaseCachedVariables() {
         DoubleArrayCache.getInstance().add(dataBuffer);
         DoubleArrayCache.getInstance().add(tempDataBuffer);
+        DoubleArrayCache.getInstance().add(quantizedBuffer);
+        dataBuffer = null;
+        tempDataBuffer = null;
+        quantizedBuffer = null;
+        gridY = null;
+        scrollImage = null;
+    }
+
+    protected boolean isReductionRequired(final ContourDataSetRenderer renderer) {
+        final double dataPixelSizeX = (double) Math.max(renderer.getReductionFactorX(), 1) * xSize / xAxisWidth;
+        final double dataPixelSizeY = (double) Math.max(renderer.getReductionFactorY(), 1) * ySize / yAxisHeight;
+        final boolean mayReduceX = dataPixelSizeX > 1.0 && xSize > 10;
+        final boolean mayReduceY = dataPixelSizeY > 1.0 && ySize > 10;
+        return (mayReduceX || mayReduceY) && renderer.isActualReducePoints();
     }
 
     protected double[] reduceDataArray(final double[] input, final int srcWidth, final int srcHeight,
@@ -197,11 +367,9 @@ class ContourDataSetCache extends WritableImageCache {
         final ReductionType reductionType = renderer.getReductionType();
         final double dataPixelSizeX = (double) reductionFactorX * xSize / xAxisWidth;
         final double dataPixelSizeY = (double) reductionFactorY * ySize / yAxisHeight;
-        final boolean mayReduceX = dataPixelSizeX > 1.0 && xSize > 10;
-        final boolean mayReduceY = dataPixelSizeY > 1.0 && ySize > 10;
 
         final double[] reducedData;
-        if ((mayReduceX || mayReduceY) && renderer.isActualReducePoints()) {
+        if (isReductionRequired(renderer)) {
             int targetWidth = (int) (srcWidth / Math.max((dataPixelSizeX), 1));
             int targetHeight = (int) (srcHeight / Math.max((dataPixelSizeY), 1));
 
@@ -291,6 +459,49 @@ class ContourDataSetCache extends WritableImageCache {
         return zDataRange;
     }
 
+    /**
+     * computes the finite min/max values of the rows [fromRow, toRow[ ('+inf'/'-inf' for rows without finite values)
+     */
+    protected static void computeRowRanges(final double[] input, final int width, final int fromRow, final int toRow,
+            final double[] rowMin, final double[] rowMax) {
+        for (int row = fromRow; row < toRow; row++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            final int rowEnd = (row + 1) * width;
+            for (int index = row * width; index < rowEnd; index++) {
+                final double value = input[index];
+                if (Double.isFinite(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            rowMin[row] = min;
+            rowMax[row] = max;
+        }
+    }
+
+    protected static DataRange mergeRowRanges(final double[] rowMin, final double[] rowMax, final int height) {
+        final DataRange zDataRange = new DataRange();
+        for (int row = 0; row < height; row++) {
+            zDataRange.add(rowMin[row]);
+            zDataRange.add(rowMax[row]);
+        }
+        return zDataRange;
+    }
+
+    /**
+     * shifts the retained rows by nRows either towards the end (towardsEnd == true) or the beginning of the buffer
+     */
+    protected static void shiftRows(final double[] buffer, final int width, final int height, final int nRows,
+            final boolean towardsEnd) {
+        final int retainedLength = (height - nRows) * width;
+        if (towardsEnd) {
+            System.arraycopy(buffer, 0, buffer, nRows * width, retainedLength);
+        } else {
+            System.arraycopy(buffer, nRows * width, buffer, 0, retainedLength);
+        }
+    }
+
     protected static void copySubFrame(final DataSet dataSet, final double[] dataBuffer,
             final boolean parallelImplementation, //
             final boolean xInverted, final int xMinIndex, final int xMaxIndex, //
@@ -340,12 +551,21 @@ class ContourDataSetCache extends WritableImageCache {
         return ((int) (value * nLevels)) / (double) nLevels;
     }
 
+    /**
+     * converts quantised values (multiples of 1/nLevels) to ARGB colours via the look-up table of
+     * {@link ColorGradient#getColorLookupTable(int)}, N.B. values outside [0, 1] and NaN are transparent
+     */
+    protected static void convertRow(final double[] inputData, final int inputOffset, final int width,
+            final int[] lookupTable, final int nLevels, final int[] pixels, final int pixelOffset) {
+        for (int xIndex = 0; xIndex < width; xIndex++) {
+            final double value = inputData[inputOffset + xIndex];
+            final int level = (int) Math.round(value * nLevels);
+            pixels[pixelOffset + xIndex] = value >= 0.0 && level <= nLevels ? lookupTable[level] : TRANSPARENT_ARGB;
+        }
+    }
+
     protected WritableImage convertDataArrayToImage(final double[] inputData, final int dataWidth, final int dataHeight,
             final ColorGradient colorGradient) {
-        final int length = dataWidth * dataHeight;
-
-        final byte[] byteBuffer = ByteArrayCache.getInstance().getArrayExact(length * BGRA_BYTE_SIZE);
-        final int rowSizeInBytes = BGRA_BYTE_SIZE * dataWidth;
         final WritableImage image = this.getImage(dataWidth, dataHeight);
         final PixelWriter pixelWriter = image.getPixelWriter();
         if (pixelWriter == null) {
@@ -355,27 +575,56 @@ class ContourDataSetCache extends WritableImageCache {
             return image;
         }
 
+        final int[] lookupTable = colorGradient.getColorLookupTable(nQuant);
+        final int[] pixels = ArrayCache.getCachedIntArray(PIXEL_ARRAY_CACHE_NAME, dataWidth * dataHeight);
         final int hMinus1 = dataHeight - 1;
         for (int yIndex = 0; yIndex < dataHeight; yIndex++) {
-            final int rowIndex = dataWidth * yIndex;
-            final int rowPixelIndex = rowSizeInBytes * (hMinus1 - yIndex);
-            for (int xIndex = 0; xIndex < dataWidth; xIndex++) {
-                final int[] color = colorGradient.getColorBytes(inputData[rowIndex + xIndex]);
-
-                final int pixelIndex = rowPixelIndex + xIndex * BGRA_BYTE_SIZE;
-                byteBuffer[pixelIndex] = (byte) (color[3]);
-                byteBuffer[pixelIndex + 1] = (byte) (color[2]);
-                byteBuffer[pixelIndex + 2] = (byte) (color[1]);
-                byteBuffer[pixelIndex + 3] = (byte) (color[0]);
-            }
+            convertRow(inputData, dataWidth * yIndex, dataWidth, lookupTable, nQuant, pixels, dataWidth * (hMinus1 - yIndex));
         }
 
-        pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getByteBgraPreInstance(), byteBuffer, 0,
-                rowSizeInBytes);
-        ByteArrayCache.getInstance().add(byteBuffer);
+        pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getIntArgbPreInstance(), pixels, 0, dataWidth);
+        ArrayCache.release(PIXEL_ARRAY_CACHE_NAME, pixels);
         return image;
     }
 
+    /**
+     * Scroll mode: updates the retained heat-map image. If neither the quantisation, the colour gradient nor the
+     * geometry changed, only the rows scrolled in since the previous frame are converted and written. The image is
+     * organised as a ring buffer, i.e. the first (top) row is stored at {@link #scrollImageOffset}.
+     *
+     * @param colorGradient the colour gradient to be used
+     * @return the retained image
+     */
+    protected WritableImage updateScrollImage(final ColorGradient colorGradient) {
+        if (fullUpdate || scrollImage == null || scrollImageGradient != colorGradient //
+                || (int) scrollImage.getWidth() != xSize || (int) scrollImage.getHeight() != ySize) {
+            if (scrollImage != null) {
+                add(scrollImage); // re-used by 'getImage' if the size matches
+            }
+            scrollImage = convertDataArrayToImage(reduced, xSize, ySize, colorGradient);
+            scrollImageGradient = colorGradient;
+            scrollImageOffset = 0;
+            return scrollImage;
+        }
+        final PixelWriter pixelWriter = scrollImage.getPixelWriter();
+        if (nScrolledRows <= 0 || pixelWriter == null) {
+            return scrollImage;
+        }
+
+        // new rows are at the end of the data buffer (= top of the image) or at its beginning for inverted y axes
+        scrollImageOffset = Math.floorMod(yInverted ? scrollImageOffset + nScrolledRows : scrollImageOffset - nScrolledRows, ySize);
+        final int newRowStart = yInverted ? 0 : ySize - nScrolledRows;
+        final int[] lookupTable = colorGradient.getColorLookupTable(nQuant);
+        final int[] pixels = ArrayCache.getCachedIntArray(PIXEL_ARRAY_CACHE_NAME, xSize);
+        for (int row = newRowStart; row < newRowStart + nScrolledRows; row++) {
+            convertRow(reduced, row * xSize, xSize, lookupTable, nQuant, pixels, 0);
+            final int imageRow = (ySize - 1 - row + scrollImageOffset) % ySize;
+            pixelWriter.setPixels(0, imageRow, xSize, 1, PixelFormat.getIntArgbPreInstance(), pixels, 0, xSize);
+        }
+        ArrayCache.release(PIXEL_ARRAY_CACHE_NAME, pixels);
+        return scrollImage;
+    }
+
     protected static int roundDownEven(double d) {
         return (int) Math.floor(d / 2) * 2;
     }
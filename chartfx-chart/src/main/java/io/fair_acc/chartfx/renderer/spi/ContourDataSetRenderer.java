@@ -6,6 +6,8 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ExecutionException;
 
 import javafx.beans.binding.Bindings;
@@ -35,11 +37,13 @@ import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.AxisTransform;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
 import io.fair_acc.chartfx.plugins.Zoomer;
+import io.fair_acc.chartfx.renderer.ContourType;
 import io.fair_acc.chartfx.renderer.Renderer;
 import io.fair_acc.chartfx.renderer.spi.hexagon.Hexagon;
 import io.fair_acc.chartfx.renderer.spi.hexagon.HexagonMap;
 import io.fair_acc.chartfx.renderer.spi.marchingsquares.GeneralPath;
 import io.fair_acc.chartfx.renderer.spi.marchingsquares.MarchingSquares;
+import io.fair_acc.chartfx.renderer.spi.marchingsquares.MultiLevelMarchingSquares;
 import io.fair_acc.chartfx.renderer.spi.utils.ColorGradient;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.geometry.Side;
@@ -77,9 +81,11 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
 public class ContourDataSetRenderer extends AbstractContourDataSetRendererParameter<ContourDataSetRenderer> implements Renderer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetRenderer.class);
     private ContourDataSetCache localCache;
+    private final Map<DataSetNode, ContourDataSetCache> scrollCaches = new WeakHashMap<>();
+    private final Map<DataSetNode, MultiLevelMarchingSquares> contourCaches = new WeakHashMap<>();
     protected final ColorGradientBar gradientBar = new ColorGradientBar();
 
-    private void drawContour(final GraphicsContext gc, final ContourDataSetCache lCache) {
+    private void drawContour(final GraphicsContext gc, final ContourDataSetCache lCache, final DataSetNode style) {
         final double[] levels = new double[getNumberQuantisationLevels()];
         for (int i = 0; i < levels.length; i++) {
             levels[i] = (i + 1) / (double) levels.length;
@@ -100,7 +106,6 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
 
         final ColorGradient colorGradient = getColorGradient();
-        final MarchingSquares marchingSquares = new MarchingSquares();
         final double scaleX = lCache.xDataPixelRange / xSize;
         final double scaleY = lCache.yDataPixelRange / ySize;
         gc.save();
@@ -108,7 +113,14 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         gc.scale(scaleX, scaleY);
         final GeneralPath[] isolines;
         try {
-            isolines = marchingSquares.buildContours(data, levels);
+            if (isMultiLevelContours()) {
+                // N.B. re-uses the contours of tiles that did not change since the last update of the same data set
+                final MultiLevelMarchingSquares marchingSquares = contourCaches.computeIfAbsent(style, node -> new MultiLevelMarchingSquares());
+                marchingSquares.setReuseUnchangedTiles(true);
+                isolines = marchingSquares.buildContours(data, levels);
+            } else {
+                isolines = new MarchingSquares().buildContours(data, levels);
+            }
             int levelCount = 0;
             for (final GeneralPath path : isolines) {
                 if (path.size() > getMaxContourSegments()) {
@@ -203,6 +215,22 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         // N.B. works only since OpenJFX 12!! fall-back for JDK8 is the old implementation
         gc.setImageSmoothing(isSmooth());
 
+        if (lCache.scrollMode) {
+            // retained image is a ring buffer: draw the rows [offset, ySize[ on top of the rows [0, offset[
+            final WritableImage image = lCache.updateScrollImage(getColorGradient());
+            ProcessingProfiler.getTimeDiff(start, "color map");
+            final int offset = lCache.scrollImageOffset;
+            final double topHeight = lCache.yDataPixelRange * (lCache.ySize - offset) / lCache.ySize;
+            gc.drawImage(image, 0, offset, lCache.xSize, lCache.ySize - offset, //
+                    lCache.xDataPixelMin, lCache.yDataPixelMin, lCache.xDataPixelRange, topHeight);
+            if (offset > 0) {
+                gc.drawImage(image, 0, 0, lCache.xSize, offset, //
+                        lCache.xDataPixelMin, lCache.yDataPixelMin + topHeight, lCache.xDataPixelRange, lCache.yDataPixelRange - topHeight);
+            }
+            ProcessingProfiler.getTimeDiff(start, "drawHeatMap");
+            return;
+        }
+
         // process z quantisation to colour transform
         final WritableImage image = localCache.convertDataArrayToImage(lCache.reduced, lCache.xSize, lCache.ySize, getColorGradient());
         ProcessingProfiler.getTimeDiff(start, "color map");
@@ -398,7 +426,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         gradientBar.setAxis(localZAxis);
     }
 
-    private void paintCanvas(final GraphicsContext gc) {
+    private void paintCanvas(final GraphicsContext gc, final DataSetNode style) {
         if (localCache.xSize == 0 || localCache.ySize == 0) {
             return;
         }
@@ -409,7 +437,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
         switch (getContourType()) {
         case CONTOUR:
-            drawContour(gc, localCache);
+            drawContour(gc, localCache, style);
             break;
         case CONTOUR_FAST:
             drawContourFast(gc, axisTransform, localCache);
@@ -427,6 +455,14 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
     }
 
+    /**
+     * @param style node of the rendered data set
+     * @return the retained contour tiles of the given data set or {@code null} if none
+     */
+    MultiLevelMarchingSquares getContourCache(final DataSetNode style) {
+        return contourCaches.get(style);
+    }
+
     @Override
     public void runPreLayout() {
         layoutZAxis(zAxis);
@@ -435,12 +471,26 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
     @Override
     protected void render(GraphicsContext gc, DataSet dataSet, DataSetNode style) {
         long start = ProcessingProfiler.getTimeStamp();
-        localCache = new ContourDataSetCache(getChart(), this, dataSet); // NOPMD
+        if (!isScrollMode() && !scrollCaches.isEmpty()) {
+            scrollCaches.values().forEach(ContourDataSetCache::releaseCachedVariables);
+            scrollCaches.clear();
+        }
+        if (!contourCaches.isEmpty() && (getContourType() != ContourType.CONTOUR || !isMultiLevelContours())) {
+            // retained tile snapshots and contours are no longer needed
+            contourCaches.clear();
+        }
+        // scroll mode: the cache of the previous frame is passed on so that only new rows need to be processed
+        final ContourDataSetCache previousCache = isScrollMode() ? scrollCaches.remove(style) : null;
+        localCache = new ContourDataSetCache(getChart(), this, dataSet, previousCache); // NOPMD
         ProcessingProfiler.getTimeDiff(start, "updateCachedVariables");
 
         // data reduction algorithm here
-        paintCanvas(gc);
-        localCache.releaseCachedVariables();
+        paintCanvas(gc, style);
+        if (isScrollMode()) {
+            scrollCaches.put(style, localCache);
+        } else {
+            localCache.releaseCachedVariables();
+        }
         ProcessingProfiler.getTimeDiff(start, "finished drawing");
     }
 
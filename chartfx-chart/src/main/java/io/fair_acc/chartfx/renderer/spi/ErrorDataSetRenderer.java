@@ -1,5 +1,11 @@
 package io.fair_acc.chartfx.renderer.spi;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.shape.FillRule;
@@ -7,15 +13,22 @@ import javafx.scene.shape.FillRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.bench.DurationMeasure;
+import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.marker.Marker;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
 import io.fair_acc.chartfx.renderer.spi.utils.BezierCurve;
+import io.fair_acc.chartfx.renderer.spi.utils.StyleGroups;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.DataSetStyleParser;
 import io.fair_acc.chartfx.utils.FastDoubleArrayCache;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetError.ErrorType;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 
 /**
@@ -36,6 +49,7 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     private static final Logger LOGGER = LoggerFactory.getLogger(ErrorDataSetRenderer.class);
 
     private final DataSetStyleParser styleParser = DataSetStyleParser.newInstance();
+    private final StyleGroups styleGroups = new StyleGroups();
 
     /**
      * Creates new <code>ErrorDataSetRenderer</code>.
@@ -98,18 +112,90 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         return true;
     }
 
+    @Override
+    public void prepareRender() {
+        // supersedes stale, not yet consumed preparations
+        cancelPreparation();
+        if (pendingPreparation != null || !isPipelinedRendering() || getDatasets().isEmpty() || getChart() == null || xAxis == null || yAxis == null) {
+            return;
+        }
+        updateCachedVariables();
+        preparation.capture();
+        pendingPreparation = CachedDaemonThreadFactory.getCommonPool().submit(preparation);
+    }
+
+    @Override
+    public void runPostLayout() {
+        // the data sets are unlocked after this stage -> make sure that no worker is still accessing them
+        cancelPreparation();
+    }
+
+    @Override
+    public void setRecorder(final MeasurementRecorder recorder) {
+        super.setRecorder(recorder);
+        benchPrepare = recorder.newTraceDuration("errorRenderer-prepare");
+        benchPrepareWorker = recorder.newTraceDuration("errorRenderer-prepareWorker");
+        benchAwaitPrepare = recorder.newDuration("errorRenderer-awaitPrepare");
+        benchDraw = recorder.newTraceDuration("errorRenderer-draw");
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         // N.B. print out for debugging purposes, please keep (used for
         // detecting redundant or too frequent render updates)
         // System.err.println(String.format("render for range [%f,%f] and dataset = '%s'", xMin, xMax, dataSet.getName()));
 
+        final CachedDataPoints points;
+        final int preparedIndex = isPipelinedRendering() && awaitPreparation() ? preparation.indexOf(dataSet, style) : -1;
+        if (preparedIndex >= 0) {
+            points = preparation.getPoints(preparedIndex);
+        } else {
+            // non-pipelined mode or not (validly) prepared, e.g. due to a layout change after the preparation
+            syncSettings.capture(this);
+            benchPrepare.start();
+            points = computePoints(SHARED_POINTS_CACHE, dataSet, style, syncSettings);
+            benchPrepare.stop();
+        }
+
+        // zero length/range data set -> nothing to be drawn
+        if (points == null) {
+            return;
+        }
+
+        // draw individual plot components
+        final long timestamp = ProcessingProfiler.getTimeStamp();
+        benchDraw.start();
+        drawChartComponents(gc, style, points);
+        benchDraw.stop();
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
+        }
+    }
+
+    /**
+     * Computes the screen coordinates and (optional) data reduction of the visible range. N.B. the renderer settings
+     * as well as the x-axis length and type are taken from the captured settings, i.e. no JavaFX properties of the
+     * renderer or chart are accessed. The data-to-screen transforms of the axes (see
+     * {@link Axis#getDisplayPosition(double)}) and the per-point styles of the data set are evaluated on the calling
+     * thread, which is safe for the pipelined mode since the axes and (locked) data sets are not modified in between
+     * the layout pass and the drawing. Preparations based on an outdated axis state are discarded when drawing.
+     *
+     * @param cache points cache to be (re-)used
+     * @param dataSet (locked or snapshot) data set to be drawn
+     * @param style the data set node of the data set
+     * @param settings renderer settings captured on the JavaFX thread
+     * @return the computed points or {@code null} if there is nothing to be drawn
+     */
+    static CachedDataPoints computePoints(final CachedDataPoints cache, final DataSet dataSet, final DataSetNode style, final RenderSettings settings) {
         var timestamp = ProcessingProfiler.getTimeStamp();
         int indexMin;
         int indexMax; /* indexMax is excluded in the drawing */
-        if (isAssumeSortedData()) {
-            indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin) - 1);
-            indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 2, dataSet.getDataCount());
+        if (settings.assumeSortedData) {
+            // N.B. re-used search value buffer rather than the implicit varargs array
+            settings.searchValue[0] = settings.xMin;
+            indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, settings.searchValue) - 1);
+            settings.searchValue[0] = settings.xMax;
+            indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, settings.searchValue) + 2, dataSet.getDataCount());
         } else {
             indexMin = 0;
             indexMax = dataSet.getDataCount();
@@ -117,7 +203,7 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         // zero length/range data set -> nothing to be drawn
         if (indexMax - indexMin <= 0) {
-            return;
+            return null;
         }
 
         if (ProcessingProfiler.getDebugState()) {
@@ -125,34 +211,78 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
                     "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
         }
 
+        // optional data-domain min/max pyramid pre-selection -> cost scales with the pixel width rather than the number of points
+        DataSet renderedDataSet = dataSet;
+        if (settings.reducePoints && settings.dataReducer instanceof M4DataReducer m4Reducer && settings.assumeSortedData && !settings.polarPlot
+                && !settings.xLogAxis && indexMax - indexMin >= settings.minRequiredReductionSize) {
+            // N.B. keyed by the live data set: in snapshot mode 'dataSet' is one of several rotating copies
+            final DataSet source = style == null ? dataSet : style.getDataSet();
+            renderedDataSet = m4Reducer.reduceDataSet(dataSet, source, indexMin, indexMax, settings.xAxisLength, settings.m4Buffer);
+            if (renderedDataSet != dataSet) {
+                indexMin = 0;
+                indexMax = renderedDataSet.getDataCount();
+            }
+            if (ProcessingProfiler.getDebugState()) {
+                timestamp = ProcessingProfiler.getTimeDiff(timestamp, "M4 pyramid reduction");
+            }
+        }
+
         final boolean enableErrorsX = true; // TODO: what is this used for?
-        final CachedDataPoints points = SHARED_POINTS_CACHE.resizeMin(indexMin, indexMax, dataSet.getDataCount(), enableErrorsX);
+        final CachedDataPoints points = cache.resizeMin(indexMin, indexMax, renderedDataSet.getDataCount(), enableErrorsX);
         if (ProcessingProfiler.getDebugState()) {
             timestamp = ProcessingProfiler.getTimeDiff(timestamp, "get CachedPoints");
         }
 
         // compute local screen coordinates
-        final boolean isPolarPlot = getChart().isPolarPlot();
-        if (isParallelImplementation()) {
-            points.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet, style,
-                    indexMin, indexMax, getErrorType(), isPolarPlot,
-                    isallowNaNs());
+        if (settings.parallelImplementation) {
+            points.computeScreenCoordinatesInParallel(settings.xAxis, settings.yAxis, renderedDataSet, style,
+                    indexMin, indexMax, settings.errorStyle, settings.polarPlot,
+                    settings.allowNaNs);
         } else {
-            points.computeScreenCoordinates(xAxis, yAxis, dataSet, style,
-                    indexMin, indexMax, getErrorType(), isPolarPlot, isallowNaNs());
+            points.computeScreenCoordinates(settings.xAxis, settings.yAxis, renderedDataSet, style,
+                    indexMin, indexMax, settings.errorStyle, settings.polarPlot, settings.allowNaNs);
         }
         if (ProcessingProfiler.getDebugState()) {
-            timestamp = ProcessingProfiler.getTimeDiff(timestamp, "computeScreenCoordinates()");
+            ProcessingProfiler.getTimeDiff(timestamp, "computeScreenCoordinates()");
         }
 
         // invoke data reduction algorithm
-        points.reduce(rendererDataReducerProperty().get(), isReducePoints(),
-                getMinRequiredReductionSize());
+        points.reduce(settings.dataReducer, settings.reducePoints, settings.minRequiredReductionSize);
+        return points;
+    }
 
-        // draw individual plot components
-        drawChartComponents(gc, style, points);
-        if (ProcessingProfiler.getDebugState()) {
-            timestamp = ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
+    /**
+     * @return true if there is no (longer a) preparation running on a worker thread
+     */
+    private boolean awaitPreparation() {
+        if (pendingPreparation == null) {
+            return true;
+        }
+        benchAwaitPrepare.start();
+        try {
+            pendingPreparation.get();
+            pendingPreparation = null;
+        } catch (final InterruptedException e) {
+            // the worker may still be active -> neither use nor re-use the preparation
+            preparation.cancelled = true;
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            LOGGER.atWarn().setCause(e.getCause()).log("pipelined preparation failed, falling back to the JavaFX thread");
+            pendingPreparation = null;
+            preparation.clear();
+        } finally {
+            benchAwaitPrepare.stop();
+        }
+        return pendingPreparation == null;
+    }
+
+    private void cancelPreparation() {
+        if (pendingPreparation != null) {
+            preparation.cancelled = true;
+            awaitPreparation();
+        }
+        if (pendingPreparation == null) {
+            preparation.clear();
         }
     }
 
@@ -182,23 +312,24 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.setStroke(markerColor);
         gc.setFill(markerColor);
 
-        if (points.polarPlot) {
-            for (int i = 0; i < points.actualDataCount; i++) {
-                if (!points.hasStyles || !styleParser.tryParse(points.styles[i])) {
-                    gc.strokeLine(points.xZero, points.yZero, points.xValues[i],
-                            points.yValues[i]);
-                } else {
+        // N.B. points are drawn grouped by style to change the graphics context state only once per distinct style
+        final int nGroups = styleGroups.group(points.hasStyles ? points.styles : null, points.actualDataCount);
+        for (int group = 0; group < nGroups; group++) {
+            final boolean customStyle = styleParser.tryParse(styleGroups.getStyle(group));
+            if (customStyle) {
+                gc.save();
+                gc.setFill(styleParser.getMarkerColor(markerColor));
+                if (points.polarPlot) {
                     // work-around: bar colour controlled by the marker color
-                    gc.save();
-                    styleParser.getMarkerColor().ifPresent(gc::setFill);
                     gc.setLineWidth(barWidthHalf);
-                    gc.strokeLine(points.xZero, points.yZero, points.xValues[i],
-                            points.yValues[i]);
-                    gc.restore();
                 }
             }
-        } else {
-            for (int i = 0; i < points.actualDataCount; i++) {
+            for (int k = styleGroups.getStart(group); k < styleGroups.getEnd(group); k++) {
+                final int i = styleGroups.getIndex(k);
+                if (points.polarPlot) {
+                    gc.strokeLine(points.xZero, points.yZero, points.xValues[i], points.yValues[i]);
+                    continue;
+                }
                 double yDiff = points.yValues[i] - points.yZero;
                 final double yMin;
                 if (yDiff > 0) {
@@ -207,16 +338,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
                     yMin = points.yValues[i];
                     yDiff = Math.abs(yDiff);
                 }
-
-                if (!points.hasStyles || !styleParser.tryParse(points.styles[i])) {
-                    gc.fillRect(points.xValues[i] - barWidthHalf, yMin, localBarWidth, yDiff);
-
-                } else {
-                    gc.save();
-                    styleParser.getMarkerColor().ifPresent(gc::setFill);
-                    gc.fillRect(points.xValues[i] - barWidthHalf, yMin, localBarWidth, yDiff);
-                    gc.restore();
-                }
+                gc.fillRect(points.xValues[i] - barWidthHalf, yMin, localBarWidth, yDiff);
+            }
+            if (customStyle) {
+                gc.restore();
             }
         }
 
@@ -464,25 +589,27 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.setStroke(markerColor);
         gc.setFill(markerColor);
 
-        for (int i = 0; i < points.actualDataCount; i++) {
-            final double x = points.xValues[i];
-            final double y = points.yValues[i];
-            if (!points.hasStyles || !styleParser.tryParse(points.styles[i])) {
-                if (markerSize == 0) {
-                    continue;
-                }
-                marker.draw(gc, x, y, markerSize);
-            } else {
-                double customSize = styleParser.getMarkerSize().orElse(markerSize);
-                if (customSize == 0) {
-                    continue;
-                }
-                var customColor = styleParser.getMarkerColor().orElse(markerColor);
-                Marker customMarker = styleParser.getMarkerType().orElse(marker);
+        // N.B. points are drawn grouped by style to change the graphics context state only once per distinct style
+        final int nGroups = styleGroups.group(points.hasStyles ? points.styles : null, points.actualDataCount);
+        for (int group = 0; group < nGroups; group++) {
+            final boolean customStyle = styleParser.tryParse(styleGroups.getStyle(group));
+            final double groupSize = customStyle ? styleParser.getMarkerSize(markerSize) : markerSize;
+            if (groupSize == 0) {
+                continue;
+            }
+            Marker groupMarker = marker;
+            if (customStyle) {
+                groupMarker = styleParser.getMarkerType(marker);
+                var customColor = styleParser.getMarkerColor(markerColor);
                 gc.save();
                 gc.setFill(customColor);
                 gc.setStroke(customColor);
-                customMarker.draw(gc, x, y, customSize);
+            }
+            for (int k = styleGroups.getStart(group); k < styleGroups.getEnd(group); k++) {
+                final int i = styleGroups.getIndex(k);
+                groupMarker.draw(gc, points.xValues[i], points.yValues[i], groupSize);
+            }
+            if (customStyle) {
                 gc.restore();
             }
         }
@@ -746,7 +873,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             gc.closePath();
             gc.stroke();
         } else {
-            if (gc.getLineDashes() != null) {
+            // N.B. GraphicsContext::getLineDashes returns a copy
+            if (isDashed(style.getLineDashes())) {
                 gc.strokePolyline(points.xValues, points.yValues, points.actualDataCount);
             } else {
                 for (int i = 0; i < points.actualDataCount - 1; i++) {
@@ -802,16 +930,155 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
     }
 
+    private static boolean isDashed(final double[] dashes) {
+        if (dashes == null) {
+            return false;
+        }
+        for (final double dash : dashes) {
+            if (dash > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static void compactVector(final double[] input, final int inputLength, final int stopIndex) {
         if (stopIndex >= 0) {
             System.arraycopy(input, inputLength - stopIndex, input, stopIndex, stopIndex);
         }
     }
 
+    /**
+     * Renderer settings captured on the JavaFX application thread, so that the screen coordinates can be computed
+     * without accessing any JavaFX properties.
+     */
+    static class RenderSettings {
+        private Axis xAxis;
+        private Axis yAxis;
+        private double xMin;
+        private double xMax;
+        private double xAxisLength;
+        private boolean xLogAxis;
+        private boolean polarPlot;
+        private boolean parallelImplementation;
+        private boolean assumeSortedData;
+        private boolean reducePoints;
+        private int minRequiredReductionSize;
+        private RendererDataReducer dataReducer;
+        private ErrorStyle errorStyle;
+        private boolean allowNaNs;
+        // axis state the screen coordinates are based upon
+        private final double[] axisState = new double[10];
+        private final double[] searchValue = new double[1];
+        // N.B. per settings (i.e. thread) storage since the reducer may be shared between renderers
+        private final M4DataReducer.ReductionBuffer m4Buffer = new M4DataReducer.ReductionBuffer();
+
+        void capture(final ErrorDataSetRenderer renderer) {
+            xAxis = renderer.xAxis;
+            yAxis = renderer.yAxis;
+            xMin = renderer.xMin;
+            xMax = renderer.xMax;
+            xAxisLength = xAxis.getLength();
+            xLogAxis = xAxis.isLogAxis();
+            // N.B. renderers may be used without chart, e.g. by the allocation benchmark
+            polarPlot = renderer.getChart() != null && renderer.getChart().isPolarPlot();
+            parallelImplementation = renderer.isParallelImplementation();
+            assumeSortedData = renderer.isAssumeSortedData();
+            reducePoints = renderer.isReducePoints();
+            minRequiredReductionSize = renderer.getMinRequiredReductionSize();
+            dataReducer = renderer.getRendererDataReducer();
+            errorStyle = renderer.getErrorType();
+            allowNaNs = renderer.isallowNaNs();
+            getAxisState(xAxis, yAxis, axisState);
+        }
+
+        private boolean isUnchanged(final Axis currentXAxis, final Axis currentYAxis, final double[] buffer) {
+            return currentXAxis == xAxis && currentYAxis == yAxis && Arrays.equals(getAxisState(xAxis, yAxis, buffer), axisState);
+        }
+
+        private static double[] getAxisState(final Axis xAxis, final Axis yAxis, final double[] state) {
+            getAxisState(xAxis, state, 0);
+            getAxisState(yAxis, state, 5);
+            return state;
+        }
+
+        private static void getAxisState(final Axis axis, final double[] state, final int offset) {
+            state[offset] = axis.getMin();
+            state[offset + 1] = axis.getMax();
+            state[offset + 2] = axis.getLength();
+            state[offset + 3] = axis.isInvertedAxis() ? 1.0 : 0.0;
+            state[offset + 4] = axis.isLogAxis() ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Off-thread computation of the screen coordinates of all visible data sets (pipelined mode). Re-used for each
+     * frame, i.e. a new preparation may only be started once the previous one has finished.
+     */
+    private class Preparation implements Runnable {
+        private final RenderSettings settings = new RenderSettings();
+        private final List<DataSetNode> nodes = new ArrayList<>();
+        private final List<DataSet> dataSets = new ArrayList<>();
+        private final List<CachedDataPoints> caches = new ArrayList<>();
+        private final List<CachedDataPoints> points = new ArrayList<>();
+        private final double[] axisBuffer = new double[10];
+        private volatile boolean cancelled;
+
+        private void capture() {
+            settings.capture(ErrorDataSetRenderer.this);
+            // the single-dataset parallelisation would compete with the other preparations for the same pool
+            settings.parallelImplementation = false;
+            cancelled = false;
+            for (final DataSetNode node : getDatasetNodes()) {
+                if (node.isVisible()) {
+                    nodes.add(node);
+                    dataSets.add(node.getRenderedDataSet());
+                }
+            }
+            while (caches.size() < nodes.size()) {
+                caches.add(new CachedDataPoints());
+            }
+        }
+
+        private void clear() {
+            nodes.clear();
+            dataSets.clear();
+            points.clear();
+        }
+
+        private CachedDataPoints getPoints(final int index) {
+            return points.get(index);
+        }
+
+        private int indexOf(final DataSet dataSet, final DataSetNode node) {
+            if (points.size() < nodes.size() || !settings.isUnchanged(xAxis, yAxis, axisBuffer) || settings.xMin != xMin || settings.xMax != xMax) {
+                return -1; // cancelled, failed or outdated
+            }
+            final int index = nodes.indexOf(node);
+            return index >= 0 && dataSets.get(index) == dataSet ? index : -1;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < nodes.size() && !cancelled; i++) {
+                benchPrepareWorker.start();
+                points.add(computePoints(caches.get(i), dataSets.get(i), nodes.get(i), settings));
+                benchPrepareWorker.stop();
+            }
+        }
+    }
+
     // The cache can be shared because there can only ever be one renderer accessing it
     // Note: should not be exposed to child classes to guarantee that arrays aren't double used.
     private static final FastDoubleArrayCache SHARED_ARRAYS = new FastDoubleArrayCache(4);
     private static final CachedDataPoints SHARED_POINTS_CACHE = new CachedDataPoints();
+    private final RenderSettings syncSettings = new RenderSettings();
+    private final Preparation preparation = new Preparation();
+    private Future<?> pendingPreparation;
+    private DurationMeasure benchPrepare = DurationMeasure.DISABLED; // JavaFX thread
+    private DurationMeasure benchPrepareWorker = DurationMeasure.DISABLED; // N.B. separate measure, not thread-safe
+    private DurationMeasure benchAwaitPrepare = DurationMeasure.DISABLED;
+    private DurationMeasure benchDraw = DurationMeasure.DISABLED;
 
     /**
      * Deletes all arrays that are larger than necessary for the last drawn dataset
@@ -339,10 +339,11 @@ public class GridRenderer extends Parent implements Renderer {
     @Override
     public void render() {
         benchDrawGrid.start();
+        final GraphicsContext gc = chart.getRendererCanvas(this).getGraphicsContext2D();
         if (chart.isPolarPlot()) {
-            drawPolarGrid(chart.getCanvas().getGraphicsContext2D(), chart);
+            drawPolarGrid(gc, chart);
         } else {
-            drawEuclideanGrid(chart.getCanvas().getGraphicsContext2D(), chart);
+            drawEuclideanGrid(gc, chart);
         }
         benchDrawGrid.stop();
     }
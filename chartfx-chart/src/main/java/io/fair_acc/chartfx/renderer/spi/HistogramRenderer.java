@@ -4,6 +4,7 @@ import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.animation.AnimationTimer;
@@ -165,6 +166,9 @@ public class HistogramRenderer extends AbstractErrorDataSetRendererParameter<His
         style.applyLineStrokeStyle(gc);
         gc.setFill(style.getLineColor());
 
+        // N.B. the custom style state is kept for consecutive bins with the same style
+        String lastStyle = null;
+        boolean applyCustomStyle = false;
         for (int i = 0; i < nRange; i++) {
             final int index = indexMin + i;
 
@@ -187,20 +191,26 @@ public class HistogramRenderer extends AbstractErrorDataSetRendererParameter<His
             final double x1 = isHistogram ? binStop : binCentre + localBarWidth - offset;
             final double topRadius = isRoundedCorner() ? Math.max(0, Math.min(getRoundedCornerRadius(), 0.5 * binWidth)) : 0.0;
 
-            final boolean applyCustomStyle = styleParser.tryParse(ds.getStyle(index));
-            if (applyCustomStyle) {
-                gc.save();
-                styleParser.getLineWidth().ifPresent(gc::setLineWidth);
-                styleParser.getLineDashes().ifPresent(gc::setLineDashes);
-                styleParser.getLineColor().ifPresent(gc::setStroke);
-                styleParser.getLineColor().ifPresent(gc::setFill);
+            final String binStyle = ds.getStyle(index);
+            if (!Objects.equals(binStyle, lastStyle)) {
+                if (applyCustomStyle) {
+                    gc.restore();
+                }
+                lastStyle = binStyle;
+                applyCustomStyle = styleParser.tryParse(binStyle);
+                if (applyCustomStyle) {
+                    gc.save();
+                    styleParser.getLineWidth().ifPresent(gc::setLineWidth);
+                    styleParser.getLineDashes().ifPresent(gc::setLineDashes);
+                    styleParser.getLineColor().ifPresent(gc::setStroke);
+                    styleParser.getLineColor().ifPresent(gc::setFill);
+                }
             }
 
             drawBar(gc, x0, axisMin, x1, binValue, topRadius, isVerticalDataSet, filled);
-
-            if (applyCustomStyle) {
-                gc.restore();
-            }
+        }
+        if (applyCustomStyle) {
+            gc.restore();
         }
 
         gc.restore();
@@ -60,7 +60,7 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         // Add the range of the historical data as well
         for (DataSetNode node : getDatasetNodes()) {
             if (node.isVisible()) {
-                updateAxisRange(node.getDataSet(), range, dim);
+                updateAxisRange(node.getRenderedDataSet(), range, dim);
                 for (DataSet histDs : ((HistoryDataSetNode) node).getHistory()) {
                     updateAxisRange(histDs, range, dim);
                 }
@@ -62,6 +62,18 @@ public class GeneralPath /* extends Path2D */ {
         return drawList.size();
     }
 
+    PathType getType(final int index) {
+        return drawList.get(index).type;
+    }
+
+    double getX(final int index) {
+        return drawList.get(index).x;
+    }
+
+    double getY(final int index) {
+        return drawList.get(index).y;
+    }
+
     enum PathType {
         GC_LINETO,
         GC_MOVETO,
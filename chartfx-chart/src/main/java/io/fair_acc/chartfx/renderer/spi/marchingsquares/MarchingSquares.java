@@ -5,8 +5,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
@@ -16,9 +14,10 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
  * <p>
  * Implementation of the Marching Squares algorithm described in: {@code https://en.wikipedia.org/wiki/Marching_squares}
  * </p>
+ * N.B. reference implementation walking the whole grid once per level, see {@link MultiLevelMarchingSquares} for the
+ * single-pass tiled variant.
  */
 public class MarchingSquares {
-    private static final ExecutorService ES = Executors.newCachedThreadPool(CachedDaemonThreadFactory.getInstance());
     private double[] isovalues;
 
     public GeneralPath[] buildContours(final double[][] data, final double[] levels)
@@ -63,7 +62,7 @@ public class MarchingSquares {
             workers.add(new Task(i, data, isovalues[i]));
         }
 
-        final List<Future<Result>> jobs = MarchingSquares.ES.invokeAll(workers);
+        final List<Future<Result>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
         final GeneralPath[] result = new GeneralPath[isovalues.length];
         for (final Future<Result> future : jobs) {
             final Result r = future.get();
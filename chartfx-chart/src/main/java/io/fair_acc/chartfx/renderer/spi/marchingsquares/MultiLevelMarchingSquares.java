@@ -0,0 +1,648 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+import io.fair_acc.dataset.utils.ProcessingProfiler;
+
+/**
+ * <p>
+ * Multi-level implementation of the Marching Squares algorithm described in:
+ * {@code https://en.wikipedia.org/wiki/Marching_squares}
+ * </p>
+ * <p>
+ * In contrast to {@link MarchingSquares}, which walks the whole (padded) grid once per iso-level, each cell is
+ * classified only once: the min/max of its corner values select the interval of (sorted) levels crossing the cell. The
+ * grid is split into tiles that are contoured in parallel on the shared
+ * {@link CachedDaemonThreadFactory#getCommonPool() common pool}. Contour lines within a tile are chained locally, those
+ * leaving a tile are stitched across the tile borders into closed paths afterwards.
+ * </p>
+ * <p>
+ * Optionally, the results of tiles whose data did not change since the previous invocation are re-used (see
+ * {@link #setReuseUnchangedTiles(boolean)}).
+ * </p>
+ * N.B. the resulting paths use the same (virtually padded) cell coordinates as {@link MarchingSquares}, NaN values are
+ * treated as being below all levels. This class is not thread-safe.
+ */
+public class MultiLevelMarchingSquares {
+    public static final int DEFAULT_TILE_SIZE = 128;
+    private static final float EPSILON = 1E-7F;
+    private final int tileSize;
+    private boolean reuseUnchangedTiles;
+    private int lastComputedTileCount;
+
+    // state retained for re-using unchanged tiles
+    private Tile[] tiles = new Tile[0];
+    private double[] lastLevels = new double[0];
+    private int lastRowCount = -1;
+    private int lastColCount = -1;
+    private double lastGuard = Double.NaN;
+
+    public MultiLevelMarchingSquares() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param tileSize number of cells per tile in each direction
+     */
+    public MultiLevelMarchingSquares(final int tileSize) {
+        AssertUtils.gtThanZero("tileSize", tileSize);
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @param data the scalar field as data[row][column]
+     * @param levels the iso-levels to be contoured (any order)
+     * @return contour paths, one per level and in the order of 'levels'
+     * @throws InterruptedException if interrupted while waiting for the parallel workers
+     * @throws ExecutionException if one of the parallel workers failed
+     */
+    public GeneralPath[] buildContours(final double[][] data, final double[] levels)
+            throws InterruptedException, ExecutionException {
+        AssertUtils.notNull("data", data);
+        AssertUtils.notNull("levels", levels);
+        final long start = ProcessingProfiler.getTimeStamp();
+        // find min, max, and guard
+        double min = +Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        final int rowCount = data.length;
+        final int colCount = data[0].length;
+        for (final double[] row : data) {
+            for (int j = 0; j < colCount; j++) {
+                final double here = row[j];
+                if (!Double.isNaN(here)) {
+                    min = Math.min(min, here);
+                    max = Math.max(max, here);
+                }
+            }
+        }
+        if (min == max) {
+            final String m = "All values are equal. Cannot build contours for a constant field";
+            throw new IllegalArgumentException(m);
+        }
+        // N.B. the guard value pads the data (virtually) to ensure resulting linear strings are closed
+        final double guard = min - 1;
+        final double[] sortedLevels = sortedUnique(levels);
+
+        // contour tiles -- re-using those whose input did not change
+        final int nTileRows = ceilDiv(rowCount + 1, tileSize);
+        final int nTileCols = ceilDiv(colCount + 1, tileSize);
+        final boolean reuse = reuseUnchangedTiles && rowCount == lastRowCount && colCount == lastColCount
+                           && Double.compare(guard, lastGuard) == 0 && Arrays.equals(sortedLevels, lastLevels);
+        if (!reuse) {
+            tiles = new Tile[nTileRows * nTileCols];
+        }
+        final Tile[] localTiles = tiles;
+        final List<Callable<Tile>> tileTasks = new ArrayList<>(localTiles.length);
+        for (int tileRow = 0; tileRow < nTileRows; tileRow++) {
+            for (int tileCol = 0; tileCol < nTileCols; tileCol++) {
+                final int index = tileRow * nTileCols + tileCol;
+                if (localTiles[index] == null) {
+                    localTiles[index] = new Tile(tileRow * tileSize, Math.min((tileRow + 1) * tileSize, rowCount + 1), //
+                            tileCol * tileSize, Math.min((tileCol + 1) * tileSize, colCount + 1), rowCount, colCount);
+                }
+                final Tile tile = localTiles[index];
+                final boolean keepSnapshot = reuseUnchangedTiles;
+                tileTasks.add(() -> {
+                    if (tile.polylines != null && tile.isUnchanged(data)) {
+                        return tile;
+                    }
+                    tile.contour(data, guard, sortedLevels, keepSnapshot);
+                    return null;
+                });
+            }
+        }
+        int nReused = 0;
+        for (final Tile reused : invoke(tileTasks)) {
+            nReused += reused == null ? 0 : 1;
+        }
+        lastComputedTileCount = localTiles.length - nReused;
+        lastLevels = sortedLevels;
+        lastRowCount = rowCount;
+        lastColCount = colCount;
+        lastGuard = guard;
+        if (!reuseUnchangedTiles) {
+            tiles = new Tile[0];
+        }
+        ProcessingProfiler.getTimeDiff(start, "contoured " + lastComputedTileCount + " of " + localTiles.length + " tiles");
+
+        // stitch contour lines across tile borders, one task per level
+        final List<Callable<GeneralPath>> levelTasks = new ArrayList<>(sortedLevels.length);
+        for (int level = 0; level < sortedLevels.length; level++) {
+            final int levelIndex = level;
+            levelTasks.add(() -> stitch(localTiles, levelIndex));
+        }
+        final List<GeneralPath> sortedPaths = invoke(levelTasks);
+        final GeneralPath[] result = new GeneralPath[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            result[i] = sortedPaths.get(Arrays.binarySearch(sortedLevels, levels[i]));
+        }
+        ProcessingProfiler.getTimeDiff(start, "built " + levels.length + " contours");
+        return result;
+    }
+
+    /**
+     * @return number of tiles that have been (re-)computed by the last {@link #buildContours(double[][], double[])}
+     *         invocation
+     */
+    public int getLastComputedTileCount() {
+        return lastComputedTileCount;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @return {@code true}: the contours of tiles whose data did not change are re-used from the previous invocation
+     */
+    public boolean isReuseUnchangedTiles() {
+        return reuseUnchangedTiles;
+    }
+
+    /**
+     * N.B. the re-use requires a copy of the data to be kept to detect changes
+     *
+     * @param state {@code true}: the contours of tiles whose data did not change are re-used from the previous
+     *            invocation
+     */
+    public void setReuseUnchangedTiles(final boolean state) {
+        reuseUnchangedTiles = state;
+        if (!state) {
+            tiles = new Tile[0];
+            lastRowCount = -1;
+        }
+    }
+
+    private static void addCellSegments(final SegmentBuffer buffer, final int r, final int c, final long nodeCols,
+            final double isovalue, final double bl, final double br, final double tl, final double tr) {
+        // same cell index convention as MarchingSquares: bits are set for corners below or at the iso-value
+        int ndx = 0;
+        ndx |= tl > isovalue ? 0 : 8;
+        ndx |= tr > isovalue ? 0 : 4;
+        ndx |= br > isovalue ? 0 : 2;
+        ndx |= bl > isovalue ? 0 : 1;
+
+        // edge ids are unique within the padded grid, i.e. shared by the two cells adjacent to the edge
+        final long bottom = 2 * (r * nodeCols + c);
+        final long top = bottom + 2 * nodeCols;
+        final long left = bottom + 1;
+        final long right = bottom + 3;
+        final float bottomX = c + fraction(isovalue, bl, br);
+        final float topX = c + fraction(isovalue, tl, tr);
+        final float leftY = r + fraction(isovalue, bl, tl);
+        final float rightY = r + fraction(isovalue, br, tr);
+        switch (ndx) {
+        case 1:
+        case 14:
+            buffer.add(left, c, leftY, bottom, bottomX, r);
+            break;
+        case 2:
+        case 13:
+            buffer.add(bottom, bottomX, r, right, c + 1, rightY);
+            break;
+        case 3:
+        case 12:
+            buffer.add(left, c, leftY, right, c + 1, rightY);
+            break;
+        case 4:
+        case 11:
+            buffer.add(top, topX, r + 1, right, c + 1, rightY);
+            break;
+        case 6:
+        case 9:
+            buffer.add(bottom, bottomX, r, top, topX, r + 1);
+            break;
+        case 7:
+        case 8:
+            buffer.add(left, c, leftY, top, topX, r + 1);
+            break;
+        case 5:
+        case 10:
+            // resolve the saddle ambiguity by using the average data value for the center of the cell
+            final boolean flipped = (tl + tr + br + bl) / 4 < isovalue;
+            if (ndx == 5 && !flipped || ndx == 10 && flipped) {
+                buffer.add(left, c, leftY, top, topX, r + 1);
+                buffer.add(right, c + 1, rightY, bottom, bottomX, r);
+            } else {
+                buffer.add(left, c, leftY, bottom, bottomX, r);
+                buffer.add(right, c + 1, rightY, top, topX, r + 1);
+            }
+            break;
+        default: // trivial cells are excluded by the level interval
+            final String m = "Unexpected cell index " + ndx;
+            throw new IllegalStateException(m);
+        }
+    }
+
+    private static void addPath(final GeneralPath path, final float[] points, final int nPoints) {
+        if (nPoints < 4) {
+            return;
+        }
+        if (path.size() > 1) {
+            path.beginPath();
+        }
+        float xPrev = points[0];
+        float yPrev = points[1];
+        path.moveTo(xPrev, yPrev);
+        for (int i = 2; i < nPoints; i += 2) {
+            final float x = points[i];
+            final float y = points[i + 1];
+            if (Math.abs(x - xPrev) > EPSILON || Math.abs(y - yPrev) > EPSILON) {
+                path.lineTo(x, y);
+            }
+            xPrev = x;
+            yPrev = y;
+        }
+        path.closePath();
+    }
+
+    private static int ceilDiv(final int value, final int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    private static float fraction(final double isovalue, final double from, final double to) {
+        return (float) ((isovalue - from) / (to - from));
+    }
+
+    private static <T> List<T> invoke(final List<Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        final List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            try {
+                results.add(tasks.get(0).call());
+            } catch (final Exception e) { // NOPMD -- consistent with Future.get()
+                throw new ExecutionException(e);
+            }
+            return results;
+        }
+        for (final Future<T> future : CachedDaemonThreadFactory.getCommonPool().invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * @return index of the first element in the sorted array that is greater than or equal to value
+     */
+    private static int lowerBound(final double[] sorted, final double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double[] sortedUnique(final double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int length = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || Double.compare(sorted[i], sorted[length - 1]) != 0) {
+                sorted[length++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, length);
+    }
+
+    /**
+     * joins the contour lines of all tiles for a given level: closed loops are taken as-is, open polylines are joined
+     * via the edges they share at the tile borders
+     */
+    private static GeneralPath stitch(final Tile[] tiles, final int level) {
+        final GeneralPath path = new GeneralPath();
+        final List<Polyline> open = new ArrayList<>();
+        for (final Tile tile : tiles) {
+            final Polyline[] polylines = tile.polylines[level];
+            if (polylines == null) {
+                continue;
+            }
+            for (final Polyline polyline : polylines) {
+                if (polyline.isClosed()) {
+                    addPath(path, polyline.points, polyline.points.length);
+                } else {
+                    open.add(polyline);
+                }
+            }
+        }
+        if (open.isEmpty()) {
+            return path;
+        }
+
+        // end '2 * i' is the start and '2 * i + 1' the end of polyline 'i'
+        final int nEnds = 2 * open.size();
+        final int[] partner = new int[nEnds];
+        Arrays.fill(partner, -1);
+        final LongIntMap ends = new LongIntMap(nEnds);
+        for (int end = 0; end < nEnds; end++) {
+            final Polyline polyline = open.get(end >> 1);
+            final int other = ends.putIfAbsent((end & 1) == 0 ? polyline.startEdge : polyline.endEdge, end);
+            if (other >= 0) {
+                partner[end] = other;
+                partner[other] = end;
+            }
+        }
+
+        final boolean[] visited = new boolean[open.size()];
+        final PointBuffer points = new PointBuffer();
+        for (int first = 0; first < open.size(); first++) {
+            if (visited[first]) {
+                continue;
+            }
+            points.clear();
+            int current = first;
+            boolean forward = true;
+            boolean closed = false;
+            while (true) {
+                visited[current] = true;
+                // N.B. consecutive polylines share their end point
+                points.addAll(open.get(current).points, forward, points.size() > 0);
+                final int next = partner[forward ? 2 * current + 1 : 2 * current];
+                if (next < 0 || visited[next >> 1]) {
+                    closed = next >= 0;
+                    break;
+                }
+                current = next >> 1;
+                forward = (next & 1) == 0;
+            }
+            // N.B. the last point coincides with the first one for closed loops, closing is done by 'closePath'
+            addPath(path, points.values, closed ? points.size() - 2 : points.size());
+        }
+        return path;
+    }
+
+    private static final class LongIntMap {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        LongIntMap(final int expectedSize) {
+            int capacity = 4;
+            while (capacity < 2 * expectedSize) {
+                capacity <<= 1;
+            }
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1L);
+        }
+
+        /**
+         * @return value previously associated with the key (N.B. key not replaced) or '-1' if the key was absent
+         */
+        int putIfAbsent(final long key, final int value) {
+            int index = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[index] != -1L) {
+                if (keys[index] == key) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            return -1;
+        }
+    }
+
+    private static final class PointBuffer {
+        private float[] values = new float[64];
+        private int size;
+
+        void add(final float x, final float y) {
+            if (size + 2 > values.length) {
+                values = Arrays.copyOf(values, 2 * values.length);
+            }
+            values[size++] = x;
+            values[size++] = y;
+        }
+
+        void addAll(final float[] points, final boolean forward, final boolean skipFirst) {
+            final int nPoints = points.length / 2;
+            for (int i = skipFirst ? 1 : 0; i < nPoints; i++) {
+                final int index = forward ? 2 * i : 2 * (nPoints - 1 - i);
+                add(points[index], points[index + 1]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class Polyline {
+        private final float[] points; // (x, y) pairs
+        private final long startEdge; // '-1' for closed loops
+        private final long endEdge;
+
+        Polyline(final float[] points, final long startEdge, final long endEdge) {
+            this.points = points;
+            this.startEdge = startEdge;
+            this.endEdge = endEdge;
+        }
+
+        boolean isClosed() {
+            return startEdge < 0;
+        }
+    }
+
+    /**
+     * growable list of line segments, segment 's' connects the crossings '2 * s' and '2 * s + 1'
+     */
+    private static final class SegmentBuffer {
+        private long[] edges = new long[16];
+        private float[] coordinates = new float[32];
+        private int nSegments;
+
+        void add(final long edgeA, final float xa, final float ya, final long edgeB, final float xb, final float yb) {
+            if (2 * nSegments + 2 > edges.length) {
+                edges = Arrays.copyOf(edges, 2 * edges.length);
+                coordinates = Arrays.copyOf(coordinates, 2 * coordinates.length);
+            }
+            final int end = 2 * nSegments;
+            edges[end] = edgeA;
+            edges[end + 1] = edgeB;
+            coordinates[2 * end] = xa;
+            coordinates[2 * end + 1] = ya;
+            coordinates[2 * end + 2] = xb;
+            coordinates[2 * end + 3] = yb;
+            nSegments++;
+        }
+
+        /**
+         * chains the segments via their shared edges: chains starting and ending at the tile border (i.e. crossings
+         * without partner within the tile) are open, all remaining ones closed
+         */
+        Polyline[] toPolylines() {
+            final int nEnds = 2 * nSegments;
+            final int[] partner = new int[nEnds];
+            Arrays.fill(partner, -1);
+            final LongIntMap ends = new LongIntMap(nEnds);
+            for (int end = 0; end < nEnds; end++) {
+                final int other = ends.putIfAbsent(edges[end], end);
+                if (other >= 0) {
+                    partner[end] = other;
+                    partner[other] = end;
+                }
+            }
+
+            final boolean[] visited = new boolean[nSegments];
+            final PointBuffer points = new PointBuffer();
+            final List<Polyline> result = new ArrayList<>();
+            for (int end = 0; end < nEnds; end++) {
+                if (partner[end] < 0 && !visited[end >> 1]) {
+                    result.add(walk(end, partner, visited, points));
+                }
+            }
+            for (int segment = 0; segment < nSegments; segment++) {
+                if (!visited[segment]) {
+                    result.add(walk(2 * segment, partner, visited, points));
+                }
+            }
+            return result.toArray(new Polyline[0]);
+        }
+
+        private Polyline walk(final int start, final int[] partner, final boolean[] visited, final PointBuffer points) {
+            points.clear();
+            int entry = start;
+            while (true) {
+                visited[entry >> 1] = true;
+                points.add(coordinates[2 * entry], coordinates[2 * entry + 1]);
+                final int exit = entry ^ 1;
+                final int next = partner[exit];
+                if (next < 0) {
+                    points.add(coordinates[2 * exit], coordinates[2 * exit + 1]);
+                    return new Polyline(points.toArray(), edges[start], edges[exit]);
+                }
+                if (visited[next >> 1]) {
+                    // back at the start segment
+                    return new Polyline(points.toArray(), -1, -1);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * block of cells [row0, row1[ x [col0, col1[ of the padded grid
+     */
+    private static final class Tile {
+        private final int row0;
+        private final int row1;
+        private final int col0;
+        private final int col1;
+        private final int rowCount;
+        private final int colCount;
+        private double[] snapshot; // copy of the data nodes the tile depends on
+        private Polyline[][] polylines; // [sorted level][polyline]
+
+        Tile(final int row0, final int row1, final int col0, final int col1, final int rowCount, final int colCount) {
+            this.row0 = row0;
+            this.row1 = row1;
+            this.col0 = col0;
+            this.col1 = col1;
+            this.rowCount = rowCount;
+            this.colCount = colCount;
+        }
+
+        void contour(final double[][] data, final double guard, final double[] levels, final boolean keepSnapshot) {
+            final SegmentBuffer[] buffers = new SegmentBuffer[levels.length];
+            final long nodeCols = colCount + 2L;
+            final double minLevel = levels.length == 0 ? Double.NaN : levels[0];
+            final double maxLevel = levels.length == 0 ? Double.NaN : levels[levels.length - 1];
+            for (int r = row0; r < row1; r++) {
+                final double[] lower = nodeRow(data, r);
+                final double[] upper = nodeRow(data, r + 1);
+                for (int c = col0; c < col1; c++) {
+                    final double bl = value(lower, c, guard);
+                    final double br = value(lower, c + 1, guard);
+                    final double tl = value(upper, c, guard);
+                    final double tr = value(upper, c + 1, guard);
+                    final double cellMin = Math.min(Math.min(bl, br), Math.min(tl, tr));
+                    final double cellMax = Math.max(Math.max(bl, br), Math.max(tl, tr));
+                    if (cellMax <= minLevel || cellMin > maxLevel) {
+                        continue;
+                    }
+                    // levels with cellMin <= level < cellMax cross this cell
+                    final int levelEnd = lowerBound(levels, cellMax);
+                    for (int level = lowerBound(levels, cellMin); level < levelEnd; level++) {
+                        if (buffers[level] == null) {
+                            buffers[level] = new SegmentBuffer();
+                        }
+                        addCellSegments(buffers[level], r, c, nodeCols, levels[level], bl, br, tl, tr);
+                    }
+                }
+            }
+
+            final Polyline[][] result = new Polyline[levels.length][];
+            for (int level = 0; level < levels.length; level++) {
+                result[level] = buffers[level] == null ? null : buffers[level].toPolylines();
+            }
+            polylines = result;
+            snapshot = keepSnapshot ? copyNodes(data, snapshot) : null;
+        }
+
+        boolean isUnchanged(final double[][] data) {
+            if (snapshot == null) {
+                return false;
+            }
+            // cells [row0, row1[ depend on the node rows [row0, row1], i.e. the data rows [row0 - 1, row1 - 1]
+            final int rowFrom = Math.max(row0 - 1, 0);
+            final int rowTo = Math.min(row1 + 1, rowCount);
+            final int colFrom = Math.max(col0 - 1, 0);
+            final int colTo = Math.min(col1 + 1, colCount);
+            final int width = colTo - colFrom;
+            for (int row = rowFrom; row < rowTo; row++) {
+                final int offset = (row - rowFrom) * width;
+                if (!Arrays.equals(data[row], colFrom, colTo, snapshot, offset, offset + width)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double[] copyNodes(final double[][] data, final double[] buffer) {
+            final int rowFrom = Math.max(row0 - 1, 0);
+            final int rowTo = Math.min(row1 + 1, rowCount);
+            final int colFrom = Math.max(col0 - 1, 0);
+            final int colTo = Math.min(col1 + 1, colCount);
+            final int width = colTo - colFrom;
+            final int length = Math.max(rowTo - rowFrom, 0) * Math.max(width, 0);
+            final double[] copy = buffer != null && buffer.length == length ? buffer : new double[length];
+            for (int row = rowFrom; row < rowTo; row++) {
+                System.arraycopy(data[row], colFrom, copy, (row - rowFrom) * width, width);
+            }
+            return copy;
+        }
+
+        private double[] nodeRow(final double[][] data, final int nodeRow) {
+            return nodeRow == 0 || nodeRow == rowCount + 1 ? null : data[nodeRow - 1];
+        }
+
+        private double value(final double[] row, final int nodeCol, final double guard) {
+            if (row == null || nodeCol == 0 || nodeCol == colCount + 1) {
+                return guard;
+            }
+            final double value = row[nodeCol - 1];
+            return Double.isNaN(value) ? guard : value;
+        }
+    }
+}
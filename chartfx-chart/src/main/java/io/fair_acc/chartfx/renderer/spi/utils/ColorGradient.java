@@ -7,13 +7,18 @@ package io.fair_acc.chartfx.renderer.spi.utils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
 
+import io.fair_acc.dataset.utils.AssertUtils;
+
 /**
  * @author braeun
  */
@@ -108,10 +113,12 @@ public class ColorGradient {
     public static final ColorGradient RAINBOW_EQ = ColorGradient.cetR2();
 
     public static final ColorGradient DEFAULT = RAINBOW;
+    private static final int PARALLEL_LOOKUP_TABLE_THRESHOLD = 1 << 12;
     private final List<Stop> stops;
     private final String name;
     private final WeakHashMap<Double, Color> colorMap = new WeakHashMap<>();
     private final WeakHashMap<Double, int[]> colorMapBytes = new WeakHashMap<>();
+    private final Map<Integer, int[]> colorLookupTables = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance of ColorGradient.**
@@ -169,29 +176,7 @@ public class ColorGradient {
      * @return corresponding interpolated colour
      */
     public Color getColor(final double offset) {
-        return colorMap.computeIfAbsent(offset, value -> {
-            double lowerOffset = 0.0;
-            double upperOffset = 1.0;
-            Color lowerColor = Color.TRANSPARENT;
-            Color upperColor = Color.TRANSPARENT;
-
-            for (final Stop stop : getStops()) {
-                final double currentOffset = stop.getOffset();
-                if (currentOffset == offset) {
-                    return stop.getColor();
-                } else if (currentOffset < offset) {
-                    lowerOffset = currentOffset;
-                    lowerColor = stop.getColor();
-                } else {
-                    upperOffset = currentOffset;
-                    upperColor = stop.getColor();
-                    break;
-                }
-            }
-
-            final double interpolationOffset = (offset - lowerOffset) / (upperOffset - lowerOffset);
-            return lowerColor.interpolate(upperColor, interpolationOffset);
-        });
+        return colorMap.computeIfAbsent(offset, this::interpolateColor);
     }
 
     /**
@@ -200,37 +185,34 @@ public class ColorGradient {
      */
     public int[] getColorBytes(final double offset) {
         return colorMapBytes.computeIfAbsent(offset, value -> {
-            double lowerOffset = 0.0;
-            double upperOffset = 1.0;
-            Color lowerColor = Color.TRANSPARENT;
-            Color upperColor = Color.TRANSPARENT;
-            final int[] color = new int[4];
-
-            for (final Stop stop : getStops()) {
-                final double currentOffset = stop.getOffset();
-                if (currentOffset == offset) {
-                    color[0] = (int) Math.round(255 * stop.getColor().getOpacity());
-                    color[1] = (int) Math.round(255 * stop.getColor().getRed());
-                    color[2] = (int) Math.round(255 * stop.getColor().getGreen());
-                    color[3] = (int) Math.round(255 * stop.getColor().getBlue());
-                    return color;
-                } else if (currentOffset < offset) {
-                    lowerOffset = currentOffset;
-                    lowerColor = stop.getColor();
-                } else {
-                    upperOffset = currentOffset;
-                    upperColor = stop.getColor();
-                    break;
-                }
-            }
+            final Color color = interpolateColor(value);
+            return new int[] { toByte(color.getOpacity()), toByte(color.getRed()), toByte(color.getGreen()), toByte(color.getBlue()) };
+        });
+    }
 
-            final double interpolationOffset = (offset - lowerOffset) / (upperOffset - lowerOffset);
-            final Color interpolatedColor = lowerColor.interpolate(upperColor, interpolationOffset);
-            color[0] = (int) Math.round(255 * interpolatedColor.getOpacity());
-            color[1] = (int) Math.round(255 * interpolatedColor.getRed());
-            color[2] = (int) Math.round(255 * interpolatedColor.getGreen());
-            color[3] = (int) Math.round(255 * interpolatedColor.getBlue());
-            return color;
+    /**
+     * Returns a pre-computed look-up table of the colours at the quantised offsets {@code k / nLevels} with k in [0,
+     * nLevels]. The entries are packed as {@code 0xAARRGGBB} integers compatible with
+     * {@link javafx.scene.image.PixelFormat#getIntArgbPreInstance()} and contain the same colour components as
+     * {@link #getColorBytes(double)}.
+     * <p>
+     * The tables are computed once per number of levels (in parallel for large tables) and shared between callers.
+     * <p>
+     * N.B. the returned array must not be modified
+     *
+     * @param nLevels number of quantisation levels (&gt; 0)
+     * @return colour look-up table with {@code nLevels + 1} entries
+     */
+    public int[] getColorLookupTable(final int nLevels) {
+        AssertUtils.gtThanZero("nLevels", nLevels);
+        return colorLookupTables.computeIfAbsent(nLevels, levels -> {
+            final int[] lookupTable = new int[levels + 1];
+            final IntStream indices = IntStream.rangeClosed(0, levels);
+            (levels >= PARALLEL_LOOKUP_TABLE_THRESHOLD ? indices.parallel() : indices).forEach(k -> {
+                final Color color = interpolateColor(k / (double) levels);
+                lookupTable[k] = toByte(color.getOpacity()) << 24 | toByte(color.getRed()) << 16 | toByte(color.getGreen()) << 8 | toByte(color.getBlue());
+            });
+            return lookupTable;
         });
     }
 
@@ -244,6 +226,34 @@ public class ColorGradient {
         return stops;
     }
 
+    private Color interpolateColor(final double offset) {
+        double lowerOffset = 0.0;
+        double upperOffset = 1.0;
+        Color lowerColor = Color.TRANSPARENT;
+        Color upperColor = Color.TRANSPARENT;
+
+        for (final Stop stop : getStops()) {
+            final double currentOffset = stop.getOffset();
+            if (currentOffset == offset) {
+                return stop.getColor();
+            } else if (currentOffset < offset) {
+                lowerOffset = currentOffset;
+                lowerColor = stop.getColor();
+            } else {
+                upperOffset = currentOffset;
+                upperColor = stop.getColor();
+                break;
+            }
+        }
+
+        final double interpolationOffset = (offset - lowerOffset) / (upperOffset - lowerOffset);
+        return lowerColor.interpolate(upperColor, interpolationOffset);
+    }
+
+    private static int toByte(final double colorComponent) {
+        return (int) Math.round(255 * colorComponent);
+    }
+
     @Override
     public String toString() {
         return name;
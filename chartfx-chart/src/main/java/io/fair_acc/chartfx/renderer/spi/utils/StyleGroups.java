@@ -0,0 +1,159 @@
+package io.fair_acc.chartfx.renderer.spi.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Groups point indices by their per-point style string so that renderers can set the graphics context state once per
+ * distinct style rather than once per point.
+ * <p>
+ * The grouping is stable, i.e. the indices within a group retain their original order. Group '0' contains the points
+ * without custom style ({@code null} or empty strings), the other groups are ordered by the first occurrence of their
+ * style. Usage:
+ *
+ * <pre>{@code
+ * final int nGroups = styleGroups.group(styles, length);
+ * for (int group = 0; group < nGroups; group++) {
+ *     // apply style of 'styleGroups.getStyle(group)' ...
+ *     for (int k = styleGroups.getStart(group); k < styleGroups.getEnd(group); k++) {
+ *         final int index = styleGroups.getIndex(k);
+ *         // draw point 'index' ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * N.B. not thread-safe, the internal buffers are re-used between invocations.
+ */
+public class StyleGroups {
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    private final Map<String, Integer> groupIds = new HashMap<>();
+    private String[] groupStyles = new String[8];
+    private int[] groupStart = new int[groupStyles.length + 1];
+    private int[] groupCursor = new int[groupStyles.length];
+    private int[] pointGroup = new int[0];
+    private int[] indices = new int[0];
+    private int nGroups;
+
+    /**
+     * @param group group index
+     * @return index of the first entry of the group in {@link #getIndex(int)}
+     */
+    public int getStart(final int group) {
+        return groupStart[group];
+    }
+
+    /**
+     * @param group group index
+     * @return index after the last entry of the group in {@link #getIndex(int)}
+     */
+    public int getEnd(final int group) {
+        return groupStart[group + 1];
+    }
+
+    /**
+     * @return number of groups found by the last {@link #group(String[], int)} invocation (including the unstyled group)
+     */
+    public int getGroupCount() {
+        return nGroups;
+    }
+
+    /**
+     * @param k position within [0, length[ as iterated via {@link #getStart(int)} and {@link #getEnd(int)}
+     * @return point index
+     */
+    public int getIndex(final int k) {
+        return indices[k];
+    }
+
+    /**
+     * @param group group index
+     * @return style common to all points of the group ({@code null} for group '0')
+     */
+    public String getStyle(final int group) {
+        return groupStyles[group];
+    }
+
+    /**
+     * @param styles per-point styles, {@code null}: all points are assigned to the unstyled group '0'
+     * @param length number of points to be grouped
+     * @return number of groups (including the -- possibly empty -- unstyled group '0')
+     */
+    public int group(final String[] styles, final int length) {
+        AssertUtils.gtEqThanZero("length", length);
+        if (styles != null) {
+            AssertUtils.gtOrEqual("styles", length, styles.length);
+        }
+        if (pointGroup.length < length) {
+            pointGroup = new int[length];
+            indices = new int[length];
+        }
+        groupIds.clear();
+        Arrays.fill(groupStyles, null);
+        nGroups = 1;
+
+        // assign group ids and count group members -- N.B. consecutive points often share the same String instance
+        Arrays.fill(groupStart, 0);
+        String lastStyle = null;
+        int lastGroup = 0;
+        for (int i = 0; i < length; i++) {
+            final String style = styles == null ? null : styles[i];
+            final int group;
+            if (style == null || style.isEmpty()) {
+                group = 0;
+            } else if (style == lastStyle) { // NOPMD NOSONAR -- intended identity comparison (fast-path)
+                group = lastGroup;
+            } else {
+                group = getGroupId(style);
+                lastStyle = style;
+                lastGroup = group;
+            }
+            pointGroup[i] = group;
+            groupStart[group + 1]++;
+        }
+
+        // cumulative counts -> group offsets, then stable counting-sort of the indices
+        for (int group = 0; group < nGroups; group++) {
+            groupStart[group + 1] += groupStart[group];
+        }
+        if (groupCursor.length < nGroups) {
+            groupCursor = new int[groupStyles.length];
+        }
+        System.arraycopy(groupStart, 0, groupCursor, 0, nGroups);
+        for (int i = 0; i < length; i++) {
+            indices[groupCursor[pointGroup[i]]++] = i;
+        }
+        return nGroups;
+    }
+
+    private int getGroupId(final String style) {
+        // few distinct styles (common case): linear search rather than (allocating) map entries
+        if (nGroups <= LINEAR_SEARCH_LIMIT) {
+            for (int group = 1; group < nGroups; group++) {
+                if (style.equals(groupStyles[group])) {
+                    return group;
+                }
+            }
+        } else {
+            final Integer id = groupIds.get(style);
+            if (id != null) {
+                return id;
+            }
+        }
+        if (nGroups == groupStyles.length) {
+            groupStyles = Arrays.copyOf(groupStyles, 2 * nGroups);
+            groupStart = Arrays.copyOf(groupStart, 2 * nGroups + 1);
+        }
+        groupStyles[nGroups] = style;
+        final int id = nGroups++;
+        if (nGroups > LINEAR_SEARCH_LIMIT) {
+            // index all groups once the linear search limit is exceeded
+            for (int group = groupIds.isEmpty() ? 1 : id; group < nGroups; group++) {
+                groupIds.put(groupStyles[group], group);
+            }
+        }
+        return id;
+    }
+}
@@ -7,7 +7,9 @@ import javafx.collections.ObservableList;
 
 import io.fair_acc.chartfx.renderer.spi.AbstractRenderer;
 import io.fair_acc.chartfx.utils.PropUtil;
+import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.events.EventSource;
@@ -95,11 +97,44 @@ public class DataSetNode extends DataSetNodeParameter implements EventSource {
         return dataSet;
     }
 
+    /**
+     * @return the data to be rendered during the present frame, i.e. the acquired snapshot for data sets in snapshot
+     *         mode (see {@link SnapshotDataSet}), or the (read-locked) data set itself
+     */
+    public DataSet getRenderedDataSet() {
+        return snapshot == null ? dataSet : snapshot;
+    }
+
+    /**
+     * Acquires the snapshot to be rendered if the data set is in snapshot mode. Needs to be matched by
+     * {@link #releaseRenderedDataSet()}.
+     */
+    public void acquireRenderedDataSet() {
+        if (snapshot == null && dataSet instanceof SnapshotDataSet snapshotDataSet && snapshotDataSet.isSnapshotMode()) {
+            snapshot = snapshotDataSet.acquireSnapshot();
+        }
+    }
+
+    /**
+     * Releases a snapshot acquired via {@link #acquireRenderedDataSet()} and marks it as processed
+     */
+    public void releaseRenderedDataSet() {
+        if (snapshot != null) {
+            for (AxisDescription axisDescription : snapshot.getAxisDescriptions()) {
+                axisDescription.getBitState().clear();
+            }
+            snapshot.getBitState().clear();
+            snapshot = null;
+            ((SnapshotDataSet) dataSet).releaseSnapshot();
+        }
+    }
+
     public AbstractRenderer<?> getRenderer() {
         return renderer;
     }
 
     private final DataSet dataSet;
+    private DataSet snapshot;
     private final AbstractRenderer<?> renderer;
 
     static class DefaultColorClass {
@@ -1,5 +1,7 @@
 package io.fair_acc.chartfx.ui.css;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 
@@ -11,14 +13,33 @@ import javafx.scene.text.FontWeight;
 
 import io.fair_acc.chartfx.marker.DefaultMarker;
 import io.fair_acc.chartfx.marker.Marker;
+import io.fair_acc.dataset.utils.AssertUtils;
 import io.fair_acc.dataset.utils.DataSetStyleBuilder;
 
 /**
  * Parser for styles used in the ErrorDataSetRenderer
+ * <p>
+ * Parsed styles are interned in a bounded cache (least-recently-used eviction) that is shared by all parser
+ * instances, i.e. per-point styles are tokenised and their {@code Color}, {@code Font}, etc. objects created only once
+ * per distinct style string. Re-parsing the same style as the previous invocation is a no-op.
+ * N.B. the returned arrays (e.g. line dashes) are shared with the cache and must not be modified.
  *
  * @author ennerf
  */
 public class DataSetStyleParser extends AbstractStyleParser {
+    /** default maximum number of distinct style strings kept in the shared cache */
+    public static final int DEFAULT_CACHE_LIMIT = 1024;
+    private static int cacheLimit = DEFAULT_CACHE_LIMIT;
+    private static final Map<String, DataSetStyleParser> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, DataSetStyleParser> eldest) {
+            return size() > cacheLimit;
+        }
+    };
+    private String lastStyle;
+
     public static DataSetStyleParser newInstance() {
         return new DataSetStyleParser();
     }
@@ -26,6 +47,98 @@ public class DataSetStyleParser extends AbstractStyleParser {
     protected DataSetStyleParser() {
     }
 
+    /**
+     * drops all interned styles
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * @return number of distinct styles that are currently interned
+     */
+    public static int getCacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * @return maximum number of distinct style strings kept in the shared cache
+     */
+    public static int getCacheLimit() {
+        synchronized (CACHE) {
+            return cacheLimit;
+        }
+    }
+
+    /**
+     * @param limit maximum number of distinct style strings kept in the shared cache (N.B. 0: disables the cache)
+     */
+    public static void setCacheLimit(final int limit) {
+        AssertUtils.gtEqThanZero("limit", limit);
+        synchronized (CACHE) {
+            cacheLimit = limit;
+            final var iterator = CACHE.entrySet().iterator();
+            while (CACHE.size() > cacheLimit && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    protected boolean parse(final String style) {
+        if (style.equals(lastStyle)) {
+            // N.B. the state is only modified by parse(..), i.e. still valid
+            return usedAtLeastOneKey;
+        }
+        DataSetStyleParser parsed;
+        synchronized (CACHE) {
+            parsed = CACHE.get(style);
+        }
+        if (parsed == null) {
+            parsed = new DataSetStyleParser();
+            parsed.parseUncached(style);
+            synchronized (CACHE) {
+                CACHE.put(style, parsed);
+            }
+        }
+        copyFrom(parsed);
+        lastStyle = style;
+        return usedAtLeastOneKey;
+    }
+
+    private void parseUncached(final String style) {
+        super.parse(style);
+        fontFull = computeFontFull();
+    }
+
+    private void copyFrom(final DataSetStyleParser other) {
+        usedAtLeastOneKey = other.usedAtLeastOneKey;
+        visible = other.visible;
+        intensity = other.intensity;
+        markerType = other.markerType;
+        markerLineWidth = other.markerLineWidth;
+        markerSize = other.markerSize;
+        markerColor = other.markerColor;
+        markerLineDashes = other.markerLineDashes;
+        lineWidth = other.lineWidth;
+        lineColor = other.lineColor;
+        lineDashes = other.lineDashes;
+        fillColor = other.fillColor;
+        strokeColor = other.strokeColor;
+        strokeWidth = other.strokeWidth;
+        strokeDashPattern = other.strokeDashPattern;
+        font = other.font;
+        fontWeight = other.fontWeight;
+        fontSize = other.fontSize;
+        fontStyle = other.fontStyle;
+        fontFull = other.fontFull;
+    }
+
     @Override
     protected boolean parseEntry(String key, String value) {
         switch (key) {
@@ -98,6 +211,14 @@ public class DataSetStyleParser extends AbstractStyleParser {
         return optional(markerType);
     }
 
+    /**
+     * @param fallback value returned if the style does not define a marker type
+     * @return the marker type (allocation-free variant of {@link #getMarkerType()})
+     */
+    public Marker getMarkerType(final Marker fallback) {
+        return markerType == null ? fallback : markerType;
+    }
+
     public OptionalDouble getMarkerLineWidth() {
         return optional(markerLineWidth);
     }
@@ -106,10 +227,26 @@ public class DataSetStyleParser extends AbstractStyleParser {
         return optional(markerSize);
     }
 
+    /**
+     * @param fallback value returned if the style does not define a marker size
+     * @return the marker size (allocation-free variant of {@link #getMarkerSize()})
+     */
+    public double getMarkerSize(final double fallback) {
+        return isValid(markerSize) ? markerSize : fallback;
+    }
+
     public Optional<Paint> getMarkerColor() {
         return optional(markerColor);
     }
 
+    /**
+     * @param fallback value returned if the style does not define a marker color
+     * @return the marker color (allocation-free variant of {@link #getMarkerColor()})
+     */
+    public Paint getMarkerColor(final Paint fallback) {
+        return markerColor == null ? fallback : markerColor;
+    }
+
     public Optional<double[]> getMarkerLineDashes() {
         return optional(markerLineDashes);
     }
@@ -162,33 +299,39 @@ public class DataSetStyleParser extends AbstractStyleParser {
     }
 
     public Optional<Font> getFontFull() {
+        return optional(fontFull);
+    }
+
+    private Font computeFontFull() {
         if (font == null && Double.isNaN(fontSize) && fontStyle == null && fontWeight == null) {
-            return Optional.empty();
+            return null;
         } else if (fontWeight == null && fontStyle == null && Double.isNaN(fontSize)) {
-            return Optional.of(font);
+            return font;
         } else if (fontWeight == null && fontStyle == null) {
-            return Optional.of(Font.font( //
+            return Font.font( //
                     font == null ? null : font.getName(), //
-                    Double.isNaN(fontSize) ? -1 : fontSize)); //
+                    Double.isNaN(fontSize) ? -1 : fontSize); //
         } else if (fontWeight == null) {
-            return Optional.of(Font.font( //
+            return Font.font( //
                     font == null ? null : font.getName(), //
                     fontStyle, //
-                    Double.isNaN(fontSize) ? -1 : fontSize)); //
+                    Double.isNaN(fontSize) ? -1 : fontSize); //
         } else if (fontStyle == null) {
-            return Optional.of(Font.font( //
+            return Font.font( //
                     font == null ? null : font.getName(), //
                     fontWeight, //
-                    Double.isNaN(fontSize) ? -1 : fontSize)); //
+                    Double.isNaN(fontSize) ? -1 : fontSize); //
         } else {
-            return Optional.of(Font.font( //
+            return Font.font( //
                     font == null ? null : font.getName(), //
                     fontWeight, fontStyle, //
-                    Double.isNaN(fontSize) ? -1 : fontSize)); //
+                    Double.isNaN(fontSize) ? -1 : fontSize); //
         }
     }
 
     protected void clear() {
+        lastStyle = null;
+
         // Generic
         visible = null;
         intensity = Double.NaN;
@@ -216,6 +359,7 @@ public class DataSetStyleParser extends AbstractStyleParser {
         fontWeight = null;
         fontSize = Double.NaN;
         fontStyle = null;
+        fontFull = null;
     }
 
     // Generic
@@ -245,4 +389,5 @@ public class DataSetStyleParser extends AbstractStyleParser {
     private FontWeight fontWeight;
     private double fontSize;
     private FontPosture fontStyle;
+    private Font fontFull;
 }
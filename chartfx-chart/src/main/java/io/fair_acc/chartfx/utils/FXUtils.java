@@ -363,6 +363,50 @@ public final class FXUtils {
         });
     }
 
+    /**
+     * Same as {@link #registerLayoutHooks(Node, Runnable, Runnable)} with an additional action that gets executed after
+     * the layout pass, but before the post-layout actions of all nodes in the same scene that were registered via this
+     * method, i.e. every node can e.g. start (asynchronous) computations that depend on the final layout before the
+     * first node starts drawing.
+     *
+     * @param node node whose scene the hooks get attached to
+     * @param preLayoutAction action executed before the CSS and layout pass
+     * @param prepareAction action executed after the layout pass and before all post-layout actions
+     * @param postLayoutAction action executed after the layout pass
+     */
+    public static void registerLayoutHooks(Node node, Runnable preLayoutAction, Runnable prepareAction, Runnable postLayoutAction) {
+        AssertUtils.notNull("prepareAction", prepareAction);
+        node.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (oldScene != null) {
+                getPrepareHooks(oldScene).remove(prepareAction);
+            }
+            // N.B. the per-scene hook gets added prior to the post-layout action below and thus runs before it
+            if (scene != null) {
+                getPrepareHooks(scene).add(prepareAction);
+            }
+        });
+        registerLayoutHooks(node, preLayoutAction, postLayoutAction);
+    }
+
+    private static List<Runnable> getPrepareHooks(final Scene scene) {
+        return ((PrepareHooks) scene.getProperties().computeIfAbsent(PrepareHooks.class, key -> {
+            final PrepareHooks hooks = new PrepareHooks();
+            scene.addPostLayoutPulseListener(hooks);
+            return hooks;
+        })).actions;
+    }
+
+    private static class PrepareHooks implements Runnable {
+        private final List<Runnable> actions = new ArrayList<>();
+
+        @Override
+        public void run() {
+            for (int i = 0; i < actions.size(); i++) {
+                actions.get(i).run();
+            }
+        }
+    }
+
     public static Group createUnmanagedGroup() {
         final Group group = new Group();
         group.setManaged(false);
@@ -0,0 +1,206 @@
+package io.fair_acc.chartfx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils;
+import io.fair_acc.chartfx.utils.FXUtils;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the layered canvas compositing of {@link XYChart}
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(JavaFXInterceptorUtils.SelectiveJavaFxInterceptor.class)
+class XYChartLayeredRenderingTests {
+    private static final int WAIT_N_FX_PULSES = 3;
+    private static final int MAX_TIMEOUT_MILLIS = 1000;
+    private final DoubleDataSet fastDataSet = new DoubleDataSet("fast", new double[] { 0, 5, 10 }, new double[] { 1, 2, 3 }, 3, false);
+    private final DoubleDataSet staticDataSet = new DoubleDataSet("static", new double[] { 0, 5, 10 }, new double[] { 3, 2, 1 }, 3, false);
+    private final CountingRenderer fastRenderer = new CountingRenderer();
+    private final CountingRenderer staticRenderer = new CountingRenderer();
+    private XYChart chart;
+
+    @Start
+    public void start(final Stage stage) {
+        final DefaultNumericAxis xAxis = new DefaultNumericAxis("x", 0, 10, 1);
+        final DefaultNumericAxis yAxis = new DefaultNumericAxis("y", 0, 5, 1);
+        xAxis.setAutoRanging(false);
+        yAxis.setAutoRanging(false);
+        chart = new XYChart(xAxis, yAxis);
+        fastRenderer.getDatasets().add(fastDataSet);
+        staticRenderer.getDatasets().add(staticDataSet);
+        chart.getRenderers().setAll(fastRenderer, staticRenderer);
+        chart.setLayeredRendering(true);
+
+        stage.setScene(new Scene(chart, 400, 300));
+        stage.show();
+    }
+
+    @Test
+    void testOnlyDirtyLayersAreRedrawn() throws Exception {
+        waitForPulses();
+        assertTrue(chart.isLayeredRendering());
+        FXUtils.runAndWait(() -> {
+            assertNotSame(chart.getCanvas(), chart.getRendererCanvas(fastRenderer));
+            assertNotSame(chart.getRendererCanvas(staticRenderer), chart.getRendererCanvas(fastRenderer));
+            assertNotSame(chart.getCanvas(), chart.getRendererCanvas(chart.getGridRenderer()));
+            assertEquals(chart.getCanvas().getWidth(), chart.getRendererCanvas(fastRenderer).getWidth());
+        });
+        assertTrue(fastRenderer.counter.get() > 0);
+        assertTrue(staticRenderer.counter.get() > 0);
+
+        // data update of one renderer -> only its layer is prepared and re-drawn
+        final int fastCount = fastRenderer.counter.get();
+        final int staticCount = staticRenderer.counter.get();
+        final int fastPrepared = fastRenderer.prepared.get();
+        final int staticPrepared = staticRenderer.prepared.get();
+        fastDataSet.fireInvalidated(ChartBits.DataSetData);
+        waitForPulses();
+        assertTrue(fastRenderer.counter.get() > fastCount);
+        assertTrue(fastRenderer.prepared.get() > fastPrepared);
+        assertEquals(staticCount, staticRenderer.counter.get());
+        assertEquals(staticPrepared, staticRenderer.prepared.get());
+
+        // global change (e.g. axis range) -> all layers are re-drawn
+        FXUtils.runAndWait(() -> chart.getXAxis().set(0, 20));
+        waitForPulses();
+        assertTrue(staticRenderer.counter.get() > staticCount);
+
+        // legacy single canvas -> everything is re-drawn
+        FXUtils.runAndWait(() -> chart.setLayeredRendering(false));
+        waitForPulses();
+        FXUtils.runAndWait(() -> assertSame(chart.getCanvas(), chart.getRendererCanvas(fastRenderer)));
+        final int staticCount2 = staticRenderer.counter.get();
+        fastDataSet.fireInvalidated(ChartBits.DataSetData);
+        waitForPulses();
+        assertTrue(staticRenderer.counter.get() > staticCount2);
+    }
+
+    @Test
+    void testScrollBlitting() throws Exception {
+        FXUtils.runAndWait(() -> chart.setScrollBlitting(true));
+        waitForPulses();
+
+        // pure x-axis scrolling with appended data -> only the exposed strip is drawn
+        final int count = fastRenderer.counter.get();
+        final int strips = fastRenderer.strips.get();
+        FXUtils.runAndWait(() -> {
+            fastDataSet.add(11.0, 2.0);
+            chart.getXAxis().set(1, 11);
+        });
+        waitForPulses();
+        assertTrue(fastRenderer.strips.get() > strips);
+        assertEquals(fastRenderer.counter.get() - count, fastRenderer.strips.get() - strips);
+
+        // y-range change -> full redraw
+        final int count2 = fastRenderer.counter.get();
+        final int strips2 = fastRenderer.strips.get();
+        FXUtils.runAndWait(() -> chart.getYAxis().set(0, 10));
+        waitForPulses();
+        assertTrue(fastRenderer.counter.get() > count2);
+        assertEquals(strips2, fastRenderer.strips.get());
+    }
+
+    @Test
+    void testScrollBlittingMatchesFullRedraw() throws Exception {
+        FXUtils.runAndWait(() -> chart.setScrollBlitting(true));
+        waitForPulses();
+
+        // scroll by exactly two pixels (i.e. no residual sub-pixel offset) with appended data
+        final int strips = fastRenderer.strips.get();
+        FXUtils.runAndWait(() -> {
+            final Axis xAxis = chart.getXAxis();
+            final double dx = 2.0 * (xAxis.getMax() - xAxis.getMin()) / xAxis.getLength();
+            fastDataSet.add(10.5, 2.5);
+            xAxis.set(xAxis.getMin() + dx, xAxis.getMax() + dx);
+        });
+        waitForPulses();
+        assertTrue(fastRenderer.strips.get() > strips);
+        final WritableImage blitted = snapshotLayer(fastRenderer);
+
+        // same axis state, fully re-drawn
+        final int count = fastRenderer.counter.get();
+        FXUtils.runAndWait(() -> chart.fireInvalidated(ChartBits.ChartCanvas));
+        waitForPulses();
+        assertTrue(fastRenderer.counter.get() > count);
+        final WritableImage redrawn = snapshotLayer(fastRenderer);
+
+        // identical up to the anti-aliasing along the (sub-pixel) boundary of the re-drawn strip
+        assertEquals(redrawn.getWidth(), blitted.getWidth());
+        assertEquals(redrawn.getHeight(), blitted.getHeight());
+        final PixelReader expected = redrawn.getPixelReader();
+        final PixelReader actual = blitted.getPixelReader();
+        int nDiff = 0;
+        for (int y = 0; y < (int) redrawn.getHeight(); y++) {
+            for (int x = 0; x < (int) redrawn.getWidth(); x++) {
+                if (!isSimilar(expected.getColor(x, y), actual.getColor(x, y))) {
+                    nDiff++;
+                }
+            }
+        }
+        assertTrue(nDiff <= 2 * (int) redrawn.getHeight(), "differing pixels: " + nDiff);
+    }
+
+    private WritableImage snapshotLayer(final CountingRenderer renderer) throws Exception {
+        return FXUtils.runAndWait(() -> {
+            final SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            return chart.getRendererCanvas(renderer).snapshot(parameters, null);
+        });
+    }
+
+    private static boolean isSimilar(final Color a, final Color b) {
+        final double tolerance = 0.1;
+        return Math.abs(a.getRed() - b.getRed()) <= tolerance && Math.abs(a.getGreen() - b.getGreen()) <= tolerance
+                && Math.abs(a.getBlue() - b.getBlue()) <= tolerance && Math.abs(a.getOpacity() - b.getOpacity()) <= tolerance;
+    }
+
+    private void waitForPulses() {
+        assertTrue(FXUtils.waitForFxTicks(chart.getScene(), WAIT_N_FX_PULSES, MAX_TIMEOUT_MILLIS));
+    }
+
+    private static class CountingRenderer extends ErrorDataSetRenderer {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final AtomicInteger strips = new AtomicInteger();
+        private final AtomicInteger prepared = new AtomicInteger();
+
+        @Override
+        public void prepareRender() {
+            prepared.incrementAndGet();
+            super.prepareRender();
+        }
+
+        @Override
+        public void render() {
+            counter.incrementAndGet();
+            super.render();
+        }
+
+        @Override
+        public void render(final double displayFrom, final double displayTo, final double padding) {
+            strips.incrementAndGet();
+            super.render(displayFrom, displayTo, padding);
+        }
+    }
+}
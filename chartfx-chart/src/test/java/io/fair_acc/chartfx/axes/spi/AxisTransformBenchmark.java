@@ -0,0 +1,96 @@
+package io.fair_acc.chartfx.axes.spi;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.ui.geometry.Side;
+
+/**
+ * Compares the per-point {@link Axis#getDisplayPosition(double)} with the batch
+ * {@link Axis#getDisplayPositions(double[], int, int, double[])} for linear, logarithmic and oscilloscope axes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, warmups = 0)
+public class AxisTransformBenchmark {
+    @Param({ "1000000" })
+    private int nSamples;
+    @Param({ "LINEAR", "LOGARITHMIC", "OSCILLOSCOPE" })
+    private AxisType axisType;
+    private Axis axis;
+    private double[] values;
+    private double[] positions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (axisType) {
+        case OSCILLOSCOPE:
+            axis = new OscilloscopeAxis("axis", -10.0, 100.0, 10.0);
+            break;
+        case LOGARITHMIC:
+        case LINEAR:
+        default:
+            final DefaultNumericAxis numericAxis = new DefaultNumericAxis("axis", 0.1, 100.0, 10.0);
+            numericAxis.setLogAxis(axisType == AxisType.LOGARITHMIC);
+            axis = numericAxis;
+            break;
+        }
+        axis.setSide(Side.BOTTOM);
+        ((AbstractAxis) axis).resize(1000, 50);
+        ((AbstractAxis) axis).updateCachedTransforms();
+
+        final Random rnd = new Random(42);
+        values = new double[nSamples];
+        positions = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            values[i] = 0.1 + 100.0 * rnd.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public void batch(final Blackhole blackhole) {
+        axis.getDisplayPositions(values, 0, nSamples, positions);
+        blackhole.consume(positions);
+    }
+
+    @Benchmark
+    public void scalar(final Blackhole blackhole) {
+        for (int i = 0; i < nSamples; i++) {
+            positions[i] = axis.getDisplayPosition(values[i]);
+        }
+        blackhole.consume(positions);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(AxisTransformBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    public enum AxisType {
+        LINEAR,
+        LOGARITHMIC,
+        OSCILLOSCOPE
+    }
+}
@@ -10,7 +10,10 @@ import org.junit.jupiter.api.function.ThrowingSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.LogAxisType;
+import io.fair_acc.chartfx.axes.spi.transforms.AxisTransformKernels;
+import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.dataset.spi.fastutil.DoubleArrayList;
 
 /**
@@ -52,6 +55,62 @@ public class DefaultNumericAxisTests {
         }
     }
 
+    @Test
+    public void batchDisplayPositionTests() {
+        final double[] values = new double[1003];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -20.0 + 0.05 * i;
+        }
+        values[7] = Double.NaN;
+        values[8] = Double.POSITIVE_INFINITY;
+
+        for (final Side side : new Side[] { Side.BOTTOM, Side.LEFT }) {
+            final DefaultNumericAxis axis = new DefaultNumericAxis("axis name", 0.1, 30.0, 1.0);
+            axis.setSide(side);
+            axis.resize(side.isHorizontal() ? 800 : 40, side.isHorizontal() ? 40 : 600);
+            for (final boolean logAxis : new boolean[] { false, true }) {
+                axis.setLogAxis(logAxis);
+                for (final boolean inverted : new boolean[] { false, true }) {
+                    axis.invertAxis(inverted);
+                    axis.updateCachedTransforms();
+                    assertBatchEqualsScalar(axis, values);
+                }
+            }
+            axis.setLogarithmBase(2);
+            axis.updateCachedTransforms();
+            assertBatchEqualsScalar(axis, values);
+
+            // log-time transform -> generic fall-back
+            axis.setTimeAxis(true);
+            axis.setLogAxis(false);
+            axis.setLogAxis(true);
+            axis.updateCachedTransforms();
+            assertBatchEqualsScalar(axis, values);
+        }
+    }
+
+    @Test
+    public void batchDisplayPositionOverriddenTests() {
+        // sub-classes overriding the scalar transform must not be bypassed by the bulk kernels
+        final DefaultNumericAxis axis = new DefaultNumericAxis("axis name", 0.1, 30.0, 1.0) {
+            @Override
+            public double getDisplayPosition(final double value) {
+                return value * value;
+            }
+        };
+        axis.setSide(Side.BOTTOM);
+        axis.resize(800, 40);
+        axis.updateCachedTransforms();
+        final double[] values = { 1.0, 2.0, 3.0, 4.0 };
+        final double[] positions = new double[values.length];
+        axis.getDisplayPositions(values, 0, values.length, positions);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i] * values[i], positions[i]);
+        }
+        assertTrue(AxisTransformKernels.isDisplayPositionDeclaredBy(DefaultNumericAxis.class, DefaultNumericAxis.class));
+        assertFalse(AxisTransformKernels.isDisplayPositionDeclaredBy(axis.getClass(), DefaultNumericAxis.class));
+    }
+
     /**
      * tests parameters not already covered in AbstractAxisParameterTests
      */
@@ -93,4 +152,22 @@ public class DefaultNumericAxisTests {
         tickValues.clear();
         axis.calculateMinorTickValues(tickValues);
     }
+
+    protected static void assertBatchEqualsScalar(final Axis axis, final double[] values) {
+        final double[] positions = new double[values.length];
+        axis.getDisplayPositions(values, 1, values.length - 1, positions);
+        assertEquals(0.0, positions[0]);
+        assertEquals(0.0, positions[values.length - 1]);
+        for (int i = 1; i < values.length - 1; i++) {
+            final double expected = axis.getDisplayPosition(values[i]);
+            assertEquals(expected, positions[i], 1e-9 * Math.max(1.0, Math.abs(expected)), "index " + i);
+        }
+
+        // in-place
+        final double[] inPlace = values.clone();
+        axis.getDisplayPositions(inPlace, 0, inPlace.length, inPlace);
+        for (int i = 1; i < values.length - 1; i++) {
+            assertEquals(positions[i], inPlace[i], "index " + i);
+        }
+    }
 }
@@ -98,6 +98,20 @@ public class OscilloscopeAxisTests {
         assertEquals(-1.0, mOne);
     }
 
+    @Test
+    public void batchDisplayPositionTests() {
+        final OscilloscopeAxis axis = new OscilloscopeAxis("axis title", -10.0, 100.0, 10.0);
+        axis.setSide(Side.LEFT);
+        axis.resize(40, 600);
+        axis.updateCachedTransforms();
+
+        final double[] values = new double[257];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -20.0 + 0.5 * i;
+        }
+        DefaultNumericAxisTests.assertBatchEqualsScalar(axis, values);
+    }
+
     @Test
     public void minMaxRangeTests() {
         final OscilloscopeAxis axis = new OscilloscopeAxis("axis title", 0.0, 1.0, 0.1);
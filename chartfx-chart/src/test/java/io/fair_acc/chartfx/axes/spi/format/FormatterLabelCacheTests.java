@@ -0,0 +1,120 @@
+package io.fair_acc.chartfx.axes.spi.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the primitive-keyed LRU {@link FormatterLabelCache}
+ */
+class FormatterLabelCacheTests {
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        final FormatterLabelCache cache = new FormatterLabelCache(3);
+        final AtomicInteger calls = new AtomicInteger();
+        final DoubleFunction<String> formatter = value -> {
+            calls.incrementAndGet();
+            return Double.toString(value);
+        };
+        assertEquals(3, cache.getCapacity());
+        assertTrue(Double.isNaN(cache.getHitRate()));
+
+        final String label = cache.get(1.0, formatter);
+        assertSame(label, cache.get(1.0, formatter));
+        cache.get(2.0, formatter);
+        cache.get(3.0, formatter);
+        cache.get(1.0, formatter); // 2.0 is now the least recently used entry
+        cache.get(4.0, formatter);
+        assertEquals(3, cache.size());
+        assertEquals(4, calls.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2.0 / 6.0, cache.getHitRate());
+
+        cache.get(1.0, formatter);
+        cache.get(3.0, formatter);
+        assertEquals(4, calls.get());
+        cache.get(2.0, formatter);
+        assertEquals(5, calls.get());
+
+        // +0.0 and -0.0 are formatted differently
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals("0.0", cache.get(0.0, formatter));
+        assertEquals("-0.0", cache.get(-0.0, formatter));
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> new FormatterLabelCache(0));
+    }
+
+    @Test
+    void testAgainstReference() {
+        final int capacity = 37;
+        final FormatterLabelCache cache = new FormatterLabelCache(capacity);
+        final Map<Double, String> reference = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Double, String> eldest) {
+                return size() > capacity;
+            }
+        };
+        final AtomicInteger calls = new AtomicInteger();
+        final DoubleFunction<String> formatter = value -> {
+            calls.incrementAndGet();
+            return "label" + value;
+        };
+
+        final Random random = new Random(42);
+        int expectedCalls = 0;
+        for (int i = 0; i < 100_000; i++) {
+            final double value = random.nextInt(100) * 0.1;
+            if (!reference.containsKey(value)) {
+                expectedCalls++;
+            }
+            reference.computeIfAbsent(value, v -> "label" + v);
+            assertEquals("label" + value, cache.get(value, formatter));
+            assertEquals(expectedCalls, calls.get(), "iteration " + i);
+        }
+        assertEquals(reference.size(), cache.size());
+    }
+
+    @Test
+    void testBounds() {
+        final FormatterLabelCache cache = new FormatterLabelCache();
+        final Object font1 = new Object();
+        final Object font2 = new Object();
+        final DoubleFunction<String> formatter = Double::toString;
+
+        // no bounds for unknown values
+        cache.setBounds(1.0, "1.0", font1, 0, 10, 5);
+        assertTrue(Double.isNaN(cache.getWidth(1.0, "1.0", font1, 0)));
+
+        cache.get(1.0, formatter);
+        cache.setBounds(1.0, "1.0", font1, 0, 10, 5);
+        assertEquals(10, cache.getWidth(1.0, "1.0", font1, 0));
+        assertEquals(5, cache.getHeight(1.0, "1.0", font1, 0));
+
+        // invalidated by style (font) and its change counter
+        assertTrue(Double.isNaN(cache.getWidth(1.0, "1.0", font2, 0)));
+        assertTrue(Double.isNaN(cache.getHeight(1.0, "1.0", font1, 1)));
+        // ... and label changes
+        assertTrue(Double.isNaN(cache.getWidth(1.0, "1", font1, 0)));
+        cache.setBounds(1.0, "1", font1, 0, 8, 5);
+        assertEquals(10, cache.getWidth(1.0, "1.0", font1, 0));
+
+        cache.clear();
+        cache.get(1.0, formatter);
+        assertTrue(Double.isNaN(cache.getWidth(1.0, "1.0", font1, 0)));
+    }
+}
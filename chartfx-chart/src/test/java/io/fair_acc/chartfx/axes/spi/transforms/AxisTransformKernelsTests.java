@@ -0,0 +1,90 @@
+package io.fair_acc.chartfx.axes.spi.transforms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the bulk {@link AxisTransformKernels} against the scalar reference computation
+ */
+class AxisTransformKernelsTests {
+    private static final int N_SAMPLES = 100_003; // N.B. deliberately not a multiple of the unroll factor
+
+    @AfterEach
+    void resetThreshold() {
+        AxisTransformKernels.setParallelThreshold(AxisTransformKernels.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Test
+    void testLinear() {
+        final double[] src = randomData();
+        final double offset = 12.5;
+        final double scale = -3.25;
+        for (final int threshold : new int[] { Integer.MAX_VALUE, 1 }) {
+            AxisTransformKernels.setParallelThreshold(threshold);
+            assertEquals(threshold, AxisTransformKernels.getParallelThreshold());
+            final double[] dst = new double[N_SAMPLES];
+            AxisTransformKernels.linear(src, 3, N_SAMPLES - 2, dst, offset, scale);
+            for (int i = 0; i < N_SAMPLES; i++) {
+                final double expected = i < 3 || i >= N_SAMPLES - 2 ? 0.0 : offset + scale * src[i];
+                assertEquals(expected, dst[i], "index " + i);
+            }
+
+            // in-place
+            final double[] inPlace = src.clone();
+            AxisTransformKernels.linear(inPlace, 3, N_SAMPLES - 2, inPlace, offset, scale);
+            assertRangeEquals(dst, 3, N_SAMPLES - 2, inPlace);
+        }
+    }
+
+    @Test
+    void testLogarithmic() {
+        final double[] src = randomData();
+        src[10] = 0.0;
+        src[11] = Double.NaN;
+        final double offset = 7.0;
+        final double scale = 100.0;
+        for (final int threshold : new int[] { Integer.MAX_VALUE, 1 }) {
+            AxisTransformKernels.setParallelThreshold(threshold);
+            final double[] dst = new double[N_SAMPLES];
+            AxisTransformKernels.logarithmic(src, 0, N_SAMPLES, dst, offset, scale);
+            for (int i = 0; i < N_SAMPLES; i++) {
+                final double expected = src[i] > 0 ? offset + scale * Math.log10(src[i]) : Double.NaN;
+                assertEquals(expected, dst[i], "index " + i);
+            }
+            assertTrue(Double.isNaN(dst[10]));
+            assertTrue(Double.isNaN(dst[11]));
+        }
+    }
+
+    @Test
+    void testIllegalArguments() {
+        final double[] data = new double[10];
+        assertThrows(IllegalArgumentException.class, () -> AxisTransformKernels.setParallelThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> AxisTransformKernels.linear(null, 0, 1, data, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> AxisTransformKernels.logarithmic(data, 0, 1, null, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> AxisTransformKernels.linear(data, 5, 4, data, 0.0, 1.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> AxisTransformKernels.linear(data, 0, 11, data, 0.0, 1.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> AxisTransformKernels.logarithmic(data, 0, 10, new double[5], 0.0, 1.0));
+    }
+
+    private static void assertRangeEquals(final double[] expected, final int from, final int to, final double[] actual) {
+        for (int i = from; i < to; i++) {
+            assertEquals(expected[i], actual[i], "index " + i);
+        }
+    }
+
+    private static double[] randomData() {
+        final Random rnd = new Random(42);
+        final double[] data = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            data[i] = 1e-3 + 100.0 * rnd.nextDouble() - (i % 17 == 0 ? 200.0 : 0.0);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,197 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.dataset.utils.MinMaxPyramid;
+
+/**
+ * Tests of the min/max preserving {@link M4DataReducer}
+ */
+class M4DataReducerTests {
+    @Test
+    void testScreenDomainReduction() {
+        final M4DataReducer dataReducer = new M4DataReducer();
+        // pixel columns: [0, 1[ -> 5 points, [2, 3[ -> 1 point, [3, 4[ -> 3 points interrupted by a NaN
+        final double[] xValues = { 0.0, 0.2, 0.4, 0.6, 0.8, 2.5, 3.0, 3.1, 3.2 };
+        final double[] yValues = { 5.0, 9.0, 1.0, 4.0, 6.0, 3.0, 2.0, Double.NaN, 7.0 };
+        final double[] yErrorsPos = Arrays.copyOf(yValues, yValues.length);
+        final double[] yErrorsNeg = Arrays.copyOf(yValues, yValues.length);
+        final String[] styles = new String[xValues.length];
+        styles[2] = "min";
+        final boolean[] selected = new boolean[xValues.length];
+
+        final int count = dataReducer.reducePoints(xValues, yValues, null, null, yErrorsPos, yErrorsNeg, styles, selected, 0, xValues.length);
+        assertEquals(8, count);
+        assertArrayEquals(new double[] { 0.0, 0.2, 0.4, 0.8, 2.5, 3.0, 3.1, 3.2 }, Arrays.copyOf(xValues, count));
+        assertArrayEquals(new double[] { 5.0, 9.0, 1.0, 6.0, 3.0, 2.0, Double.NaN, 7.0 }, Arrays.copyOf(yValues, count));
+        assertArrayEquals(Arrays.copyOf(yValues, count), Arrays.copyOf(yErrorsPos, count));
+        assertEquals("min", styles[2]);
+    }
+
+    @Test
+    void testDataDomainReduction() {
+        final int nSamples = 100_000;
+        final Random rnd = new Random(42);
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = Math.sin(1e-3 * i) + 0.1 * rnd.nextGaussian();
+        }
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", x, y, new double[nSamples], new double[nSamples], nSamples, true);
+        dataSet.addDataStyle(nSamples - 1, "last");
+
+        final M4DataReducer dataReducer = new M4DataReducer();
+        // not dense enough -> source data set
+        assertSame(dataSet, dataReducer.reduceDataSet(dataSet, 0, 1000, 1000));
+
+        final int indexMin = 1234;
+        final int nPixels = 500;
+        final DataSet reduced = dataReducer.reduceDataSet(dataSet, indexMin, nSamples, nPixels);
+        final int nReduced = reduced.getDataCount();
+        assertTrue(nReduced <= 4 * 2 * nPixels + 200, "reduced to " + nReduced);
+        assertEquals(x[indexMin], reduced.get(DIM_X, 0));
+        assertEquals(x[nSamples - 1], reduced.get(DIM_X, nReduced - 1));
+        assertEquals("last", reduced.getStyle(nReduced - 1));
+
+        // the extremes of all buckets of the level matching the pixel density are retained
+        final MinMaxPyramid pyramid = dataReducer.getPyramid(dataSet);
+        final int level = pyramid.getLevel((nSamples - indexMin) / (double) nPixels);
+        final double[] reducedX = Arrays.copyOf(reduced.getValues(DIM_X), nReduced);
+        for (int bucket = 0; bucket < pyramid.getBucketCount(level); bucket++) {
+            if (bucket * pyramid.getBucketSize(level) < indexMin) {
+                continue;
+            }
+            final int iMin = pyramid.getMinIndex(level, bucket);
+            final int iMax = pyramid.getMaxIndex(level, bucket);
+            assertTrue(Arrays.binarySearch(reducedX, x[iMin]) >= 0, "bucket minimum " + bucket);
+            assertTrue(Arrays.binarySearch(reducedX, x[iMax]) >= 0, "bucket maximum " + bucket);
+        }
+
+        // global extremes retained
+        assertEquals(Arrays.stream(y, indexMin, nSamples).max().orElseThrow(), Arrays.stream(reduced.getValues(DIM_Y), 0, nReduced).max().orElseThrow());
+        assertEquals(Arrays.stream(y, indexMin, nSamples).min().orElseThrow(), Arrays.stream(reduced.getValues(DIM_Y), 0, nReduced).min().orElseThrow());
+
+        // appended samples are picked up incrementally
+        final int pyramidCount = dataReducer.getPyramid(dataSet).getDataCount();
+        dataSet.add(nSamples, 1e3);
+        assertEquals(pyramidCount, dataReducer.getPyramid(dataSet).getDataCount());
+        final DataSet extended = dataReducer.reduceDataSet(dataSet, 0, dataSet.getDataCount(), nPixels);
+        assertEquals(1e3, extended.get(DIM_Y, extended.getDataCount() - 1));
+        dataReducer.clear();
+    }
+
+    @Test
+    void testConcurrentDataDomainReduction() throws Exception {
+        final int nSamples = 50_000;
+        final int nPixels = 300;
+        final DoubleErrorDataSet[] dataSets = { newDataSet(nSamples, 1), newDataSet(nSamples, 2) };
+        final M4DataReducer dataReducer = new M4DataReducer();
+        final double[][] expected = new double[dataSets.length][];
+        for (int i = 0; i < dataSets.length; i++) {
+            final DataSet reduced = dataReducer.reduceDataSet(dataSets[i], 0, nSamples, nPixels);
+            expected[i] = Arrays.copyOf(reduced.getValues(DIM_Y), reduced.getDataCount());
+        }
+
+        // the returned data set is owned by the caller-supplied buffer
+        final M4DataReducer.ReductionBuffer buffer = new M4DataReducer.ReductionBuffer();
+        final DataSet reduced1 = dataReducer.reduceDataSet(dataSets[0], 0, nSamples, nPixels, buffer);
+        assertSame(reduced1, dataReducer.reduceDataSet(dataSets[1], 0, nSamples, nPixels, buffer));
+        assertNotSame(reduced1, dataReducer.reduceDataSet(dataSets[1], 0, nSamples, nPixels));
+
+        // shared reducer, one buffer per thread -> results independent of the interleaving
+        final ExecutorService executor = Executors.newFixedThreadPool(dataSets.length);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < dataSets.length; i++) {
+                final int index = i;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    final M4DataReducer.ReductionBuffer threadBuffer = new M4DataReducer.ReductionBuffer();
+                    for (int iteration = 0; iteration < 200; iteration++) {
+                        final DataSet reduced = dataReducer.reduceDataSet(dataSets[index], 0, nSamples, nPixels, threadBuffer);
+                        if (!Arrays.equals(expected[index], Arrays.copyOf(reduced.getValues(DIM_Y), reduced.getDataCount()))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSnapshotDataDomainReduction() {
+        final int nPixels = 200;
+        final DoubleErrorDataSet source = newDataSet(20_000, 3).setSnapshotMode(true);
+        final M4DataReducer dataReducer = new M4DataReducer();
+        final M4DataReducer.ReductionBuffer buffer = new M4DataReducer.ReductionBuffer();
+        final M4DataReducer referenceReducer = new M4DataReducer();
+        final MinMaxPyramid pyramid = dataReducer.getPyramid(source);
+        final Random rnd = new Random(4);
+        for (int iteration = 0; iteration < 20; iteration++) {
+            // append-only updates rendered via the rotating snapshot copies
+            for (int i = 0; i < 100; i++) {
+                source.add(source.getDataCount(), rnd.nextGaussian());
+            }
+            final int pyramidCount = pyramid.getDataCount();
+            final DataSet snapshot = source.acquireSnapshot();
+            try {
+                assertNotSame(source, snapshot);
+                final DataSet reduced = dataReducer.reduceDataSet(snapshot, source, 0, snapshot.getDataCount(), nPixels, buffer);
+                final DataSet expected = referenceReducer.reduceDataSet(source, 0, source.getDataCount(), nPixels);
+                assertArrayEquals(Arrays.copyOf(expected.getValues(DIM_Y), expected.getDataCount()), Arrays.copyOf(reduced.getValues(DIM_Y), reduced.getDataCount()));
+            } finally {
+                source.releaseSnapshot();
+            }
+            assertTrue(pyramid.getDataCount() > pyramidCount, "pyramid of the source data set extended by the snapshot");
+            assertEquals(1, pyramid.getRebuildCount(), "appends are applied incrementally");
+        }
+
+        // removals on the source still require a rebuild
+        source.remove(0, 10);
+        final DataSet snapshot = source.acquireSnapshot();
+        try {
+            dataReducer.reduceDataSet(snapshot, source, 0, snapshot.getDataCount(), nPixels, buffer);
+        } finally {
+            source.releaseSnapshot();
+        }
+        assertEquals(2, pyramid.getRebuildCount());
+        dataReducer.clear();
+    }
+
+    private static DoubleErrorDataSet newDataSet(final int nSamples, final long seed) {
+        final Random rnd = new Random(seed);
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = rnd.nextGaussian();
+        }
+        return new DoubleErrorDataSet("test" + seed, x, y, new double[nSamples], new double[nSamples], nSamples, true);
+    }
+}
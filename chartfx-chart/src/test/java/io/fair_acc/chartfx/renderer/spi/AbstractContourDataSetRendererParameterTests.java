@@ -49,6 +49,12 @@ public class AbstractContourDataSetRendererParameterTests {
         renderer.setMinHexTileSizeProperty(101);
         assertEquals(101, renderer.getMinHexTileSizeProperty());
 
+        assertTrue(renderer.isMultiLevelContours());
+        renderer.setMultiLevelContours(false);
+        assertFalse(renderer.isMultiLevelContours());
+        renderer.setMultiLevelContours(true);
+        assertTrue(renderer.isMultiLevelContours());
+
         renderer.setNumberQuantisationLevels(3);
         assertEquals(3, renderer.getNumberQuantisationLevels());
 
@@ -60,6 +66,12 @@ public class AbstractContourDataSetRendererParameterTests {
         renderer.setReductionType(ReductionType.AVERAGE);
         assertEquals(ReductionType.AVERAGE, renderer.getReductionType());
 
+        assertFalse(renderer.isScrollMode());
+        renderer.setScrollMode(true);
+        assertTrue(renderer.isScrollMode());
+        renderer.setScrollMode(false);
+        assertFalse(renderer.isScrollMode());
+
         renderer.setSmooth(true);
         assertTrue(renderer.isSmooth());
         renderer.setSmooth(false);
@@ -34,6 +34,11 @@ public class AbstractErrorDataSetRendererParameterTests {
         renderer.setAllowNaNs(false);
         assertFalse(renderer.isallowNaNs());
 
+        renderer.setPipelinedRendering(true);
+        assertTrue(renderer.isPipelinedRendering());
+        renderer.setPipelinedRendering(false);
+        assertFalse(renderer.isPipelinedRendering());
+
         renderer.setBarWidth(13);
         assertEquals(13, renderer.getBarWidth());
 
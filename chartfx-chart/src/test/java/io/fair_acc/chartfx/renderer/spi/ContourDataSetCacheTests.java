@@ -54,6 +54,51 @@ public class ContourDataSetCacheTests {
     private static final double[] TEST_DATA_Z_QUANT2 = { //
         0.9, 0.8, 0.7, 0.6, 0.5, 0.5, 0.4, 0.3, 0.2, 0.1, 0.0, 0.0
     };
+    private static final AxisTransform IDENTITY_TRANSFORM = new AxisTransform() {
+        @Override
+        public double backward(double val) {
+            return val;
+        }
+
+        @Override
+        public double forward(double val) {
+            return val;
+        }
+
+        @Override
+        public double getMaximumRange() {
+            // not necessary for this test
+            return 0;
+        }
+
+        @Override
+        public double getMinimumRange() {
+            // not necessary for this test
+            return 0;
+        }
+
+        @Override
+        public double getRoundedMaximumRange(double val) {
+            // not necessary for this test
+            return 0;
+        }
+
+        @Override
+        public double getRoundedMinimumRange(double val) {
+            // not necessary for this test
+            return 0;
+        }
+
+        @Override
+        public void setMaximumRange(double val) {
+            // not necessary for this test
+        }
+
+        @Override
+        public void setMinimumRange(double val) {
+            // not necessary for this test
+        }
+    };
 
     @Test
     public void testDataSet() {
@@ -95,62 +140,58 @@ public class ContourDataSetCacheTests {
         range = ContourDataSetCache.computeLocalRange(TEST_DATA_Z, TEST_DATA_X.length, TEST_DATA_Y.length, false);
         assertFalse(range.isDefined());
 
-        final AxisTransform identityTransform = new AxisTransform() {
-            @Override
-            public double backward(double val) {
-                return val;
-            }
-
-            @Override
-            public double forward(double val) {
-                return val;
-            }
-
-            @Override
-            public double getMaximumRange() {
-                // not necessary for this test
-                return 0;
-            }
-
-            @Override
-            public double getMinimumRange() {
-                // not necessary for this test
-                return 0;
-            }
-
-            @Override
-            public double getRoundedMaximumRange(double val) {
-                // not necessary for this test
-                return 0;
-            }
-
-            @Override
-            public double getRoundedMinimumRange(double val) {
-                // not necessary for this test
-                return 0;
-            }
-
-            @Override
-            public void setMaximumRange(double val) {
-                // not necessary for this test
-            }
-
-            @Override
-            public void setMinimumRange(double val) {
-                // not necessary for this test
-            }
-        };
         final double[] inputData = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
         ContourDataSetCache.quantizeData(inputData, TEST_DATA_X.length, TEST_DATA_Y.length, false, 0, 12,
-                identityTransform, 10);
+                IDENTITY_TRANSFORM, 10);
         assertArrayEquals(TEST_DATA_Z_QUANT1, inputData, "quantizeData(..)");
 
         final double[] inputDataInv = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
         ContourDataSetCache.quantizeData(inputDataInv, TEST_DATA_X.length, TEST_DATA_Y.length, true, 0, 12,
-                identityTransform, 10);
+                IDENTITY_TRANSFORM, 10);
         assertArrayEquals(TEST_DATA_Z_QUANT2, inputDataInv, "quantizeData(..) - inverted");
     }
 
+    @Test
+    public void testScrollModeHelpers() {
+        // incremental z-range via per-row min/max
+        final double[] rowMin = new double[TEST_DATA_Y.length];
+        final double[] rowMax = new double[TEST_DATA_Y.length];
+        final double[] data = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
+        data[4] = Double.NaN;
+        data[9] = Double.NaN;
+        data[10] = Double.NaN;
+        data[11] = Double.NaN;
+        ContourDataSetCache.computeRowRanges(data, TEST_DATA_X.length, 0, TEST_DATA_Y.length, rowMin, rowMax);
+        assertArrayEquals(new double[] { 1, 4, 7, Double.POSITIVE_INFINITY }, rowMin);
+        assertArrayEquals(new double[] { 3, 6, 9, Double.NEGATIVE_INFINITY }, rowMax);
+        DataRange range = ContourDataSetCache.mergeRowRanges(rowMin, rowMax, TEST_DATA_Y.length);
+        assertEquals(1, range.getMin());
+        assertEquals(9, range.getMax());
+        assertFalse(ContourDataSetCache.mergeRowRanges(rowMin, rowMax, 0).isDefined());
+
+        // scrolling of the retained rows
+        final double[] buffer = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
+        ContourDataSetCache.shiftRows(buffer, TEST_DATA_X.length, TEST_DATA_Y.length, 1, false);
+        assertArrayEquals(new double[] { 4, 5, 6, 7, 8, 9, 10, 11, 12, 10, 11, 12 }, buffer);
+        ContourDataSetCache.shiftRows(buffer, TEST_DATA_X.length, TEST_DATA_Y.length, 2, true);
+        assertArrayEquals(new double[] { 4, 5, 6, 7, 8, 9, 4, 5, 6, 7, 8, 9 }, buffer);
+
+        // partial quantisation is identical to the full quantisation of the same range
+        final double[] full = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
+        final double[] partial = Arrays.copyOf(TEST_DATA_Z, TEST_DATA_Z.length);
+        ContourDataSetCache.quantizeData(full, TEST_DATA_X.length, TEST_DATA_Y.length, false, 0, 12, IDENTITY_TRANSFORM, 10);
+        ContourDataSetCache.quantizeRange(partial, 6, 12, false, 0, 12, IDENTITY_TRANSFORM, 10);
+        assertArrayEquals(Arrays.copyOfRange(TEST_DATA_Z, 0, 6), Arrays.copyOfRange(partial, 0, 6));
+        assertArrayEquals(Arrays.copyOfRange(full, 6, 12), Arrays.copyOfRange(partial, 6, 12));
+
+        // colour look-up: out-of-range and NaN values are transparent
+        final int[] lookupTable = { 0xFF000000, 0xFF0000FF, 0xFF00FF00, 0xFFFF0000 };
+        final double[] quantised = { -1.0 / 3.0, 0.0, 1.0 / 3.0, 2.0 / 3.0, 1.0, 4.0 / 3.0, Double.NaN };
+        final int[] pixels = new int[quantised.length + 1];
+        ContourDataSetCache.convertRow(quantised, 0, quantised.length, lookupTable, 3, pixels, 1);
+        assertArrayEquals(new int[] { 0, 0, 0xFF000000, 0xFF0000FF, 0xFF00FF00, 0xFFFF0000, 0, 0 }, pixels);
+    }
+
     @Test
     public void testDataTransform() {
         GridDataSet dataSet = new DataSetBuilder().setValues(DIM_X, TEST_DATA_X).setValues(DIM_Y, TEST_DATA_Y).setValues(DIM_Z, TEST_DATA_Z).build(GridDataSet.class);
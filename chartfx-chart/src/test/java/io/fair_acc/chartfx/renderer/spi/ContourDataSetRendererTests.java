@@ -1,13 +1,20 @@
 package io.fair_acc.chartfx.renderer.spi;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -19,7 +26,9 @@ import org.testfx.framework.junit5.Start;
 import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
 import io.fair_acc.chartfx.renderer.ContourType;
+import io.fair_acc.chartfx.renderer.spi.marchingsquares.MultiLevelMarchingSquares;
 import io.fair_acc.chartfx.renderer.spi.utils.ColorGradient;
+import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.utils.FuzzyTestImageUtils;
 import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils;
 import io.fair_acc.chartfx.ui.utils.TestFx;
@@ -84,8 +93,52 @@ public class ContourDataSetRendererTests {
         testRenderer(contourType, true);
     }
 
+    @ParameterizedTest
+    @EnumSource(ContourType.class)
+    public void testRendererScrollMode(final ContourType contourType) throws Exception {
+        // N.B. same reference images: the first frame is a full update, the second one re-uses the retained data
+        renderer.setScrollMode(true);
+        try {
+            testRenderer(contourType, false);
+        } finally {
+            renderer.setScrollMode(false);
+        }
+    }
+
+    @Test
+    public void testContourTilesRetainedPerDataSet() throws Exception {
+        FXUtils.runAndWait(() -> {
+            renderer.getDatasets().add(getTestDataSet());
+            renderer.setContourType(ContourType.CONTOUR);
+            chart.invalidate();
+        });
+        assertTrue(FXUtils.waitForFxTicks(chart.getScene(), WAIT_N_FX_PULSES, MAX_TIMEOUT_MILLIS));
+
+        // unchanged data -> the contours of both data sets are re-used rather than evicted by the other data set
+        FXUtils.runAndWait(() -> chart.invalidate());
+        assertTrue(FXUtils.waitForFxTicks(chart.getScene(), WAIT_N_FX_PULSES, MAX_TIMEOUT_MILLIS));
+        FXUtils.runAndWait(() -> {
+            final List<DataSetNode> nodes = renderer.getDatasetNodes();
+            assertEquals(2, nodes.size());
+            final MultiLevelMarchingSquares cache0 = renderer.getContourCache(nodes.get(0));
+            final MultiLevelMarchingSquares cache1 = renderer.getContourCache(nodes.get(1));
+            assertNotNull(cache0);
+            assertNotNull(cache1);
+            assertNotSame(cache0, cache1);
+            assertEquals(0, cache0.getLastComputedTileCount());
+            assertEquals(0, cache1.getLastComputedTileCount());
+
+            // reference implementation -> retained tiles are released
+            renderer.setMultiLevelContours(false);
+            chart.invalidate();
+        });
+        assertTrue(FXUtils.waitForFxTicks(chart.getScene(), WAIT_N_FX_PULSES, MAX_TIMEOUT_MILLIS));
+        FXUtils.runAndWait(() -> assertNull(renderer.getContourCache(renderer.getDatasetNodes().get(0))));
+    }
+
     private void testRenderer(final ContourType contourType, final boolean altImplementation) throws Exception {
         renderer.setAltImplementation(altImplementation);
+        renderer.setMultiLevelContours(!altImplementation);
         renderer.setContourType(contourType);
         final String contourTypeString = renderer.getContourType().toString();
         final String referenceImage = referenceFileName + contourTypeString + (altImplementation ? "_ALT" : "") + referenceFileExtension;
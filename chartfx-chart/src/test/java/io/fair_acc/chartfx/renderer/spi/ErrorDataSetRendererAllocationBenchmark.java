@@ -0,0 +1,156 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.ErrorStyle;
+import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.spi.utils.StyleGroups;
+import io.fair_acc.chartfx.ui.css.DataSetStyleParser;
+import io.fair_acc.chartfx.ui.geometry.Side;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Allocation regression benchmark of the steady-state (i.e. warmed-up) data path of the {@link ErrorDataSetRenderer}:
+ * {@link ErrorDataSetRenderer#computePoints} (visible index range look-up, screen coordinate computation and data
+ * reduction via the {@link DefaultDataReducer}) with the settings captured from a renderer instance, as well as the
+ * per-point style grouping and parsing of the drawing stage.
+ * <p>
+ * Run with the GC profiler, the {@code gc.alloc.rate.norm} result (bytes per frame) is checked against
+ * {@link #BYTES_PER_FRAME_BUDGET}. N.B. excludes the JavaFX {@code GraphicsContext}, which copies its state on
+ * {@code save()} and line dashes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, warmups = 0)
+public class ErrorDataSetRendererAllocationBenchmark {
+    /** allocation budget per frame, N.B. independent of the number of data sets and points */
+    public static final double BYTES_PER_FRAME_BUDGET = 128;
+    private static final int N_DATA_SETS = 4;
+    private static final String[] STYLES = { "-fx-marker-color: red;", "-fx-marker-color: blue; -fx-marker-size: 3;", "-fx-marker-type: circle;" };
+    @Param({ "100000" })
+    private int nSamples;
+    private DefaultNumericAxis xAxis;
+    private DefaultNumericAxis yAxis;
+    private final DoubleErrorDataSet[] dataSets = new DoubleErrorDataSet[N_DATA_SETS];
+    private final CachedDataPoints cache = new CachedDataPoints();
+    private final ErrorDataSetRenderer.RenderSettings settings = new ErrorDataSetRenderer.RenderSettings();
+    private final StyleGroups styleGroups = new StyleGroups();
+    private final DataSetStyleParser styleParser = DataSetStyleParser.newInstance();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        xAxis = createAxis(Side.BOTTOM, 0, nSamples);
+        yAxis = createAxis(Side.LEFT, -1.5, 1.5);
+        for (int i = 0; i < N_DATA_SETS; i++) {
+            final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("ds" + i, nSamples);
+            for (int n = 0; n < nSamples; n++) {
+                dataSet.add(n, Math.sin(0.001 * n + i), 0.1, 0.1);
+            }
+            dataSets[i] = dataSet;
+        }
+        // per-point styles for one of the data sets
+        for (int n = 0; n < nSamples; n += 100) {
+            dataSets[0].addDataStyle(n, STYLES[(n / 100) % STYLES.length]);
+        }
+        final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+        renderer.setErrorStyle(ErrorStyle.ERRORCOMBO);
+        renderer.setRendererDataReducer(new DefaultDataReducer());
+        renderer.setMinRequiredReductionSize(100);
+        renderer.setParallelImplementation(false);
+        renderer.xAxis = xAxis;
+        renderer.yAxis = yAxis;
+        renderer.updateCachedVariables();
+        settings.capture(renderer);
+        // warm-up of the (lazily grown) buffers and the style cache
+        renderFrame();
+    }
+
+    /**
+     * @return checksum of the remaining points and parsed styles (to be consumed)
+     */
+    public int renderFrame() {
+        int count = 0;
+        for (final DataSet dataSet : dataSets) {
+            final CachedDataPoints points = ErrorDataSetRenderer.computePoints(cache, dataSet, null, settings);
+            if (points == null) {
+                continue;
+            }
+
+            final int nGroups = styleGroups.group(points.hasStyles ? points.styles : null, points.actualDataCount);
+            for (int group = 0; group < nGroups; group++) {
+                if (styleParser.tryParse(styleGroups.getStyle(group))) {
+                    count += (int) styleParser.getMarkerSize(0.0);
+                    count += styleParser.getMarkerColor(null) == null ? 0 : 1;
+                }
+            }
+            count += points.actualDataCount;
+        }
+        return count;
+    }
+
+    /**
+     * @param nSamples number of samples per data set (N.B. to be set before {@link #setup()})
+     */
+    public void setNumberOfSamples(final int nSamples) {
+        this.nSamples = nSamples;
+    }
+
+    @Benchmark
+    public void frame(final Blackhole blackhole) {
+        blackhole.consume(renderFrame());
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(ErrorDataSetRendererAllocationBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build();
+        final Collection<RunResult> results = new Runner(opt).run();
+        for (final RunResult result : results) {
+            for (final Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+                // N.B. label prefix depends on the JMH version
+                if (entry.getKey().endsWith("gc.alloc.rate.norm") && entry.getValue().getScore() > BYTES_PER_FRAME_BUDGET) {
+                    throw new IllegalStateException("allocation budget exceeded: " + entry.getValue().getScore() + " bytes/frame > " + BYTES_PER_FRAME_BUDGET);
+                }
+            }
+        }
+    }
+
+    private static DefaultNumericAxis createAxis(final Side side, final double min, final double max) {
+        final DefaultNumericAxis axis = new DefaultNumericAxis("axis", min, max, (max - min) / 10);
+        axis.setAutoRanging(false);
+        axis.setSide(side);
+        if (side.isHorizontal()) {
+            axis.resize(1000, 50);
+        } else {
+            axis.resize(50, 600);
+        }
+        axis.updateCachedTransforms();
+        return axis;
+    }
+}
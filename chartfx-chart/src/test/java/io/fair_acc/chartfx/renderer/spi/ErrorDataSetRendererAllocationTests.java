@@ -0,0 +1,38 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Enforces the per-frame allocation budget of the {@link ErrorDataSetRenderer#computePoints} data path (see
+ * {@link ErrorDataSetRendererAllocationBenchmark} for the JMH/GC-profiler variant)
+ */
+class ErrorDataSetRendererAllocationTests {
+    private static final int N_FRAMES = 200;
+
+    @Test
+    void testSteadyStateAllocationBudget() {
+        final java.lang.management.ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean, "thread allocation counter not available");
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) mxBean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+        final ErrorDataSetRendererAllocationBenchmark benchmark = new ErrorDataSetRendererAllocationBenchmark();
+        benchmark.setNumberOfSamples(10_000);
+        benchmark.setup();
+
+        final long threadId = Thread.currentThread().getId();
+        long checksum = 0;
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int frame = 0; frame < N_FRAMES; frame++) {
+            checksum += benchmark.renderFrame();
+        }
+        final double bytesPerFrame = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / (double) N_FRAMES;
+        assertTrue(checksum > 0);
+        assertTrue(bytesPerFrame <= ErrorDataSetRendererAllocationBenchmark.BYTES_PER_FRAME_BUDGET, "allocated bytes per frame: " + bytesPerFrame);
+    }
+}
@@ -1,12 +1,19 @@
 package io.fair_acc.chartfx.renderer.spi;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
 import javafx.stage.Stage;
 
 import org.junit.jupiter.api.Test;
@@ -19,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 
+import io.fair_acc.bench.TimeMeasure;
 import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
@@ -52,6 +60,9 @@ public class ErrorDataSetRendererTests {
     private static final int WIDTH = 600;
     private static final int HEIGHT = 480;
     private static final int N_SAMPLES = 10000;
+    private static final String TAG_PREPARE = "errorRenderer-prepare";
+    private static final String TAG_PREPARE_WORKER = "errorRenderer-prepareWorker";
+    private final Map<String, AtomicInteger> measureCounts = new ConcurrentHashMap<>();
     private final DefaultNumericAxis xAxis = new DefaultNumericAxis();
     private final DefaultNumericAxis yAxis = new DefaultNumericAxis();
     private XYChart chart;
@@ -117,6 +128,11 @@ public class ErrorDataSetRendererTests {
         testRenderer(lineStyle);
         FXUtils.runAndWait(() -> yAxis.setLogAxis(false));
 
+        // screen coordinates prepared on a worker thread
+        renderer.setPipelinedRendering(true);
+        testRenderer(lineStyle);
+        renderer.setPipelinedRendering(false);
+
         // perform NaN only on JDK >= 11 on JDK8 this will crash JavaFX
         final int jdkMajorVersion = Integer.parseInt(System.getProperty("java.version").split("\\.")[0]);
         if (jdkMajorVersion >= 11) {
@@ -126,6 +142,96 @@ public class ErrorDataSetRendererTests {
         }
     }
 
+    @Test
+    public void testPipelinedRenderingMatchesSynchronous() throws Exception {
+        FXUtils.runAndWait(() -> renderer.setRecorder((tag, level) -> (TimeMeasure) (unit, time) -> getCounter(tag).incrementAndGet()));
+        final WritableImage synchronous = snapshotCanvas();
+        assertEquals(0, getCounter(TAG_PREPARE_WORKER).get());
+
+        FXUtils.runAndWait(() -> renderer.setPipelinedRendering(true));
+        final WritableImage pipelined = snapshotCanvas();
+        assertTrue(getCounter(TAG_PREPARE_WORKER).get() > 0, "points not prepared on the worker thread");
+        assertEquals(0, countDifferentPixels(synchronous, pipelined));
+    }
+
+    @Test
+    public void testPipelinedRenderingFallback() throws Exception {
+        // failing preparation on the worker thread -> identical output computed on the JavaFX thread
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet(getTestDataSet()) {
+            @Override
+            public int getIndex(final int dimIndex, final double... x) {
+                if (!Platform.isFxApplicationThread()) {
+                    throw new IllegalStateException("provoked worker failure");
+                }
+                return super.getIndex(dimIndex, x);
+            }
+        };
+        FXUtils.runAndWait(() -> {
+            renderer.setRecorder((tag, level) -> (TimeMeasure) (unit, time) -> getCounter(tag).incrementAndGet());
+            renderer.setAssumeSortedData(true);
+            renderer.getDatasets().setAll(dataSet);
+        });
+        final WritableImage synchronous = snapshotCanvas();
+
+        FXUtils.runAndWait(() -> renderer.setPipelinedRendering(true));
+        final int nPrepared = getCounter(TAG_PREPARE).get();
+        final WritableImage fallback = snapshotCanvas();
+        assertTrue(getCounter(TAG_PREPARE).get() > nPrepared, "no synchronous fall-back");
+        assertEquals(0, countDifferentPixels(synchronous, fallback));
+    }
+
+    @Test
+    public void testPipelinedRenderingCancellation() throws Exception {
+        FXUtils.runAndWait(() -> {
+            renderer.setRecorder((tag, level) -> (TimeMeasure) (unit, time) -> getCounter(tag).incrementAndGet());
+            renderer.setPipelinedRendering(true);
+        });
+        snapshotCanvas();
+
+        FXUtils.runAndWait(() -> {
+            // superseded preparation -> the latest one is used
+            final int nPrepared = getCounter(TAG_PREPARE).get();
+            final int nPreparedWorker = getCounter(TAG_PREPARE_WORKER).get();
+            renderer.prepareRender();
+            renderer.prepareRender();
+            renderer.render();
+            assertEquals(nPrepared, getCounter(TAG_PREPARE).get());
+            assertTrue(getCounter(TAG_PREPARE_WORKER).get() > nPreparedWorker);
+
+            // cancelled preparation -> computed on the JavaFX thread
+            renderer.prepareRender();
+            renderer.runPostLayout();
+            renderer.render();
+            assertTrue(getCounter(TAG_PREPARE).get() > nPrepared);
+        });
+    }
+
+    private AtomicInteger getCounter(final String tag) {
+        return measureCounts.computeIfAbsent(tag, key -> new AtomicInteger());
+    }
+
+    private WritableImage snapshotCanvas() throws Exception {
+        FXUtils.runAndWait(() -> chart.invalidate());
+        assertTrue(FXUtils.waitForFxTicks(chart.getScene(), WAIT_N_FX_PULSES, MAX_TIMEOUT_MILLIS));
+        return FXUtils.runAndWait(() -> chart.getCanvas().snapshot(null, null));
+    }
+
+    private static int countDifferentPixels(final Image expected, final Image actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        final PixelReader expectedReader = expected.getPixelReader();
+        final PixelReader actualReader = actual.getPixelReader();
+        int nDiff = 0;
+        for (int y = 0; y < (int) expected.getHeight(); y++) {
+            for (int x = 0; x < (int) expected.getWidth(); x++) {
+                if (expectedReader.getArgb(x, y) != actualReader.getArgb(x, y)) {
+                    nDiff++;
+                }
+            }
+        }
+        return nDiff;
+    }
+
     private void testRenderer(final LineStyle lineStyle) throws Exception {
         renderer.setPolyLineStyle(lineStyle);
         final String referenceImage = getReferenceImageFileName();
@@ -0,0 +1,88 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the per-level {@link MarchingSquares} used by the ContourType.CONTOUR path (with 'multiLevelContours'
+ * disabled) with the single-pass tiled {@link MultiLevelMarchingSquares}, with and without re-use of
+ * unchanged tiles (N.B. only a small patch of the data is modified between iterations).
+ * <p>
+ * N.B. the grid sizes are limited by the memory requirements of the reference implementation (one padded copy and
+ * {@code Cell[][]} grid per level).
+ */
+public class MarchingSquaresBenchmark { // NOPMD -- nomen est omen
+    private static final Logger LOGGER = LoggerFactory.getLogger(MarchingSquaresBenchmark.class);
+    private static final int[] GRID_SIZES = { 256, 512, 1024, 2048 };
+    private static final int N_LEVELS = 20;
+    private static final int N_ITER = 20;
+
+    public static void main(final String[] args) throws InterruptedException, ExecutionException {
+        final double[] levels = new double[N_LEVELS];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = (i + 1) / (double) levels.length;
+        }
+
+        for (final int size : GRID_SIZES) {
+            final double[][] data = new double[size][size];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    data[row][col] = 0.5 + 0.5 * Math.sin(20.0 * row / size) * Math.cos(15.0 * col / size);
+                }
+            }
+
+            final MarchingSquares reference = new MarchingSquares();
+            final MultiLevelMarchingSquares multiLevel = new MultiLevelMarchingSquares();
+            final MultiLevelMarchingSquares reuse = new MultiLevelMarchingSquares();
+            reuse.setReuseUnchangedTiles(true);
+            for (int warmUp = 0; warmUp < 3; warmUp++) {
+                reference.buildContours(data, levels);
+                multiLevel.buildContours(data, levels);
+                reuse.buildContours(data, levels);
+            }
+
+            long referenceTime = 0;
+            long multiLevelTime = 0;
+            long reuseTime = 0;
+            long nSegments = 0;
+            for (int iter = 0; iter < N_ITER; iter++) {
+                // modify a small patch of the data
+                final int row0 = (iter * 37) % (size - 8);
+                for (int row = row0; row < row0 + 8; row++) {
+                    data[row][size / 2] += 1e-3;
+                }
+
+                long start = System.nanoTime();
+                nSegments += count(reference.buildContours(data, levels));
+                referenceTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                nSegments -= count(multiLevel.buildContours(data, levels));
+                multiLevelTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                reuse.buildContours(data, levels);
+                reuseTime += System.nanoTime() - start;
+            }
+
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.atInfo().addArgument(size).addArgument(size).addArgument(N_LEVELS) //
+                        .addArgument(String.format("%8.2f", referenceTime * 1e-6 / N_ITER)) //
+                        .addArgument(String.format("%8.2f", multiLevelTime * 1e-6 / N_ITER)) //
+                        .addArgument(String.format("%8.2f", reuseTime * 1e-6 / N_ITER)) //
+                        .addArgument(nSegments) //
+                        .log("grid {}x{} with {} levels - MarchingSquares: {} ms, MultiLevelMarchingSquares: {} ms, with tile re-use: {} ms (path size difference: {})");
+            }
+        }
+    }
+
+    private static long count(final GeneralPath[] paths) {
+        long sum = 0;
+        for (final GeneralPath path : paths) {
+            sum += path.size();
+        }
+        return sum;
+    }
+}
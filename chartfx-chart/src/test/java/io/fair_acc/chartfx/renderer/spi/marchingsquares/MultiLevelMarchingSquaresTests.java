@@ -0,0 +1,183 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.chartfx.renderer.spi.marchingsquares.GeneralPath.PathType;
+
+/**
+ * Tests of the single-pass tiled contouring {@link MultiLevelMarchingSquares} against the reference
+ * {@link MarchingSquares} implementation
+ */
+class MultiLevelMarchingSquaresTests {
+    private static final double[] LEVELS = { 0.1, 0.3, 0.5, 0.7, 0.9 };
+
+    @Test
+    void testSinglePeak() throws InterruptedException, ExecutionException {
+        final double[][] data = gaussian(60, 80, 30.0, 40.0, 10.0);
+        final GeneralPath[] paths = new MultiLevelMarchingSquares(16).buildContours(data, LEVELS);
+        final GeneralPath[] reference = new MarchingSquares().buildContours(data, LEVELS);
+        assertEquals(LEVELS.length, paths.length);
+        for (int level = 0; level < LEVELS.length; level++) {
+            // one closed loop per level, crossing several tiles
+            assertEquals(1, countSubPaths(paths[level]), "level " + level);
+            assertEquals(countSubPaths(reference[level]), countSubPaths(paths[level]), "level " + level);
+            assertOnIsoLine(data, LEVELS[level], paths[level]);
+        }
+    }
+
+    @Test
+    void testTiledEqualsSingleTile() throws InterruptedException, ExecutionException {
+        final double[][] data = waves(97, 61);
+        final double[] levels = { -0.5, 0.0, 0.25, 0.75 };
+        final GeneralPath[] tiled = new MultiLevelMarchingSquares(7).buildContours(data, levels);
+        final GeneralPath[] single = new MultiLevelMarchingSquares(1000).buildContours(data, levels);
+        for (int level = 0; level < levels.length; level++) {
+            assertTrue(countSubPaths(single[level]) > 1);
+            assertEquals(countSubPaths(single[level]), countSubPaths(tiled[level]), "level " + level);
+            assertEquals(points(single[level]), points(tiled[level]), "level " + level);
+            assertOnIsoLine(data, levels[level], tiled[level]);
+        }
+
+        // unsorted and duplicate levels map onto the same contours
+        final GeneralPath[] unsorted = new MultiLevelMarchingSquares(7).buildContours(data, new double[] { 0.75, -0.5, 0.75 });
+        assertEquals(points(tiled[3]), points(unsorted[0]));
+        assertEquals(points(tiled[0]), points(unsorted[1]));
+        assertSame(unsorted[0], unsorted[2]);
+    }
+
+    @Test
+    void testReuseUnchangedTiles() throws InterruptedException, ExecutionException {
+        final MultiLevelMarchingSquares marchingSquares = new MultiLevelMarchingSquares(10);
+        assertEquals(10, marchingSquares.getTileSize());
+        assertFalse(marchingSquares.isReuseUnchangedTiles());
+        marchingSquares.setReuseUnchangedTiles(true);
+        assertTrue(marchingSquares.isReuseUnchangedTiles());
+
+        final double[][] data = waves(50, 50);
+        marchingSquares.buildContours(data, LEVELS);
+        final int nTiles = marchingSquares.getLastComputedTileCount();
+        assertEquals(36, nTiles); // 6 x 6 tiles for 51 x 51 padded cells
+
+        // unchanged data -> nothing to recompute
+        marchingSquares.buildContours(data, LEVELS);
+        assertEquals(0, marchingSquares.getLastComputedTileCount());
+
+        // local change (keeping the global minimum) -> only the neighbouring tiles are recomputed
+        data[25][25] += 0.3;
+        final GeneralPath[] updated = marchingSquares.buildContours(data, LEVELS);
+        assertTrue(marchingSquares.getLastComputedTileCount() > 0);
+        assertTrue(marchingSquares.getLastComputedTileCount() <= 4);
+        final GeneralPath[] fresh = new MultiLevelMarchingSquares(10).buildContours(data, LEVELS);
+        for (int level = 0; level < LEVELS.length; level++) {
+            assertArrayEquals(drawList(fresh[level]), drawList(updated[level]), "level " + level);
+        }
+
+        // different levels invalidate all tiles
+        marchingSquares.buildContours(data, new double[] { 0.5 });
+        assertEquals(nTiles, marchingSquares.getLastComputedTileCount());
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiLevelMarchingSquares(0));
+        assertThrows(IllegalArgumentException.class, () -> new MultiLevelMarchingSquares().buildContours(null, LEVELS));
+        assertThrows(IllegalArgumentException.class, () -> new MultiLevelMarchingSquares().buildContours(new double[3][3], LEVELS));
+    }
+
+    private static void assertOnIsoLine(final double[][] data, final double isovalue, final GeneralPath path) {
+        for (int i = 0; i < path.size(); i++) {
+            if (path.getType(i) != PathType.GC_LINETO && path.getType(i) != PathType.GC_MOVETO) {
+                continue;
+            }
+            // N.B. points are in padded coordinates and lie on a cell edge
+            final double x = path.getX(i);
+            final double y = path.getY(i);
+            final double value;
+            if (y == Math.rint(y)) {
+                final int col = (int) Math.floor(x);
+                value = interpolate(x - col, padded(data, (int) y, col), padded(data, (int) y, col + 1));
+            } else {
+                final int row = (int) Math.floor(y);
+                value = interpolate(y - row, padded(data, row, (int) x), padded(data, row + 1, (int) x));
+            }
+            assertEquals(isovalue, value, 1e-4, "point (" + x + ", " + y + ")");
+        }
+    }
+
+    private static int countSubPaths(final GeneralPath path) {
+        int count = 0;
+        for (int i = 0; i < path.size(); i++) {
+            count += path.getType(i) == PathType.GC_MOVETO ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static String[] drawList(final GeneralPath path) {
+        final String[] ret = new String[path.size()];
+        for (int i = 0; i < path.size(); i++) {
+            ret[i] = path.getType(i) + "(" + path.getX(i) + ", " + path.getY(i) + ")";
+        }
+        return ret;
+    }
+
+    private static double[][] gaussian(final int nRows, final int nCols, final double row0, final double col0, final double sigma) {
+        final double[][] data = new double[nRows][nCols];
+        for (int row = 0; row < nRows; row++) {
+            for (int col = 0; col < nCols; col++) {
+                final double r2 = (row - row0) * (row - row0) + (col - col0) * (col - col0);
+                data[row][col] = Math.exp(-r2 / (2 * sigma * sigma));
+            }
+        }
+        return data;
+    }
+
+    private static double interpolate(final double fraction, final double from, final double to) {
+        return from + fraction * (to - from);
+    }
+
+    private static double padded(final double[][] data, final int row, final int col) {
+        double min = Double.MAX_VALUE;
+        for (final double[] rowData : data) {
+            for (final double value : rowData) {
+                min = Math.min(min, value);
+            }
+        }
+        if (row == 0 || col == 0 || row == data.length + 1 || col == data[0].length + 1) {
+            return min - 1;
+        }
+        return data[row - 1][col - 1];
+    }
+
+    private static Set<String> points(final GeneralPath path) {
+        final List<String> points = new ArrayList<>();
+        for (int i = 0; i < path.size(); i++) {
+            if (path.getType(i) == PathType.GC_LINETO || path.getType(i) == PathType.GC_MOVETO) {
+                points.add(String.format("%.5f, %.5f", path.getX(i), path.getY(i)));
+            }
+        }
+        return new TreeSet<>(points);
+    }
+
+    private static double[][] waves(final int nRows, final int nCols) {
+        final double[][] data = new double[nRows][nCols];
+        for (int row = 0; row < nRows; row++) {
+            for (int col = 0; col < nCols; col++) {
+                data[row][col] = Math.sin(0.31 * row) * Math.cos(0.23 * col);
+            }
+        }
+        return data;
+    }
+}
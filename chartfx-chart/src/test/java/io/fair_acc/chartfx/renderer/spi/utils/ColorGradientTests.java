@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +43,21 @@ public class ColorGradientTests {
             assertArrayEquals(transparentColorBytes, gradient.getColorBytes(+1.1), " color bytes above range ");
 
             assertNotNull(gradient.toString(), "gradient name");
+
+            final int[] lookupTable = gradient.getColorLookupTable(20);
+            assertSame(lookupTable, gradient.getColorLookupTable(20), "look-up table caching");
+            assertEquals(21, lookupTable.length);
+            for (int k = 0; k <= 20; k++) {
+                final int[] bytes = gradient.getColorBytes(k / 20.0);
+                assertEquals(bytes[0] << 24 | bytes[1] << 16 | bytes[2] << 8 | bytes[3], lookupTable[k], "look-up table entry " + k);
+            }
         }
+
+        // large tables are computed in parallel
+        final int[] largeLookupTable = ColorGradient.VIRIDIS.getColorLookupTable(10_000);
+        assertEquals(10_001, largeLookupTable.length);
+        final int[] bytes = ColorGradient.VIRIDIS.getColorBytes(1234 / 10_000.0);
+        assertEquals(bytes[0] << 24 | bytes[1] << 16 | bytes[2] << 8 | bytes[3], largeLookupTable[1234]);
+        assertThrows(IllegalArgumentException.class, () -> ColorGradient.VIRIDIS.getColorLookupTable(0));
     }
 }
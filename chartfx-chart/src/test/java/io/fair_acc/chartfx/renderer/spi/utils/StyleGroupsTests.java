@@ -0,0 +1,58 @@
+package io.fair_acc.chartfx.renderer.spi.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the per-point style grouping {@link StyleGroups}
+ */
+class StyleGroupsTests {
+    @Test
+    void testGrouping() {
+        final StyleGroups styleGroups = new StyleGroups();
+        final String red = "-fx-marker-color: red;";
+        final String blue = "-fx-marker-color: blue;";
+        final String[] styles = { null, red, red, "", blue, new String(red), null, blue, "unused" };
+
+        // N.B. the last style is outside the range
+        assertEquals(3, styleGroups.group(styles, styles.length - 1));
+        assertEquals(3, styleGroups.getGroupCount());
+        assertNull(styleGroups.getStyle(0));
+        assertEquals(red, styleGroups.getStyle(1));
+        assertEquals(blue, styleGroups.getStyle(2));
+        assertArrayEquals(new int[] { 0, 3, 6 }, indices(styleGroups, 0));
+        assertArrayEquals(new int[] { 1, 2, 5 }, indices(styleGroups, 1));
+        assertArrayEquals(new int[] { 4, 7 }, indices(styleGroups, 2));
+        assertEquals(8, styleGroups.getEnd(2));
+
+        // buffers are re-used and grown on demand
+        final String[] manyStyles = new String[1000];
+        for (int i = 0; i < manyStyles.length; i++) {
+            manyStyles[i] = "style" + (i % 100);
+        }
+        assertEquals(101, styleGroups.group(manyStyles, manyStyles.length));
+        assertEquals(0, styleGroups.getEnd(0));
+        for (int group = 1; group < 101; group++) {
+            assertEquals("style" + (group - 1), styleGroups.getStyle(group));
+            assertEquals(10, styleGroups.getEnd(group) - styleGroups.getStart(group));
+            assertEquals(group - 1, styleGroups.getIndex(styleGroups.getStart(group)));
+        }
+
+        // no styles -> all points in the default group
+        assertEquals(1, styleGroups.group(null, 5));
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, indices(styleGroups, 0));
+        assertThrows(IllegalArgumentException.class, () -> styleGroups.group(styles, styles.length + 1));
+    }
+
+    private static int[] indices(final StyleGroups styleGroups, final int group) {
+        final int[] ret = new int[styleGroups.getEnd(group) - styleGroups.getStart(group)];
+        Arrays.setAll(ret, k -> styleGroups.getIndex(styleGroups.getStart(group) + k));
+        return ret;
+    }
+}
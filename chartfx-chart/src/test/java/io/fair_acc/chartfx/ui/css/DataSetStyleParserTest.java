@@ -94,4 +94,39 @@ class DataSetStyleParserTest {
         assertTrue(parser.tryParse(style));
         assertArrayEquals(new double[] { 1, 2, 3 }, parser.getLineDashes().orElseThrow());
     }
+
+    @Test
+    void testStyleCache() {
+        DataSetStyleParser.clearCache();
+        assertEquals(0, DataSetStyleParser.getCacheSize());
+        final String style = builder.reset().setMarkerColor("red").setMarkerSize(3).build();
+        assertTrue(parser.tryParse(style));
+        assertEquals(1, DataSetStyleParser.getCacheSize());
+
+        // equal style strings share the same interned descriptor
+        final DataSetStyleParser other = DataSetStyleParser.newInstance();
+        assertTrue(other.tryParse(new String(style)));
+        assertEquals(1, DataSetStyleParser.getCacheSize());
+        assertSame(parser.getMarkerColor().orElseThrow(), other.getMarkerColor().orElseThrow());
+        assertEquals(3.0, other.getMarkerSize().orElseThrow());
+
+        // switching between cached styles restores the complete state
+        assertFalse(parser.tryParse("-fx-unknown-key: 1;"));
+        assertFalse(parser.getMarkerColor().isPresent());
+        assertTrue(parser.tryParse(style));
+        assertEquals(Color.RED, parser.getMarkerColor().orElseThrow());
+        assertEquals(2, DataSetStyleParser.getCacheSize());
+
+        // bounded cache
+        DataSetStyleParser.setCacheLimit(2);
+        assertTrue(parser.tryParse(builder.reset().setLineWidth(1).build()));
+        assertTrue(parser.tryParse(builder.reset().setLineWidth(2).build()));
+        assertEquals(2, DataSetStyleParser.getCacheSize());
+        DataSetStyleParser.setCacheLimit(1);
+        assertEquals(1, DataSetStyleParser.getCacheSize());
+        assertEquals(2.0, parser.getLineWidth().orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> DataSetStyleParser.setCacheLimit(-1));
+        DataSetStyleParser.setCacheLimit(DataSetStyleParser.DEFAULT_CACHE_LIMIT);
+        assertEquals(DataSetStyleParser.DEFAULT_CACHE_LIMIT, DataSetStyleParser.getCacheLimit());
+    }
 }
@@ -29,6 +29,20 @@ public interface Histogram1D extends Histogram {
      */
     int fill(double x, double w);
 
+    /**
+     * Fill this histogram with the first n entries of x and weights w. Implementations may take the data set lock
+     * and notify listeners only once for the whole batch.
+     *
+     * @param x x coordinates to be added.
+     * @param w weights to be added ({@code null}: unit weights).
+     * @param n number of entries to be added
+     */
+    default void fill(final double[] x, final double[] w, final int n) {
+        for (int i = 0; i < n; i++) {
+            fill(x[i], w == null ? 1.0 : w[i]);
+        }
+    }
+
     /**
      * Fill this histogram with an array x and weights w.
      *
@@ -30,6 +30,21 @@ public interface Histogram2D extends GridDataSet {
      */
     int fill(double x, double y, double w);
 
+    /**
+     * Fill this histogram with the first n entries of x, y and weights w. Implementations may take the data set lock
+     * and notify listeners only once for the whole batch.
+     *
+     * @param x x coordinates to be added.
+     * @param y y coordinates to be added.
+     * @param w weights to be added ({@code null}: unit weights).
+     * @param n number of entries to be added
+     */
+    default void fill(final double[] x, final double[] y, final double[] w, final int n) {
+        for (int i = 0; i < n; i++) {
+            fill(x[i], y[i], w == null ? 1.0 : w[i]);
+        }
+    }
+
     /**
      * @param x spatial real-valued coordinate in X
      * @param y spatial real-valued coordinate in Y
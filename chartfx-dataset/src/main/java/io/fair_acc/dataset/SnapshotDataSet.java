@@ -0,0 +1,43 @@
+package io.fair_acc.dataset;
+
+/**
+ * Optional interface for data sets that can publish immutable copies ('snapshots') of their data. In snapshot mode,
+ * consumers such as the chart render the latest published snapshot instead of read-locking the data set, so that
+ * writers (e.g. high-rate acquisition threads) are never blocked for the duration of a layout and draw cycle.
+ * <p>
+ * Snapshots are multi-buffered and recycled, i.e. an acquired snapshot stays valid only until it is released again.
+ * Similar to {@code lock().readLock()} and {@code lock().readUnLock()}, each {@link #acquireSnapshot()} must be
+ * matched by a {@link #releaseSnapshot()}. Nested acquisitions return the same pinned instance. The retrieval is
+ * intended for a single consumer thread (typically the JavaFX application thread).
+ */
+public interface SnapshotDataSet extends DataSet {
+    /**
+     * @return {@code true} if writers publish snapshots that are consumed via {@link #acquireSnapshot()}
+     */
+    boolean isSnapshotMode();
+
+    /**
+     * @param state {@code true}: enables the (opt-in) snapshot mode, {@code false}: disables it and releases the
+     *            snapshot buffers. N.B. must not be changed while a snapshot is acquired
+     * @return itself (fluent design)
+     */
+    SnapshotDataSet setSnapshotMode(boolean state);
+
+    /**
+     * N.B. never blocks a writer: if a writer is active while the snapshot is outdated, the previous snapshot is
+     * returned and the writer is requested to publish a new one at the end of its present write section.
+     *
+     * @return the latest consistent immutable copy of this data set in snapshot mode, or the data set itself otherwise
+     */
+    DataSet acquireSnapshot();
+
+    /**
+     * releases the snapshot previously obtained via {@link #acquireSnapshot()}
+     */
+    void releaseSnapshot();
+
+    /**
+     * @return {@code true} if the data set has been modified since the last snapshot returned by {@link #acquireSnapshot()}
+     */
+    boolean isSnapshotOutdated();
+}
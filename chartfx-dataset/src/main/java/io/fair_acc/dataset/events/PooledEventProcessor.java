@@ -0,0 +1,378 @@
+package io.fair_acc.dataset.events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.bench.Measurable;
+import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.TimeMeasure;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+
+/**
+ * An event processor that executes dataset actions independent of the UI thread on a bounded pool of daemon workers.
+ * <p>
+ * All actions registered for the same {@link BitState} form a chain that is executed sequentially and in registration
+ * order, and never concurrently with itself. Independent chains are executed in parallel. Dependent derived datasets
+ * (e.g. a MathDataSet using another MathDataSet as input) keep their order since the downstream chain is only
+ * invalidated once the upstream action has updated its output.
+ * <p>
+ * Invalidations that arrive while a chain is pending are coalesced into a single execution. Each chain may have a
+ * minimum update period, i.e. bursts are rate-limited and the final state is processed at most one period after the
+ * previous execution.
+ * <p>
+ * Metrics: {@link #getQueueDepth()}, {@link #getCoalescedEventCount()}, {@link #getExecutionCount()} and, via
+ * {@link #setRecorder(MeasurementRecorder)}, the per-action execution time and queue latency.
+ * <p>
+ * Actions should be released via {@link #removeAction(BitState, Runnable)} once their (dataset) owner is no longer
+ * needed, as the processor otherwise keeps a strong reference to them. Processors that are not the shared
+ * {@link #getInstance() default instance} should be released via {@link #shutdown()}.
+ */
+public class PooledEventProcessor implements EventProcessor, Measurable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledEventProcessor.class);
+    private static final AtomicReference<PooledEventProcessor> INSTANCE = new AtomicReference<>();
+    private final ScheduledThreadPoolExecutor executor;
+    private final LongSupplier nanoClock;
+    private final Map<BitState, ActionChain> chains = new ConcurrentHashMap<>();
+    private final AtomicInteger chainCounter = new AtomicInteger();
+    private final LongAdder coalescedEvents = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private volatile long defaultMinUpdatePeriod; // [ns]
+    private volatile MeasurementRecorder recorder = MeasurementRecorder.DISABLED;
+    private volatile TimeMeasure benchQueueLatency = TimeMeasure.DISABLED;
+
+    /**
+     * @param nWorkers maximum number of actions that are executed in parallel
+     */
+    public PooledEventProcessor(final int nWorkers) {
+        this(nWorkers, System::nanoTime);
+    }
+
+    /**
+     * @param nWorkers maximum number of actions that are executed in parallel
+     * @param nanoClock time source [ns] for the rate limit (N.B. to be controlled by tests)
+     */
+    PooledEventProcessor(final int nWorkers, final LongSupplier nanoClock) {
+        AssertUtils.gtThanZero("nWorkers", nWorkers);
+        this.nanoClock = AssertUtils.notNull("nanoClock", nanoClock);
+        executor = new ScheduledThreadPoolExecutor(nWorkers, CachedDaemonThreadFactory.getInstance());
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    public PooledEventProcessor() {
+        this(CachedDaemonThreadFactory.getNumbersOfThreads());
+    }
+
+    /**
+     * @return the shared default instance (re-created if the previous one has been shut down)
+     */
+    public static PooledEventProcessor getInstance() {
+        final PooledEventProcessor current = INSTANCE.get();
+        if (current != null && !current.isShutdown()) {
+            return current;
+        }
+        // probably does not exist yet, but initialise in thread safe way
+        final PooledEventProcessor result = new PooledEventProcessor();
+        if (INSTANCE.compareAndSet(current, result)) {
+            return result;
+        }
+        result.executor.shutdown();
+        return INSTANCE.get();
+    }
+
+    @Override
+    public void addAction(final BitState obj, final Runnable action) {
+        addAction(obj, action, -1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param obj the state that triggers the action once one of its dataset bits becomes dirty
+     * @param action the action to be executed
+     * @param minUpdatePeriod minimum period in between two executions of the chain (negative: use the default period)
+     * @param unit time unit of the period
+     */
+    public void addAction(final BitState obj, final Runnable action, final long minUpdatePeriod, final TimeUnit unit) {
+        AssertUtils.notNull("obj", obj);
+        AssertUtils.notNull("action", action);
+        AssertUtils.notNull("unit", unit);
+        if (isShutdown()) {
+            throw new IllegalStateException("processor has been shut down");
+        }
+        final ActionChain chain;
+        synchronized (chains) {
+            chain = chains.computeIfAbsent(obj, ActionChain::new);
+            chain.actions.add(action);
+        }
+        if (minUpdatePeriod >= 0) {
+            chain.minUpdatePeriod = unit.toNanos(minUpdatePeriod);
+        }
+        if (obj.isDirty(ChartBits.DataSetMask)) {
+            chain.onInvalidate(obj, ChartBits.DataSetMask);
+        }
+    }
+
+    /**
+     * @param obj the state the action has been registered with
+     * @return number of actions registered for the given state
+     */
+    public int getActionCount(final BitState obj) {
+        final ActionChain chain = chains.get(obj);
+        return chain == null ? 0 : chain.actions.size();
+    }
+
+    /**
+     * @return total number of invalidation events that have been merged into an already pending execution
+     */
+    public long getCoalescedEventCount() {
+        return coalescedEvents.sum();
+    }
+
+    /**
+     * @param unit time unit of the return value
+     * @return minimum update period of chains without explicit period
+     */
+    public long getDefaultMinUpdatePeriod(final TimeUnit unit) {
+        return unit.convert(defaultMinUpdatePeriod, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return total number of executed action chains
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * @return number of maximum parallel workers
+     */
+    public int getNumberOfWorkers() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * @return number of action chains that are waiting for execution (including those delayed by the rate limit)
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return {@code true} if {@link #shutdown()} has been called
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Removes a previously added action. The chain of the state is released together with its last action, i.e. the
+     * processor no longer listens to the state and no longer references the action.
+     * N.B. an execution of the chain that is already in progress is completed.
+     *
+     * @param obj the state the action has been registered with
+     * @param action the action to be removed (N.B. identity, i.e. the same instance that has been added)
+     * @return {@code true} if the action has been removed
+     */
+    public boolean removeAction(final BitState obj, final Runnable action) {
+        AssertUtils.notNull("obj", obj);
+        synchronized (chains) {
+            final ActionChain chain = chains.get(obj);
+            if (chain == null) {
+                return false;
+            }
+            // N.B. identity rather than equals
+            boolean removed = false;
+            for (final Runnable registered : chain.actions) {
+                if (registered == action) { // NOPMD -- identity check by design
+                    removed = chain.actions.remove(registered);
+                    break;
+                }
+            }
+            if (chain.actions.isEmpty()) {
+                chains.remove(obj);
+                chain.release();
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Removes all actions registered for the given state
+     *
+     * @param obj the state the actions have been registered with
+     * @return {@code true} if there have been actions registered for the state
+     */
+    public boolean removeActions(final BitState obj) {
+        AssertUtils.notNull("obj", obj);
+        synchronized (chains) {
+            final ActionChain chain = chains.remove(obj);
+            if (chain == null) {
+                return false;
+            }
+            chain.actions.clear();
+            chain.release();
+            return true;
+        }
+    }
+
+    /**
+     * @param unit time unit of the period
+     * @param period minimum update period of chains without explicit period
+     */
+    public void setDefaultMinUpdatePeriod(final long period, final TimeUnit unit) {
+        AssertUtils.gtEqThanZero("period", period);
+        defaultMinUpdatePeriod = unit.toNanos(period);
+    }
+
+    /**
+     * @param obj the state the actions have been registered with
+     * @param period minimum period in between two executions of the chain (negative: use the default period)
+     * @param unit time unit of the period
+     */
+    public void setMinUpdatePeriod(final BitState obj, final long period, final TimeUnit unit) {
+        final ActionChain chain = chains.get(obj);
+        if (chain == null) {
+            throw new IllegalArgumentException("no actions registered for " + obj);
+        }
+        chain.minUpdatePeriod = period < 0 ? -1 : unit.toNanos(period);
+    }
+
+    @Override
+    public void setRecorder(final MeasurementRecorder recorder) {
+        AssertUtils.notNull("recorder", recorder);
+        this.recorder = recorder;
+        benchQueueLatency = recorder.newDebugTime("eventProcessor-queueLatency");
+        chains.values().forEach(ActionChain::updateRecorder);
+    }
+
+    /**
+     * Releases all actions, discards pending executions and stops the worker threads once the executions that are in
+     * progress have completed. Further actions cannot be added.
+     */
+    public void shutdown() {
+        synchronized (chains) {
+            executor.shutdown();
+            chains.values().forEach(ActionChain::release);
+            chains.clear();
+        }
+    }
+
+    private class ActionChain implements Runnable {
+        private static final int IDLE = 0;
+        private static final int PENDING = 1;
+        private static final int RUNNING = 2;
+        private static final int RUNNING_PENDING = 3;
+        private final BitState bitState;
+        private final List<Runnable> actions = new CopyOnWriteArrayList<>();
+        private final String tag;
+        private volatile long minUpdatePeriod = -1; // [ns], negative: default period
+        private volatile TimeMeasure benchExecution = TimeMeasure.DISABLED;
+        private int state = IDLE; // guarded by 'this'
+        private long lastStart = Long.MIN_VALUE; // guarded by 'this'
+        private long scheduledAt; // guarded by 'this'
+        private final StateListener listener = this::onInvalidate;
+        private ScheduledFuture<?> pending; // guarded by 'this'
+        private boolean released; // guarded by 'this'
+
+        ActionChain(final BitState bitState) {
+            this.bitState = bitState;
+            final Object source = bitState.getSource();
+            tag = "eventProcessor-" + (source == null ? "action" : source.getClass().getSimpleName()) + '#' + chainCounter.incrementAndGet();
+            updateRecorder();
+            bitState.addInvalidateListener(ChartBits.DataSetMask, listener);
+        }
+
+        @Override
+        public void run() {
+            final long start = nanoClock.getAsLong();
+            synchronized (this) {
+                pending = null;
+                state = RUNNING;
+                lastStart = start;
+                benchQueueLatency.recordTime(TimeUnit.NANOSECONDS, start - scheduledAt);
+            }
+            if (bitState.isDirty(ChartBits.DataSetMask)) {
+                bitState.clear();
+                for (final Runnable action : actions) {
+                    try {
+                        action.run();
+                    } catch (Exception e) { // NOPMD -- keep processing the other actions
+                        LOGGER.atError().setCause(e).addArgument(tag).log("action of '{}' failed");
+                    }
+                }
+                executions.increment();
+                benchExecution.recordTime(TimeUnit.NANOSECONDS, nanoClock.getAsLong() - start);
+            }
+            synchronized (this) {
+                if (state == RUNNING_PENDING) {
+                    schedule();
+                } else {
+                    state = IDLE;
+                }
+            }
+        }
+
+        private void onInvalidate(final BitState source, final int bits) {
+            synchronized (this) {
+                switch (state) {
+                case IDLE:
+                    schedule();
+                    return;
+                case RUNNING:
+                    state = RUNNING_PENDING;
+                    return;
+                case PENDING:
+                case RUNNING_PENDING:
+                default:
+                    coalescedEvents.increment();
+                }
+            }
+        }
+
+        private void release() {
+            bitState.removeInvalidateListener(listener);
+            synchronized (this) {
+                if (pending != null) {
+                    pending.cancel(false);
+                    pending = null;
+                }
+                released = true;
+                state = IDLE;
+            }
+        }
+
+        private void schedule() { // guarded by 'this'
+            if (released || executor.isShutdown()) {
+                state = IDLE;
+                return;
+            }
+            state = PENDING;
+            final long period = minUpdatePeriod < 0 ? defaultMinUpdatePeriod : minUpdatePeriod;
+            scheduledAt = nanoClock.getAsLong();
+            final long delay = lastStart == Long.MIN_VALUE ? 0 : Math.max(0, lastStart + period - scheduledAt);
+            try {
+                pending = executor.schedule(this, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // concurrent shutdown
+                state = IDLE;
+            }
+        }
+
+        private void updateRecorder() {
+            benchExecution = recorder.newDebugTime(tag);
+        }
+    }
+}
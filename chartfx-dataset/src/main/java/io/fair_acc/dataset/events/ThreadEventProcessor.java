@@ -13,9 +13,8 @@ import org.apache.commons.lang3.tuple.Pair;
  * Data processing can either be added to a separate EventProcessor or be handled inside the event processing of
  * the chartfx-chart package, eg as a member of a plugin which will perform the update during the plugin's preLayout phase.
  * <p>
- * TODO:
- * - implement rate limiting
- * - distribute work on multiple threads/thread-pool
+ * N.B. this implementation processes all actions sequentially on a single thread. The default user instance is the
+ * rate-limited and coalescing {@link PooledEventProcessor} which distributes independent actions on a worker pool.
  */
 public class ThreadEventProcessor implements EventProcessor, Runnable {
     private static final AtomicReference<ThreadEventProcessor> INSTANCE = new AtomicReference<>();
@@ -26,8 +25,12 @@ public class ThreadEventProcessor implements EventProcessor, Runnable {
                                            .addChangeListener((src, bits) -> notifyChanged());
     private final List<Pair<BitState, Runnable>> actions = new CopyOnWriteArrayList<>();
 
+    /**
+     * @return the user-defined event processor or -- if not set -- the {@link PooledEventProcessor#getInstance() default
+     *         pooled event processor}
+     */
     public static EventProcessor getUserInstance() {
-        return userInstance != null ? userInstance : getInstance();
+        return userInstance != null ? userInstance : PooledEventProcessor.getInstance();
     }
 
     public static void setUserInstance(EventProcessor customProcessor) {
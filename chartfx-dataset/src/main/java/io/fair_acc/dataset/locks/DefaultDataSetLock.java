@@ -57,7 +57,9 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
     private final AtomicLong writerLockedByThreadId = new AtomicLong(-1L);
     private final AtomicInteger readerCount = new AtomicInteger(0);
     private final AtomicInteger writerCount = new AtomicInteger(0);
+    private final AtomicLong modificationCount = new AtomicLong(0L);
     private final transient D dataSet;
+    private transient volatile Runnable writeUnLockAction;
 
     /**
      * @param dataSet dataSet this set is associate with
@@ -97,6 +99,13 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
         return dataSet;
     }
 
+    /**
+     * @return number of completed (outer-most) write-lock sections, i.e. a version counter of the guarded data
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     /**
      * @return number of readers presently locked on this data set - this counts only (deprecated) readers using read(Un)Lock()
      */
@@ -185,6 +194,32 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
         return result;
     }
 
+    /**
+     * Non-blocking read attempt: executes the reading action once without acquiring the lock and checks afterwards
+     * whether a writer interfered. Contrary to {@link #readLockGuardOptimistic(Runnable)} there is no fall-back to the
+     * blocking read lock, i.e. neither the calling thread nor any writer is ever blocked.
+     * <p>
+     * N.B. the action may observe inconsistent data while a writer is active and must therefore be free of side-effects
+     * other than on caller-owned storage. Runtime exceptions thrown by the action in this case are treated as a failed
+     * attempt.
+     *
+     * @param reading the reading action
+     * @return {@code true} if the action has been executed on consistent data
+     */
+    public boolean tryReadOptimistic(final Runnable reading) { // NOPMD -- runnable not used in a thread context
+        final long stamp = stampedLock.tryOptimisticRead();
+        if (stamp == 0L) {
+            // presently write-locked
+            return false;
+        }
+        try {
+            reading.run();
+        } catch (RuntimeException e) { // NOPMD NOSONAR -- expected for torn reads during concurrent writes
+            return false;
+        }
+        return stampedLock.validate(stamp);
+    }
+
     @Override
     public D readUnLock() {
         if (readerCount.get() == 1 && lastReadStamp.get() != -1) {
@@ -249,6 +284,24 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D writeUnLock() {
+        if (writerCount.get() == 1 && writerLockedByThreadId.get() == Thread.currentThread().getId()) {
+            modificationCount.incrementAndGet();
+            final Runnable action = writeUnLockAction;
+            if (action != null) {
+                // N.B. executed while still holding the lock -> guarded data is consistent (nested locks are re-entrant)
+                try {
+                    action.run();
+                } finally {
+                    releaseWriteLock();
+                }
+                return dataSet;
+            }
+        }
+        releaseWriteLock();
+        return dataSet;
+    }
+
+    private void releaseWriteLock() {
         if (writerCount.decrementAndGet() == 0) {
             final long callingThreadId = Thread.currentThread().getId();
             if (writerLockedByThreadId.get() != callingThreadId) {
@@ -259,7 +312,15 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
             writerLockedByThreadId.set(-1L);
             stampedLock.unlockWrite(lastWriteStamp.getAndSet(-1L));
         }
-        return dataSet;
+    }
+
+    /**
+     * @param action optional action that is executed by the writing thread at the end of each outer-most write-lock
+     *            section, while still holding the lock (e.g. to publish a snapshot of the guarded data), {@code null}
+     *            to disable
+     */
+    public void setWriteUnLockAction(final Runnable action) {
+        this.writeUnLockAction = action;
     }
 
     @Override
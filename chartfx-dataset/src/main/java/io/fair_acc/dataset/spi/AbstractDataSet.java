@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 import java.util.function.IntToDoubleFunction;
 
 import io.fair_acc.bench.DurationMeasure;
@@ -37,6 +38,8 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
     private static final long serialVersionUID = -7612136495756923417L;
 
     private static final String[] DEFAULT_AXES_NAME = { "x-Axis", "y-Axis", "z-Axis" };
+    // data set whose accounted-for removal is being notified by the current thread (see fireInvalidatedKeepingLimits)
+    private static final ThreadLocal<AbstractDataSet<?>> KEEPING_LIMITS = new ThreadLocal<>();
     private String name;
     protected final int dimension;
     private final List<AxisDescription> axesDescriptions = new ArrayList<>();
@@ -68,6 +71,14 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
             axisDescription.addListener(state);
             axesDescriptions.add(axisDescription);
         }
+        // safety net for modifications that bypass the data set API (e.g. direct writes into getValues(..) arrays)
+        // N.B. the 'keep' decision is confined to the notifying thread, removals notified concurrently by other writers
+        // still invalidate the trackers (under the write lock, since writers update the trackers under it as well)
+        state.addInvalidateListener(ChartBits.DataSetDataRemoved, (src, bits) -> {
+            if (KEEPING_LIMITS.get() != this) {
+                lock().writeLockGuard(this::invalidateLimitTrackers);
+            }
+        });
     }
 
     /**
@@ -483,12 +494,12 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
 
     @Override
     public void forEachStyle(int minIx, int maxIx, IndexedStringConsumer consumer) {
-        for (Map.Entry<Integer, String> entry : dataStyles.entrySet()) {
-            int index = entry.getKey();
+        // N.B. ConcurrentHashMap::forEach does not allocate an entry per style (contrary to iterating the entry set)
+        dataStyles.forEach((index, style) -> {
             if (index >= minIx && index < maxIx) {
-                consumer.accept(index, entry.getValue());
+                consumer.accept(index, style);
             }
-        }
+        });
     }
 
     @SuppressWarnings("unchecked")
@@ -674,25 +685,118 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
             return lastIndex;
         }
 
-        // binary closest search -- assumes sorted data set
-        return binarySearch(x[0], 0, lastIndex, val -> get(dimIndex, val));
+        // binary closest search -- assumes sorted data set (N.B. non-capturing -> no allocation on the render path)
+        return binarySearch(dimIndex, x[0], 0, lastIndex);
     }
 
     @Override
     public DataSet recomputeLimits(final int dimIndex) {
         benchRecomputeLimitsSingle.start();
-        // first compute range (does not trigger notify events)
-        DataRange newRange = new DataRange();
-        final int dataCount = getDataCount();
-        for (int i = 0; i < dataCount; i++) {
-            newRange.add(get(dimIndex, i));
+        final LimitTracker tracker = getLimitTracker(dimIndex);
+        if (tracker != null && tracker.isValid()) {
+            // limits have been kept up-to-date while the data set was modified
+            benchRecomputeLimitsIncremental.start();
+            getAxisDescription(dimIndex).set(tracker.getMin(), tracker.getMax());
+            benchRecomputeLimitsIncremental.stop();
+            benchRecomputeLimitsSingle.stop();
+            return this;
         }
+
+        // first compute range (does not trigger notify events)
+        benchRecomputeLimitsFull.start();
+        final LimitTracker newRange = tracker == null ? new LimitTracker() : tracker;
+        newRange.clear();
+        scanLimits(dimIndex, newRange);
         // set to new computed one and trigger notify event if different to old limits
         getAxisDescription(dimIndex).set(newRange.getMin(), newRange.getMax());
+        benchRecomputeLimitsFull.stop();
         benchRecomputeLimitsSingle.stop();
         return this;
     }
 
+    /**
+     * Scans all data points of a given dimension, used by {@link #recomputeLimits(int)} if the limits are not tracked
+     * incrementally or the tracked limits have been invalidated.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param range the (cleared) tracker to which all data points are added in ascending index order
+     */
+    protected void scanLimits(final int dimIndex, final LimitTracker range) {
+        final int dataCount = getDataCount();
+        for (int i = 0; i < dataCount; i++) {
+            range.add(get(dimIndex, i));
+        }
+    }
+
+    /**
+     * Data sets that update their limits while data is being added override this to return a tracker per dimension.
+     * Trackers are invalidated whenever data is removed (ie. {@link ChartBits#DataSetDataRemoved} is fired), after which
+     * {@link #recomputeLimits(int)} falls back to a full scan that refills them.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @return the tracker of the given dimension or {@code null} if the limits are not tracked (default)
+     */
+    protected LimitTracker getLimitTracker(final int dimIndex) {
+        return null;
+    }
+
+    /**
+     * Invalidates the limit trackers of all dimensions (if any)
+     */
+    protected void invalidateLimitTrackers() {
+        for (int dimIndex = 0; dimIndex < dimension; dimIndex++) {
+            final LimitTracker tracker = getLimitTracker(dimIndex);
+            if (tracker != null) {
+                tracker.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Clears the axis descriptions and invalidates the limit trackers of all dimensions, N.B. to be called within the
+     * write lock whenever data is replaced or removed
+     */
+    protected void invalidateLimits() {
+        invalidateLimitTrackers();
+        getAxisDescriptions().forEach(AxisDescription::clear);
+    }
+
+    /**
+     * Updates the axis descriptions from valid limit trackers, axes without valid trackers are cleared. N.B. to be
+     * called within the write lock
+     */
+    protected void updateLimits() {
+        for (int dimIndex = 0; dimIndex < dimension; dimIndex++) {
+            final LimitTracker tracker = getLimitTracker(dimIndex);
+            if (tracker != null && tracker.isValid()) {
+                getAxisDescription(dimIndex).set(tracker.getMin(), tracker.getMax());
+            } else {
+                getAxisDescription(dimIndex).clear();
+            }
+        }
+    }
+
+    /**
+     * Fires an invalidation event for data that has been removed while keeping the limit trackers, N.B. only for
+     * removals that have been explicitly accounted for (e.g. {@link LimitTracker#removeOldest(int)}) within the write
+     * lock by the calling thread. Removals notified concurrently by other threads still invalidate the trackers.
+     *
+     * @param bits the bits to be invalidated
+     */
+    protected void fireInvalidatedKeepingLimits(final IntSupplier bits) {
+        final AbstractDataSet<?> previous = KEEPING_LIMITS.get();
+        KEEPING_LIMITS.set(this);
+        try {
+            fireInvalidated(bits);
+        } finally {
+            if (previous == null) {
+                KEEPING_LIMITS.remove();
+            } else {
+                KEEPING_LIMITS.set(previous);
+            }
+        }
+    }
+
     @Override
     public BitState getBitState() {
         return state;
@@ -752,10 +856,35 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         }
     }
 
+    /**
+     * Copies name, style, data labels, data styles and axis descriptions into a snapshot of this data set. N.B. does
+     * not acquire any locks (see {@link DataSetSnapshotBuffer})
+     *
+     * @param snapshot the snapshot to be updated
+     */
+    protected void copySnapshotMetaData(final AbstractDataSet<?> snapshot) {
+        snapshot.name = name;
+        snapshot.setStyle(getStyle());
+        snapshot.getDataLabelMap().clear();
+        if (!dataLabels.isEmpty()) {
+            snapshot.getDataLabelMap().putAll(dataLabels);
+        }
+        snapshot.getDataStyleMap().clear();
+        if (!dataStyles.isEmpty()) {
+            snapshot.getDataStyleMap().putAll(dataStyles);
+        }
+        snapshot.copyAxisDescription(this);
+        snapshot.fireInvalidated(ChartBits.DataSetData);
+    }
+
     @Override
     public void setRecorder(MeasurementRecorder recorder) {
         benchRecomputeLimitsSingle = recorder.newDuration("ds-RecomputeLimits-single");
+        benchRecomputeLimitsFull = recorder.newDuration("ds-RecomputeLimits-single-full");
+        benchRecomputeLimitsIncremental = recorder.newDuration("ds-RecomputeLimits-single-incremental");
     }
 
     private DurationMeasure benchRecomputeLimitsSingle = DurationMeasure.DISABLED;
+    private DurationMeasure benchRecomputeLimitsFull = DurationMeasure.DISABLED; // counts the remaining full scans
+    private DurationMeasure benchRecomputeLimitsIncremental = DurationMeasure.DISABLED;
 }
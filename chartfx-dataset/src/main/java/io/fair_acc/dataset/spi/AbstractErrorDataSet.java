@@ -56,37 +56,58 @@ public abstract class AbstractErrorDataSet<D extends AbstractErrorDataSet<D>> ex
      */
     @Override
     public D recomputeLimits(final int dimIndex) {
-        // first compute range (does not trigger notify events)
-        DataRange newRange = new DataRange();
+        super.recomputeLimits(dimIndex);
+        return getThis();
+    }
+
+    @Override
+    protected void scanLimits(final int dimIndex, final LimitTracker range) {
         final int dataCount = getDataCount();
         switch (getErrorType(dimIndex)) {
         case NO_ERROR:
-            super.recomputeLimits(dimIndex);
+            super.scanLimits(dimIndex, range);
             break;
         case ASYMMETRIC:
             for (int i = 0; i < dataCount; i++) {
                 final double value = get(dimIndex, i);
                 final double errorNeg = getErrorNegative(dimIndex, i);
                 final double errorPos = getErrorPositive(dimIndex, i);
-                newRange.add(value - errorNeg);
-                newRange.add(value + errorPos);
+                range.add(value - errorNeg, value + errorPos);
             }
-            // set to new computed one and trigger notify event if different to old limits
-            getAxisDescription(dimIndex).set(newRange.getMin(), newRange.getMax());
             break;
         case SYMMETRIC:
         default:
             for (int i = 0; i < dataCount; i++) {
                 final double value = get(dimIndex, i);
                 final double error = getErrorPositive(dimIndex, i);
-                newRange.add(value - error);
-                newRange.add(value + error);
+                range.add(value - error, value + error);
             }
-            // set to new computed one and trigger notify event if different to old limits
-            getAxisDescription(dimIndex).set(newRange.getMin(), newRange.getMax());
             break;
         }
-        return getThis();
+    }
+
+    /**
+     * Adds a new data point to a limit tracker consistent with {@link #scanLimits(int, LimitTracker)}
+     *
+     * @param tracker the limit tracker of the given dimension
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param value the new value
+     * @param errorNeg the negative error of the new value
+     * @param errorPos the positive error of the new value
+     */
+    protected void trackLimits(final LimitTracker tracker, final int dimIndex, final double value, final double errorNeg, final double errorPos) {
+        switch (getErrorType(dimIndex)) {
+        case NO_ERROR:
+            tracker.add(value);
+            break;
+        case ASYMMETRIC:
+            tracker.add(value - errorNeg, value + errorPos);
+            break;
+        case SYMMETRIC:
+        default:
+            tracker.add(value - errorPos, value + errorPos);
+            break;
+        }
     }
 
     /**
@@ -99,6 +120,7 @@ public abstract class AbstractErrorDataSet<D extends AbstractErrorDataSet<D>> ex
      */
     public D setErrorType(final int dimIndex, final ErrorType errorType) {
         this.errorType[dimIndex] = errorType;
+        lock().writeLockGuard(this::invalidateLimitTrackers);
         return getThis();
     }
 }
@@ -3,21 +3,39 @@ package io.fair_acc.dataset.spi;
 import static io.fair_acc.dataset.spi.AbstractHistogram.HistogramOuterBounds.BINS_ALIGNED_WITH_BOUNDARY;
 
 import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
 
+import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.Histogram;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.utils.AssertUtils;
 
 /**
+ * Base class of the binned histograms.
+ * <p>
+ * Besides the per-entry {@code fill(..)} methods, the histograms provide bulk fills that take the lock and notify
+ * listeners only once per call. For high-rate filling from several threads, the (opt-in) concurrent mode -- enabled via
+ * {@link #setSnapshotMode(boolean)} -- accumulates the entries in per-thread striped buffers without taking the data
+ * set lock. The stripes are merged into the histogram by {@link #acquireSnapshot()}, i.e. when the chart takes its
+ * render snapshot, or explicitly via {@link #mergeStripes()}. In concurrent mode, {@link #getBinContent(int)} reflects
+ * the state of the last merge.
+ *
  * @author rstein
  */
-public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogram> implements Histogram {
+public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogram> implements Histogram, SnapshotDataSet {
     private static final long serialVersionUID = -6455271782865323112L;
+    /**
+     * default number of stripes in concurrent mode
+     */
+    public static final int DEFAULT_N_STRIPES = Math.min(Runtime.getRuntime().availableProcessors(), 8);
     protected final double[] data;
     protected final double[][] axisBins;
     private final boolean equidistant;
     private final HistogramOuterBounds boundsType;
+    private transient volatile Stripe[] stripes; // null: concurrent mode disabled
 
     /**
      * Defines how the lower and upper bound of equidistant Histograms should be treated
@@ -146,6 +164,9 @@ public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogra
 
     @Override
     public void addBinContent(final int bin, final double w) {
+        if (addToStripe(bin, w)) {
+            return;
+        }
         lock().writeLockGuard(() -> {
             data[bin] = data[bin] + w;
             getAxisDescription(this.getDimension() - 1).add(data[bin]);
@@ -153,6 +174,12 @@ public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogra
         fireInvalidated(ChartBits.DataSetData);
     }
 
+    @Override
+    public DataSet acquireSnapshot() {
+        mergeStripes();
+        return this;
+    }
+
     @Override
     public int findBin(final double x, final double y) {
         final int indexX = findBin(DIM_X, x);
@@ -170,26 +197,29 @@ public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogra
 
     @Override
     public int findBin(final int dimIndex, final double val) {
-        if (getAxisDescription(dimIndex).getLength() == 0.0) {
+        final AxisDescription axisDescription = getAxisDescription(dimIndex);
+        if (!axisDescription.isDefined()) {
             return 0;
         }
-        if (!getAxisDescription(dimIndex).contains(val)) {
-            if (val < axisBins[dimIndex][1]) {
-                return 0; // underflow bin
-            }
-            return axisBins[dimIndex].length - 1; // overflow bin
-        }
-
-        return findNextLargerIndex(axisBins[dimIndex], val);
+        return findBin(axisBins[dimIndex], equidistant, axisDescription.getMin(), axisDescription.getMax(), val);
     }
 
     protected int findNextLargerIndex(final double[] bin, final double value) {
-        for (int i = 1; i < bin.length; i++) {
-            if (value < bin[i]) {
-                return i - 1;
+        // binary search of the first bin boundary larger than value (N.B. bin[0] is the underflow bin)
+        int low = 1;
+        int high = bin.length - 1;
+        if (!(value < bin[high])) { // NOSONAR NOPMD -- also true for NaN
+            return bin.length - 1;
+        }
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (value < bin[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
             }
         }
-        return bin.length - 1;
+        return low - 1;
     }
 
     /**
@@ -285,17 +315,268 @@ public abstract class AbstractHistogram extends AbstractDataSet<AbstractHistogra
         }
     }
 
+    @Override
+    public boolean isSnapshotMode() {
+        return stripes != null;
+    }
+
+    @Override
+    public boolean isSnapshotOutdated() {
+        final Stripe[] localStripes = stripes;
+        if (localStripes == null) {
+            return false;
+        }
+        for (final Stripe stripe : localStripes) {
+            synchronized (stripe) {
+                if (stripe.modified) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merges the entries accumulated by the concurrent mode stripes into the histogram (no-op otherwise).
+     */
+    public void mergeStripes() {
+        final Stripe[] localStripes = stripes;
+        if (localStripes == null) {
+            return;
+        }
+        final boolean modified = lock().writeLockGuard(() -> {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            boolean merged = false;
+            for (final Stripe stripe : localStripes) {
+                synchronized (stripe) {
+                    if (!stripe.modified) {
+                        continue;
+                    }
+                    final double[] stripeData = stripe.data;
+                    for (int bin = 0; bin < data.length; bin++) {
+                        final double w = stripeData[bin];
+                        if (w == 0.0) {
+                            continue;
+                        }
+                        stripeData[bin] = 0.0;
+                        data[bin] += w;
+                        if (isBinInValueRange(bin)) {
+                            min = Math.min(min, data[bin]);
+                            max = Math.max(max, data[bin]);
+                        }
+                    }
+                    stripe.modified = false;
+                    merged = true;
+                }
+            }
+            updateValueRange(min, max);
+            return merged;
+        });
+        if (modified) {
+            fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    @Override
+    public void releaseSnapshot() {
+        // nothing to release: the snapshot is the histogram itself, concurrent writers only modify their stripes
+    }
+
     @Override
     public void reset() {
         Arrays.fill(data, 0.0);
+        resetStripes();
         getDataStyleMap().clear();
         getDataLabelMap().clear();
         this.getAxisDescription(this.getDimension() - 1).clear();
     }
 
+    /**
+     * Enables or disables the concurrent mode with {@link #DEFAULT_N_STRIPES} stripes. Outstanding entries are merged
+     * when disabling it. N.B. must not be changed while other threads are filling the histogram.
+     *
+     * @param state {@code true}: enables the (opt-in) concurrent mode
+     * @return itself (fluent design)
+     */
+    @Override
+    public AbstractHistogram setSnapshotMode(final boolean state) {
+        return setConcurrentStripes(state ? DEFAULT_N_STRIPES : 0);
+    }
+
+    /**
+     * @param nStripes number of striped accumulators ({@code 0}: disables the concurrent mode). Each stripe requires
+     *            as much memory as the histogram itself and is shared by the threads mapped onto it.
+     * @return itself (fluent design)
+     * @see #setSnapshotMode(boolean)
+     */
+    public AbstractHistogram setConcurrentStripes(final int nStripes) {
+        AssertUtils.gtEqThanZero("nStripes", nStripes);
+        mergeStripes();
+        if (nStripes == 0) {
+            stripes = null;
+            return this;
+        }
+        final Stripe[] newStripes = new Stripe[nStripes];
+        for (int i = 0; i < nStripes; i++) {
+            newStripes[i] = new Stripe();
+        }
+        stripes = newStripes;
+        return this;
+    }
+
+    /**
+     * Adds the weight to the calling thread's stripe if the concurrent mode is enabled
+     *
+     * @param bin global bin ID
+     * @param w weight
+     * @return {@code false} if the concurrent mode is disabled
+     */
+    protected boolean addToStripe(final int bin, final double w) {
+        final Stripe[] localStripes = stripes;
+        if (localStripes == null) {
+            return false;
+        }
+        final Stripe stripe = getStripe(localStripes);
+        synchronized (stripe) {
+            stripe.getData(data.length)[bin] += w;
+            stripe.modified = true;
+        }
+        fireInvalidated(ChartBits.DataSetData);
+        return true;
+    }
+
+    /**
+     * Adds n entries to their global bins, taking the lock (or the calling thread's stripe in concurrent mode) and
+     * notifying the listeners only once.
+     *
+     * @param n number of entries
+     * @param binOfEntry global bin ID of the given entry index
+     * @param weightOfEntry weight of the given entry index
+     */
+    protected void fillBins(final int n, final IntUnaryOperator binOfEntry, final IntToDoubleFunction weightOfEntry) {
+        if (n <= 0) {
+            return;
+        }
+        final Stripe[] localStripes = stripes;
+        if (localStripes != null) {
+            final Stripe stripe = getStripe(localStripes);
+            synchronized (stripe) {
+                final double[] stripeData = stripe.getData(data.length);
+                for (int i = 0; i < n; i++) {
+                    stripeData[binOfEntry.applyAsInt(i)] += weightOfEntry.applyAsDouble(i);
+                }
+                stripe.modified = true;
+            }
+        } else {
+            lock().writeLockGuard(() -> {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < n; i++) {
+                    final int bin = binOfEntry.applyAsInt(i);
+                    data[bin] += weightOfEntry.applyAsDouble(i);
+                    if (isBinInValueRange(bin)) {
+                        min = Math.min(min, data[bin]);
+                        max = Math.max(max, data[bin]);
+                    }
+                }
+                updateValueRange(min, max);
+            });
+        }
+        fireInvalidated(ChartBits.DataSetData);
+    }
+
+    /**
+     * @return the dimension index holding the bin contents
+     */
+    protected int getValueDimension() {
+        return getDimension() - 1;
+    }
+
+    /**
+     * @param bin global bin ID
+     * @return whether the bin content contributes to the value range of {@link #getValueDimension()}
+     */
+    protected boolean isBinInValueRange(final int bin) {
+        return true;
+    }
+
+    protected void resetStripes() {
+        final Stripe[] localStripes = stripes;
+        if (localStripes == null) {
+            return;
+        }
+        for (final Stripe stripe : localStripes) {
+            synchronized (stripe) {
+                if (stripe.data != null) {
+                    Arrays.fill(stripe.data, 0.0);
+                }
+                stripe.modified = false;
+            }
+        }
+    }
+
+    private void updateValueRange(final double min, final double max) {
+        if (min <= max) {
+            getAxisDescription(getValueDimension()).add(min);
+            getAxisDescription(getValueDimension()).add(max);
+        }
+    }
+
+    /**
+     * Lookup of the bin containing {@code val} with the same semantics as the previous linear search: O(1) for
+     * equidistant and O(log(nBins)) for variable bins.
+     *
+     * @param bins bin boundaries (N.B. bins[0] is the underflow bin)
+     * @param equidistant whether the bins are equidistant
+     * @param min minimum of the binned range
+     * @param max maximum of the binned range
+     * @param val value to be looked up
+     * @return bin index
+     */
+    protected int findBin(final double[] bins, final boolean equidistant, final double min, final double max, final double val) {
+        if (max - min == 0.0) {
+            return 0;
+        }
+        if (!(val >= min && val <= max)) { // NOSONAR NOPMD -- also true for NaN
+            return val < bins[1] ? 0 : bins.length - 1; // under- or overflow bin
+        }
+        if (!equidistant) {
+            return findNextLargerIndex(bins, val);
+        }
+        final int last = bins.length - 1;
+        // arithmetic estimate followed by a correction of possible rounding errors
+        final double estimate = 1.0 + (val - bins[1]) * (last - 1) / (bins[last] - bins[1]);
+        int bin = estimate >= last ? last : Math.max(0, (int) estimate);
+        while (bin > 0 && val < bins[bin]) {
+            bin--;
+        }
+        while (bin < last && val >= bins[bin + 1]) {
+            bin++;
+        }
+        return bin;
+    }
+
+    private static Stripe getStripe(final Stripe[] stripes) {
+        final long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L; // N.B. Fibonacci hashing
+        return stripes[(int) ((hash >>> 32) % stripes.length)];
+    }
+
     protected static <T> void swap(T[] arr, final int i, final int j) {
         final T t = arr[i];
         arr[i] = arr[j];
         arr[j] = t;
     }
+
+    private static class Stripe {
+        private double[] data; // allocated on first use
+        private boolean modified;
+
+        private double[] getData(final int length) {
+            if (data == null) {
+                data = new double[length];
+            }
+            return data;
+        }
+    }
 }
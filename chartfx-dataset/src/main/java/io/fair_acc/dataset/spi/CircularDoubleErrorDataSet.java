@@ -4,7 +4,9 @@ import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSet2D;
 import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.locks.DefaultDataSetLock;
 import io.fair_acc.dataset.utils.AssertUtils;
 import io.fair_acc.dataset.utils.CircularBuffer;
 import io.fair_acc.dataset.utils.DoubleCircularBuffer;
@@ -12,7 +14,7 @@ import io.fair_acc.dataset.utils.DoubleCircularBuffer;
 /**
  * @author rstein
  */
-public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDoubleErrorDataSet> implements DataSetError, DataSet2D {
+public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDoubleErrorDataSet> implements DataSetError, DataSet2D, SnapshotDataSet {
     private static final long serialVersionUID = -8010355203980379253L;
     protected DoubleCircularBuffer xValues;
     protected DoubleCircularBuffer yValues;
@@ -20,6 +22,10 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
     protected DoubleCircularBuffer yErrorsNeg;
     protected CircularBuffer<String> dataLabels;
     protected CircularBuffer<String> dataStyles;
+    private transient DataSetSnapshotBuffer<DoubleErrorDataSet> snapshotBuffer; // null: snapshot mode disabled
+    private boolean labelsAdded; // at least one non-null label since the last reset
+    private boolean stylesAdded; // at least one non-null style since the last reset
+    private final transient LimitTracker[] limitTrackers;
 
     /**
      * Creates a new instance of <code>CircularDoubleErrorDataSet</code>.
@@ -37,6 +43,7 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         yErrorsNeg = new DoubleCircularBuffer(initialSize);
         dataLabels = new CircularBuffer<>(initialSize);
         dataStyles = new CircularBuffer<>(initialSize);
+        limitTrackers = new LimitTracker[] { new LimitTracker(initialSize), new LimitTracker(initialSize) };
     }
 
     /**
@@ -85,11 +92,12 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             yErrorsNeg.put(yErrorNeg);
             dataLabels.put(label);
             dataStyles.put(style);
+            labelsAdded |= label != null;
+            stylesAdded |= style != null;
 
-            // assumes in X sorted data range
-            getAxisDescription(DIM_X).setMin(xValues.get(0));
-            getAxisDescription(DIM_X).setMax(xValues.get(xValues.available() - 1));
-            getAxisDescription(DIM_Y).clear();
+            trackLimits(limitTrackers[DIM_X], DIM_X, x, 0.0, 0.0);
+            trackLimits(limitTrackers[DIM_Y], DIM_Y, y, yErrorNeg, yErrorPos);
+            updateLimits();
         });
 
         fireInvalidated(ChartBits.DataSetDataAdded);
@@ -148,21 +156,33 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataLabels.put(new String[yVals.length], dataCount);
             dataStyles.put(new String[yVals.length], dataCount);
 
-            // assumes in X sorted data range
-            getAxisDescription(DIM_X).setMin(xValues.get(0));
-            getAxisDescription(DIM_X).setMax(xValues.get(xValues.available() - 1));
-            getAxisDescription(DIM_Y).clear();
+            for (int i = 0; i < dataCount; i++) {
+                trackLimits(limitTrackers[DIM_X], DIM_X, xVals[i], 0.0, 0.0);
+                trackLimits(limitTrackers[DIM_Y], DIM_Y, yVals[i], yErrNeg[i], yErrPos[i]);
+            }
+            updateLimits();
         });
 
         fireInvalidated(ChartBits.DataSetDataAdded);
         return getThis();
     }
 
+    @Override
+    public DataSet acquireSnapshot() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        return buffer == null ? this : buffer.acquire();
+    }
+
     @Override
     public int getDataCount() {
         return xValues.available();
     }
 
+    @Override
+    protected LimitTracker getLimitTracker(final int dimIndex) {
+        return limitTrackers[dimIndex];
+    }
+
     @Override
     public String getDataLabel(final int index) {
         return dataLabels.get(index);
@@ -188,6 +208,25 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         return dimIndex == DataSet.DIM_X ? xValues.get(index) : yValues.get(index);
     }
 
+    @Override
+    public boolean isSnapshotMode() {
+        return snapshotBuffer != null;
+    }
+
+    @Override
+    public void releaseSnapshot() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        if (buffer != null) {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public boolean isSnapshotOutdated() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        return buffer != null && buffer.isOutdated();
+    }
+
     @Override
     public String addDataLabel(int index, String label) {
         throw new UnsupportedOperationException("Adding data labels later is not supported, supply labels to add()");
@@ -221,10 +260,15 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             yErrorsPos.reset();
             dataLabels.reset();
             dataStyles.reset();
+            labelsAdded = false;
+            stylesAdded = false;
+            for (final LimitTracker tracker : limitTrackers) {
+                tracker.clear();
+            }
             getAxisDescriptions().forEach(AxisDescription::clear);
         });
 
-        fireInvalidated(ChartBits.DataSetDataRemoved);
+        fireInvalidatedKeepingLimits(ChartBits.DataSetDataRemoved);
         return getThis();
     }
 
@@ -250,4 +294,52 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
     }
+
+    @Override
+    public CircularDoubleErrorDataSet setSnapshotMode(final boolean state) {
+        lock().writeLockGuard(() -> {
+            final DefaultDataSetLock<?> defaultLock = (DefaultDataSetLock<?>) lock();
+            if (state && snapshotBuffer == null) {
+                snapshotBuffer = new DataSetSnapshotBuffer<>(defaultLock, () -> new DoubleErrorDataSet(getName(), xValues.capacity()), this::copySnapshot);
+                defaultLock.setWriteUnLockAction(snapshotBuffer::publish);
+            } else if (!state && snapshotBuffer != null) {
+                defaultLock.setWriteUnLockAction(null);
+                snapshotBuffer = null;
+            }
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    /**
+     * @param snapshot the (recycled) snapshot to be overwritten with the present data in linear order, N.B. does not
+     *            acquire any locks
+     */
+    protected void copySnapshot(final DoubleErrorDataSet snapshot) {
+        final int dataCount = getDataCount();
+        snapshot.xValues.size(dataCount);
+        snapshot.yValues.size(dataCount);
+        snapshot.yErrorsNeg.size(dataCount);
+        snapshot.yErrorsPos.size(dataCount);
+        xValues.get(snapshot.xValues.elements(), dataCount);
+        yValues.get(snapshot.yValues.elements(), dataCount);
+        yErrorsNeg.get(snapshot.yErrorsNeg.elements(), dataCount);
+        yErrorsPos.get(snapshot.yErrorsPos.elements(), dataCount);
+        copySnapshotMetaData(snapshot);
+
+        // labels and styles are kept in circular buffers rather than the index maps
+        if (!labelsAdded && !stylesAdded) {
+            return;
+        }
+        for (int index = 0; index < dataCount; index++) {
+            final String label = labelsAdded ? dataLabels.get(index) : null;
+            if (label != null) {
+                snapshot.getDataLabelMap().put(index, label);
+            }
+            final String style = stylesAdded ? dataStyles.get(index) : null;
+            if (style != null) {
+                snapshot.getDataStyleMap().put(index, style);
+            }
+        }
+    }
 }
@@ -0,0 +1,138 @@
+package io.fair_acc.dataset.spi;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.locks.DefaultDataSetLock;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Lock-free snapshot buffer used by {@link io.fair_acc.dataset.SnapshotDataSet} implementations.
+ * <p>
+ * Writers publish at the end of their outer-most write-lock section (while still holding the lock) into a writer-owned
+ * back buffer, which is then atomically swapped with the 'ready' slot. The (single) reader adopts the ready buffer if
+ * it is more recent than its own front buffer and the latter is not presently pinned. If the writer is idle and the
+ * front buffer is outdated, the reader catches up by copying the data with a non-blocking optimistic read. Copies are
+ * only made on request of the reader, i.e. at most once per frame, and all buffers are recycled.
+ *
+ * @param <S> the snapshot data set type
+ */
+public class DataSetSnapshotBuffer<S extends DataSet> {
+    private final DefaultDataSetLock<?> lock;
+    private final Supplier<S> factory;
+    private final Consumer<S> copier;
+    private final AtomicReference<Snapshot<S>> ready = new AtomicReference<>();
+    private final AtomicBoolean requested = new AtomicBoolean(true);
+    private final AtomicInteger pinCount = new AtomicInteger(0);
+    private Snapshot<S> back; // owned by the writer holding the write lock
+    private Snapshot<S> front; // owned by the reader
+    private Snapshot<S> scratch; // owned by the reader
+
+    /**
+     * @param lock the lock guarding the source data set
+     * @param factory creates new (empty) snapshot instances
+     * @param copier copies the present state of the source data set into the given snapshot. N.B. is either called by
+     *            a writer while holding the write lock, or optimistically by the reader, and must thus not acquire any
+     *            locks on the source nor modify it.
+     */
+    public DataSetSnapshotBuffer(final DefaultDataSetLock<?> lock, final Supplier<S> factory, final Consumer<S> copier) {
+        this.lock = AssertUtils.notNull("lock", lock);
+        this.factory = AssertUtils.notNull("factory", factory);
+        this.copier = AssertUtils.notNull("copier", copier);
+    }
+
+    /**
+     * Acquires the latest consistent snapshot (reader thread only). The snapshot is pinned, i.e. subsequent calls
+     * return the same instance until all acquisitions have been released via {@link #release()}.
+     *
+     * @return the pinned snapshot
+     */
+    public S acquire() {
+        if (pinCount.getAndIncrement() > 0) {
+            return front.dataSet;
+        }
+        // adopt a more recent snapshot published by a writer
+        final Snapshot<S> published = ready.get();
+        if (published != null && (front == null || published.version > front.version)) {
+            final Snapshot<S> previous = front;
+            front = ready.getAndSet(previous);
+        }
+
+        if (front != null && front.version == lock.getModificationCount()) {
+            return front.dataSet;
+        }
+
+        // outdated: try to catch up without blocking the writer
+        if (scratch == null) {
+            scratch = new Snapshot<>(factory.get());
+        }
+        final Snapshot<S> target = scratch;
+        if (lock.tryReadOptimistic(() -> {
+                target.version = lock.getModificationCount();
+                copier.accept(target.dataSet);
+            })) {
+            scratch = front;
+            front = target;
+            return front.dataSet;
+        }
+
+        // writer is active -> ask it to publish at the end of its present write section
+        requested.set(true);
+        if (front == null) {
+            // very first snapshot: fall back to a (short) blocking copy
+            lock.readLockGuard(() -> {
+                target.version = lock.getModificationCount();
+                copier.accept(target.dataSet);
+            });
+            scratch = null;
+            front = target;
+        }
+        return front.dataSet;
+    }
+
+    /**
+     * releases a snapshot previously obtained via {@link #acquire()}
+     */
+    public void release() {
+        if (pinCount.decrementAndGet() < 0) {
+            pinCount.set(0);
+            throw new IllegalStateException("snapshot acquire/release mismatch - already released");
+        }
+    }
+
+    /**
+     * @return {@code true} if the source has been modified since the last snapshot returned by {@link #acquire()}
+     */
+    public boolean isOutdated() {
+        final Snapshot<S> current = front;
+        return current == null || current.version != lock.getModificationCount();
+    }
+
+    /**
+     * publishes a new snapshot if requested by the reader. N.B. to be called by the writer while holding the write lock
+     */
+    public void publish() {
+        if (!requested.getAndSet(false)) {
+            return;
+        }
+        if (back == null) {
+            back = new Snapshot<>(factory.get());
+        }
+        back.version = lock.getModificationCount();
+        copier.accept(back.dataSet);
+        back = ready.getAndSet(back);
+    }
+
+    private static class Snapshot<S> {
+        private final S dataSet;
+        private volatile long version = -1L;
+
+        private Snapshot(final S dataSet) {
+            this.dataSet = dataSet;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package io.fair_acc.dataset.spi;
 
-import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSet2D;
 import io.fair_acc.dataset.EditableDataSet;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.locks.DefaultDataSetLock;
 import io.fair_acc.dataset.spi.fastutil.DoubleArrayList;
 import io.fair_acc.dataset.utils.AssertUtils;
 
@@ -16,12 +17,14 @@ import io.fair_acc.dataset.utils.AssertUtils;
  * @author rstein
  */
 @SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
-public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements EditableDataSet, DataSet2D {
+public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements EditableDataSet, DataSet2D, SnapshotDataSet {
     private static final long serialVersionUID = -493232313124620828L;
     private static final String X_COORDINATES = "X coordinates";
     private static final String Y_COORDINATES = "Y coordinates";
     protected DoubleArrayList xValues; // way faster than java default lists
     protected DoubleArrayList yValues; // way faster than java default lists
+    private transient DataSetSnapshotBuffer<DoubleDataSet> snapshotBuffer; // null: snapshot mode disabled
+    private final transient LimitTracker[] limitTrackers = { new LimitTracker(), new LimitTracker() };
 
     /**
      * Creates a new instance of <code>DoubleDataSet</code> as copy of another (deep-copy).
@@ -108,6 +111,8 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
 
             getAxisDescription(DIM_X).add(x);
             getAxisDescription(DIM_Y).add(y);
+            limitTrackers[DIM_X].add(x);
+            limitTrackers[DIM_Y].add(y);
         });
         fireInvalidated(ChartBits.DataSetDataAdded);
         return getThis();
@@ -128,12 +133,17 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         lock().writeLockGuard(() -> {
             final int addAt = xValues.size();
             final int newElements = Math.min(xValuesNew.length, yValuesNew.length);
-            resize(addAt + newElements);
+            xValues.size(addAt + newElements);
+            yValues.size(addAt + newElements);
             xValues.setElements(addAt, xValuesNew);
             yValues.setElements(addAt, yValuesNew);
 
             getAxisDescription(DIM_X).add(xValuesNew);
             getAxisDescription(DIM_Y).add(yValuesNew);
+            for (int i = 0; i < newElements; i++) {
+                limitTrackers[DIM_X].add(xValuesNew[i]);
+                limitTrackers[DIM_Y].add(yValuesNew[i]);
+            }
         });
 
         fireInvalidated(ChartBits.DataSetDataAdded);
@@ -183,6 +193,8 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
             getAxisDescription(DIM_X).add(x);
             getAxisDescription(DIM_Y).add(y);
+            limitTrackers[DIM_X].add(x);
+            limitTrackers[DIM_Y].add(y);
         });
         fireInvalidated(ChartBits.DataSetDataAdded);
         return getThis();
@@ -208,6 +220,10 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             yValues.addElements(indexAt, y, 0, min);
             getAxisDescription(DIM_X).add(x, min);
             getAxisDescription(DIM_Y).add(y, min);
+            for (int i = 0; i < min; i++) {
+                limitTrackers[DIM_X].add(x[i]);
+                limitTrackers[DIM_Y].add(y[i]);
+            }
             getDataLabelMap().shiftKeys(indexAt, xValues.size());
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
         });
@@ -228,7 +244,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataStyleMap().clear();
             clearMetaInfo();
 
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetDataRemoved);
         return getThis();
@@ -246,11 +262,22 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return Math.min(xValues.elements().length, yValues.elements().length);
     }
 
+    @Override
+    public DataSet acquireSnapshot() {
+        final DataSetSnapshotBuffer<DoubleDataSet> buffer = snapshotBuffer;
+        return buffer == null ? this : buffer.acquire();
+    }
+
     @Override
     public int getDataCount() {
         return Math.min(xValues.size(), yValues.size());
     }
 
+    @Override
+    protected LimitTracker getLimitTracker(final int dimIndex) {
+        return dimIndex < limitTrackers.length ? limitTrackers[dimIndex] : null;
+    }
+
     @Override
     public final double[] getValues(final int dimIndex) {
         return dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
@@ -269,6 +296,25 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return getThis();
     }
 
+    @Override
+    public boolean isSnapshotMode() {
+        return snapshotBuffer != null;
+    }
+
+    @Override
+    public void releaseSnapshot() {
+        final DataSetSnapshotBuffer<DoubleDataSet> buffer = snapshotBuffer;
+        if (buffer != null) {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public boolean isSnapshotOutdated() {
+        final DataSetSnapshotBuffer<DoubleDataSet> buffer = snapshotBuffer;
+        return buffer != null && buffer.isOutdated();
+    }
+
     /**
      * remove point from data set
      *
@@ -301,7 +347,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataStyleMap().remove(fromIndex, clampedToIndex);
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetDataRemoved);
         return getThis();
@@ -415,7 +461,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             }
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -452,7 +498,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataStyleMap().remove(index);
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -467,7 +513,23 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataStyleMap().remove(index, index + x.length);
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    @Override
+    public DoubleDataSet setSnapshotMode(final boolean state) {
+        lock().writeLockGuard(() -> {
+            final DefaultDataSetLock<?> defaultLock = (DefaultDataSetLock<?>) lock();
+            if (state && snapshotBuffer == null) {
+                snapshotBuffer = new DataSetSnapshotBuffer<>(defaultLock, () -> new DoubleDataSet(getName(), getCapacity()), this::copySnapshot);
+                defaultLock.setWriteUnLockAction(snapshotBuffer::publish);
+            } else if (!state && snapshotBuffer != null) {
+                defaultLock.setWriteUnLockAction(null);
+                snapshotBuffer = null;
+            }
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -487,4 +549,18 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
     }
+
+    /**
+     * @param snapshot the (recycled) snapshot to be overwritten with the present data, N.B. does not acquire any locks
+     */
+    protected void copySnapshot(final DoubleDataSet snapshot) {
+        final int dataCount = getDataCount();
+        snapshot.xValues.size(dataCount);
+        snapshot.yValues.size(dataCount);
+        System.arraycopy(xValues.elements(), 0, snapshot.xValues.elements(), 0, dataCount);
+        System.arraycopy(yValues.elements(), 0, snapshot.yValues.elements(), 0, dataCount);
+        copySnapshotMetaData(snapshot);
+        snapshot.limitTrackers[DIM_X].set(limitTrackers[DIM_X]);
+        snapshot.limitTrackers[DIM_Y].set(limitTrackers[DIM_Y]);
+    }
 }
@@ -5,7 +5,9 @@ import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSet2D;
 import io.fair_acc.dataset.DataSetError;
 import io.fair_acc.dataset.EditableDataSet;
+import io.fair_acc.dataset.SnapshotDataSet;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.locks.DefaultDataSetLock;
 import io.fair_acc.dataset.spi.fastutil.DoubleArrayList;
 import io.fair_acc.dataset.utils.AssertUtils;
 
@@ -17,7 +19,7 @@ import io.fair_acc.dataset.utils.AssertUtils;
  * @author rstein
  */
 @SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
-public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet> implements DataSet2D, DataSetError, EditableDataSet {
+public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet> implements DataSet2D, DataSetError, EditableDataSet, SnapshotDataSet {
     private static final String Y_COORDINATES = "Y coordinates";
     private static final String X_COORDINATES = "X coordinates";
     private static final long serialVersionUID = 8931518518245752926L;
@@ -25,6 +27,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
     protected DoubleArrayList yValues; // way faster than java default lists
     protected DoubleArrayList yErrorsPos;
     protected DoubleArrayList yErrorsNeg;
+    private transient DataSetSnapshotBuffer<DoubleErrorDataSet> snapshotBuffer; // null: snapshot mode disabled
 
     /**
      * Creates a new instance of <code>DoubleErrorDataSet</code> as copy of another (deep-copy).
@@ -312,6 +315,12 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return Math.min(xValues.elements().length, yValues.elements().length);
     }
 
+    @Override
+    public DataSet acquireSnapshot() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        return buffer == null ? this : buffer.acquire();
+    }
+
     @Override
     public int getDataCount() {
         return Math.min(xValues.size(), yValues.size());
@@ -355,6 +364,25 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return getThis();
     }
 
+    @Override
+    public boolean isSnapshotMode() {
+        return snapshotBuffer != null;
+    }
+
+    @Override
+    public void releaseSnapshot() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        if (buffer != null) {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public boolean isSnapshotOutdated() {
+        final DataSetSnapshotBuffer<DoubleErrorDataSet> buffer = snapshotBuffer;
+        return buffer != null && buffer.isOutdated();
+    }
+
     @Override
     public DoubleErrorDataSet remove(int index) {
         return remove(index, index + 1);
@@ -610,6 +638,22 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return getThis();
     }
 
+    @Override
+    public DoubleErrorDataSet setSnapshotMode(final boolean state) {
+        lock().writeLockGuard(() -> {
+            final DefaultDataSetLock<?> defaultLock = (DefaultDataSetLock<?>) lock();
+            if (state && snapshotBuffer == null) {
+                snapshotBuffer = new DataSetSnapshotBuffer<>(defaultLock, () -> new DoubleErrorDataSet(getName(), getCapacity()), this::copySnapshot);
+                defaultLock.setWriteUnLockAction(snapshotBuffer::publish);
+            } else if (!state && snapshotBuffer != null) {
+                defaultLock.setWriteUnLockAction(null);
+                snapshotBuffer = null;
+            }
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
     /**
      * Trims the arrays list so that the capacity is equal to the size.
      *
@@ -626,4 +670,20 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         fireInvalidated(ChartBits.DataSetDataRemoved);
         return getThis();
     }
+
+    /**
+     * @param snapshot the (recycled) snapshot to be overwritten with the present data, N.B. does not acquire any locks
+     */
+    protected void copySnapshot(final DoubleErrorDataSet snapshot) {
+        final int dataCount = getDataCount();
+        snapshot.xValues.size(dataCount);
+        snapshot.yValues.size(dataCount);
+        snapshot.yErrorsNeg.size(dataCount);
+        snapshot.yErrorsPos.size(dataCount);
+        System.arraycopy(xValues.elements(), 0, snapshot.xValues.elements(), 0, dataCount);
+        System.arraycopy(yValues.elements(), 0, snapshot.yValues.elements(), 0, dataCount);
+        System.arraycopy(yErrorsNeg.elements(), 0, snapshot.yErrorsNeg.elements(), 0, dataCount);
+        System.arraycopy(yErrorsPos.elements(), 0, snapshot.yErrorsPos.elements(), 0, dataCount);
+        copySnapshotMetaData(snapshot);
+    }
 }
@@ -22,6 +22,7 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     private static final long serialVersionUID = -7153702141838930486L;
     protected final transient LimitedQueue<DataBlob> data;
     protected double maxDistance;
+    private final transient LimitTracker[] limitTrackers;
 
     /**
      * Creates a new instance of <code>FifoDoubleErrorDataSet</code>.
@@ -52,6 +53,7 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         }
         this.maxDistance = maxDistance;
         data = new LimitedQueue<>(initialSize);
+        limitTrackers = new LimitTracker[] { new LimitTracker(initialSize), new LimitTracker(initialSize) };
     }
 
     /**
@@ -97,12 +99,12 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
             final String tag, final String style) {
         lock().writeLockGuard(() -> {
             data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
-            this.getAxisDescription(DIM_X).add(x);
-            this.getAxisDescription(DIM_Y).add(y - yErrorNeg);
-            this.getAxisDescription(DIM_Y).add(y + yErrorPos);
+            trackLimits(limitTrackers[DIM_X], DIM_X, x, 0.0, 0.0);
+            trackLimits(limitTrackers[DIM_Y], DIM_Y, y, yErrorNeg, yErrorPos);
 
             // remove old fields if necessary
             expire(x);
+            updateLimits();
         });
         fireInvalidated(ChartBits.DataSetDataAdded);
         return this;
@@ -162,23 +164,36 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     public int expire(final double now) {
         final int dataPointsToRemove = lock().writeLockGuard(() -> {
             final List<DataBlob> toRemoveList = new ArrayList<>(SAFE_BET);
+            int nOldest = 0; // number of leading (i.e. oldest) data points that are being removed
+            int index = 0;
             for (final DataBlob blob : data) {
                 final double x = blob.getX();
 
                 if (!Double.isFinite(x) || Math.abs(now - x) > maxDistance) {
                     toRemoveList.add(blob);
+                    if (index == nOldest) {
+                        nOldest++;
+                    }
                 }
+                index++;
             }
 
             if (!toRemoveList.isEmpty()) {
-                // remove elements and invalidate ranges if necessary
+                // remove elements and update or invalidate ranges if necessary
                 data.removeAll(toRemoveList);
-                getAxisDescriptions().forEach(AxisDescription::clear);
+                if (nOldest == toRemoveList.size()) {
+                    for (final LimitTracker tracker : limitTrackers) {
+                        tracker.removeOldest(nOldest);
+                    }
+                    updateLimits();
+                } else {
+                    invalidateLimits();
+                }
             }
             return toRemoveList.size();
         });
         if (dataPointsToRemove != 0) {
-            fireInvalidated(ChartBits.DataSetDataRemoved);
+            fireInvalidatedKeepingLimits(ChartBits.DataSetDataRemoved);
         }
         return dataPointsToRemove;
     }
@@ -200,6 +215,11 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         return data.size();
     }
 
+    @Override
+    protected LimitTracker getLimitTracker(final int dimIndex) {
+        return limitTrackers[dimIndex];
+    }
+
     @Override
     public String getDataLabel(final int index) {
         return data.get(index).getDataLabel();
@@ -231,8 +251,14 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      * remove all data points
      */
     public void reset() {
-        data.clear();
-        fireInvalidated(ChartBits.DataSetDataRemoved);
+        lock().writeLockGuard(() -> {
+            data.clear();
+            for (final LimitTracker tracker : limitTrackers) {
+                tracker.clear();
+            }
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidatedKeepingLimits(ChartBits.DataSetDataRemoved);
     }
 
     /**
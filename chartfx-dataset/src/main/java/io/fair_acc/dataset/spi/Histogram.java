@@ -3,6 +3,7 @@ package io.fair_acc.dataset.spi;
 import java.util.Arrays;
 import java.util.List;
 
+import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSet2D;
 import io.fair_acc.dataset.DataSetMetaData;
@@ -77,22 +78,26 @@ public class Histogram extends AbstractHistogram implements Histogram1D, DataSet
 
     @Override
     public void addBinContent(final int bin, final double w) {
+        if (addToStripe(bin, w)) {
+            return;
+        }
         lock().writeLockGuard(() -> {
             data[bin] += w;
-            if (bin == 0 || bin == data.length - 1) {
+            if (!isBinInValueRange(bin)) {
                 return;
             }
-            if (getDimension() == 2) {
-                getAxisDescription(isHorizontal ? DIM_Y : DIM_X).add(data[bin]);
-            } else {
-                getAxisDescription(getDimension() - 1).add(data[bin]);
-            }
+            getAxisDescription(getValueDimension()).add(data[bin]);
         });
         fireInvalidated(ChartBits.DataSetData);
     }
 
     @Override
     public int fill(final double x, final double w) {
+        if (isSnapshotMode()) {
+            final int bin = findBin(isHorizontal ? DIM_X : DIM_Y, x);
+            addBinContent(bin, w);
+            return bin;
+        }
         final int retVal = lock().writeLockGuard(() -> {
             final int bin = findBin(isHorizontal ? DIM_X : DIM_Y, x);
             addBinContent(bin, w);
@@ -102,14 +107,15 @@ public class Histogram extends AbstractHistogram implements Histogram1D, DataSet
         return retVal;
     }
 
+    @Override
+    public void fill(final double[] x, final double[] w, final int n) {
+        fill(x, w, n, 1);
+    }
+
     @Override
     public void fillN(double[] x, double[] w, int stepSize) {
-        lock().writeLockGuard(() -> {
-            for (int i = 0; i < x.length; i++) {
-                this.fill(x[i], w[i]);
-            }
-        });
-        fireInvalidated(ChartBits.DataSetDataAdded);
+        AssertUtils.gtThanZero("stepSize", stepSize);
+        fill(x, w, (x.length + stepSize - 1) / stepSize, stepSize);
     }
 
     @Override
@@ -158,15 +164,12 @@ public class Histogram extends AbstractHistogram implements Histogram1D, DataSet
     @Override
     public void reset() {
         Arrays.fill(data, 0.0);
+        resetStripes();
         getDataStyleMap().clear();
         getDataLabelMap().clear();
         super.getWarningList().remove(DataSetMetaData.TAG_UNDERSHOOT);
         super.getWarningList().remove(DataSetMetaData.TAG_OVERSHOOT);
-        if (getDimension() == 2) {
-            this.getAxisDescription(isHorizontal ? DIM_Y : DIM_X).clear();
-        } else {
-            this.getAxisDescription(this.getDimension() - 1).clear();
-        }
+        this.getAxisDescription(getValueDimension()).clear();
     }
 
     @Override
@@ -174,6 +177,34 @@ public class Histogram extends AbstractHistogram implements Histogram1D, DataSet
         throw new UnsupportedOperationException("set is not implemented");
     }
 
+    protected void fill(final double[] x, final double[] w, final int n, final int stride) {
+        AssertUtils.gtEqThanZero("n", n);
+        if (n == 0) {
+            return;
+        }
+        AssertUtils.gtOrEqual("x.length", (n - 1) * stride + 1, x.length);
+        if (w != null) {
+            AssertUtils.gtOrEqual("w.length", (n - 1) * stride + 1, w.length);
+        }
+        final int dimIndex = isHorizontal ? DIM_X : DIM_Y;
+        final double[] bins = axisBins[dimIndex];
+        final boolean equidistant = isEquiDistant();
+        final AxisDescription axisDescription = getAxisDescription(dimIndex);
+        final double min = axisDescription.isDefined() ? axisDescription.getMin() : 0.0;
+        final double max = axisDescription.isDefined() ? axisDescription.getMax() : 0.0;
+        fillBins(n, i -> findBin(bins, equidistant, min, max, x[i * stride]), w == null ? i -> 1.0 : i -> w[i * stride]);
+    }
+
+    @Override
+    protected int getValueDimension() {
+        return getDimension() == 2 ? (isHorizontal ? DIM_Y : DIM_X) : getDimension() - 1; // NOPMD NOSONAR
+    }
+
+    @Override
+    protected boolean isBinInValueRange(final int bin) {
+        return bin != 0 && bin != data.length - 1; // N.B. under- and overflow bins are not shown
+    }
+
     protected void flipAbscissaWithOrdinate() {
         getAxisDescription(DIM_Y).set(getAxisDescription(DIM_X));
         getAxisDescription(DIM_X).clear();
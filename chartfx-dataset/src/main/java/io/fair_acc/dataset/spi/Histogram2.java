@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
+import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetMetaData;
 import io.fair_acc.dataset.Histogram1D;
@@ -54,6 +55,13 @@ public class Histogram2 extends AbstractHistogram implements Histogram2D {
      */
     @Override
     public int fill(double x, double y, double w) {
+        if (isSnapshotMode()) {
+            xProjection.fill(x, w);
+            yProjection.fill(y, w);
+            final int bin = super.findBin(x, y);
+            super.addBinContent(bin, w);
+            return bin;
+        }
         final int ret = lock().writeLockGuard(() -> {
             xProjection.fill(x, w);
             yProjection.fill(y, w);
@@ -65,6 +73,34 @@ public class Histogram2 extends AbstractHistogram implements Histogram2D {
         return ret;
     }
 
+    @Override
+    public void fill(final double[] x, final double[] y, final double[] w, final int n) {
+        AssertUtils.gtEqThanZero("n", n);
+        if (n == 0) {
+            return;
+        }
+        AssertUtils.gtOrEqual("x.length", n, x.length);
+        AssertUtils.gtOrEqual("y.length", n, y.length);
+        if (w != null) {
+            AssertUtils.gtOrEqual("w.length", n, w.length);
+        }
+        xProjection.fill(x, w, n);
+        yProjection.fill(y, w, n);
+
+        final double[] binsX = axisBins[DIM_X];
+        final double[] binsY = axisBins[DIM_Y];
+        final boolean equidistant = isEquiDistant();
+        final AxisDescription axisX = getAxisDescription(DIM_X);
+        final AxisDescription axisY = getAxisDescription(DIM_Y);
+        final double minX = axisX.isDefined() ? axisX.getMin() : 0.0;
+        final double maxX = axisX.isDefined() ? axisX.getMax() : 0.0;
+        final double minY = axisY.isDefined() ? axisY.getMin() : 0.0;
+        final double maxY = axisY.isDefined() ? axisY.getMax() : 0.0;
+        final int nX = getDataCount();
+        fillBins(n, i -> nX * findBin(binsY, equidistant, minY, maxY, y[i]) + findBin(binsX, equidistant, minX, maxX, x[i]), //
+                w == null ? i -> 1.0 : i -> w[i]);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -157,6 +193,25 @@ public class Histogram2 extends AbstractHistogram implements Histogram2D {
         }
     }
 
+    @Override
+    public boolean isSnapshotOutdated() {
+        return super.isSnapshotOutdated() || xProjection.isSnapshotOutdated() || yProjection.isSnapshotOutdated();
+    }
+
+    @Override
+    public void mergeStripes() {
+        xProjection.mergeStripes();
+        yProjection.mergeStripes();
+        super.mergeStripes();
+    }
+
+    @Override
+    public AbstractHistogram setConcurrentStripes(final int nStripes) {
+        xProjection.setConcurrentStripes(nStripes);
+        yProjection.setConcurrentStripes(nStripes);
+        return super.setConcurrentStripes(nStripes);
+    }
+
     @Override
     public void reset() {
         xProjection.reset();
@@ -0,0 +1,262 @@
+package io.fair_acc.dataset.spi;
+
+/**
+ * Keeps the min/max (limits) of a sequence of data points up to date while points are being appended, so that
+ * {@link AbstractDataSet#recomputeLimits(int)} does not need to scan all data points.
+ * <p>
+ * Unbounded trackers ({@link #LimitTracker()}) only grow the range on {@link #add(double)} and are O(1) per point.
+ * Windowed trackers ({@link #LimitTracker(int)}) mirror circular/fifo buffers that drop their oldest points: the
+ * min/max of the last {@code capacity} points is maintained by two monotonic deques (amortised O(1) per point, the
+ * deques only hold candidates that may still become the min/max and thus stay small for noisy data).
+ * <p>
+ * Any other modification (e.g. replacing or removing points in the middle) must {@link #invalidate()} the tracker.
+ * An invalid tracker ignores further updates until it is {@link #clear() cleared} and refilled by a full scan.
+ * <p>
+ * N.B. this class is not thread-safe and must be guarded by the owning data set's lock.
+ */
+public class LimitTracker {
+    private static final int INITIAL_DEQUE_CAPACITY = 16;
+    private final int capacity; // <= 0: unbounded
+    private boolean valid = true;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    // windowed mode: sequence numbers of the oldest tracked and of the next point
+    private long first;
+    private long count;
+    private final MonotonicDeque minDeque;
+    private final MonotonicDeque maxDeque;
+
+    /**
+     * Creates an unbounded tracker for data sets that only grow (appends/insertions)
+     */
+    public LimitTracker() {
+        this(0);
+    }
+
+    /**
+     * @param capacity maximum number of most recent points to be tracked (e.g. circular buffer capacity), older points
+     *            are implicitly dropped. Values &lt;= 0 create an unbounded tracker.
+     */
+    public LimitTracker(final int capacity) {
+        this.capacity = capacity;
+        minDeque = capacity > 0 ? new MonotonicDeque(true) : null;
+        maxDeque = capacity > 0 ? new MonotonicDeque(false) : null;
+    }
+
+    /**
+     * Appends a data point.
+     *
+     * @param value value to be added, non-finite values count as data point but do not contribute to the limits
+     */
+    public void add(final double value) {
+        add(value, value);
+    }
+
+    /**
+     * Appends a data point with its error bars.
+     *
+     * @param lower lower end of the data point (e.g. value - negative error)
+     * @param upper upper end of the data point (e.g. value + positive error)
+     */
+    public void add(final double lower, final double upper) {
+        if (!valid) {
+            return;
+        }
+        final boolean lowerFinite = Double.isFinite(lower);
+        final boolean upperFinite = Double.isFinite(upper);
+        final double low;
+        final double high;
+        if (lowerFinite && upperFinite) {
+            low = Math.min(lower, upper);
+            high = Math.max(lower, upper);
+        } else if (lowerFinite || upperFinite) {
+            low = lowerFinite ? lower : upper;
+            high = low;
+        } else {
+            low = Double.NaN;
+            high = Double.NaN;
+        }
+
+        if (capacity <= 0) {
+            if (Double.isFinite(low)) {
+                min = Double.isNaN(min) ? low : Math.min(min, low);
+                max = Double.isNaN(max) ? high : Math.max(max, high);
+            }
+            return;
+        }
+
+        final long sequence = count++;
+        if (Double.isFinite(low)) {
+            minDeque.push(sequence, low);
+            maxDeque.push(sequence, high);
+        }
+        expire();
+    }
+
+    /**
+     * Resets the tracker to an empty and valid state, e.g. prior to a full scan of all data points
+     */
+    public void clear() {
+        valid = true;
+        min = Double.NaN;
+        max = Double.NaN;
+        first = 0;
+        count = 0;
+        if (capacity > 0) {
+            minDeque.clear();
+            maxDeque.clear();
+        }
+    }
+
+    /**
+     * @return the tracked maximum or {@code Double.NaN} if no finite data point has been added
+     */
+    public double getMax() {
+        if (capacity <= 0) {
+            return max;
+        }
+        return maxDeque.isEmpty() ? Double.NaN : maxDeque.headValue();
+    }
+
+    /**
+     * @return the tracked minimum or {@code Double.NaN} if no finite data point has been added
+     */
+    public double getMin() {
+        if (capacity <= 0) {
+            return min;
+        }
+        return minDeque.isEmpty() ? Double.NaN : minDeque.headValue();
+    }
+
+    /**
+     * Invalidates the tracked limits. The owner needs to {@link #clear()} and refill the tracker by a full scan.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @return {@code true} if the tracked limits reflect all data points that have been added since the last
+     *         {@link #clear()}
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Drops the oldest data points. Unbounded trackers cannot shrink their range and are invalidated instead.
+     *
+     * @param nPoints number of oldest data points to be dropped
+     */
+    public void removeOldest(final int nPoints) {
+        if (!valid || nPoints <= 0) {
+            return;
+        }
+        if (capacity <= 0) {
+            invalidate();
+            return;
+        }
+        first = Math.min(count, first + nPoints);
+        minDeque.expire(first);
+        maxDeque.expire(first);
+    }
+
+    /**
+     * Copies the present limits and validity of another tracker, e.g. for (linearised) snapshots of a data set. For
+     * windowed trackers only the current limits are copied, i.e. this tracker continues as unbounded.
+     *
+     * @param other the source tracker
+     * @throws IllegalStateException if this tracker is windowed
+     */
+    public void set(final LimitTracker other) {
+        if (capacity > 0) {
+            throw new IllegalStateException("cannot copy limits into a windowed tracker");
+        }
+        valid = other.valid;
+        min = other.getMin();
+        max = other.getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "LimitTracker [valid=" + valid + ", capacity=" + capacity + ", min=" + getMin() + ", max=" + getMax() + "]";
+    }
+
+    private void expire() {
+        if (count - first <= capacity) {
+            return;
+        }
+        first = count - capacity;
+        minDeque.expire(first);
+        maxDeque.expire(first);
+    }
+
+    /**
+     * Growable ring-buffer deque of (sequence, value) pairs whose values are monotonically increasing (min) or
+     * decreasing (max) from head to tail. The head thus always holds the extremum of the tracked window.
+     */
+    private static final class MonotonicDeque {
+        private final boolean ascending;
+        private long[] sequences = new long[INITIAL_DEQUE_CAPACITY];
+        private double[] values = new double[INITIAL_DEQUE_CAPACITY];
+        private int head;
+        private int size;
+
+        private MonotonicDeque(final boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        private void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private void expire(final long firstRetained) {
+            while (size > 0 && sequences[head] < firstRetained) {
+                head = (head + 1) & (values.length - 1);
+                size--;
+            }
+        }
+
+        private double headValue() {
+            return values[head];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(final long sequence, final double value) {
+            final int mask = values.length - 1;
+            // drop tail candidates that can never become the extremum again
+            while (size > 0) {
+                final double tail = values[(head + size - 1) & mask];
+                if (ascending ? tail < value : tail > value) {
+                    break;
+                }
+                size--;
+            }
+            if (size == values.length) {
+                grow();
+            }
+            final int index = (head + size) & (values.length - 1);
+            sequences[index] = sequence;
+            values[index] = value;
+            size++;
+        }
+
+        private void grow() {
+            final int oldLength = values.length;
+            final long[] newSequences = new long[oldLength << 1];
+            final double[] newValues = new double[oldLength << 1];
+            final int firstChunk = oldLength - head;
+            System.arraycopy(sequences, head, newSequences, 0, firstChunk);
+            System.arraycopy(values, head, newValues, 0, firstChunk);
+            System.arraycopy(sequences, 0, newSequences, firstChunk, head);
+            System.arraycopy(values, 0, newValues, firstChunk, head);
+            sequences = newSequences;
+            values = newValues;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package io.fair_acc.dataset.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntToDoubleFunction;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.DataSetUtils;
+
+/**
+ * Read-only DataSet backed by a memory-mapped, versioned binary container file. Opening a file only parses the fixed
+ * header, the samples are paged in by the operating system on demand, i.e. also recordings that exceed the available
+ * heap can be opened within milliseconds.
+ * <p>
+ * File layout (little-endian):
+ * <ul>
+ * <li>header: magic, format version, data count, dimension, chunk size, flags (float32), offset of the statistics
+ * section, data set name, per dimension: axis name, axis unit, error type and the offsets of the value,
+ * negative and positive error columns (0: no column)
+ * <li>column-major float64 (or float32) columns, each aligned to 8 bytes
+ * <li>statistics section: per dimension and chunk of {@code chunkSize} samples the value minimum/maximum and the
+ * minimum/maximum including the errors (N.B. non-finite samples are ignored)
+ * </ul>
+ * The chunk statistics are used for the limit computation ({@link #recomputeLimits(int)}) and to narrow the binary
+ * search in {@link #getIndex(int, double...)} to a single chunk (N.B. assumes sorted coordinates) so that only a few
+ * pages need to be touched. Data labels, styles and meta data are not stored.
+ */
+public class MappedDataSet extends AbstractErrorDataSet<MappedDataSet> implements DataSetError {
+    private static final long serialVersionUID = 4205962640617431592L;
+    /** default number of samples per chunk of which the min/max statistics are stored */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    protected static final long MAGIC = 0x31534446_58464843L; // "CHFXFDS1" in little-endian byte order
+    protected static final int VERSION = 1;
+    private static final int FLAG_FLOAT32 = 1;
+    private static final int FIXED_HEADER_LENGTH = 36;
+    private static final int N_STATS = 4; // value min, value max, limit min, limit max
+    private static final int SEGMENT_SHIFT = 30; // N.B. a single mapping is limited to 2 GB
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private final transient ByteBuffer[] segments;
+    private final int dataCount;
+    private final int chunkSize;
+    private final int nChunks;
+    private final boolean float32;
+    private final int elementShift;
+    private final long statsOffset;
+    private final long[] valueOffsets;
+    private final long[] errorNegOffsets;
+    private final long[] errorPosOffsets;
+
+    private MappedDataSet(final String name, final int dimension, final ErrorType[] errorTypes, final ByteBuffer[] segments, final Header header) {
+        super(name, dimension, errorTypes);
+        this.segments = segments;
+        this.dataCount = header.dataCount;
+        this.chunkSize = header.chunkSize;
+        this.nChunks = getChunkCount(dataCount, chunkSize);
+        this.float32 = header.float32;
+        this.elementShift = float32 ? 2 : 3;
+        this.statsOffset = header.statsOffset;
+        this.valueOffsets = header.valueOffsets;
+        this.errorNegOffsets = header.errorNegOffsets;
+        this.errorPosOffsets = header.errorPosOffsets;
+        for (int dimIndex = 0; dimIndex < dimension; dimIndex++) {
+            getAxisDescription(dimIndex).set(header.axisNames[dimIndex], header.axisUnits[dimIndex]);
+            recomputeLimits(dimIndex);
+        }
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return read(valueOffsets[dimIndex], index);
+    }
+
+    /**
+     * @return number of samples per chunk of which the min/max statistics are stored
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param chunk chunk index
+     * @return the maximum of the (finite) values of the given chunk or {@code Double.NaN} if there are none
+     */
+    public double getChunkMax(final int dimIndex, final int chunk) {
+        return readStatistics(dimIndex, chunk, 1);
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param chunk chunk index
+     * @return the minimum of the (finite) values of the given chunk or {@code Double.NaN} if there are none
+     */
+    public double getChunkMin(final int dimIndex, final int chunk) {
+        return readStatistics(dimIndex, chunk, 0);
+    }
+
+    /**
+     * @return number of chunks, i.e. {@code ceil(dataCount / chunkSize)}
+     */
+    public int getChunkCount() {
+        return nChunks;
+    }
+
+    @Override
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return errorNegOffsets[dimIndex] == 0 ? 0.0 : read(errorNegOffsets[dimIndex], index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return errorPosOffsets[dimIndex] == 0 ? 0.0 : read(errorPosOffsets[dimIndex], index);
+    }
+
+    @Override
+    public int getIndex(final int dimIndex, final double... x) {
+        AssertUtils.checkArrayDimension("x", x, 1);
+        if (dataCount == 0 || !Double.isFinite(x[0])) {
+            return 0;
+        }
+        final int lastIndex = dataCount - 1;
+        if (x[0] <= get(dimIndex, 0)) {
+            return 0;
+        }
+        if (x[0] >= get(dimIndex, lastIndex)) {
+            return lastIndex;
+        }
+
+        // first chunk containing values >= x -> the closest sample is in this chunk or the last one of the previous
+        int lower = 0;
+        int upper = nChunks - 1;
+        while (lower < upper) {
+            final int middle = (lower + upper) >>> 1;
+            if (getChunkMax(dimIndex, middle) < x[0]) {
+                lower = middle + 1;
+            } else {
+                upper = middle;
+            }
+        }
+        final int indexMin = Math.max(0, lower * chunkSize - 1);
+        final int indexMax = (int) Math.min(lastIndex, (long) (lower + 1) * chunkSize);
+        return binarySearch(x[0], indexMin, indexMax, index -> get(dimIndex, index));
+    }
+
+    /**
+     * @return true if the samples are stored in float32 precision
+     */
+    public boolean isFloat32() {
+        return float32;
+    }
+
+    /**
+     * N.B. the mapped data set is read-only
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public DataSet set(final DataSet other, final boolean copy) {
+        throw new UnsupportedOperationException("MappedDataSet is read-only");
+    }
+
+    @Override
+    protected void scanLimits(final int dimIndex, final LimitTracker range) {
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            range.add(readStatistics(dimIndex, chunk, 2), readStatistics(dimIndex, chunk, 3));
+        }
+    }
+
+    private double read(final long columnOffset, final int index) {
+        final long position = columnOffset + ((long) index << elementShift);
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        return float32 ? segment.getFloat(offset) : segment.getDouble(offset);
+    }
+
+    private double readStatistics(final int dimIndex, final int chunk, final int stat) {
+        final long position = statsOffset + (((long) dimIndex * nChunks + chunk) * N_STATS + stat) * Double.BYTES;
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getDouble((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Opens a file written by {@link #write(DataSet, Path, boolean, int)}. Only the header is parsed, the file is mapped
+     * read-only and its content paged in on demand.
+     *
+     * @param path file to be opened
+     * @return the read-only data set view of the file
+     * @throws IOException in case the file cannot be read or is not a valid (or a newer) container format
+     */
+    public static MappedDataSet open(final Path path) throws IOException {
+        AssertUtils.notNull("path", path);
+        final ByteBuffer[] segments;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // N.B. the mappings remain valid after the channel has been closed
+            final long size = channel.size();
+            segments = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_MASK + 1, size - position)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (segments.length == 0) {
+                throw new IOException("empty file: " + path);
+            }
+            final Header header = Header.read(segments[0].duplicate().order(ByteOrder.LITTLE_ENDIAN), path);
+            final long statsLength = (long) header.dimension * getChunkCount(header.dataCount, header.chunkSize) * N_STATS * Double.BYTES;
+            if (statsLength > 0 && header.statsOffset + statsLength > size) {
+                throw new IOException("truncated file: " + path);
+            }
+            return new MappedDataSet(header.name, header.dimension, header.errorTypes, segments, header);
+        }
+    }
+
+    /**
+     * Writes the data set using the default chunk size and the precision chosen by
+     * {@link DataSetUtils#useFloat32BinaryStandard()}.
+     *
+     * @param dataSet data set to be written
+     * @param path destination file (overwritten if existing)
+     * @throws IOException in case the file cannot be written
+     * @see #write(DataSet, Path, boolean, int)
+     */
+    public static void write(final DataSet dataSet, final Path path) throws IOException {
+        write(dataSet, path, DataSetUtils.useFloat32BinaryStandard(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Writes the data set (values and, for {@link DataSetError}s, the errors) into the binary container format read by
+     * {@link #open(Path)}. The data set is streamed chunk-wise, i.e. the required heap is independent of its size.
+     *
+     * @param dataSet data set to be written (is read-locked while writing)
+     * @param path destination file (overwritten if existing)
+     * @param useFloat32 true: store samples as float32, false: as float64
+     * @param chunkSize number of samples per chunk of which the min/max statistics are stored
+     * @throws IOException in case the file cannot be written
+     */
+    public static void write(final DataSet dataSet, final Path path, final boolean useFloat32, final int chunkSize) throws IOException {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("path", path);
+        AssertUtils.gtThanZero("chunkSize", chunkSize);
+        dataSet.lock().readLock();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final Header header = Header.of(dataSet, useFloat32, chunkSize);
+            writeFully(channel, header.write());
+
+            final ByteBuffer buffer = ByteBuffer.allocate(chunkSize << (useFloat32 ? 2 : 3)).order(ByteOrder.LITTLE_ENDIAN);
+            final double[] statistics = new double[getChunkCount(header.dataCount, chunkSize) * N_STATS];
+            final double[][] allStatistics = new double[header.dimension][];
+            final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+            for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                final int dim = dimIndex;
+                writeColumn(channel, buffer, header, header.valueOffsets[dim], index -> dataSet.get(dim, index));
+                if (header.errorNegOffsets[dim] != 0) {
+                    writeColumn(channel, buffer, header, header.errorNegOffsets[dim], index -> errorDataSet.getErrorNegative(dim, index));
+                    writeColumn(channel, buffer, header, header.errorPosOffsets[dim], index -> errorDataSet.getErrorPositive(dim, index));
+                }
+                computeStatistics(dataSet, dim, header.errorTypes[dim], useFloat32, chunkSize, statistics);
+                allStatistics[dim] = statistics.clone();
+            }
+
+            channel.position(header.statsOffset);
+            final ByteBuffer statsBuffer = ByteBuffer.allocate(statistics.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (final double[] dimStatistics : allStatistics) {
+                statsBuffer.clear();
+                statsBuffer.asDoubleBuffer().put(dimStatistics);
+                writeFully(channel, statsBuffer);
+            }
+        } finally {
+            dataSet.lock().readUnLock();
+        }
+    }
+
+    private static void computeStatistics(final DataSet dataSet, final int dimIndex, final ErrorType errorType, final boolean float32, final int chunkSize, final double[] statistics) {
+        final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+        final LimitTracker values = new LimitTracker();
+        final LimitTracker limits = new LimitTracker();
+        final int dataCount = dataSet.getDataCount();
+        for (int chunk = 0; chunk * (long) chunkSize < dataCount; chunk++) {
+            values.clear();
+            limits.clear();
+            final int end = (int) Math.min(dataCount, (long) (chunk + 1) * chunkSize);
+            for (int index = chunk * chunkSize; index < end; index++) {
+                // N.B. statistics of the stored (possibly float32-rounded) samples
+                final double value = stored(dataSet.get(dimIndex, index), float32);
+                values.add(value);
+                if (errorDataSet == null || errorType == ErrorType.NO_ERROR) {
+                    limits.add(value);
+                } else if (errorType == ErrorType.ASYMMETRIC) {
+                    limits.add(value - stored(errorDataSet.getErrorNegative(dimIndex, index), float32), value + stored(errorDataSet.getErrorPositive(dimIndex, index), float32));
+                } else {
+                    final double error = stored(errorDataSet.getErrorPositive(dimIndex, index), float32);
+                    limits.add(value - error, value + error);
+                }
+            }
+            statistics[chunk * N_STATS] = values.getMin();
+            statistics[chunk * N_STATS + 1] = values.getMax();
+            statistics[chunk * N_STATS + 2] = limits.getMin();
+            statistics[chunk * N_STATS + 3] = limits.getMax();
+        }
+    }
+
+    private static double stored(final double value, final boolean float32) {
+        return float32 ? (float) value : value;
+    }
+
+    private static int getChunkCount(final int dataCount, final int chunkSize) {
+        return (int) ((dataCount + (long) chunkSize - 1) / chunkSize);
+    }
+
+    private static void writeColumn(final FileChannel channel, final ByteBuffer buffer, final Header header, final long offset, final IntToDoubleFunction getter) throws IOException {
+        channel.position(offset);
+        final int dataCount = header.dataCount;
+        for (int start = 0; start < dataCount; start += header.chunkSize) {
+            final int end = (int) Math.min(dataCount, (long) start + header.chunkSize);
+            buffer.clear();
+            for (int index = start; index < end; index++) {
+                if (header.float32) {
+                    buffer.putFloat((float) getter.applyAsDouble(index));
+                } else {
+                    buffer.putDouble(getter.applyAsDouble(index));
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long align(final long offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * fixed-layout header followed by the (variable-length) names and column offsets
+     */
+    private static final class Header {
+        private String name;
+        private int dimension;
+        private int dataCount;
+        private int chunkSize;
+        private boolean float32;
+        private long statsOffset;
+        private String[] axisNames;
+        private String[] axisUnits;
+        private ErrorType[] errorTypes;
+        private long[] valueOffsets;
+        private long[] errorNegOffsets;
+        private long[] errorPosOffsets;
+
+        private static Header of(final DataSet dataSet, final boolean float32, final int chunkSize) {
+            final Header header = new Header();
+            header.name = dataSet.getName() == null ? "" : dataSet.getName();
+            header.dimension = dataSet.getDimension();
+            header.dataCount = dataSet.getDataCount();
+            header.chunkSize = chunkSize;
+            header.float32 = float32;
+            header.axisNames = new String[header.dimension];
+            header.axisUnits = new String[header.dimension];
+            header.errorTypes = new ErrorType[header.dimension];
+            header.valueOffsets = new long[header.dimension];
+            header.errorNegOffsets = new long[header.dimension];
+            header.errorPosOffsets = new long[header.dimension];
+            for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                final AxisDescription axisDescription = dataSet.getAxisDescription(dimIndex);
+                header.axisNames[dimIndex] = axisDescription.getName() == null ? "" : axisDescription.getName();
+                header.axisUnits[dimIndex] = axisDescription.getUnit() == null ? "" : axisDescription.getUnit();
+                header.errorTypes[dimIndex] = dataSet instanceof DataSetError ? ((DataSetError) dataSet).getErrorType(dimIndex) : ErrorType.NO_ERROR;
+            }
+
+            final long columnLength = align((long) header.dataCount << (float32 ? 2 : 3));
+            long offset = align(header.write().limit());
+            for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                header.valueOffsets[dimIndex] = offset;
+                offset += columnLength;
+                if (header.errorTypes[dimIndex] != ErrorType.NO_ERROR) {
+                    header.errorNegOffsets[dimIndex] = offset;
+                    header.errorPosOffsets[dimIndex] = offset + columnLength;
+                    offset += 2 * columnLength;
+                }
+            }
+            header.statsOffset = offset;
+            return header;
+        }
+
+        private static Header read(final ByteBuffer buffer, final Path path) throws IOException {
+            try {
+                if (buffer.getLong() != MAGIC) {
+                    throw new IOException("not a MappedDataSet file: " + path);
+                }
+                final int version = buffer.getInt();
+                if (version > VERSION) {
+                    throw new IOException("unsupported format version " + version + " of file: " + path);
+                }
+                final Header header = new Header();
+                header.dataCount = buffer.getInt();
+                header.dimension = buffer.getInt();
+                header.chunkSize = buffer.getInt();
+                header.float32 = (buffer.getInt() & FLAG_FLOAT32) != 0;
+                header.statsOffset = buffer.getLong();
+                if (header.dataCount < 0 || header.dimension <= 0 || header.chunkSize <= 0) {
+                    throw new IOException("corrupt header of file: " + path);
+                }
+                header.name = readString(buffer);
+                header.axisNames = new String[header.dimension];
+                header.axisUnits = new String[header.dimension];
+                header.errorTypes = new ErrorType[header.dimension];
+                header.valueOffsets = new long[header.dimension];
+                header.errorNegOffsets = new long[header.dimension];
+                header.errorPosOffsets = new long[header.dimension];
+                for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                    header.axisNames[dimIndex] = readString(buffer);
+                    header.axisUnits[dimIndex] = readString(buffer);
+                    header.errorTypes[dimIndex] = ErrorType.values()[buffer.getInt()];
+                    header.valueOffsets[dimIndex] = buffer.getLong();
+                    header.errorNegOffsets[dimIndex] = buffer.getLong();
+                    header.errorPosOffsets[dimIndex] = buffer.getLong();
+                }
+                return header;
+            } catch (final RuntimeException e) { // NOPMD - buffer under-flows and invalid enum ordinals
+                throw new IOException("corrupt header of file: " + path, e);
+            }
+        }
+
+        private ByteBuffer write() {
+            final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            int length = FIXED_HEADER_LENGTH + Integer.BYTES + nameBytes.length;
+            for (int dimIndex = 0; dimIndex < dimension; dimIndex++) {
+                length += 2 * Integer.BYTES + axisNames[dimIndex].getBytes(StandardCharsets.UTF_8).length + axisUnits[dimIndex].getBytes(StandardCharsets.UTF_8).length;
+                length += Integer.BYTES + 3 * Long.BYTES;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putLong(MAGIC).putInt(VERSION).putInt(dataCount).putInt(dimension).putInt(chunkSize);
+            buffer.putInt(float32 ? FLAG_FLOAT32 : 0).putLong(statsOffset);
+            putString(buffer, nameBytes);
+            for (int dimIndex = 0; dimIndex < dimension; dimIndex++) {
+                putString(buffer, axisNames[dimIndex].getBytes(StandardCharsets.UTF_8));
+                putString(buffer, axisUnits[dimIndex].getBytes(StandardCharsets.UTF_8));
+                buffer.putInt(errorTypes[dimIndex].ordinal());
+                buffer.putLong(valueOffsets[dimIndex]).putLong(errorNegOffsets[dimIndex]).putLong(errorPosOffsets[dimIndex]);
+            }
+            return buffer.flip();
+        }
+
+        private static void putString(final ByteBuffer buffer, final byte[] bytes) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        private static String readString(final ByteBuffer buffer) {
+            final byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
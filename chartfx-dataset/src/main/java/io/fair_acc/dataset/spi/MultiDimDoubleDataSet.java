@@ -1,6 +1,5 @@
 package io.fair_acc.dataset.spi;
 
-import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.EditableDataSet;
 import io.fair_acc.dataset.events.ChartBits;
@@ -21,6 +20,7 @@ import io.fair_acc.dataset.utils.AssertUtils;
 public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet> implements EditableDataSet {
     private static final long serialVersionUID = -493232313124620828L;
     protected DoubleArrayList[] values; // way faster than java default lists
+    private final transient LimitTracker[] limitTrackers;
 
     /**
      * Creates a new instance of <code>DefaultDataSet</code>.
@@ -78,6 +78,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             }
             this.getAxisDescription(i).add(values[i]);
         }
+        invalidateLimitTrackers();
     }
 
     /**
@@ -93,9 +94,14 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
         AssertUtils.gtThanZero("nDims", nDims);
         AssertUtils.gtEqThanZero("initialSize", initialSize);
         values = new DoubleArrayList[nDims];
+        limitTrackers = new LimitTracker[nDims];
         for (int i = 0; i < nDims; i++) {
             values[i] = new DoubleArrayList(initialSize);
             values[i].size(initialSize);
+            limitTrackers[i] = new LimitTracker();
+        }
+        if (initialSize > 0) {
+            invalidateLimitTrackers(); // zero-initialised data points
         }
     }
 
@@ -121,6 +127,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             for (int i = 0; i < this.values.length; i++) {
                 this.values[i].add(newValues[i]);
                 getAxisDescription(i).add(newValues[i]);
+                limitTrackers[i].add(newValues[i]);
             }
             if ((label != null)) {
                 addDataLabel(this.values[0].size() - 1, label);
@@ -147,6 +154,9 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             for (int i = 0; i < this.values.length; i++) {
                 this.values[i].addElements(values[i].size(), valuesNew[i], 0, nPoints);
                 getAxisDescription(i).add(valuesNew[i]);
+                for (int j = 0; j < nPoints; j++) {
+                    limitTrackers[i].add(valuesNew[i][j]);
+                }
             }
         });
 
@@ -184,6 +194,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             for (int i = 0; i < this.values.length; i++) {
                 this.values[i].add(indexAt, newValues[i]);
                 getAxisDescription(i).add(newValues[i]);
+                limitTrackers[i].add(newValues[i]);
             }
             getDataLabelMap().addValueAndShiftKeys(indexAt, this.values[0].size(), label);
             getDataStyleMap().shiftKeys(indexAt, this.values[0].size());
@@ -212,6 +223,9 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             for (int i = 0; i < this.values.length; i++) {
                 this.values[i].addElements(indexAt, newValues[i], 0, nPointsFinal);
                 getAxisDescription(DIM_X).add(newValues[i], nPointsFinal);
+                for (int j = 0; j < nPointsFinal; j++) {
+                    limitTrackers[i].add(newValues[i][j]);
+                }
             }
             getDataLabelMap().shiftKeys(indexAt, this.values[0].size());
             getDataStyleMap().shiftKeys(indexAt, this.values[0].size());
@@ -234,7 +248,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             getDataStyleMap().clear();
             clearMetaInfo();
 
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetDataRemoved);
         return getThis();
@@ -261,6 +275,11 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
         return values[dimIndex].elements();
     }
 
+    @Override
+    protected LimitTracker getLimitTracker(final int dimIndex) {
+        return limitTrackers[dimIndex];
+    }
+
     /**
      * @param amount storage capacity increase
      * @return itself (fluent design)
@@ -308,7 +327,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
 
             // invalidate ranges
             // -> fireInvalidated calls computeLimits for autoNotification
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetDataRemoved);
         return getThis();
@@ -372,7 +391,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             }
             setStyle(other.getStyle());
         }));
-        fireInvalidated(ChartBits.DataSetData);
+        fireInvalidatedKeepingLimits(ChartBits.DataSetData); // limits have been recomputed above
         return getThis();
     }
 
@@ -439,7 +458,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             }
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -469,7 +488,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
             }
 
             // invalidate ranges
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -495,7 +514,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
 
             // invalidate ranges
             // -> fireInvalidated calls computeLimits for autoNotification
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
@@ -520,7 +539,7 @@ public class MultiDimDoubleDataSet extends AbstractDataSet<MultiDimDoubleDataSet
 
             // invalidate ranges
             // -> fireInvalidated calls computeLimits for autoNotification
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            invalidateLimits();
         });
         fireInvalidated(ChartBits.DataSetData);
         return getThis();
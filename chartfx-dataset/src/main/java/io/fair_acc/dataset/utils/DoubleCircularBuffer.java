@@ -10,6 +10,7 @@ public class DoubleCircularBuffer {
     private final int capacity;
     private int writePos; // buffer has once being fully written
     private boolean flipped;
+    private long writeCount; // total number of written elements since construction or last reset
 
     /**
      *
@@ -87,12 +88,22 @@ public class DoubleCircularBuffer {
      */
     public double[] get(final double[] into, final int readPos, final int length) {
         final double[] retVal = into == null || into.length < length ? new double[length] : into;
-        // N.B. actually there seem to be no numerically more efficient
-        // implementation
-        // since the order of the indices for 'into' need to be reverse order
-        // w.r.t. 'elements'
-        for (int i = 0; i < length; i++) {
-            retVal[i] = get(i + readPos);
+        if (length <= 0) {
+            return retVal;
+        }
+        final int start = getIndex(readPos);
+        if (!flipped) {
+            System.arraycopy(elements, start, retVal, 0, length);
+            return retVal;
+        }
+        // copy contiguous sections of the ring (i.e. two unless wrapping around more than once)
+        int copied = 0;
+        int index = start;
+        while (copied < length) {
+            final int section = Math.min(length - copied, capacity - index);
+            System.arraycopy(elements, index, retVal, copied, section);
+            copied += section;
+            index = 0;
         }
 
         return retVal;
@@ -146,6 +157,7 @@ public class DoubleCircularBuffer {
      */
     public boolean put(final double element) {
         elements[writePos++] = element;
+        writeCount++;
         if (writePos == capacity) {
             writePos = 0;
             flipped = true;
@@ -179,6 +191,7 @@ public class DoubleCircularBuffer {
         // 2) from 0 to readPos
         final int lengthUpperHalf = capacity - writePos;
         if (length <= lengthUpperHalf) {
+            writeCount += length;
             // new elements fit into top half of elements array - copy directly
             System.arraycopy(newElements, startIndex, elements, writePos, length);
             writePos += length;
@@ -192,6 +205,7 @@ public class DoubleCircularBuffer {
 
         // length > lengthUpperHalf
         System.arraycopy(newElements, startIndex, elements, writePos, lengthUpperHalf);
+        writeCount += lengthUpperHalf;
         writePos = capacity - 1;
         writePos += lengthUpperHalf;
         if (writePos >= capacity) {
@@ -237,6 +251,17 @@ public class DoubleCircularBuffer {
     public void reset() {
         writePos = 0;
         flipped = false;
+        writeCount = 0;
+    }
+
+    /**
+     * The write count allows consumers to determine how many elements have been added since they last read the buffer,
+     * e.g. {@code buffer.writeCount() - lastWriteCount} (N.B. only the last {@link #available()} of these are retained).
+     *
+     * @return total number of elements written since construction or the last {@link #reset()}
+     */
+    public long writeCount() {
+        return writeCount;
     }
 
     /**
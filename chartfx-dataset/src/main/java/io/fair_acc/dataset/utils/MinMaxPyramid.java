@@ -0,0 +1,342 @@
+package io.fair_acc.dataset.utils;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.StateListener;
+
+/**
+ * Min/max-preserving multi-resolution ('level-of-detail') index pyramid of a data set as used for M4-type point
+ * reductions, i.e. keeping the first, minimum, maximum and last sample of each bucket.
+ * <p>
+ * Level 0 partitions the samples into buckets of {@code baseBucketSize} samples, each following level merges two
+ * adjacent buckets of the previous one. Each bucket stores the indices (and values) of its minimum and maximum sample
+ * so that a visible index range can be reduced to O(range/bucketSize) samples without touching the raw data. The
+ * pyramid is built once (O(n)) and afterwards extended incrementally when samples are appended. Any other modification
+ * (removal, permutation, in-place update) triggers a full rebuild on the next {@link #update(DataSet)}. The pyramid may
+ * also be updated from consistent copies of the source data set (e.g. {@link io.fair_acc.dataset.SnapshotDataSet
+ * snapshots}), in which case it stays attached to (and is invalidated by) the source rather than the rotating copies.
+ * <p>
+ * N.B. not thread-safe: intended to be updated and queried by a single consumer (typically the rendering thread)
+ * while the data set is read-locked.
+ */
+public class MinMaxPyramid {
+    public static final int DEFAULT_BASE_BUCKET_SIZE = 16;
+    private static final int MAX_LEVELS = 31;
+    private static final int INVALIDATING_BITS = BitState.mask(ChartBits.DataSetDataRemoved, ChartBits.DataSetPermutation);
+    private final int dimIndex;
+    private final int baseBucketSize;
+    private final int[][] minIndex = new int[MAX_LEVELS][];
+    private final int[][] maxIndex = new int[MAX_LEVELS][];
+    private final double[][] minValue = new double[MAX_LEVELS][];
+    private final double[][] maxValue = new double[MAX_LEVELS][];
+    private final int[] bucketCount = new int[MAX_LEVELS];
+    private final StateListener invalidationListener = (src, bits) -> {
+        if ((bits & INVALIDATING_BITS) != 0) {
+            invalidate();
+        }
+    };
+    private final WeakReference<DataSet> dataSetReference; // N.B. weak: pyramids may be cached in weak-key maps
+    private final AtomicInteger invalidationCount = new AtomicInteger(); // incremented by data set events
+    private int handledInvalidationCount = -1; // -1: never built
+    private int observedInvalidationCount; // as of the previous update
+    private int rebuildCount;
+    private int nLevels;
+    private int dataCount; // number of samples covered by complete level 0 buckets
+    private double firstX;
+    private double firstValue;
+    private double lastX;
+    private double lastValue;
+
+    /**
+     * @param dataSet the source data set (invalidates the pyramid on data removals and permutations)
+     * @param dimIndex dimension whose minimum and maximum shall be preserved (usually {@code DIM_Y})
+     */
+    public MinMaxPyramid(final DataSet dataSet, final int dimIndex) {
+        this(dataSet, dimIndex, DEFAULT_BASE_BUCKET_SIZE);
+    }
+
+    /**
+     * @param dataSet the source data set (invalidates the pyramid on data removals and permutations)
+     * @param dimIndex dimension whose minimum and maximum shall be preserved (usually {@code DIM_Y})
+     * @param baseBucketSize number of samples per level 0 bucket (&ge; 2)
+     */
+    public MinMaxPyramid(final DataSet dataSet, final int dimIndex, final int baseBucketSize) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.indexInBounds(dimIndex, dataSet.getDimension(), "dimIndex");
+        AssertUtils.gtOrEqual("baseBucketSize", 2, baseBucketSize);
+        this.dimIndex = dimIndex;
+        this.baseBucketSize = baseBucketSize;
+        this.dataSetReference = new WeakReference<>(dataSet);
+        dataSet.getBitState().addInvalidateListener(invalidationListener);
+    }
+
+    /**
+     * removes the pyramid's invalidation listener from the source data set
+     */
+    public void detach() {
+        final DataSet dataSet = dataSetReference.get();
+        if (dataSet != null) {
+            dataSet.getBitState().removeInvalidateListener(invalidationListener);
+        }
+    }
+
+    /**
+     * Emits the indices of the M4-reduced samples in [indexMin, indexMax[ in ascending order. The range is decomposed
+     * into the coarsest buckets up to {@code maxLevel}; samples not (yet) covered by complete buckets are emitted as
+     * is.
+     *
+     * @param indexMin first index of the range (inclusive)
+     * @param indexMax last index of the range (exclusive)
+     * @param maxLevel coarsest level to be used (see {@link #getLevel(double)})
+     * @param consumer receives the reduced sample indices
+     */
+    public void forEachReducedIndex(final int indexMin, final int indexMax, final int maxLevel, final IntConsumer consumer) {
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        final int topLevel = Math.min(maxLevel, nLevels - 1);
+        int index = indexMin;
+        while (index < indexMax) {
+            int level = topLevel;
+            for (; level >= 0; level--) {
+                final int bucketSize = getBucketSize(level);
+                if (index % bucketSize == 0 && index <= indexMax - bucketSize && index / bucketSize < bucketCount[level]) {
+                    break;
+                }
+            }
+            if (level < 0) {
+                consumer.accept(index++);
+                continue;
+            }
+            final int bucket = index / getBucketSize(level);
+            final int last = index + getBucketSize(level) - 1;
+            final int lower = Math.min(minIndex[level][bucket], maxIndex[level][bucket]);
+            final int upper = Math.max(minIndex[level][bucket], maxIndex[level][bucket]);
+            consumer.accept(index);
+            if (lower > index) {
+                consumer.accept(lower);
+            }
+            if (upper > lower) {
+                consumer.accept(upper);
+            }
+            if (last > upper) {
+                consumer.accept(last);
+            }
+            index = last + 1;
+        }
+    }
+
+    /**
+     * @return number of samples per level 0 bucket
+     */
+    public int getBaseBucketSize() {
+        return baseBucketSize;
+    }
+
+    /**
+     * @param level pyramid level
+     * @return number of complete buckets in the given level
+     */
+    public int getBucketCount(final int level) {
+        return level < nLevels ? bucketCount[level] : 0;
+    }
+
+    /**
+     * @param level pyramid level
+     * @return number of samples per bucket in the given level
+     */
+    public int getBucketSize(final int level) {
+        return baseBucketSize << level;
+    }
+
+    /**
+     * @return number of full (O(n)) rebuilds, i.e. updates that could not be performed incrementally
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * @return the source data set the pyramid is attached to or {@code null} if it has been garbage collected
+     */
+    public DataSet getDataSet() {
+        return dataSetReference.get();
+    }
+
+    /**
+     * @return number of samples covered by the pyramid as of the last {@link #update(DataSet)}
+     */
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * @return dimension whose minimum and maximum are preserved
+     */
+    public int getDimIndex() {
+        return dimIndex;
+    }
+
+    /**
+     * @param samplesPerPixel number of samples that map onto one pixel
+     * @return the coarsest level whose buckets do not exceed the given number of samples, or {@code -1} if even
+     *         level 0 buckets are too coarse
+     */
+    public int getLevel(final double samplesPerPixel) {
+        int level = -1;
+        while (level + 1 < MAX_LEVELS && getBucketSize(level + 1) <= samplesPerPixel) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * @return number of levels
+     */
+    public int getLevelCount() {
+        return nLevels;
+    }
+
+    /**
+     * @param level pyramid level
+     * @param bucket bucket index within the level
+     * @return data set index of the bucket's maximum
+     */
+    public int getMaxIndex(final int level, final int bucket) {
+        AssertUtils.indexInBounds(bucket, getBucketCount(level), "bucket");
+        return maxIndex[level][bucket];
+    }
+
+    /**
+     * @param level pyramid level
+     * @param bucket bucket index within the level
+     * @return data set index of the bucket's minimum
+     */
+    public int getMinIndex(final int level, final int bucket) {
+        AssertUtils.indexInBounds(bucket, getBucketCount(level), "bucket");
+        return minIndex[level][bucket];
+    }
+
+    /**
+     * forces a full rebuild on the next {@link #update(DataSet)}
+     */
+    public void invalidate() {
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * Extends the pyramid by the samples appended since the last update or rebuilds it if the data set has been
+     * modified otherwise. N.B. the data set should be read-locked by the caller.
+     *
+     * @param dataSet the source data set or a consistent copy (snapshot) of it
+     * @return itself (fluent design)
+     */
+    public MinMaxPyramid update(final DataSet dataSet) {
+        final int nSamples = dataSet.getDataCount();
+        final int invalidations = invalidationCount.get();
+        final boolean rebuild = invalidations != handledInvalidationCount || nSamples < dataCount || !isAnchorUnchanged(dataSet);
+        // N.B. a copy may predate the modifications observed now -> these are handled only once the next copy is read
+        handledInvalidationCount = dataSet == dataSetReference.get() ? invalidations : observedInvalidationCount;
+        observedInvalidationCount = invalidations;
+        if (rebuild) {
+            rebuildCount++;
+            Arrays.fill(bucketCount, 0);
+            nLevels = 0;
+            dataCount = 0;
+        }
+
+        // level 0: scan raw samples of the newly completed buckets
+        final int nBuckets = nSamples / baseBucketSize;
+        if (nBuckets > bucketCount[0]) {
+            ensureCapacity(0, nBuckets);
+            for (int bucket = bucketCount[0]; bucket < nBuckets; bucket++) {
+                final int start = bucket * baseBucketSize;
+                int iMin = start;
+                int iMax = start;
+                double vMin = dataSet.get(dimIndex, start);
+                double vMax = vMin;
+                for (int index = start + 1; index < start + baseBucketSize; index++) {
+                    final double value = dataSet.get(dimIndex, index);
+                    if (value < vMin || Double.isNaN(vMin) && !Double.isNaN(value)) {
+                        vMin = value;
+                        iMin = index;
+                    }
+                    if (value > vMax || Double.isNaN(vMax) && !Double.isNaN(value)) {
+                        vMax = value;
+                        iMax = index;
+                    }
+                }
+                minIndex[0][bucket] = iMin;
+                maxIndex[0][bucket] = iMax;
+                minValue[0][bucket] = vMin;
+                maxValue[0][bucket] = vMax;
+            }
+            bucketCount[0] = nBuckets;
+        }
+
+        // higher levels: merge pairs of buckets of the previous level
+        nLevels = bucketCount[0] > 0 ? 1 : 0;
+        for (int level = 1; level < MAX_LEVELS && bucketCount[level - 1] >= 2; level++) {
+            final int nLevelBuckets = bucketCount[level - 1] / 2;
+            ensureCapacity(level, nLevelBuckets);
+            for (int bucket = bucketCount[level]; bucket < nLevelBuckets; bucket++) {
+                mergeBuckets(level, bucket);
+            }
+            bucketCount[level] = nLevelBuckets;
+            nLevels = level + 1;
+        }
+
+        dataCount = bucketCount[0] * baseBucketSize;
+        if (dataCount > 0) {
+            firstX = dataSet.get(DIM_X, 0);
+            firstValue = dataSet.get(dimIndex, 0);
+            lastX = dataSet.get(DIM_X, dataCount - 1);
+            lastValue = dataSet.get(dimIndex, dataCount - 1);
+        }
+        return this;
+    }
+
+    private void ensureCapacity(final int level, final int nBuckets) {
+        if (minIndex[level] != null && minIndex[level].length >= nBuckets) {
+            return;
+        }
+        final int capacity = Math.max(nBuckets, minIndex[level] == null ? 0 : minIndex[level].length + (minIndex[level].length >> 1));
+        minIndex[level] = minIndex[level] == null ? new int[capacity] : Arrays.copyOf(minIndex[level], capacity);
+        maxIndex[level] = maxIndex[level] == null ? new int[capacity] : Arrays.copyOf(maxIndex[level], capacity);
+        minValue[level] = minValue[level] == null ? new double[capacity] : Arrays.copyOf(minValue[level], capacity);
+        maxValue[level] = maxValue[level] == null ? new double[capacity] : Arrays.copyOf(maxValue[level], capacity);
+    }
+
+    private boolean isAnchorUnchanged(final DataSet dataSet) {
+        if (dataCount == 0) {
+            return true;
+        }
+        // N.B. detects e.g. circular buffers that shift their content on append
+        return Double.compare(firstX, dataSet.get(DIM_X, 0)) == 0 && Double.compare(firstValue, dataSet.get(dimIndex, 0)) == 0 //
+                && Double.compare(lastX, dataSet.get(DIM_X, dataCount - 1)) == 0 && Double.compare(lastValue, dataSet.get(dimIndex, dataCount - 1)) == 0;
+    }
+
+    private void mergeBuckets(final int level, final int bucket) {
+        final int left = 2 * bucket;
+        final int right = left + 1;
+        final int prev = level - 1;
+        // N.B. ties resolve to the earlier sample, NaN only if both buckets contain only NaNs
+        final double minLeft = minValue[prev][left];
+        final double minRight = minValue[prev][right];
+        final boolean useLeftMin = minLeft <= minRight || Double.isNaN(minRight);
+        minIndex[level][bucket] = useLeftMin ? minIndex[prev][left] : minIndex[prev][right];
+        minValue[level][bucket] = useLeftMin ? minLeft : minRight;
+
+        final double maxLeft = maxValue[prev][left];
+        final double maxRight = maxValue[prev][right];
+        final boolean useLeftMax = maxLeft >= maxRight || Double.isNaN(maxRight);
+        maxIndex[level][bucket] = useLeftMax ? maxIndex[prev][left] : maxIndex[prev][right];
+        maxValue[level][bucket] = useLeftMax ? maxLeft : maxRight;
+    }
+}
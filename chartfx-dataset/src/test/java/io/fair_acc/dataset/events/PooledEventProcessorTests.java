@@ -0,0 +1,233 @@
+package io.fair_acc.dataset.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.bench.TimeMeasure;
+
+/**
+ * Tests of the rate-limited, coalescing {@link PooledEventProcessor}
+ */
+class PooledEventProcessorTests {
+    private static final long PERIOD = TimeUnit.HOURS.toNanos(1);
+    private final List<PooledEventProcessor> processors = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    @AfterEach
+    void shutdownProcessors() {
+        processors.forEach(PooledEventProcessor::shutdown);
+    }
+
+    @Test
+    void testCoalescing() throws InterruptedException {
+        final PooledEventProcessor processor = newProcessor(2);
+        final BitState bitState = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger counter = new AtomicInteger();
+        processor.addAction(bitState, () -> {
+            started.countDown();
+            awaitLatch(release);
+            counter.incrementAndGet();
+        }, 0, TimeUnit.MILLISECONDS);
+
+        // burst of invalidations while the first execution is blocked -> exactly one follow-up execution
+        bitState.setDirty(ChartBits.DataSetData);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            bitState.clear();
+            bitState.setDirty(ChartBits.DataSetData);
+        }
+        release.countDown();
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 2 && processor.getQueueDepth() == 0);
+        assertEquals(99, processor.getCoalescedEventCount());
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> processor.getExecutionCount() == 2);
+    }
+
+    @Test
+    void testRateLimit() {
+        final PooledEventProcessor processor = newProcessor(1);
+        final BitState bitState = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final AtomicInteger counter = new AtomicInteger();
+        processor.addAction(bitState, counter::incrementAndGet, PERIOD, TimeUnit.NANOSECONDS);
+
+        // first execution is immediate
+        bitState.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 1 && processor.getQueueDepth() == 0);
+
+        // within the period -> delayed by the remaining period and coalesced
+        clock.addAndGet(PERIOD / 2);
+        bitState.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> processor.getQueueDepth() == 1);
+        bitState.clear();
+        bitState.setDirty(ChartBits.DataSetData);
+        assertEquals(1, processor.getQueueDepth());
+        assertEquals(1, processor.getCoalescedEventCount());
+        assertEquals(1, counter.get());
+
+        // removing the action discards the pending execution
+        assertTrue(processor.removeActions(bitState));
+        assertEquals(0, processor.getQueueDepth());
+
+        // beyond the period -> immediate
+        final BitState other = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(other, counter::incrementAndGet, PERIOD, TimeUnit.NANOSECONDS);
+        other.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 2 && processor.getQueueDepth() == 0);
+        clock.addAndGet(PERIOD);
+        other.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 3);
+
+        // un-throttled
+        processor.setMinUpdatePeriod(other, 0, TimeUnit.MILLISECONDS);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> processor.getQueueDepth() == 0 && other.isClean());
+        other.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 4);
+    }
+
+    @Test
+    void testChainOrderAndParallelism() {
+        final PooledEventProcessor processor = newProcessor(2);
+        assertEquals(2, processor.getNumberOfWorkers());
+
+        // actions of the same state are executed in order and never concurrently
+        final BitState chainState = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final List<String> log = new CopyOnWriteArrayList<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        processor.addAction(chainState, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            log.add("first");
+        });
+        processor.addAction(chainState, () -> {
+            log.add("second");
+            running.decrementAndGet();
+        });
+        for (int i = 0; i < 200; i++) {
+            chainState.setDirty(ChartBits.DataSetData);
+        }
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> chainState.isClean() && processor.getQueueDepth() == 0 && running.get() == 0);
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < log.size(); i += 2) {
+            assertEquals("first", log.get(i));
+            assertEquals("second", log.get(i + 1));
+        }
+
+        // independent states are executed in parallel (N.B. would dead-lock otherwise)
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final AtomicInteger passed = new AtomicInteger();
+        final Runnable action = () -> {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+                passed.incrementAndGet();
+            } catch (Exception e) { // NOPMD
+                throw new IllegalStateException(e);
+            }
+        };
+        final BitState state1 = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        final BitState state2 = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(state1, action);
+        processor.addAction(state2, action);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> passed.get() == 2);
+    }
+
+    @Test
+    void testRemoveActionAndShutdown() {
+        final PooledEventProcessor processor = newProcessor(1);
+        final BitState bitState = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final AtomicInteger counter1 = new AtomicInteger();
+        final AtomicInteger counter2 = new AtomicInteger();
+        final Runnable action1 = counter1::incrementAndGet;
+        final Runnable action2 = counter2::incrementAndGet;
+        processor.addAction(bitState, action1);
+        processor.addAction(bitState, action2);
+        assertEquals(2, processor.getActionCount(bitState));
+
+        assertFalse(processor.removeAction(bitState, counter1::incrementAndGet), "identity rather than equality");
+        assertTrue(processor.removeAction(bitState, action1));
+        assertEquals(1, processor.getActionCount(bitState));
+        bitState.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter2.get() == 1 && processor.getQueueDepth() == 0);
+        assertEquals(0, counter1.get());
+
+        // last action -> chain and state listener released
+        assertTrue(processor.removeAction(bitState, action2));
+        assertEquals(0, processor.getActionCount(bitState));
+        assertFalse(processor.removeAction(bitState, action2));
+        assertFalse(processor.removeActions(bitState));
+        bitState.clear();
+        bitState.setDirty(ChartBits.DataSetData);
+        assertEquals(0, processor.getQueueDepth());
+        assertEquals(1, counter2.get());
+
+        processor.addAction(bitState, action1);
+        processor.shutdown();
+        assertTrue(processor.isShutdown());
+        assertEquals(0, processor.getActionCount(bitState));
+        assertThrows(IllegalStateException.class, () -> processor.addAction(bitState, action1));
+    }
+
+    @Test
+    void testRecorderAndDefaults() {
+        assertSame(PooledEventProcessor.getInstance(), ThreadEventProcessor.getUserInstance());
+
+        final PooledEventProcessor processor = newProcessor(1);
+        final Set<String> tags = ConcurrentHashMap.newKeySet();
+        processor.setRecorder((tag, level) -> (TimeMeasure) (unit, time) -> tags.add(tag));
+        processor.setDefaultMinUpdatePeriod(10, TimeUnit.MILLISECONDS);
+        assertEquals(10, processor.getDefaultMinUpdatePeriod(TimeUnit.MILLISECONDS));
+        processor.setDefaultMinUpdatePeriod(0, TimeUnit.MILLISECONDS);
+
+        final BitState bitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        final AtomicInteger counter = new AtomicInteger();
+        processor.addAction(bitState, () -> {
+            counter.incrementAndGet();
+            throw new IllegalStateException("exceptions are logged and do not stop processing");
+        });
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 1 && processor.getQueueDepth() == 0);
+        bitState.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 2);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> tags.contains("eventProcessor-queueLatency") //
+                                                                    && tags.stream().anyMatch(tag -> tag.startsWith("eventProcessor-PooledEventProcessorTests#")));
+
+        assertThrows(IllegalArgumentException.class, () -> new PooledEventProcessor(0));
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(null, counter::incrementAndGet));
+        assertThrows(IllegalArgumentException.class, () -> processor.setMinUpdatePeriod(BitState.initClean(this), 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> processor.setDefaultMinUpdatePeriod(-1, TimeUnit.SECONDS));
+    }
+
+    private PooledEventProcessor newProcessor(final int nWorkers) {
+        final PooledEventProcessor processor = new PooledEventProcessor(nWorkers, clock::get);
+        processors.add(processor);
+        return processor;
+    }
+
+    private static void awaitLatch(final CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -383,4 +383,34 @@ public class DataSetLockTest {
             }
         }
     }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testOptimisticReadAndWriteUnLockAction() {
+        DefaultDataSet dataSet = new DefaultDataSet("test");
+        DefaultDataSetLock<DefaultDataSet> lock = new DefaultDataSetLock<>(dataSet);
+        final int[] actionCount = { 0 };
+        lock.setWriteUnLockAction(() -> actionCount[0]++);
+
+        assertEquals(0, lock.getModificationCount());
+        lock.writeLockGuard(() -> lock.writeLockGuard(() -> {
+            // nested write sections count only once
+        }));
+        assertEquals(1, lock.getModificationCount());
+        assertEquals(1, actionCount[0]);
+        assertEquals(0, lock.getWriterCount());
+
+        assertTrue(lock.tryReadOptimistic(() -> {}));
+        assertFalse(lock.tryReadOptimistic(() -> {
+            throw new IllegalStateException("torn read");
+        }));
+
+        assertFalse(lock.tryReadOptimistic(() -> lock.writeLockGuard(() -> {})), "writer interfered during read");
+        assertEquals(2, lock.getModificationCount());
+
+        lock.setWriteUnLockAction(null);
+        lock.writeLockGuard(() -> {});
+        assertEquals(2, actionCount[0]);
+        assertEquals(3, lock.getModificationCount());
+    }
 }
@@ -2,14 +2,18 @@ package io.fair_acc.dataset.spi;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
 
 /**
  * Checks for CircularDoubleDataSet interfaces and constructors.
@@ -179,4 +183,30 @@ class CircularDoubleErrorDataSetTests {
         assertEquals(min, axisDescription.getMin());
         assertEquals(max, axisDescription.getMax());
     }
+
+    @Test
+    void testSnapshotMode() {
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 5).setSnapshotMode(true);
+        for (int i = 0; i < 7; i++) {
+            dataSet.add(i, 2.0 * i, 0.1, 0.2, i == 5 ? "label5" : null, i == 6 ? "style6" : null);
+        }
+        final DataSet snapshot = dataSet.acquireSnapshot();
+        assertNotSame(dataSet, snapshot);
+        assertEquals(5, snapshot.getDataCount());
+        assertArrayEquals(new double[] { 2.0, 3.0, 4.0, 5.0, 6.0 }, snapshot.getValues(DataSet.DIM_X), "linearised copy");
+        assertArrayEquals(new double[] { 4.0, 6.0, 8.0, 10.0, 12.0 }, snapshot.getValues(DataSet.DIM_Y));
+        assertEquals(0.1, ((DataSetError) snapshot).getErrorNegative(DataSet.DIM_Y, 4));
+        assertEquals(0.2, ((DataSetError) snapshot).getErrorPositive(DataSet.DIM_Y, 4));
+        assertEquals("label5", snapshot.getDataLabel(3));
+        assertEquals("style6", snapshot.getStyle(4));
+        assertFalse(dataSet.isSnapshotOutdated());
+
+        dataSet.add(7.0, 14.0, 0.1, 0.2);
+        assertTrue(dataSet.isSnapshotOutdated());
+        assertEquals(2.0, snapshot.get(DataSet.DIM_X, 0), "pinned snapshot must not change");
+        dataSet.releaseSnapshot();
+
+        assertEquals(3.0, dataSet.acquireSnapshot().get(DataSet.DIM_X, 0));
+        dataSet.releaseSnapshot();
+    }
 }
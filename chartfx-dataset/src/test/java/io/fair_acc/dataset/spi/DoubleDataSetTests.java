@@ -248,4 +248,40 @@ public class DoubleDataSetTests extends EditableDataSetTests {
 
         assertEquals(dataSet1, dataSet3);
     }
+
+    @Test
+    public void snapshotModeTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test", testCoordinate[0], testCoordinate[1], n, true);
+        dataSet.addDataLabel(1, "label1");
+        assertFalse(dataSet.isSnapshotMode());
+        assertSame(dataSet, dataSet.acquireSnapshot(), "w/o snapshot mode the data set itself is rendered");
+        dataSet.releaseSnapshot();
+
+        dataSet.setSnapshotMode(true);
+        assertTrue(dataSet.isSnapshotMode());
+        final DataSet snapshot = dataSet.acquireSnapshot();
+        assertNotSame(dataSet, snapshot);
+        assertEquals(dataSet, snapshot);
+        assertEquals("label1", snapshot.getDataLabel(1));
+        assertFalse(dataSet.isSnapshotOutdated());
+
+        // writers modify the source while the snapshot is pinned
+        dataSet.add(4.0, 8.0);
+        assertTrue(dataSet.isSnapshotOutdated());
+        assertEquals(n, snapshot.getDataCount(), "pinned snapshot must not change");
+        assertSame(snapshot, dataSet.acquireSnapshot(), "nested acquisition returns the pinned snapshot");
+        dataSet.releaseSnapshot();
+        dataSet.releaseSnapshot();
+
+        final DataSet updated = dataSet.acquireSnapshot();
+        assertEquals(n + 1, updated.getDataCount());
+        assertEquals(8.0, updated.get(DataSet.DIM_Y, n));
+        assertFalse(dataSet.isSnapshotOutdated());
+        dataSet.releaseSnapshot();
+        assertThrows(IllegalStateException.class, dataSet::releaseSnapshot);
+
+        dataSet.setSnapshotMode(false);
+        assertFalse(dataSet.isSnapshotMode());
+        assertSame(dataSet, dataSet.acquireSnapshot());
+    }
 }
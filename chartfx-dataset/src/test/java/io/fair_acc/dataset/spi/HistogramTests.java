@@ -9,11 +9,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
 import static io.fair_acc.dataset.Histogram.Boundary.LOWER;
 import static io.fair_acc.dataset.Histogram.Boundary.UPPER;
 import static io.fair_acc.dataset.spi.AbstractHistogram.HistogramOuterBounds.BINS_ALIGNED_WITH_BOUNDARY;
 import static io.fair_acc.dataset.spi.AbstractHistogram.HistogramOuterBounds.BINS_CENTERED_ON_BOUNDARY;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -290,4 +299,196 @@ class HistogramTests {
         assertEquals(0.0, dataSet.getAxisDescription(DIM_Y).getMin());
         assertEquals(6.0, dataSet.getAxisDescription(DIM_Y).getMax());
     }
+
+    @Test
+    void testBulkFill() {
+        final Random rnd = new Random(42);
+        final int nSamples = 10_000;
+        final double[] x = new double[nSamples];
+        final double[] w = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = rnd.nextGaussian() * N_BINS / 4.0 + N_BINS / 2.0; // N.B. includes under- and overflows
+            w[i] = rnd.nextDouble();
+        }
+        x[0] = Double.NaN;
+        x[1] = N_BINS; // upper edge -> overflow bin
+        x[2] = 0.0; // lower edge -> first bin
+
+        for (final boolean horizontal : new boolean[] { true, false }) {
+            final Histogram reference = new Histogram("reference", N_BINS, 0.0, N_BINS, horizontal, BINS_ALIGNED_WITH_BOUNDARY);
+            final Histogram histogram = new Histogram("bulk", N_BINS, 0.0, N_BINS, horizontal, BINS_ALIGNED_WITH_BOUNDARY);
+            for (int i = 0; i < nSamples; i++) {
+                reference.fill(x[i], w[i]);
+            }
+            histogram.fill(x, w, nSamples);
+            assertHistogramEquals(reference, histogram);
+            final int valueDim = horizontal ? DIM_Y : DIM_X;
+            assertEquals(reference.getAxisDescription(valueDim).getMin(), histogram.getAxisDescription(valueDim).getMin());
+            assertEquals(reference.getAxisDescription(valueDim).getMax(), histogram.getAxisDescription(valueDim).getMax());
+
+            // unit weights
+            reference.reset();
+            histogram.reset();
+            for (int i = 0; i < nSamples; i++) {
+                reference.fill(x[i]);
+            }
+            histogram.fill(x, null, nSamples);
+            assertHistogramEquals(reference, histogram);
+        }
+
+        final Histogram histogram = new Histogram("bulk", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        assertThrows(IllegalArgumentException.class, () -> histogram.fill(x, w, nSamples + 1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.fill(x, new double[1], 2));
+        assertThrows(IllegalArgumentException.class, () -> histogram.fill(x, w, -1));
+        assertDoesNotThrow(() -> histogram.fill(x, w, 0));
+    }
+
+    @Test
+    void testFillNStride() {
+        final Histogram histogram = new Histogram("stride", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        histogram.fillN(new double[] { 0.5, 1.5, 2.5, 3.5, 4.5 }, new double[] { 1.0, 2.0, 3.0, 4.0, 5.0 }, 2);
+        assertEquals(1.0, histogram.getBinContent(1));
+        assertEquals(0.0, histogram.getBinContent(2));
+        assertEquals(3.0, histogram.getBinContent(3));
+        assertEquals(0.0, histogram.getBinContent(4));
+        assertEquals(5.0, histogram.getBinContent(5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.fillN(new double[1], new double[1], 0));
+    }
+
+    @Test
+    void testNonEquidistantBinSearch() {
+        final Random rnd = new Random(42);
+        final double[] bins = new double[200];
+        for (int i = 1; i < bins.length; i++) {
+            bins[i] = bins[i - 1] + 0.01 + rnd.nextDouble();
+        }
+        final Histogram histogram = new Histogram("nonEquidistant", bins);
+        for (int i = 0; i < 10_000; i++) {
+            final double value = (rnd.nextDouble() * 1.2 - 0.1) * bins[bins.length - 1];
+            assertEquals(linearSearch(histogram.axisBins[DIM_X], value), histogram.findNextLargerIndex(histogram.axisBins[DIM_X], value), "value = " + value);
+        }
+        for (final double boundary : bins) {
+            assertEquals(linearSearch(histogram.axisBins[DIM_X], boundary), histogram.findNextLargerIndex(histogram.axisBins[DIM_X], boundary), "boundary = " + boundary);
+        }
+        for (int i = 1; i < bins.length; i++) {
+            assertEquals(i, histogram.findBin(DIM_X, bins[i - 1]));
+            assertEquals(i, histogram.findBin(DIM_X, 0.5 * (bins[i - 1] + bins[i])));
+        }
+        assertEquals(0, histogram.findBin(DIM_X, -1.0));
+        assertEquals(bins.length, histogram.findBin(DIM_X, bins[bins.length - 1]));
+    }
+
+    @Test
+    void testEquidistantBinLookup() {
+        final Histogram histogram = new Histogram("equidistant", 7, -0.3, 1.1, BINS_ALIGNED_WITH_BOUNDARY);
+        final double[] bins = histogram.axisBins[DIM_X];
+        for (int i = 1; i < bins.length; i++) {
+            assertEquals(linearSearch(bins, bins[i]), histogram.findBin(DIM_X, bins[i]), "boundary " + i);
+            assertEquals(linearSearch(bins, Math.nextDown(bins[i])), histogram.findBin(DIM_X, Math.nextDown(bins[i])), "below boundary " + i);
+        }
+        final Random rnd = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final double value = -0.3 + 1.4 * rnd.nextDouble();
+            assertEquals(linearSearch(bins, value), histogram.findBin(DIM_X, value), "value = " + value);
+        }
+    }
+
+    @Test
+    void testConcurrentFill() throws InterruptedException, ExecutionException {
+        final int nThreads = 4;
+        final int nBatches = 50;
+        final int batchSize = 1000;
+        final Histogram reference = new Histogram("reference", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        final Histogram histogram = new Histogram("concurrent", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        final Histogram2 histogram2 = new Histogram2("concurrent2", N_BINS, 0.0, N_BINS, N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        final Histogram2 reference2 = new Histogram2("reference2", N_BINS, 0.0, N_BINS, N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        assertFalse(histogram.isSnapshotMode());
+        histogram.setSnapshotMode(true);
+        histogram2.setConcurrentStripes(3);
+        assertTrue(histogram.isSnapshotMode());
+        assertTrue(histogram2.isSnapshotMode());
+        assertFalse(histogram.isSnapshotOutdated());
+
+        final double[][] values = new double[nThreads * nBatches][batchSize];
+        final Random rnd = new Random(42);
+        for (final double[] batch : values) {
+            for (int i = 0; i < batchSize; i++) {
+                batch[i] = rnd.nextDouble() * (N_BINS + 2) - 1.0;
+            }
+            reference.fill(batch, null, batchSize);
+            reference2.fill(batch, batch, null, batchSize);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < nThreads; thread++) {
+                final int offset = thread * nBatches;
+                results.add(executor.submit(() -> {
+                    for (int batch = 0; batch < nBatches; batch++) {
+                        histogram.fill(values[offset + batch], null, batchSize);
+                        histogram2.fill(values[offset + batch], values[offset + batch], null, batchSize);
+                        if (batch % 10 == 0) {
+                            histogram.acquireSnapshot(); // concurrent merges
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(histogram2.isSnapshotOutdated());
+        assertEquals(histogram, histogram.acquireSnapshot());
+        assertEquals(histogram2, histogram2.acquireSnapshot());
+        assertFalse(histogram.isSnapshotOutdated());
+        assertFalse(histogram2.isSnapshotOutdated());
+        histogram.releaseSnapshot();
+        assertHistogramEquals(reference, histogram);
+        assertEquals(reference.getAxisDescription(DIM_Y).getMax(), histogram.getAxisDescription(DIM_Y).getMax());
+        for (int bin = 0; bin < reference2.data.length; bin++) {
+            assertEquals(reference2.getBinContent(bin), histogram2.getBinContent(bin), "bin " + bin);
+        }
+        assertEquals(reference2.getAxisDescription(DIM_Z).getMax(), histogram2.getAxisDescription(DIM_Z).getMax());
+        for (int bin = 0; bin < N_BINS + 2; bin++) {
+            assertEquals(reference2.getProjectionX().getBinContent(bin), histogram2.getProjectionX().getBinContent(bin), "x-projection bin " + bin);
+            assertEquals(reference2.getProjectionY().getBinContent(bin), histogram2.getProjectionY().getBinContent(bin), "y-projection bin " + bin);
+        }
+
+        // single entries are also accumulated in the stripes
+        histogram.fill(0.5, 2.0);
+        assertTrue(histogram.isSnapshotOutdated());
+        assertEquals(reference.getBinContent(1), histogram.getBinContent(1));
+        histogram.setSnapshotMode(false); // merges outstanding entries
+        assertFalse(histogram.isSnapshotMode());
+        assertEquals(reference.getBinContent(1) + 2.0, histogram.getBinContent(1));
+
+        histogram2.reset();
+        assertFalse(histogram2.isSnapshotOutdated());
+        assertEquals(0.0, histogram2.getProjectionX().getBinContent(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram2.setConcurrentStripes(-1));
+    }
+
+    private static void assertHistogramEquals(final Histogram expected, final Histogram actual) {
+        assertEquals(expected.data.length, actual.data.length);
+        for (int bin = 0; bin < expected.data.length; bin++) {
+            assertEquals(expected.getBinContent(bin), actual.getBinContent(bin), 1e-9, "bin " + bin);
+        }
+    }
+
+    private static int linearSearch(final double[] bins, final double value) {
+        // reference: previous linear search implementation
+        if (!(value >= bins[1] && value <= bins[bins.length - 1])) {
+            return value < bins[1] ? 0 : bins.length - 1;
+        }
+        for (int i = 1; i < bins.length; i++) {
+            if (value < bins[i]) {
+                return i - 1;
+            }
+        }
+        return bins.length - 1;
+    }
 }
@@ -0,0 +1,177 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.ChartBits;
+
+/**
+ * Unit testing for {@link LimitTracker} and the incremental limit handling of the data sets using it.
+ */
+public class LimitTrackerTest {
+    @Test
+    public void testUnbounded() {
+        final LimitTracker tracker = new LimitTracker();
+        assertTrue(tracker.isValid());
+        assertEquals(Double.NaN, tracker.getMin());
+        assertEquals(Double.NaN, tracker.getMax());
+
+        tracker.add(1.0);
+        tracker.add(Double.NaN);
+        tracker.add(-2.0, 3.0);
+        tracker.add(Double.NEGATIVE_INFINITY, 5.0);
+        assertEquals(-2.0, tracker.getMin());
+        assertEquals(5.0, tracker.getMax());
+
+        tracker.removeOldest(1);
+        assertFalse(tracker.isValid());
+        tracker.add(-10.0); // ignored by invalid trackers
+        assertEquals(-2.0, tracker.getMin());
+
+        tracker.clear();
+        assertTrue(tracker.isValid());
+        assertEquals(Double.NaN, tracker.getMin());
+
+        final LimitTracker copy = new LimitTracker();
+        tracker.add(4.0);
+        copy.set(tracker);
+        assertEquals(4.0, copy.getMin());
+        assertEquals(4.0, copy.getMax());
+        assertThrows(IllegalStateException.class, () -> new LimitTracker(10).set(tracker));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 64, 1000 })
+    public void testWindowedAgainstFullScan(final int capacity) {
+        final Random rnd = new Random(42);
+        final LimitTracker tracker = new LimitTracker(capacity);
+        final List<double[]> window = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // mix of noise, monotonic ramps and non-finite values
+            final double value = i % 1000 < 500 ? rnd.nextGaussian() : (i % 1000) * 0.01;
+            final double error = i % 97 == 0 ? Double.NaN : rnd.nextDouble();
+            tracker.add(value - error, value + error);
+            window.add(new double[] { value - error, value + error });
+            if (window.size() > capacity) {
+                window.remove(0);
+            }
+            if (i % 331 == 0) {
+                final int nRemove = Math.min(window.size(), 1 + rnd.nextInt(3));
+                tracker.removeOldest(nRemove);
+                window.subList(0, nRemove).clear();
+            }
+            final DataRange expected = new DataRange();
+            window.forEach(point -> {
+                expected.add(point[0]);
+                expected.add(point[1]);
+            });
+            assertEquals(expected.getMin(), tracker.getMin(), "min at index " + i);
+            assertEquals(expected.getMax(), tracker.getMax(), "max at index " + i);
+        }
+    }
+
+    @Test
+    public void testCircularDataSetLimits() {
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 5);
+        for (int i = 0; i < 12; i++) {
+            dataSet.add(i, i % 2 == 0 ? 10.0 - i : i, 0.5, 1.0);
+        }
+        // window holds x = 7..11 and y = {7, 2, 9, 0, 11}
+        assertEquals(7.0, dataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(11.0, dataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        assertEquals(-0.5, dataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(12.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        dataSet.recomputeLimits();
+        assertEquals(7.0, dataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(-0.5, dataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(12.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+    }
+
+    @Test
+    public void testFifoDataSetLimits() {
+        final FifoDoubleErrorDataSet dataSet = new FifoDoubleErrorDataSet("test", 100, 3.0);
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, 10 - i, 0.0, 0.0);
+        }
+        // points older than x = 9 - 3 have been expired
+        assertEquals(4, dataSet.getDataCount());
+        assertEquals(6.0, dataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(9.0, dataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        assertEquals(1.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(4.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+    }
+
+    @Test
+    public void testConcurrentInvalidationWhileKeepingLimits() throws InterruptedException {
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 10);
+        final AtomicReference<Thread> writerThread = new AtomicReference<>();
+        final CountDownLatch notifying = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        dataSet.getBitState().addInvalidateListener(ChartBits.DataSetDataRemoved, (src, bits) -> {
+            if (Thread.currentThread() == writerThread.get()) {
+                notifying.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        // writer A: accounted-for removal, blocked while notifying its listeners
+        final Thread writer = new Thread(dataSet::reset);
+        writerThread.set(writer);
+        writer.start();
+        assertTrue(notifying.await(5, TimeUnit.SECONDS));
+        assertTrue(dataSet.getLimitTracker(DataSet.DIM_Y).isValid(), "removal accounted for by the trackers");
+
+        // writer B: unaccounted-for modification notified meanwhile -> must not be suppressed by writer A
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+        assertFalse(dataSet.getLimitTracker(DataSet.DIM_Y).isValid());
+        release.countDown();
+        writer.join(5000);
+        assertFalse(dataSet.getLimitTracker(DataSet.DIM_Y).isValid());
+    }
+
+    @Test
+    public void testInvalidationOnExternalModification() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        dataSet.add(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 });
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(6.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        // direct write into the backing array followed by a generic data update notification
+        dataSet.getValues(DataSet.DIM_Y)[1] = 42.0;
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(4.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(42.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        dataSet.remove(1);
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(6.0, dataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        final MultiDimDoubleDataSet multiDim = new MultiDimDoubleDataSet("test", 3);
+        multiDim.add(1.0, 2.0, 3.0);
+        multiDim.add(-1.0, 5.0, 0.0);
+        multiDim.recomputeLimits();
+        assertEquals(-1.0, multiDim.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(5.0, multiDim.getAxisDescription(DataSet.DIM_Y).getMax());
+        assertEquals(0.0, multiDim.getAxisDescription(DataSet.DIM_Z).getMin());
+    }
+}
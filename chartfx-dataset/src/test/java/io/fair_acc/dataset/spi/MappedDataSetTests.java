@@ -0,0 +1,113 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.fair_acc.dataset.DataSetError.ErrorType;
+
+/**
+ * Checks for {@link MappedDataSet}
+ */
+class MappedDataSetTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        final int nSamples = 10_000;
+        final Random rnd = new Random(42);
+        final DoubleErrorDataSet source = new DoubleErrorDataSet("test data", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            source.add(0.5 * i, i % 777 == 0 ? Double.NaN : rnd.nextGaussian(), rnd.nextDouble(), 2.0 * rnd.nextDouble());
+        }
+        source.getAxisDescription(DIM_X).set("time", "s");
+        source.getAxisDescription(DIM_Y).set("signal", "V");
+
+        final Path file = tempDir.resolve("test.bin");
+        MappedDataSet.write(source, file, false, 1000);
+        final MappedDataSet mapped = MappedDataSet.open(file);
+
+        assertEquals("test data", mapped.getName());
+        assertEquals(2, mapped.getDimension());
+        assertEquals(nSamples, mapped.getDataCount());
+        assertEquals(10, mapped.getChunkCount());
+        assertEquals(1000, mapped.getChunkSize());
+        assertEquals("time", mapped.getAxisDescription(DIM_X).getName());
+        assertEquals("V", mapped.getAxisDescription(DIM_Y).getUnit());
+        assertEquals(ErrorType.NO_ERROR, mapped.getErrorType(DIM_X));
+        assertEquals(ErrorType.ASYMMETRIC, mapped.getErrorType(DIM_Y));
+        for (int i = 0; i < nSamples; i++) {
+            assertEquals(source.get(DIM_X, i), mapped.get(DIM_X, i));
+            assertEquals(source.get(DIM_Y, i), mapped.get(DIM_Y, i));
+            assertEquals(source.getErrorNegative(DIM_Y, i), mapped.getErrorNegative(DIM_Y, i));
+            assertEquals(source.getErrorPositive(DIM_Y, i), mapped.getErrorPositive(DIM_Y, i));
+            assertEquals(0.0, mapped.getErrorPositive(DIM_X, i));
+        }
+
+        // limits from the chunk statistics (including errors) are identical to a full scan
+        source.recomputeLimits(DIM_X);
+        source.recomputeLimits(DIM_Y);
+        assertEquals(source.getAxisDescription(DIM_X).getMin(), mapped.getAxisDescription(DIM_X).getMin());
+        assertEquals(source.getAxisDescription(DIM_X).getMax(), mapped.getAxisDescription(DIM_X).getMax());
+        assertEquals(source.getAxisDescription(DIM_Y).getMin(), mapped.getAxisDescription(DIM_Y).getMin());
+        assertEquals(source.getAxisDescription(DIM_Y).getMax(), mapped.getAxisDescription(DIM_Y).getMax());
+        assertEquals(0.0, mapped.getChunkMin(DIM_X, 0));
+        assertEquals(499.5, mapped.getChunkMax(DIM_X, 0));
+
+        // chunk-accelerated search yields the same (closest) index as the generic binary search
+        for (final double x : new double[] { -1.0, 0.0, 0.2, 0.3, 499.5, 499.7, 499.8, 500.0, 2500.26, 4999.5, 1e6 }) {
+            assertEquals(source.getIndex(DIM_X, x), mapped.getIndex(DIM_X, x), "x = " + x);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> mapped.set(source));
+    }
+
+    @Test
+    void testFloat32AndEmpty() throws IOException {
+        final DoubleDataSet source = new DoubleDataSet("float", new double[] { 1.0, 2.0, 3.0 }, new double[] { 0.1, 0.2, 0.3 }, 3, true);
+        final Path file = tempDir.resolve("float.bin");
+        MappedDataSet.write(source, file, true, MappedDataSet.DEFAULT_CHUNK_SIZE);
+        final MappedDataSet mapped = MappedDataSet.open(file);
+        assertTrue(mapped.isFloat32());
+        assertEquals(3, mapped.getDataCount());
+        assertEquals((float) 0.2, mapped.get(DIM_Y, 1));
+        assertEquals((float) 0.3, mapped.getAxisDescription(DIM_Y).getMax());
+        assertEquals(1, mapped.getIndex(DIM_X, 2.2));
+
+        final Path emptyFile = tempDir.resolve("empty.bin");
+        MappedDataSet.write(new DoubleDataSet("empty"), emptyFile);
+        final MappedDataSet empty = MappedDataSet.open(emptyFile);
+        assertEquals(0, empty.getDataCount());
+        assertEquals(0, empty.getIndex(DIM_X, 1.0));
+        assertTrue(Double.isNaN(empty.getAxisDescription(DIM_X).getMin()));
+    }
+
+    @Test
+    void testInvalidFiles() throws IOException {
+        final Path file = tempDir.resolve("invalid.bin");
+        Files.write(file, new byte[0]);
+        assertThrows(IOException.class, () -> MappedDataSet.open(file));
+        Files.write(file, "#file producer : DataSetUtils\n".getBytes());
+        assertThrows(IOException.class, () -> MappedDataSet.open(file));
+
+        // truncated column and statistics section
+        final DoubleDataSet source = new DoubleDataSet("test", new double[] { 1.0, 2.0 }, new double[] { 3.0, 4.0 }, 2, true);
+        MappedDataSet.write(source, file);
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> MappedDataSet.open(file));
+        assertThrows(IllegalArgumentException.class, () -> MappedDataSet.write(source, file, false, 0));
+    }
+}
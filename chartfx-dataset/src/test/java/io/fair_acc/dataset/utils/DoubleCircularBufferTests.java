@@ -164,4 +164,17 @@ public class DoubleCircularBufferTests {
         buffer2.put(input, fillBufferLength);
         buffer2.get(output, 10);
     }
+
+    @Test
+    public void testWriteCount() {
+        final DoubleCircularBuffer buffer = new DoubleCircularBuffer(new double[7], 5);
+        assertEquals(7, buffer.writeCount(), "initial elements");
+        buffer.put(1.0);
+        buffer.put(new double[] { 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0, 13.0 }, 12);
+        assertEquals(20, buffer.writeCount(), "not limited by capacity");
+        assertEquals(5, buffer.available());
+        assertEquals(9.0, buffer.get(0), "oldest retained element");
+        buffer.reset();
+        assertEquals(0, buffer.writeCount(), "after reset");
+    }
 }
@@ -0,0 +1,146 @@
+package io.fair_acc.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.CircularDoubleErrorDataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Unit-Tests of {@link MinMaxPyramid}
+ */
+class MinMaxPyramidTests {
+    @Test
+    void testConstruction() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxPyramid(null, DIM_Y));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxPyramid(dataSet, DIM_Y, 1));
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y);
+        assertEquals(MinMaxPyramid.DEFAULT_BASE_BUCKET_SIZE, pyramid.getBaseBucketSize());
+        assertEquals(DIM_Y, pyramid.getDimIndex());
+        pyramid.update(dataSet);
+        assertEquals(0, pyramid.getLevelCount());
+        assertEquals(0, pyramid.getDataCount());
+        assertEquals(-1, pyramid.getLevel(15.9));
+        assertEquals(0, pyramid.getLevel(16));
+        assertEquals(2, pyramid.getLevel(100));
+        pyramid.detach();
+    }
+
+    @Test
+    void testBucketsAndIncrementalAppend() {
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y, 4);
+        for (int chunk = 0; chunk < 20; chunk++) {
+            final int nNew = rnd.nextInt(100);
+            for (int i = 0; i < nNew; i++) {
+                dataSet.add(dataSet.getDataCount(), rnd.nextInt(7) == 0 ? Double.NaN : rnd.nextGaussian());
+            }
+            pyramid.update(dataSet);
+            assertPyramid(dataSet, pyramid);
+        }
+        assertTrue(pyramid.getLevelCount() > 5);
+
+        // in-place modification -> rebuild
+        dataSet.set(10, 10, 1e6);
+        pyramid.update(dataSet);
+        assertPyramid(dataSet, pyramid);
+        assertEquals(10, pyramid.getMaxIndex(pyramid.getLevelCount() - 1, 0));
+
+        // removal -> rebuild
+        dataSet.remove(0, 100);
+        pyramid.update(dataSet);
+        assertPyramid(dataSet, pyramid);
+    }
+
+    @Test
+    void testCircularBufferSource() {
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 100);
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y, 4);
+        for (int i = 0; i < 300; i++) {
+            dataSet.add(i, Math.sin(0.1 * i), 0.0, 0.0);
+            if (i % 37 == 0) {
+                pyramid.update(dataSet);
+                assertPyramid(dataSet, pyramid);
+            }
+        }
+        pyramid.update(dataSet);
+        assertPyramid(dataSet, pyramid);
+    }
+
+    @Test
+    void testReducedIndices() {
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 10_000; i++) {
+            dataSet.add(i, rnd.nextGaussian());
+        }
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y, 8).update(dataSet);
+        for (final int[] range : new int[][] { { 0, 10_000 }, { 3, 9_001 }, { 1_000, 1_005 }, { 4_095, 8_193 } }) {
+            final int indexMin = range[0];
+            final int indexMax = range[1];
+            final double samplesPerPixel = (indexMax - indexMin) / 100.0;
+            final int level = pyramid.getLevel(samplesPerPixel);
+            final List<Integer> indices = new ArrayList<>();
+            pyramid.forEachReducedIndex(indexMin, indexMax, level, indices::add);
+
+            assertEquals(indexMin, indices.get(0));
+            assertEquals(indexMax - 1, indices.get(indices.size() - 1));
+            for (int i = 1; i < indices.size(); i++) {
+                assertTrue(indices.get(i) > indices.get(i - 1), "strictly ascending indices");
+            }
+            // bounded output: about four points per pixel plus the unaligned edges
+            assertTrue(indices.size() <= 4 * 100 * 2 + 8 * (pyramid.getLevelCount() + 8), "size = " + indices.size());
+
+            // min/max preserving: the global extremes of the range are always retained
+            int iMin = indexMin;
+            int iMax = indexMin;
+            for (int i = indexMin; i < indexMax; i++) {
+                iMin = dataSet.get(DIM_Y, i) < dataSet.get(DIM_Y, iMin) ? i : iMin;
+                iMax = dataSet.get(DIM_Y, i) > dataSet.get(DIM_Y, iMax) ? i : iMax;
+            }
+            assertTrue(indices.contains(iMin), "range minimum retained");
+            assertTrue(indices.contains(iMax), "range maximum retained");
+        }
+
+        // level -1: no reduction
+        final List<Integer> indices = new ArrayList<>();
+        pyramid.forEachReducedIndex(100, 200, -1, indices::add);
+        assertEquals(100, indices.size());
+    }
+
+    private static void assertPyramid(final DataSet dataSet, final MinMaxPyramid pyramid) {
+        final int base = pyramid.getBaseBucketSize();
+        assertEquals(dataSet.getDataCount() / base * base, pyramid.getDataCount());
+        for (int level = 0; level < pyramid.getLevelCount(); level++) {
+            final int bucketSize = pyramid.getBucketSize(level);
+            assertEquals(dataSet.getDataCount() / bucketSize, pyramid.getBucketCount(level), "level " + level);
+            for (int bucket = 0; bucket < pyramid.getBucketCount(level); bucket++) {
+                double min = Double.NaN;
+                double max = Double.NaN;
+                for (int i = bucket * bucketSize; i < (bucket + 1) * bucketSize; i++) {
+                    final double value = dataSet.get(DIM_Y, i);
+                    min = Double.isNaN(min) || value < min ? value : min;
+                    max = Double.isNaN(max) || value > max ? value : max;
+                }
+                final int iMin = pyramid.getMinIndex(level, bucket);
+                final int iMax = pyramid.getMaxIndex(level, bucket);
+                assertTrue(iMin >= bucket * bucketSize && iMin < (bucket + 1) * bucketSize);
+                assertTrue(iMax >= bucket * bucketSize && iMax < (bucket + 1) * bucketSize);
+                assertEquals(min, dataSet.get(DIM_Y, iMin), "level " + level + " bucket " + bucket);
+                assertEquals(max, dataSet.get(DIM_Y, iMax), "level " + level + " bucket " + bucket);
+            }
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package io.fair_acc.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Reductions and element-wise in-place operations for large arrays of different types.
+ * <p>
+ * Each reduction is available in three flavours:
+ * <ul>
+ * <li>{@code ...Unrolled(..)}: single-threaded loops with four independent accumulators, which breaks the loop-carried
+ * dependency of the naive scalar loop (see e.g. {@link Math#mean(double[])}) and lets the JIT pipeline/vectorise the
+ * operations,
+ * <li>{@code ...Parallel(..)}: the range is recursively split using the common {@link ForkJoinPool} and the unrolled
+ * kernels are applied to each sub-range,
+ * <li>the plain method names dispatch between the two based on the {@link #getParallelThreshold() parallel threshold}.
+ * </ul>
+ * N.B. the summation order of the unrolled and parallel variants differs from the scalar loop, i.e. floating-point
+ * results may differ in the last digits. The sums, means and r.m.s. values are accumulated and returned as
+ * {@code double} for all input types.
+ */
+public class ParallelArrayMathGen {
+    /** default minimum array length above which the dispatching methods use the parallel implementation */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 18;
+    /** minimum number of elements processed by a single fork-join task */
+    public static final int MIN_TASK_LENGTH = 1 << 14;
+    private static final String DATA = "data";
+    private static final String IN = "in";
+    private static final String LENGTH = "length";
+    private static final String OFFSET = "offset";
+    private static final String VALUE = "value";
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    ParallelArrayMathGen() { // NOPMD - package private
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return minimum array length above which the dispatching methods use the parallel implementation
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @param threshold minimum array length above which the dispatching methods use the parallel implementation
+     */
+    public static void setParallelThreshold(final int threshold) {
+        AssertUtils.gtThanZero("threshold", threshold);
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * @param length number of elements to be processed
+     * @return {@code true} if the dispatching methods use the parallel implementation for the given length
+     */
+    public static boolean isParallel(final int length) {
+        return length >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private static void checkRange(final String name, final Object data, final int dataLength, final int offset, final int length) {
+        AssertUtils.notNull(name, data);
+        AssertUtils.gtEqThanZero(OFFSET, offset);
+        AssertUtils.gtEqThanZero(LENGTH, length);
+        AssertUtils.gtOrEqual(name, length + offset, dataLength);
+    }
+
+    private static void forEachParallel(final int offset, final int length, final RangeOperation operation) {
+        ForkJoinPool.commonPool().invoke(new RangeAction(offset, length, getTaskLength(length), operation));
+    }
+
+    private static int getTaskLength(final int length) {
+        return java.lang.Math.max(MIN_TASK_LENGTH, length / (4 * ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    private static <R> R reduceParallel(final int offset, final int length, final RangeReduction<R> reduction, final BinaryOperator<R> combiner) {
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(offset, length, getTaskLength(length), reduction, combiner));
+    }
+
+    //// codegen: double -> float, int, long, short
+    public static double[] addInPlace(final double[] in, final double value) {
+        return addInPlace(in, 0, value, in.length);
+    }
+
+    public static double[] addInPlace(final double[] in, final double[] value) {
+        return addInPlace(in, 0, value, 0, in.length);
+    }
+
+    public static double[] addInPlace(final double[] in, final int offsetIn, final double[] value, final int offsetValue, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.addInPlace(in, offsetIn, value, offsetValue, length);
+        }
+        checkRange(IN, in, in.length, offsetIn, length);
+        checkRange(VALUE, value, value.length, offsetValue, length);
+        forEachParallel(offsetIn, length, (from, n) -> ArrayMath.addInPlace(in, from, value, from - offsetIn + offsetValue, n));
+        return in;
+    }
+
+    public static double[] addInPlace(final double[] in, final int offset, final double value, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.addInPlace(in, offset, value, length);
+        }
+        checkRange(IN, in, in.length, offset, length);
+        forEachParallel(offset, length, (from, n) -> ArrayMath.addInPlace(in, from, value, n));
+        return in;
+    }
+
+    public static double maximum(final double[] data) {
+        return maximum(data, 0, data.length);
+    }
+
+    /**
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length &gt; 0 number of elements to be used
+     * @return value of largest vector element
+     */
+    public static double maximum(final double[] data, final int offset, final int length) {
+        return isParallel(length) ? maximumParallel(data, offset, length) : maximumUnrolled(data, offset, length);
+    }
+
+    public static double maximumParallel(final double[] data, final int offset, final int length) {
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        return reduceParallel(offset, length, (from, n) -> maximumUnrolled(data, from, n), (a, b) -> java.lang.Math.max(a, b)); //// codegen: subst:short:-> java:-> (short) java
+    }
+
+    public static double maximumUnrolled(final double[] data, final int offset, final int length) {
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        double max0 = data[offset];
+        double max1 = max0;
+        double max2 = max0;
+        double max3 = max0;
+        final int end = offset + length;
+        final int endUnrolled = offset + (length & ~3);
+        int i = offset;
+        for (; i < endUnrolled; i += 4) {
+            max0 = java.lang.Math.max(max0, data[i]); //// codegen: returncast short
+            max1 = java.lang.Math.max(max1, data[i + 1]); //// codegen: returncast short
+            max2 = java.lang.Math.max(max2, data[i + 2]); //// codegen: returncast short
+            max3 = java.lang.Math.max(max3, data[i + 3]); //// codegen: returncast short
+        }
+        for (; i < end; i++) {
+            max0 = java.lang.Math.max(max0, data[i]); //// codegen: returncast short
+        }
+        return java.lang.Math.max(java.lang.Math.max(max0, max1), java.lang.Math.max(max2, max3)); //// codegen: returncast short
+    }
+
+    public static double mean(final double[] data) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return mean(data, 0, data.length);
+    }
+
+    /**
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length &gt; 0 number of elements to be used
+     * @return average of vector elements
+     */
+    public static double mean(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        AssertUtils.gtThanZero(LENGTH, length);
+        return sum(data, offset, length) / length;
+    }
+
+    public static double median(final double[] data) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return median(data, 0, data.length);
+    }
+
+    /**
+     * N.B. the range is copied and sorted, using {@link Arrays#parallelSort} above the parallel threshold.
+     *
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length &gt; 0 number of elements to be used
+     * @return median value of vector elements, i.e. the average of the two central elements for even lengths
+     */
+    public static double median(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        final double[] sorted = Arrays.copyOfRange(data, offset, offset + length);
+        if (isParallel(length)) {
+            Arrays.parallelSort(sorted);
+        } else {
+            Arrays.sort(sorted);
+        }
+        final int centre = length / 2;
+        return length % 2 == 0 ? 0.5 * sorted[centre - 1] + 0.5 * sorted[centre] : sorted[centre];
+    }
+
+    public static double minimum(final double[] data) {
+        return minimum(data, 0, data.length);
+    }
+
+    /**
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length &gt; 0 number of elements to be used
+     * @return value of smallest vector element
+     */
+    public static double minimum(final double[] data, final int offset, final int length) {
+        return isParallel(length) ? minimumParallel(data, offset, length) : minimumUnrolled(data, offset, length);
+    }
+
+    public static double minimumParallel(final double[] data, final int offset, final int length) {
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        return reduceParallel(offset, length, (from, n) -> minimumUnrolled(data, from, n), (a, b) -> java.lang.Math.min(a, b)); //// codegen: subst:short:-> java:-> (short) java
+    }
+
+    public static double minimumUnrolled(final double[] data, final int offset, final int length) {
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        double min0 = data[offset];
+        double min1 = min0;
+        double min2 = min0;
+        double min3 = min0;
+        final int end = offset + length;
+        final int endUnrolled = offset + (length & ~3);
+        int i = offset;
+        for (; i < endUnrolled; i += 4) {
+            min0 = java.lang.Math.min(min0, data[i]); //// codegen: returncast short
+            min1 = java.lang.Math.min(min1, data[i + 1]); //// codegen: returncast short
+            min2 = java.lang.Math.min(min2, data[i + 2]); //// codegen: returncast short
+            min3 = java.lang.Math.min(min3, data[i + 3]); //// codegen: returncast short
+        }
+        for (; i < end; i++) {
+            min0 = java.lang.Math.min(min0, data[i]); //// codegen: returncast short
+        }
+        return java.lang.Math.min(java.lang.Math.min(min0, min1), java.lang.Math.min(min2, min3)); //// codegen: returncast short
+    }
+
+    public static double[] multiplyInPlace(final double[] in, final double multiplicator) {
+        return multiplyInPlace(in, 0, multiplicator, in.length);
+    }
+
+    public static double[] multiplyInPlace(final double[] in, final double[] multiplicator) {
+        return multiplyInPlace(in, 0, multiplicator, 0, in.length);
+    }
+
+    public static double[] multiplyInPlace(final double[] in, final int offsetIn, final double[] multiplicator, final int offsetMul, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.multiplyInPlace(in, offsetIn, multiplicator, offsetMul, length);
+        }
+        checkRange(IN, in, in.length, offsetIn, length);
+        checkRange(VALUE, multiplicator, multiplicator.length, offsetMul, length);
+        forEachParallel(offsetIn, length, (from, n) -> ArrayMath.multiplyInPlace(in, from, multiplicator, from - offsetIn + offsetMul, n));
+        return in;
+    }
+
+    public static double[] multiplyInPlace(final double[] in, final int offset, final double multiplicator, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.multiplyInPlace(in, offset, multiplicator, length);
+        }
+        checkRange(IN, in, in.length, offset, length);
+        forEachParallel(offset, length, (from, n) -> ArrayMath.multiplyInPlace(in, from, multiplicator, n));
+        return in;
+    }
+
+    public static double rms(final double[] data) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return rms(data, 0, data.length);
+    }
+
+    /**
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length &gt; 0 number of elements to be used
+     * @return r.m.s. of vector elements, same definition as {@link Math#rms(double[], int)}
+     */
+    public static double rms(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return isParallel(length) ? rmsParallel(data, offset, length) : rmsUnrolled(data, offset, length);
+    }
+
+    public static double rmsParallel(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        final double[] sums = reduceParallel(offset, length, (from, n) -> sumAndSumOfSquares(data, from, n), (a, b) -> new double[] { a[0] + b[0], a[1] + b[1] }); //// codegen: skip all
+        return rms(sums, length);
+    }
+
+    public static double rmsUnrolled(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        checkRange(DATA, data, data.length, offset, length);
+        AssertUtils.gtThanZero(LENGTH, length);
+        return rms(sumAndSumOfSquares(data, offset, length), length);
+    }
+
+    public static double[] subtractInPlace(final double[] in, final double value) {
+        return subtractInPlace(in, 0, value, in.length);
+    }
+
+    public static double[] subtractInPlace(final double[] in, final double[] value) {
+        return subtractInPlace(in, 0, value, 0, in.length);
+    }
+
+    public static double[] subtractInPlace(final double[] in, final int offsetIn, final double[] value, final int offsetValue, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.subtractInPlace(in, offsetIn, value, offsetValue, length);
+        }
+        checkRange(IN, in, in.length, offsetIn, length);
+        checkRange(VALUE, value, value.length, offsetValue, length);
+        forEachParallel(offsetIn, length, (from, n) -> ArrayMath.subtractInPlace(in, from, value, from - offsetIn + offsetValue, n));
+        return in;
+    }
+
+    public static double[] subtractInPlace(final double[] in, final int offset, final double value, final int length) {
+        if (!isParallel(length)) {
+            return ArrayMath.subtractInPlace(in, offset, value, length);
+        }
+        checkRange(IN, in, in.length, offset, length);
+        forEachParallel(offset, length, (from, n) -> ArrayMath.subtractInPlace(in, from, value, n));
+        return in;
+    }
+
+    public static double sum(final double[] data) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return sum(data, 0, data.length);
+    }
+
+    /**
+     * @param data the input vector
+     * @param offset index of the first element to be used
+     * @param length number of elements to be used
+     * @return sum of vector elements
+     */
+    public static double sum(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        return isParallel(length) ? sumParallel(data, offset, length) : sumUnrolled(data, offset, length);
+    }
+
+    public static double sumParallel(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        checkRange(DATA, data, data.length, offset, length);
+        if (length == 0) {
+            return 0.0;
+        }
+        return reduceParallel(offset, length, (from, n) -> sumUnrolled(data, from, n), (a, b) -> a + b);
+    }
+
+    public static double sumUnrolled(final double[] data, final int offset, final int length) { //// codegen: subst:float:static float:static double //// subst:int:static int:static double //// subst:long:static long:static double //// subst:short:static short:static double
+        checkRange(DATA, data, data.length, offset, length);
+        double sum0 = 0.0; //// codegen: skip all
+        double sum1 = 0.0; //// codegen: skip all
+        double sum2 = 0.0; //// codegen: skip all
+        double sum3 = 0.0; //// codegen: skip all
+        final int end = offset + length;
+        final int endUnrolled = offset + (length & ~3);
+        int i = offset;
+        for (; i < endUnrolled; i += 4) {
+            sum0 += data[i];
+            sum1 += data[i + 1];
+            sum2 += data[i + 2];
+            sum3 += data[i + 3];
+        }
+        for (; i < end; i++) {
+            sum0 += data[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    private static double[] sumAndSumOfSquares(final double[] data, final int offset, final int length) { //// codegen: subst:float:float[] sumAnd:double[] sumAnd //// subst:int:int[] sumAnd:double[] sumAnd //// subst:long:long[] sumAnd:double[] sumAnd //// subst:short:short[] sumAnd:double[] sumAnd
+        double sum0 = 0.0; //// codegen: skip all
+        double sum1 = 0.0; //// codegen: skip all
+        double sumSq0 = 0.0; //// codegen: skip all
+        double sumSq1 = 0.0; //// codegen: skip all
+        final int end = offset + length;
+        final int endUnrolled = offset + (length & ~1);
+        int i = offset;
+        for (; i < endUnrolled; i += 2) {
+            final double val0 = data[i]; //// codegen: skip all
+            final double val1 = data[i + 1]; //// codegen: skip all
+            sum0 += val0;
+            sum1 += val1;
+            sumSq0 += val0 * val0;
+            sumSq1 += val1 * val1;
+        }
+        if (i < end) {
+            final double val = data[i]; //// codegen: skip all
+            sum0 += val;
+            sumSq0 += val * val;
+        }
+        return new double[] { sum0 + sum1, sumSq0 + sumSq1 }; //// codegen: skip all
+    }
+    //// end codegen
+
+    private static double rms(final double[] sums, final int length) {
+        final double norm = 1.0 / length;
+        final double val1 = sums[0] * norm;
+        final double val2 = sums[1] * norm;
+        return java.lang.Math.sqrt(java.lang.Math.abs(val2 - val1 * val1));
+    }
+
+    /**
+     * in-place operation on the index range [from, from + length[
+     */
+    @FunctionalInterface
+    private interface RangeOperation {
+        void apply(int from, int length);
+    }
+
+    /**
+     * reduction of the index range [from, from + length[
+     *
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    private interface RangeReduction<R> {
+        R apply(int from, int length);
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int length;
+        private final int taskLength;
+        private final transient RangeOperation operation;
+
+        RangeAction(final int from, final int length, final int taskLength, final RangeOperation operation) {
+            super();
+            this.from = from;
+            this.length = length;
+            this.taskLength = taskLength;
+            this.operation = operation;
+        }
+
+        @Override
+        protected void compute() {
+            if (length <= taskLength) {
+                operation.apply(from, length);
+                return;
+            }
+            final int half = length >>> 1;
+            invokeAll(new RangeAction(from, half, taskLength, operation), new RangeAction(from + half, length - half, taskLength, operation));
+        }
+    }
+
+    private static class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int length;
+        private final int taskLength;
+        private final transient RangeReduction<R> reduction;
+        private final transient BinaryOperator<R> combiner;
+
+        RangeTask(final int from, final int length, final int taskLength, final RangeReduction<R> reduction, final BinaryOperator<R> combiner) {
+            super();
+            this.from = from;
+            this.length = length;
+            this.taskLength = taskLength;
+            this.reduction = reduction;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (length <= taskLength) {
+                return reduction.apply(from, length);
+            }
+            final int half = length >>> 1;
+            final RangeTask<R> lower = new RangeTask<>(from, half, taskLength, reduction, combiner);
+            lower.fork();
+            final R upper = new RangeTask<>(from + half, length - half, taskLength, reduction, combiner).compute();
+            return combiner.apply(lower.join(), upper);
+        }
+    }
+}
@@ -17,7 +17,6 @@ import java.util.List;
 import java.util.Objects;
 
 import org.jetbrains.annotations.NotNull;
-import org.jtransforms.fft.DoubleFFT_1D;
 
 import io.fair_acc.dataset.*;
 import io.fair_acc.dataset.spi.DoubleDataSet;
@@ -27,6 +26,7 @@ import io.fair_acc.dataset.spi.utils.DoublePointError;
 import io.fair_acc.dataset.utils.NoDuplicatesList;
 import io.fair_acc.math.spectra.Apodization;
 import io.fair_acc.math.spectra.SpectrumTools;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
 
 /**
  * Some math operation on DataSet, DataSetError and Histogram
@@ -417,63 +417,25 @@ public final class DataSetMath { // NOPMD - nomen est omen
             final var refAxisDescription = function.getAxisDescription(dim);
             filteredFunction.getAxisDescription(dim).set(refAxisDescription.getName(), refAxisDescription.getUnit());
         }
-        final var subArrayY = new double[n];
-        final var subArrayYn = new double[n];
-        final var subArrayYp = new double[n];
-
         final double[] xValues = function.getValues(DIM_X);
         final double[] yValues = function.getValues(DIM_Y);
         final double[] yen = errors(function, EYN);
-        final double[] yep = errors(function, EYN);
-
-        for (var i = 0; i < n; i++) {
-            final double time0 = xValues[i];
-
-            var count = 0;
-            for (var j = 0; j < n; j++) {
-                final double time = xValues[j];
-                if (MathBase.abs(time0 - time) <= width) {
-                    subArrayY[count] = yValues[j];
-                    subArrayYn[count] = yen[j];
-                    subArrayYp[count] = yep[j];
-                    count++;
-                }
-            }
-
-            final double norm = count > 0 ? 1.0 / MathBase.sqrt(count) : 0.0;
-
-            switch (filterType) {
-            case MEDIAN:
-                filteredFunction.add(time0, Math.median(subArrayY, count), Math.median(subArrayYn, count),
-                        Math.median(subArrayYp, count));
-                break;
-            case MIN:
-                filteredFunction.add(time0, Math.minimum(subArrayY, count), Math.minimum(subArrayYn, count),
-                        Math.minimum(subArrayYp, count));
-                break;
-            case MAX:
-                filteredFunction.add(time0, Math.maximum(subArrayY, count), Math.maximum(subArrayYn, count),
-                        Math.maximum(subArrayYp, count));
-                break;
-            case P2P:
-                filteredFunction.add(time0, Math.peakToPeak(subArrayY, count), Math.peakToPeak(subArrayYn, count),
-                        Math.peakToPeak(subArrayYp, count));
-                break;
-            case RMS:
-                filteredFunction.add(time0, Math.rms(subArrayY, count), Math.rms(subArrayYn, count),
-                        Math.rms(subArrayYp, count));
-                break;
-            case GEOMMEAN:
-                filteredFunction.add(time0, Math.geometricMean(subArrayY, 0, count),
-                        Math.geometricMean(subArrayYn, 0, count), Math.geometricMean(subArrayYp, 0, count));
-                break;
-            case MEAN:
-            default:
-                filteredFunction.add(time0, Math.mean(subArrayY, count), Math.mean(subArrayYn, count) * norm,
-                        Math.mean(subArrayYp, count) * norm);
-                break;
+        final double[] yep = errors(function, EYP);
+
+        final var filter = new SlidingWindowFilter(xValues, n, width);
+        final double[] filteredY = filter.apply(yValues, filterType, null);
+        final double[] filteredYn = filter.apply(yen, filterType, null);
+        final double[] filteredYp = filter.apply(yep, filterType, null);
+        if (filterType == Filter.MEAN) {
+            // error of the mean
+            final int[] windowSizes = filter.getWindowSizes(null);
+            for (var i = 0; i < n; i++) {
+                final double norm = windowSizes[i] > 0 ? 1.0 / MathBase.sqrt(windowSizes[i]) : 0.0;
+                filteredYn[i] *= norm;
+                filteredYp[i] *= norm;
             }
         }
+        filteredFunction.set(Arrays.copyOf(xValues, n), filteredY, filteredYn, filteredYp, false);
 
         return filteredFunction;
     }
@@ -860,25 +822,30 @@ public final class DataSetMath { // NOPMD - nomen est omen
             return new DoubleErrorDataSet(functionName, 0);
         }
 
-        final var fastFourierTrafo = new DoubleFFT_1D(n);
-
-        // N.B. since realForward computes the FFT in-place -> generate a copy
-        final var fftSpectra = new double[n];
+        // N.B. since realForward computes the FFT in-place -> work on a (thread-local) copy
+        final double[] fftSpectra = FftPlanCache.getWorkBuffer(0, n);
+        final double[] window = apodization.getWindow(n);
         for (var i = 0; i < n; i++) {
-            final double window = apodization.getIndex(i, n);
-            fftSpectra[i] = function.get(DIM_Y, i) * window;
+            fftSpectra[i] = function.get(DIM_Y, i) * window[i];
         }
 
-        fastFourierTrafo.realForward(fftSpectra);
-        final var mag = dbScale ? SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, true) : SpectrumTools.computeMagnitudeSpectrum(fftSpectra, true);
+        FftPlanCache.getInstance().getDoubleFFT(n).realForward(fftSpectra);
+        final int nMag = n / 2;
+        final var mag = new double[nMag];
+        if (dbScale) {
+            SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, 0, n, mag, 0, true);
+        } else {
+            SpectrumTools.computeMagnitudeSpectrum(fftSpectra, 0, n, mag, 0, true);
+        }
         final var dt = function.get(DIM_X, function.getDataCount() - 1) - function.get(DIM_X, 0);
-        final var fsampling = normalisedFrequency || dt <= 0 ? 0.5 / mag.length : 1.0 / dt;
+        final var fsampling = normalisedFrequency || dt <= 0 ? 0.5 / nMag : 1.0 / dt;
 
-        final var ret = new DoubleErrorDataSet(functionName, mag.length);
-        for (var i = 0; i < mag.length; i++) {
-            // TODO: consider magnitude error estimate
-            ret.add(i * fsampling, mag[i], 0, 0);
+        final var frequency = new double[nMag];
+        for (var i = 0; i < nMag; i++) {
+            frequency[i] = i * fsampling;
         }
+        // TODO: consider magnitude error estimate
+        final var ret = new DoubleErrorDataSet(functionName, frequency, mag, new double[nMag], new double[nMag], nMag, false);
 
         return ret;
     }
@@ -893,32 +860,40 @@ public final class DataSetMath { // NOPMD - nomen est omen
             final boolean dbScale, final boolean normalisedFrequency, @NotNull final Formatter<Number>... format) {
         final int n = function.getDataCount();
 
-        final var fastFourierTrafo = new DoubleFFT_1D(n);
+        final var functionName = getFormatter(format).format("Mag{0}({1})", dbScale ? "[dB]" : "", function.getName());
+        if (n == 0) {
+            return new DoubleErrorDataSet(functionName, 0);
+        }
 
-        // N.B. since realForward computes the FFT in-place -> generate a copy
-        final var fftSpectra = new double[2 * n];
+        // N.B. since complexForward computes the FFT in-place -> work on a (thread-local) copy
+        final double[] fftSpectra = FftPlanCache.getWorkBuffer(0, 2 * n);
+        final double[] window = apodization.getWindow(n);
         for (var i = 0; i < n; i++) {
-            final double window = apodization.getIndex(i, n);
-            fftSpectra[2 * i] = function.get(DIM_Y, i) * window;
-            fftSpectra[2 * i + 1] = function.get(DIM_Z, i) * window;
+            fftSpectra[2 * i] = function.get(DIM_Y, i) * window[i];
+            fftSpectra[2 * i + 1] = function.get(DIM_Z, i) * window[i];
         }
 
-        fastFourierTrafo.complexForward(fftSpectra);
-        final var mag = dbScale ? SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, true)
-                                : SpectrumTools.computeMagnitudeSpectrum(fftSpectra, true);
+        FftPlanCache.getInstance().getDoubleFFT(n).complexForward(fftSpectra);
+        final double[] mag = FftPlanCache.getWorkBuffer(1, n);
+        if (dbScale) {
+            SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, 0, 2 * n, mag, 0, true);
+        } else {
+            SpectrumTools.computeMagnitudeSpectrum(fftSpectra, 0, 2 * n, mag, 0, true);
+        }
         final var dt = function.get(DIM_X, function.getDataCount() - 1) - function.get(DIM_X, 0);
-        final var fsampling = normalisedFrequency || dt <= 0 ? 0.5 / mag.length : 1.0 / dt;
+        final var fsampling = normalisedFrequency || dt <= 0 ? 0.5 / n : 1.0 / dt;
 
-        final var functionName = getFormatter(format).format("Mag{0}({1})", dbScale ? "[dB]" : "", function.getName());
-        final var ret = new DoubleErrorDataSet(functionName, mag.length);
-        for (var i = 0; i < mag.length; i++) {
-            // TODO: consider magnitude error estimate
-            if (i < mag.length / 2) {
-                ret.add((i - mag.length / 2.0) * fsampling, mag[i + mag.length / 2], 0, 0);
-            } else {
-                ret.add((i - mag.length / 2.0) * fsampling, mag[i - mag.length / 2], 0, 0);
-            }
+        // re-order spectrum from [0, ..., fmax, fmin, ..., 0[ to [fmin, ..., fmax]
+        final int nHalf = n / 2;
+        final var frequency = new double[n];
+        final var magnitude = new double[n];
+        for (var i = 0; i < n; i++) {
+            frequency[i] = (i - n / 2.0) * fsampling;
         }
+        System.arraycopy(mag, nHalf, magnitude, 0, n - nHalf);
+        System.arraycopy(mag, 0, magnitude, n - nHalf, nHalf);
+        // TODO: consider magnitude error estimate
+        final var ret = new DoubleErrorDataSet(functionName, frequency, magnitude, new double[n], new double[n], n, false);
 
         return ret;
     }
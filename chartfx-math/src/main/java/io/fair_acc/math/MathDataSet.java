@@ -3,6 +3,7 @@ package io.fair_acc.math;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import io.fair_acc.dataset.DataSet;
@@ -10,6 +11,7 @@ import io.fair_acc.dataset.DataSetError;
 import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.events.EventProcessor;
+import io.fair_acc.dataset.events.PooledEventProcessor;
 import io.fair_acc.dataset.events.ThreadEventProcessor;
 import io.fair_acc.dataset.spi.DoubleErrorDataSet;
 
@@ -17,6 +19,10 @@ import io.fair_acc.dataset.spi.DoubleErrorDataSet;
  * DataSet that automatically transforms source DataSet accordance to
  * DataSetFunction or DataSetValueFunction definition. An optional rate limit is
  * available to limit the number of redundant (GUI) updates if desired.
+ * <p>
+ * Chained MathDataSets (e.g. raw -&gt; filtered -&gt; FFT) may be registered with a
+ * {@link MathDataSetGraph} that evaluates them in topological order rather than via
+ * cascading individual updates.
  *
  * @author rstein
  */
@@ -27,9 +33,13 @@ public class MathDataSet extends DoubleErrorDataSet {
     private final transient DataSetFunction dataSetFunction;
     private final transient DataSetsFunction dataSetsFunction;
     private final transient DataSetValueFunction dataSetValueFunction;
-    private final transient long minUpdatePeriod; // NOPMD
+    private final transient long minUpdatePeriod; // [ms]
     private final transient String transformName;
     private final BitState inputDataSetBitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+    private final transient Runnable updateAction = this::update; // N.B. same instance for removal
+    private final transient EventProcessor eventProcessor = ThreadEventProcessor.getUserInstance();
+    private transient volatile MathDataSetGraph graph;
+    private transient double[] zeroErrors = new double[0];
 
     /**
      * @param transformName String defining the prefix of the name of the calculated DataSet
@@ -43,7 +53,7 @@ public class MathDataSet extends DoubleErrorDataSet {
     /**
      * @param transformName String defining the prefix of the name of the calculated DataSet
      * @param dataSetFunction the DataSet in-to-out transform. see {@link DataSetFunction} for details
-     *            a minimum update time-out
+     * @param minUpdatePeriod minimum time-out in between two updates [ms] (negative: no rate limit)
      * @param source reference source DataSet
      */
     public MathDataSet(final String transformName, final DataSetFunction dataSetFunction, final long minUpdatePeriod, final DataSet source) {
@@ -62,6 +72,7 @@ public class MathDataSet extends DoubleErrorDataSet {
     /**
      * @param transformName String defining the prefix of the name of the calculated DataSet
      * @param dataSetFunction the DataSet in-to-out transform. see {@link DataSetsFunction} for details
+     * @param minUpdatePeriod minimum time-out in between two updates [ms] (negative: no rate limit)
      * @param sources reference source DataSet array
      */
     public MathDataSet(final String transformName, final DataSetsFunction dataSetFunction, final long minUpdatePeriod, final DataSet... sources) {
@@ -80,6 +91,7 @@ public class MathDataSet extends DoubleErrorDataSet {
     /**
      * @param transformName String defining the prefix of the name of the calculated DataSet
      * @param dataSetFunction the DataSet in-to-out transform. see {@link DataSetValueFunction} for details
+     * @param minUpdatePeriod minimum time-out in between two updates [ms] (negative: no rate limit)
      * @param source reference source DataSet
      */
     public MathDataSet(final String transformName, final DataSetValueFunction dataSetFunction, final long minUpdatePeriod, final DataSet source) {
@@ -111,22 +123,37 @@ public class MathDataSet extends DoubleErrorDataSet {
         }
 
         registerListener();
-        EventProcessor eventProcessor = ThreadEventProcessor.getUserInstance();
-        // eventProcessor.getBitState().addChangeListener(this);
-        eventProcessor.addAction(inputDataSetBitState, this::update);
-        // inputDataSetBitState.addChangeListener((source, bits) -> update());
-
-        // update();
+        if (eventProcessor instanceof PooledEventProcessor) {
+            ((PooledEventProcessor) eventProcessor).addAction(inputDataSetBitState, updateAction, Math.max(0, minUpdatePeriod), TimeUnit.MILLISECONDS);
+        } else {
+            eventProcessor.addAction(inputDataSetBitState, updateAction);
+        }
     }
 
+    /**
+     * forces the re-computation of this dataset, via its {@link MathDataSetGraph} (including the downstream nodes) if it
+     * is registered with one
+     */
     public final void triggerUpdate() {
-        inputDataSetBitState.setDirty(BitState.ALL_BITS);
+        final MathDataSetGraph current = graph;
+        if (current == null) {
+            inputDataSetBitState.setDirty(BitState.ALL_BITS);
+        } else {
+            current.triggerUpdate(this);
+        }
     }
 
     public final void deregisterListener() {
         sourceDataSets.forEach(srcDataSet -> srcDataSet.getBitState().removeInvalidateListener(inputDataSetBitState));
     }
 
+    /**
+     * @return minimum time-out in between two updates [ms] (negative: no rate limit)
+     */
+    public final long getMinUpdatePeriod() {
+        return minUpdatePeriod;
+    }
+
     public final List<DataSet> getSourceDataSets() {
         return sourceDataSets;
     }
@@ -135,6 +162,39 @@ public class MathDataSet extends DoubleErrorDataSet {
         sourceDataSets.forEach(srcDataSet -> srcDataSet.getBitState().addInvalidateListener(inputDataSetBitState));
     }
 
+    /**
+     * @return the graph this dataset is registered with, {@code null} if it is updated individually
+     */
+    public final MathDataSetGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Hands the scheduling over to the graph, i.e. removes the source listeners and the individual update action.
+     * N.B. processors other than {@link PooledEventProcessor} do not support the removal of actions, their action is
+     * kept but no longer triggered.
+     *
+     * @param graph the graph this dataset is registered with
+     */
+    final void joinGraph(final MathDataSetGraph graph) {
+        this.graph = graph;
+        deregisterListener();
+        if (eventProcessor instanceof PooledEventProcessor) {
+            ((PooledEventProcessor) eventProcessor).removeAction(inputDataSetBitState, updateAction);
+        }
+    }
+
+    /**
+     * Restores the individual scheduling, i.e. the source listeners and the update action.
+     */
+    final void leaveGraph() {
+        graph = null;
+        registerListener();
+        if (eventProcessor instanceof PooledEventProcessor) {
+            ((PooledEventProcessor) eventProcessor).addAction(inputDataSetBitState, updateAction, Math.max(0, minUpdatePeriod), TimeUnit.MILLISECONDS);
+        }
+    }
+
     private void handleDataSetValueFunctionInterface() {
         final DataSet dataSet = sourceDataSets.get(0);
         final int length = dataSet.getDataCount();
@@ -147,7 +207,13 @@ public class MathDataSet extends DoubleErrorDataSet {
             ySourceErrorPos = dsError.getErrorsPositive(DIM_Y);
             ySourceErrorNeg = dsError.getErrorsNegative(DIM_Y);
         } else {
-            ySourceErrorPos = new double[length];
+            // re-use the zero error buffer in between updates
+            if (zeroErrors.length < length) {
+                zeroErrors = new double[length];
+            } else {
+                Arrays.fill(zeroErrors, 0, length, 0.0);
+            }
+            ySourceErrorPos = zeroErrors;
             ySourceErrorNeg = ySourceErrorPos;
         }
         if (this.getCapacity() < length) {
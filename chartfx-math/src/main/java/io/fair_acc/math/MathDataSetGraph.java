@@ -0,0 +1,327 @@
+package io.fair_acc.math;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.PooledEventProcessor;
+import io.fair_acc.dataset.events.StateListener;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+
+/**
+ * Scheduler for chained {@link MathDataSet} pipelines (e.g. raw -&gt; filtered -&gt; FFT -&gt; dB -&gt; averaged).
+ * <p>
+ * The registered datasets form a directed acyclic graph via their {@link MathDataSet#getSourceDataSets() sources}.
+ * Rather than each stage listening to its sources and cascading updates, the graph listens only to its external
+ * (non-registered) sources and evaluates the affected nodes in topological order: nodes of the same depth (i.e.
+ * independent branches) are computed in parallel, and each node is computed at most once per source generation. Bursts
+ * of source updates are coalesced and rate-limited to the largest {@code minUpdatePeriod} of the registered datasets.
+ *
+ * <pre>{@code
+ * final MathDataSet filtered = new MathDataSet("filtered", filterFunction, raw);
+ * final MathDataSet spectrum = new MathDataSet("FFT", DataSetMath::magnitudeSpectrumDecibel, filtered);
+ * final MathDataSetGraph graph = new MathDataSetGraph().add(filtered, spectrum);
+ * }</pre>
+ */
+public class MathDataSetGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MathDataSetGraph.class);
+    private final BitState graphState = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+    private final Map<MathDataSet, Node> nodes = new LinkedHashMap<>(); // guarded by 'this'
+    private final Map<DataSet, StateListener> externalListeners = new HashMap<>(); // guarded by 'this'
+    private final PooledEventProcessor eventProcessor;
+    private List<List<Node>> levels = Collections.emptyList(); // guarded by 'this'
+    private volatile long generation;
+
+    public MathDataSetGraph() {
+        this(PooledEventProcessor.getInstance());
+    }
+
+    /**
+     * @param eventProcessor the processor the (coalesced) graph evaluation is executed on
+     */
+    public MathDataSetGraph(final PooledEventProcessor eventProcessor) {
+        AssertUtils.notNull("eventProcessor", eventProcessor);
+        this.eventProcessor = eventProcessor;
+        eventProcessor.addAction(graphState, this::evaluate, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers the datasets with this graph. Their individual source listeners and update actions are replaced by the
+     * graph scheduling, and their {@link MathDataSet#triggerUpdate()} is forwarded to {@link #triggerUpdate(MathDataSet...)}.
+     * N.B. the graph remains unchanged if the datasets cannot be added (e.g. due to cyclic dependencies).
+     *
+     * @param dataSets the derived datasets to be added
+     * @return itself (fluent design)
+     * @throws IllegalArgumentException if a dataset is part of another graph or the dependencies contain a cycle
+     */
+    public MathDataSetGraph add(final MathDataSet... dataSets) {
+        AssertUtils.notNull("dataSets", dataSets);
+        synchronized (this) {
+            for (final MathDataSet dataSet : dataSets) {
+                AssertUtils.notNull("dataSet", dataSet);
+                if (dataSet.getGraph() != null && dataSet.getGraph() != this) {
+                    throw new IllegalArgumentException("dataSet is already part of another graph: " + dataSet);
+                }
+            }
+            final Map<MathDataSet, Node> candidates = new LinkedHashMap<>(nodes);
+            for (final MathDataSet dataSet : dataSets) {
+                candidates.computeIfAbsent(dataSet, Node::new);
+            }
+            rebuild(candidates); // N.B. throws prior to any modification
+            for (final MathDataSet dataSet : dataSets) {
+                if (!nodes.containsKey(dataSet)) {
+                    dataSet.joinGraph(this);
+                    nodes.put(dataSet, candidates.get(dataSet));
+                }
+            }
+        }
+        triggerUpdate(dataSets);
+        return this;
+    }
+
+    /**
+     * @return the registered datasets in topological (i.e. evaluation) order
+     */
+    public synchronized List<MathDataSet> getDataSets() {
+        final List<MathDataSet> result = new ArrayList<>(nodes.size());
+        levels.forEach(level -> level.forEach(node -> result.add(node.dataSet)));
+        return result;
+    }
+
+    /**
+     * @return number of completed graph evaluations
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @param dataSet the registered dataset
+     * @return the generation in which the dataset has been last computed (0: never)
+     */
+    public synchronized long getGeneration(final MathDataSet dataSet) {
+        final Node node = nodes.get(dataSet);
+        if (node == null) {
+            throw new IllegalArgumentException("dataSet is not part of this graph: " + dataSet);
+        }
+        return node.generation;
+    }
+
+    /**
+     * De-registers the datasets from this graph and restores their individual source listeners and update actions.
+     *
+     * @param dataSets the derived datasets to be removed
+     * @return itself (fluent design)
+     */
+    public MathDataSetGraph remove(final MathDataSet... dataSets) {
+        AssertUtils.notNull("dataSets", dataSets);
+        synchronized (this) {
+            final Map<MathDataSet, Node> candidates = new LinkedHashMap<>(nodes);
+            for (final MathDataSet dataSet : dataSets) {
+                candidates.remove(dataSet);
+            }
+            rebuild(candidates);
+            for (final MathDataSet dataSet : dataSets) {
+                if (nodes.remove(dataSet) != null) {
+                    dataSet.leaveGraph();
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * forces the re-computation of the given datasets (and their downstream nodes), or the whole graph if none are given
+     *
+     * @param dataSets the datasets to be updated
+     */
+    public void triggerUpdate(final MathDataSet... dataSets) {
+        synchronized (this) {
+            if (dataSets.length == 0) {
+                nodes.values().forEach(node -> node.dirty.set(true));
+            }
+            for (final MathDataSet dataSet : dataSets) {
+                final Node node = nodes.get(dataSet);
+                if (node != null) {
+                    node.dirty.set(true);
+                }
+            }
+        }
+        graphState.setDirty(ChartBits.DataSetData);
+    }
+
+    protected void evaluate() {
+        final List<List<Node>> pending = new ArrayList<>();
+        final long nextGeneration;
+        synchronized (this) {
+            nextGeneration = generation + 1;
+            // propagate dirty state downstream, each node is evaluated at most once per generation
+            for (final List<Node> level : levels) {
+                final List<Node> dirtyNodes = new ArrayList<>();
+                for (final Node node : level) {
+                    if (node.dirty.getAndSet(false) | node.upstream.stream().anyMatch(up -> up.generation == nextGeneration)) {
+                        node.generation = nextGeneration;
+                        dirtyNodes.add(node);
+                    }
+                }
+                if (!dirtyNodes.isEmpty()) {
+                    pending.add(dirtyNodes);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (final List<Node> level : pending) {
+            try {
+                invoke(level);
+            } catch (final ExecutionException e) {
+                LOGGER.atError().setCause(e.getCause()).addArgument(nextGeneration).log("graph evaluation of generation {} failed");
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        generation = nextGeneration;
+    }
+
+    /**
+     * Re-computes the topology for the given (future) set of nodes. N.B. the new links are derived without modifying any
+     * state and only applied if they are free of cycles, i.e. the graph remains unchanged (and operational) otherwise.
+     *
+     * @param candidates the nodes the graph is going to consist of
+     */
+    private void rebuild(final Map<MathDataSet, Node> candidates) { // guarded by 'this'
+        final Map<Node, List<Node>> upstreamNodes = new HashMap<>();
+        final Map<Node, List<Node>> downstreamNodes = new HashMap<>();
+        final Set<DataSet> externalSources = new HashSet<>();
+        long minUpdatePeriod = 0;
+        for (final Node node : candidates.values()) {
+            upstreamNodes.computeIfAbsent(node, k -> new ArrayList<>());
+            downstreamNodes.computeIfAbsent(node, k -> new ArrayList<>());
+        }
+        for (final Node node : candidates.values()) {
+            final List<Node> upstreamList = upstreamNodes.get(node);
+            for (final DataSet source : node.dataSet.getSourceDataSets()) {
+                final Node upstream = source instanceof MathDataSet ? candidates.get(source) : null;
+                if (upstream == null) {
+                    externalSources.add(source);
+                } else if (!upstreamList.contains(upstream)) {
+                    upstreamList.add(upstream);
+                    downstreamNodes.get(upstream).add(node);
+                }
+            }
+            minUpdatePeriod = Math.max(minUpdatePeriod, node.dataSet.getMinUpdatePeriod());
+        }
+
+        // topological sort (Kahn) into levels of mutually independent nodes
+        final Map<Node, Integer> inDegree = new HashMap<>();
+        final List<List<Node>> newLevels = new ArrayList<>();
+        List<Node> level = new ArrayList<>();
+        for (final Node node : candidates.values()) {
+            inDegree.put(node, upstreamNodes.get(node).size());
+            if (upstreamNodes.get(node).isEmpty()) {
+                level.add(node);
+            }
+        }
+        int sorted = 0;
+        while (!level.isEmpty()) {
+            newLevels.add(level);
+            sorted += level.size();
+            final List<Node> next = new ArrayList<>();
+            for (final Node node : level) {
+                for (final Node downstream : downstreamNodes.get(node)) {
+                    if (inDegree.merge(downstream, -1, Integer::sum) == 0) {
+                        next.add(downstream);
+                    }
+                }
+            }
+            level = next;
+        }
+        if (sorted != candidates.size()) {
+            throw new IllegalArgumentException("dataset dependencies contain a cycle");
+        }
+
+        // apply the new topology
+        for (final Node node : candidates.values()) {
+            node.upstream.clear();
+            node.upstream.addAll(upstreamNodes.get(node));
+            node.downstream.clear();
+            node.downstream.addAll(downstreamNodes.get(node));
+        }
+        externalListeners.entrySet().removeIf(entry -> {
+            if (externalSources.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getKey().getBitState().removeInvalidateListener(entry.getValue());
+            return true;
+        });
+        externalSources.forEach(source -> externalListeners.computeIfAbsent(source, this::createExternalListener));
+        levels = newLevels;
+        eventProcessor.setMinUpdatePeriod(graphState, minUpdatePeriod, TimeUnit.MILLISECONDS);
+    }
+
+    private StateListener createExternalListener(final DataSet source) {
+        final StateListener listener = (state, bits) -> {
+            synchronized (this) {
+                for (final Node node : nodes.values()) {
+                    if (node.dataSet.getSourceDataSets().contains(source)) {
+                        node.dirty.set(true);
+                    }
+                }
+            }
+            graphState.setDirty(ChartBits.DataSetData);
+        };
+        source.getBitState().addInvalidateListener(ChartBits.DataSetMask, listener);
+        return listener;
+    }
+
+    private static void invoke(final List<Node> level) throws InterruptedException, ExecutionException {
+        if (level.size() == 1) {
+            try {
+                level.get(0).call();
+            } catch (final RuntimeException e) { // NOPMD -- consistent with Future.get()
+                throw new ExecutionException(e);
+            }
+            return;
+        }
+        for (final Future<Void> future : CachedDaemonThreadFactory.getCommonPool().invokeAll(level)) {
+            future.get();
+        }
+    }
+
+    private static class Node implements Callable<Void> {
+        private final MathDataSet dataSet;
+        private final List<Node> upstream = new ArrayList<>();
+        private final List<Node> downstream = new ArrayList<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private long generation; // guarded by graph
+
+        Node(final MathDataSet dataSet) {
+            this.dataSet = dataSet;
+        }
+
+        @Override
+        public Void call() {
+            dataSet.update();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package io.fair_acc.math;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.DataSetMath.Filter;
+
+/**
+ * Streaming sliding-window engine for {@link DataSetMath#filterFunction}: evaluates a {@link Filter} over all samples
+ * whose x-coordinate lies within {@code |x - x0| <= width} of each sample {@code x0}.
+ * <p>
+ * The windows are determined once by two pointers running over the x-axis in ascending order (unsorted inputs are
+ * sorted by an index permutation, the outputs keep the original sample order). Each window is then updated
+ * incrementally while the pointers advance:
+ * <ul>
+ * <li>MIN, MAX, P2P: monotonic deques (amortised O(1) per sample),</li>
+ * <li>MEAN, RMS, GEOMMEAN: compensated running sums (O(1) per sample),</li>
+ * <li>MEDIAN: rank-indexed Fenwick tree used as an order-statistic set (O(log n) per sample).</li>
+ * </ul>
+ * This replaces the previous O(n²) re-scan of all samples for every output point.
+ * <p>
+ * Samples with a non-finite x-coordinate are not part of any window and their outputs are set to {@code Double.NaN},
+ * as are the outputs of windows containing {@code NaN} values (except for GEOMMEAN windows containing a zero).
+ * <p>
+ * N.B. instances are not thread-safe but may be reused for several value channels sharing the same x-axis.
+ */
+public final class SlidingWindowFilter {
+    private final int length;
+    private final int nFinite;
+    private final int[] order; // sorted position -> original index
+    private final int[] windowStart; // per sorted position, inclusive
+    private final int[] windowEnd; // per sorted position, exclusive
+    private final double[] sorted; // value buffer in sorted order
+    private int[] deque;
+    private int[] rank;
+
+    /**
+     * @param xValues x-coordinates of the samples (need not be sorted)
+     * @param length number of samples to be used (&lt;= xValues.length)
+     * @param width half-width of the filter window in units of the x-coordinate
+     */
+    public SlidingWindowFilter(final double[] xValues, final int length, final double width) {
+        AssertUtils.notNull("xValues", xValues);
+        AssertUtils.indexInBounds(length, xValues.length + 1, "length must be within [0, xValues.length]");
+        this.length = length;
+        order = computeOrder(xValues, length);
+        sorted = new double[length];
+        windowStart = new int[length];
+        windowEnd = new int[length];
+
+        var finite = 0;
+        while (finite < length && Double.isFinite(xValues[order[finite]])) {
+            sorted[finite] = xValues[order[finite]];
+            finite++;
+        }
+        nFinite = width >= 0 ? finite : 0; // negative or NaN widths: empty windows
+
+        // N.B. same window criterion as the original brute-force implementation, the set {j : |x0 - x_j| <= width} is
+        // contiguous in sorted order and both of its boundaries are non-decreasing with x0
+        var start = 0;
+        var end = 0;
+        for (var k = 0; k < nFinite; k++) {
+            final double x0 = sorted[k];
+            while (MathBase.abs(x0 - sorted[start]) > width) {
+                start++;
+            }
+            if (end <= k) {
+                end = k + 1; // the sample itself is always part of its window
+            }
+            while (end < nFinite && MathBase.abs(x0 - sorted[end]) <= width) {
+                end++;
+            }
+            windowStart[k] = start;
+            windowEnd[k] = end;
+        }
+    }
+
+    /**
+     * Applies the filter to one value channel.
+     *
+     * @param values input values (same sample order as the x-coordinates)
+     * @param filterType the filter to be applied
+     * @param output storage for the filtered values (length &gt;= number of samples), may be {@code null}
+     * @return the filtered values (the provided or a newly allocated output array)
+     */
+    public double[] apply(final double[] values, final Filter filterType, final double[] output) {
+        AssertUtils.notNull("values", values);
+        AssertUtils.notNull("filterType", filterType);
+        AssertUtils.gtOrEqual("values.length must be >= length", length, values.length);
+        final double[] result = output == null || output.length < length ? new double[length] : output;
+        for (var k = 0; k < nFinite; k++) {
+            sorted[k] = values[order[k]];
+        }
+        for (var k = nFinite; k < length; k++) {
+            result[order[k]] = Double.NaN;
+        }
+
+        switch (filterType) {
+        case MEDIAN:
+            applyMedian(result);
+            break;
+        case MIN:
+        case MAX:
+        case P2P:
+            applyExtremum(filterType, result);
+            break;
+        case RMS:
+        case GEOMMEAN:
+        case MEAN:
+        default:
+            applyMoments(filterType, result);
+            break;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of samples
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @param windowSizes storage for the number of samples within the filter window of each sample (original order),
+     *            may be {@code null}
+     * @return the number of samples within the filter window of each sample
+     */
+    public int[] getWindowSizes(final int[] windowSizes) {
+        final int[] result = windowSizes == null || windowSizes.length < length ? new int[length] : windowSizes;
+        Arrays.fill(result, 0, length, 0);
+        for (var k = 0; k < nFinite; k++) {
+            result[order[k]] = windowEnd[k] - windowStart[k];
+        }
+        return result;
+    }
+
+    private void applyExtremum(final Filter filterType, final double[] result) {
+        // two monotonic deques of sorted positions sharing one array: since every position is pushed at most once,
+        // the min deque uses [0, n) and the max deque [n, 2n) without wrap-around
+        if (deque == null) {
+            deque = new int[2 * nFinite];
+        }
+        var minHead = 0;
+        var minTail = 0;
+        var maxHead = nFinite;
+        var maxTail = nFinite;
+        var nNaN = 0;
+        var start = 0;
+        var end = 0;
+        for (var k = 0; k < nFinite; k++) {
+            for (; end < windowEnd[k]; end++) {
+                final double value = sorted[end];
+                if (Double.isNaN(value)) {
+                    nNaN++;
+                    continue;
+                }
+                while (minTail > minHead && sorted[deque[minTail - 1]] >= value) {
+                    minTail--;
+                }
+                deque[minTail++] = end;
+                while (maxTail > maxHead && sorted[deque[maxTail - 1]] <= value) {
+                    maxTail--;
+                }
+                deque[maxTail++] = end;
+            }
+            for (; start < windowStart[k]; start++) {
+                if (Double.isNaN(sorted[start])) {
+                    nNaN--;
+                }
+            }
+            while (minHead < minTail && deque[minHead] < start) {
+                minHead++;
+            }
+            while (maxHead < maxTail && deque[maxHead] < start) {
+                maxHead++;
+            }
+
+            final double value;
+            if (nNaN > 0) {
+                value = Double.NaN;
+            } else if (filterType == Filter.MIN) {
+                value = sorted[deque[minHead]];
+            } else if (filterType == Filter.MAX) {
+                value = sorted[deque[maxHead]];
+            } else {
+                value = MathBase.abs(sorted[deque[maxHead]] - sorted[deque[minHead]]);
+            }
+            result[order[k]] = value;
+        }
+    }
+
+    private void applyMedian(final double[] result) {
+        // ranks w.r.t. the distinct sorted values (NaN sorted last), the Fenwick tree holds the multiplicity per rank
+        final double[] distinct = Arrays.copyOf(sorted, nFinite);
+        Arrays.sort(distinct);
+        var nDistinct = 0;
+        for (var i = 0; i < nFinite; i++) {
+            if (nDistinct == 0 || Double.compare(distinct[nDistinct - 1], distinct[i]) != 0) {
+                distinct[nDistinct++] = distinct[i];
+            }
+        }
+        if (rank == null) {
+            rank = new int[nFinite];
+        }
+        for (var i = 0; i < nFinite; i++) {
+            rank[i] = Arrays.binarySearch(distinct, 0, nDistinct, sorted[i]);
+        }
+
+        final var tree = new int[nDistinct + 1];
+        final int highestBit = nDistinct == 0 ? 0 : Integer.highestOneBit(nDistinct);
+        var count = 0;
+        var nNaN = 0;
+        var start = 0;
+        var end = 0;
+        for (var k = 0; k < nFinite; k++) {
+            for (; end < windowEnd[k]; end++) {
+                if (Double.isNaN(sorted[end])) {
+                    nNaN++;
+                } else {
+                    fenwickUpdate(tree, rank[end], +1);
+                    count++;
+                }
+            }
+            for (; start < windowStart[k]; start++) {
+                if (Double.isNaN(sorted[start])) {
+                    nNaN--;
+                } else {
+                    fenwickUpdate(tree, rank[start], -1);
+                    count--;
+                }
+            }
+
+            if (nNaN > 0) {
+                result[order[k]] = Double.NaN;
+            } else if (count % 2 == 1) {
+                result[order[k]] = distinct[fenwickSelect(tree, highestBit, count / 2)];
+            } else {
+                final double lower = distinct[fenwickSelect(tree, highestBit, count / 2 - 1)];
+                final double upper = distinct[fenwickSelect(tree, highestBit, count / 2)];
+                result[order[k]] = 0.5 * (lower + upper);
+            }
+        }
+    }
+
+    private void applyMoments(final Filter filterType, final double[] result) {
+        // compensated (Kahan-Babuska) running sums over the finite values, windows containing non-finite values fall
+        // back to a direct evaluation to retain the NaN/infinity semantics of the original implementation
+        final var sum1 = new double[2];
+        final var sum2 = new double[2];
+        var nNonFinite = 0;
+        var nZero = 0;
+        var start = 0;
+        var end = 0;
+        for (var k = 0; k < nFinite; k++) {
+            for (; end < windowEnd[k]; end++) {
+                final double value = sorted[end];
+                if (!Double.isFinite(value)) {
+                    nNonFinite++;
+                } else if (filterType == Filter.GEOMMEAN) {
+                    if (value == 0.0) {
+                        nZero++;
+                    } else {
+                        add(sum1, MathBase.log(MathBase.abs(value)));
+                    }
+                } else {
+                    add(sum1, value);
+                    add(sum2, value * value);
+                }
+            }
+            for (; start < windowStart[k]; start++) {
+                final double value = sorted[start];
+                if (!Double.isFinite(value)) {
+                    nNonFinite--;
+                } else if (filterType == Filter.GEOMMEAN) {
+                    if (value == 0.0) {
+                        nZero--;
+                    } else {
+                        add(sum1, -MathBase.log(MathBase.abs(value)));
+                    }
+                } else {
+                    add(sum1, -value);
+                    add(sum2, -value * value);
+                }
+            }
+
+            final int count = end - start;
+            final double norm = 1.0 / count;
+            final double value;
+            if (filterType == Filter.GEOMMEAN) {
+                if (nZero > 0) {
+                    value = 0.0;
+                } else if (nNonFinite > 0) {
+                    value = Math.geometricMean(sorted, start, count);
+                } else {
+                    value = MathBase.exp((sum1[0] + sum1[1]) * norm);
+                }
+            } else if (nNonFinite > 0) {
+                value = filterType == Filter.RMS ? rms(sorted, start, end) : mean(sorted, start, end);
+            } else if (filterType == Filter.RMS) {
+                final double mean = (sum1[0] + sum1[1]) * norm;
+                final double meanSquare = (sum2[0] + sum2[1]) * norm;
+                value = MathBase.sqrt(MathBase.abs(meanSquare - mean * mean)); // un-biased rms
+            } else {
+                value = (sum1[0] + sum1[1]) * norm;
+            }
+            result[order[k]] = value;
+        }
+    }
+
+    private static void add(final double[] sum, final double value) {
+        // Kahan-Babuska/Neumaier: sum[0] holds the running sum, sum[1] the accumulated rounding error
+        final double total = sum[0] + value;
+        if (MathBase.abs(sum[0]) >= MathBase.abs(value)) {
+            sum[1] += (sum[0] - total) + value;
+        } else {
+            sum[1] += (value - total) + sum[0];
+        }
+        sum[0] = total;
+    }
+
+    private static int[] computeOrder(final double[] xValues, final int length) {
+        var sortedAndFinite = true;
+        for (var i = 0; i < length && sortedAndFinite; i++) {
+            sortedAndFinite = Double.isFinite(xValues[i]) && (i == 0 || xValues[i] >= xValues[i - 1]);
+        }
+        if (sortedAndFinite) {
+            return IntStream.range(0, length).toArray();
+        }
+        // finite x-coordinates in ascending order (stable), followed by the non-finite ones
+        return IntStream.range(0, length).boxed() //
+                .sorted(Comparator.comparingInt((Integer i) -> Double.isFinite(xValues[i]) ? 0 : 1).thenComparingDouble(i -> xValues[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int fenwickSelect(final int[] tree, final int highestBit, final int k) {
+        // returns the (0-based) rank of the k-th smallest element (0-based)
+        var position = 0;
+        var remaining = k;
+        for (int bit = highestBit; bit > 0; bit >>= 1) {
+            final int next = position + bit;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private static void fenwickUpdate(final int[] tree, final int rank, final int delta) {
+        for (int i = rank + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static double mean(final double[] data, final int start, final int end) {
+        final double norm = 1.0 / (end - start);
+        var val = 0.0;
+        for (var i = start; i < end; i++) {
+            val += norm * data[i];
+        }
+        return val;
+    }
+
+    private static double rms(final double[] data, final int start, final int end) {
+        final double norm = 1.0 / (end - start);
+        var val1 = 0.0;
+        var val2 = 0.0;
+        for (var i = start; i < end; i++) {
+            val1 += data[i];
+            val2 += data[i] * data[i];
+        }
+        val1 *= norm;
+        val2 *= norm;
+        return MathBase.sqrt(MathBase.abs(val2 - val1 * val1));
+    }
+}
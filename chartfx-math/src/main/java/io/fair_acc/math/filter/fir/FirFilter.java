@@ -85,6 +85,24 @@ public class FirFilter { // NOPMD - nomen est omen
         return filterParameters;
     }
 
+    /**
+     * causal FIR filter {@code y[n] = sum_k taps[k] * signal[n - k]} (samples preceding the signal are assumed to be
+     * zero). Short filters are evaluated in the time domain, long filters (from
+     * {@link StreamingFirFilter#DEFAULT_FFT_CROSSOVER_TAPS} taps on) via the FFT-based overlap-save method, see
+     * {@link StreamingFirFilter} for continuous data.
+     *
+     * @param signal input signal
+     * @param output output signal (if null a new vector is being allocated, N.B. must not be identical to signal)
+     * @param taps the filter coefficients (impulse response)
+     * @return filtered output signal
+     */
+    public static double[] filter(final double[] signal, final double[] output, final double[] taps) {
+        AssertUtils.notNull("signal", signal);
+        final double[] filteredSignal = output == null ? new double[signal.length] : output;
+        new StreamingFirFilter(taps).filter(signal, filteredSignal, 0, signal.length);
+        return filteredSignal;
+    }
+
     /**
      * filter from: "The Scientist and Engineer's Guide to DSP" Chapter 20
      *
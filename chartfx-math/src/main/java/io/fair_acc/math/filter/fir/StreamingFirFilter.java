@@ -0,0 +1,181 @@
+package io.fair_acc.math.filter.fir;
+
+import java.util.Arrays;
+
+import org.jtransforms.fft.DoubleFFT_1D;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Causal FIR filter {@code y[n] = sum_k taps[k] * x[n - k]} for continuous (live) data that is processed block-wise.
+ * The last {@code taps.length - 1} input samples are kept in between calls so that consecutive blocks yield the same
+ * output as filtering the whole sample stream at once.
+ * <p>
+ * Short filters are evaluated directly in the time domain in O(taps) per sample. From
+ * {@link #DEFAULT_FFT_CROSSOVER_TAPS} taps on, the overlap-save method is used: the input is cut into overlapping
+ * segments of an FFT size {@code L >= } {@value #FFT_SIZE_FACTOR}{@code * taps}, each of which is multiplied in the
+ * Fourier domain with the pre-computed spectrum of the taps, yielding {@code L - taps + 1} valid output samples for an
+ * O(log L) cost per sample. See {@code FirFilterBenchmark} (tests) for re-measuring the crossover on the target platform.
+ */
+public class StreamingFirFilter {
+    /** number of taps from which on the overlap-save FFT method is used */
+    public static final int DEFAULT_FFT_CROSSOVER_TAPS = 64;
+    /** minimum ratio between the FFT size and the number of taps */
+    public static final int FFT_SIZE_FACTOR = 4;
+    private final double[] taps;
+    private final double[] history; // last taps.length - 1 input samples, oldest first
+    private final int fftSize; // 0: time-domain evaluation
+    private final double[] tapsSpectrum; // packed real FFT of the zero-padded taps
+    private final double[] segment;
+
+    /**
+     * @param taps the filter coefficients (impulse response), copied
+     */
+    public StreamingFirFilter(final double[] taps) {
+        this(taps, DEFAULT_FFT_CROSSOVER_TAPS);
+    }
+
+    /**
+     * @param taps the filter coefficients (impulse response), copied
+     * @param crossoverTaps number of taps from which on the overlap-save FFT method is used
+     */
+    public StreamingFirFilter(final double[] taps, final int crossoverTaps) {
+        AssertUtils.nonEmptyArray("taps", taps);
+        AssertUtils.gtThanZero("crossoverTaps", crossoverTaps);
+        this.taps = taps.clone();
+        history = new double[taps.length - 1];
+        if (taps.length < crossoverTaps) {
+            fftSize = 0;
+            tapsSpectrum = new double[0];
+            segment = tapsSpectrum;
+            return;
+        }
+        fftSize = ConcurrencyUtils.nextPow2(FFT_SIZE_FACTOR * taps.length);
+        tapsSpectrum = Arrays.copyOf(taps, fftSize);
+        FftPlanCache.getInstance().getDoubleFFT(fftSize).realForward(tapsSpectrum);
+        segment = new double[fftSize];
+    }
+
+    /**
+     * Filters the block {@code in[from, from + len[} into {@code out[from, from + len[}, continuing from the samples of
+     * the previous calls.
+     *
+     * @param in input samples
+     * @param out output samples (N.B. must not be identical to {@code in})
+     * @param from index of the first sample
+     * @param len number of samples
+     */
+    public void filter(final double[] in, final double[] out, final int from, final int len) {
+        AssertUtils.gtEqThanZero("from", from);
+        AssertUtils.gtEqThanZero("len", len);
+        AssertUtils.gtOrEqual("in", from + len, in.length);
+        AssertUtils.gtOrEqual("out", from + len, out.length);
+        if (in == out) {
+            throw new IllegalArgumentException("in-place filtering is not supported");
+        }
+        if (fftSize == 0) {
+            filterDirect(in, out, from, len);
+        } else {
+            filterOverlapSave(in, out, from, len);
+        }
+        updateHistory(in, from, len);
+    }
+
+    /**
+     * @return FFT size of the overlap-save segments, {@code 0} if the filter is evaluated in the time domain
+     */
+    public int getFftSize() {
+        return fftSize;
+    }
+
+    /**
+     * @return copy of the filter coefficients
+     */
+    public double[] getTaps() {
+        return taps.clone();
+    }
+
+    /**
+     * @return {@code true} if the overlap-save FFT method is used
+     */
+    public boolean isFftBased() {
+        return fftSize > 0;
+    }
+
+    /**
+     * Resets the filter state, i.e. the samples preceding the next block are assumed to be zero
+     */
+    public void reset() {
+        Arrays.fill(history, 0.0);
+    }
+
+    private void filterDirect(final double[] in, final double[] out, final int from, final int len) {
+        final int nTaps = taps.length;
+        final int nHistory = history.length;
+        for (int n = 0; n < len; n++) {
+            double sum = 0.0;
+            final int kMax = Math.min(n, nTaps - 1);
+            for (int k = 0; k <= kMax; k++) {
+                sum += taps[k] * in[from + n - k];
+            }
+            // samples preceding the block
+            for (int k = kMax + 1; k < nTaps; k++) {
+                sum += taps[k] * history[nHistory + n - k];
+            }
+            out[from + n] = sum;
+        }
+    }
+
+    private void filterOverlapSave(final double[] in, final double[] out, final int from, final int len) {
+        final DoubleFFT_1D fft = FftPlanCache.getInstance().getDoubleFFT(fftSize);
+        final int nHistory = history.length;
+        final int step = fftSize - nHistory;
+        for (int start = 0; start < len; start += step) {
+            // segment covers the input samples [start - nHistory, start + step[ of the block
+            final int nValid = Math.min(step, len - start);
+            if (start < nHistory) {
+                final int nPrevious = nHistory - start;
+                System.arraycopy(history, start, segment, 0, nPrevious);
+                System.arraycopy(in, from, segment, nPrevious, start + nValid);
+            } else {
+                System.arraycopy(in, from + start - nHistory, segment, 0, nHistory + nValid);
+            }
+            Arrays.fill(segment, nHistory + nValid, fftSize, 0.0);
+
+            fft.realForward(segment);
+            multiplyPacked(segment, tapsSpectrum);
+            fft.realInverse(segment, true);
+
+            // the first nHistory samples are corrupted by the circular wrap-around
+            System.arraycopy(segment, nHistory, out, from + start, nValid);
+        }
+    }
+
+    private void updateHistory(final double[] in, final int from, final int len) {
+        final int nHistory = history.length;
+        if (len >= nHistory) {
+            System.arraycopy(in, from + len - nHistory, history, 0, nHistory);
+        } else {
+            System.arraycopy(history, len, history, 0, nHistory - len);
+            System.arraycopy(in, from, history, nHistory - len, len);
+        }
+    }
+
+    /**
+     * complex multiplication of two spectra in the packed format of {@link DoubleFFT_1D#realForward(double[])}
+     */
+    private static void multiplyPacked(final double[] data, final double[] filter) {
+        data[0] *= filter[0]; // DC
+        data[1] *= filter[1]; // Nyquist
+        for (int i = 2; i < data.length; i += 2) {
+            final double aRe = data[i];
+            final double aIm = data[i + 1];
+            final double bRe = filter[i];
+            final double bIm = filter[i + 1];
+            data[i] = aRe * bRe - aIm * bIm;
+            data[i + 1] = aRe * bIm + aIm * bRe;
+        }
+    }
+}
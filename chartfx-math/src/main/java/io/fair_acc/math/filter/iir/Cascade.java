@@ -24,6 +24,8 @@ package io.fair_acc.math.filter.iir;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.complex.ComplexUtils;
 
+import io.fair_acc.dataset.utils.AssertUtils;
+
 /**
  * The mother of all filters. It contains the coefficients of all filter stages as a sequence of 2nd order filters and
  * the states of the 2nd order filters which also imply if it's direct form I or II
@@ -38,6 +40,9 @@ public class Cascade {
     // number of biquads in the system
     private int mNumBiquads;
 
+    // filter topology of the states
+    private int mDirectFormType = DirectFormAbstract.DIRECT_FORM_II;
+
     public Cascade() {
         mNumBiquads = 0;
     }
@@ -60,10 +65,44 @@ public class Cascade {
         return out;
     }
 
+    /**
+     * Filters the block {@code in[from, from + len[} into {@code out[from, from + len[}. The result and the filter state
+     * are identical to calling {@link #filter(double)} for each sample, but the block is processed section by section
+     * with the biquad coefficients and state held in local variables rather than through one virtual call per sample
+     * and section.
+     *
+     * @param in input samples
+     * @param out output samples (may be identical to {@code in} for in-place filtering)
+     * @param from index of the first sample
+     * @param len number of samples
+     */
+    public void filter(final double[] in, final double[] out, final int from, final int len) {
+        AssertUtils.gtEqThanZero("from", from);
+        AssertUtils.gtEqThanZero("len", len);
+        AssertUtils.gtOrEqual("in", from + len, in.length);
+        AssertUtils.gtOrEqual("out", from + len, out.length);
+        if (in != out) {
+            System.arraycopy(in, from, out, from, len);
+        }
+        for (int i = 0; i < mNumBiquads; i++) {
+            if (mStates[i] != null) {
+                mStates[i].process(out, out, from, len, mBiquads[i]);
+            }
+        }
+    }
+
     public Biquad getBiquad(final int index) {
         return mBiquads[index];
     }
 
+    /**
+     * @return filter topology of the states, either {@link DirectFormAbstract#DIRECT_FORM_I} or
+     *         {@link DirectFormAbstract#DIRECT_FORM_II}
+     */
+    public int getDirectFormType() {
+        return mDirectFormType;
+    }
+
     public int getNumBiquads() {
         return mNumBiquads;
     }
@@ -105,6 +144,7 @@ public class Cascade {
         mBiquads = new Biquad[mNumBiquads];
         switch (filterTypes) {
         case DirectFormAbstract.DIRECT_FORM_I:
+            mDirectFormType = DirectFormAbstract.DIRECT_FORM_I;
             mStates = new DirectFormI[mNumBiquads];
             for (int i = 0; i < mNumBiquads; i++) {
                 mStates[i] = new DirectFormI(); // NOPMD
@@ -112,6 +152,7 @@ public class Cascade {
             break;
         case DirectFormAbstract.DIRECT_FORM_II:
         default:
+            mDirectFormType = DirectFormAbstract.DIRECT_FORM_II;
             mStates = new DirectFormII[mNumBiquads];
             for (int i = 0; i < mNumBiquads; i++) {
                 mStates[i] = new DirectFormII(); // NOPMD
@@ -33,6 +33,22 @@ public abstract class DirectFormAbstract {
         reset();
     }
 
+    /**
+     * Filters the block {@code in[from, from + len[} into {@code out[from, from + len[}, equivalent to sequential calls
+     * of {@link #process1(double, Biquad)}. Derived forms override this with a loop keeping the state in local variables.
+     *
+     * @param in input samples
+     * @param out output samples (may be identical to {@code in})
+     * @param from index of the first sample
+     * @param len number of samples
+     * @param s the biquad section coefficients
+     */
+    public void process(final double[] in, final double[] out, final int from, final int len, final Biquad s) {
+        for (int i = from; i < from + len; i++) {
+            out[i] = process1(in[i], s);
+        }
+    }
+
     public abstract double process1(double in, Biquad s);
 
     public abstract void reset();
@@ -0,0 +1,119 @@
+package io.fair_acc.math.filter.iir;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.MathDataSet;
+
+/**
+ * {@link MathDataSet} applying an IIR {@link Cascade} filter to a rolling source DataSet, e.g. a
+ * {@link io.fair_acc.dataset.spi.CircularDoubleErrorDataSet} or {@link io.fair_acc.dataset.spi.FifoDoubleErrorDataSet}
+ * that is continuously appended to.
+ * <p>
+ * Rather than re-filtering the whole history on each update, the filter state is kept in between updates and only the
+ * samples appended since the last update (i.e. those with an x-coordinate beyond the last processed one) are filtered
+ * and appended. Samples that dropped out of the source are removed so that both data sets cover the same range. The
+ * output is thus identical to filtering the full sample stream once, independent of how often it is updated.
+ * <p>
+ * N.B. requires strictly increasing x-coordinates (e.g. time-stamps). If the source restarts, i.e. its last
+ * x-coordinate falls behind the last processed one, the filter is reset and the whole source content re-filtered.
+ */
+public class IirFilterDataSet extends MathDataSet { // NOPMD - too many parents is out of our control (Java intrinsic)
+    private static final long serialVersionUID = 3340858117934862376L;
+    private transient Cascade filter;
+    private double lastX = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param transformName String defining the prefix of the name of the calculated DataSet
+     * @param filter the IIR filter design (e.g. {@link Butterworth}, {@link ChebyshevI}), the state of which is owned by
+     *        this DataSet
+     * @param source the rolling source DataSet
+     */
+    public IirFilterDataSet(final String transformName, final Cascade filter, final DataSet source) {
+        this(transformName, filter, -1, source);
+    }
+
+    /**
+     * @param transformName String defining the prefix of the name of the calculated DataSet
+     * @param filter the IIR filter design (e.g. {@link Butterworth}, {@link ChebyshevI}), the state of which is owned by
+     *        this DataSet
+     * @param minUpdatePeriod minimum time-out in between two updates [ms] (negative: no rate limit)
+     * @param source the rolling source DataSet
+     */
+    public IirFilterDataSet(final String transformName, final Cascade filter, final long minUpdatePeriod, final DataSet source) {
+        super(transformName, null, (inputs, output) -> ((IirFilterDataSet) output).filterAppended(inputs.get(0)), null, minUpdatePeriod, AssertUtils.notNull("source", source));
+        AssertUtils.notNull("filter", filter);
+        lock().writeLockGuard(() -> this.filter = filter);
+        triggerUpdate();
+    }
+
+    /**
+     * @return the IIR filter (N.B. its state is modified by the updates of this DataSet)
+     */
+    public Cascade getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return x-coordinate of the last filtered sample
+     */
+    public double getLastX() {
+        return lock().readLockGuard(() -> lastX);
+    }
+
+    /**
+     * Resets the filter state and re-filters the whole content of the source DataSet with the next update
+     */
+    public void reset() {
+        lock().writeLockGuard(() -> {
+            filter.reset();
+            clearData();
+            lastX = Double.NEGATIVE_INFINITY;
+        });
+        triggerUpdate();
+    }
+
+    private void filterAppended(final DataSet source) {
+        if (filter == null) {
+            // update before the end of construction
+            return;
+        }
+        source.lock().readLockGuard(() -> {
+            final int nSource = source.getDataCount();
+            if (nSource == 0) {
+                return;
+            }
+            if (source.get(DIM_X, nSource - 1) < lastX) {
+                // source restarted
+                filter.reset();
+                clearData();
+                lastX = Double.NEGATIVE_INFINITY;
+            }
+            // N.B. new samples are appended at the end -> search is O(new samples)
+            int firstNew = nSource;
+            while (firstNew > 0 && source.get(DIM_X, firstNew - 1) > lastX) {
+                firstNew--;
+            }
+            final int nNew = nSource - firstNew;
+            if (nNew == 0) {
+                return;
+            }
+
+            final int nDrop = Math.min(getDataCount(), getDataCount() + nNew - nSource);
+            if (nDrop > 0) {
+                remove(0, nDrop);
+            }
+            final int offset = getDataCount();
+            resize(offset + nNew);
+            final double[] xValues = getValues(DIM_X);
+            final double[] yValues = getValues(DIM_Y);
+            for (int i = 0; i < nNew; i++) {
+                xValues[offset + i] = source.get(DIM_X, firstNew + i);
+                yValues[offset + i] = source.get(DIM_Y, firstNew + i);
+            }
+            filter.filter(yValues, yValues, offset, nNew);
+            lastX = xValues[offset + nNew - 1];
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package io.fair_acc.math.filter.iir;
+
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Applies the same {@link Cascade} filter to many independent channels, e.g. the 128 channels of a digitiser.
+ * <p>
+ * The biquad coefficients are copied from the prototype cascade at construction. The filter state of all channels is
+ * kept as struct-of-arrays, i.e. one array per state variable indexed by {@code channel * nBiquads + section}, rather
+ * than as one {@link DirectFormAbstract} object per channel and section. Each channel is processed block-wise and
+ * section by section with the coefficients and state in local variables. Larger blocks are distributed over the
+ * {@link ConcurrencyUtils} thread pool by channel.
+ * <p>
+ * The output of each channel is identical to the one of an individual copy of the prototype cascade filtering the
+ * same samples.
+ */
+public class MultiChannelCascade {
+    /** minimum number of samples (all channels) of a block from which on the channels are processed in parallel */
+    public static final int DEFAULT_START_THREADS = 1 << 15;
+    private final int nChannels;
+    private final int nBiquads;
+    private final int directFormType;
+    // biquad coefficients [b0, b1, b2, a1, a2] per section
+    private final double[] coefficients;
+    // DIRECT_FORM_I: x[n-1], x[n-2], y[n-1], y[n-2] -- DIRECT_FORM_II: v[n-1], v[n-2]
+    private final double[][] state;
+    private int startThreads = DEFAULT_START_THREADS;
+
+    /**
+     * @param prototype the filter design (e.g. {@link Butterworth}, {@link ChebyshevI}) to be applied to all channels
+     * @param nChannels number of channels
+     */
+    public MultiChannelCascade(final Cascade prototype, final int nChannels) {
+        AssertUtils.notNull("prototype", prototype);
+        AssertUtils.gtThanZero("nChannels", nChannels);
+        this.nChannels = nChannels;
+        nBiquads = prototype.getNumBiquads();
+        directFormType = prototype.getDirectFormType();
+        coefficients = new double[5 * nBiquads];
+        for (int section = 0; section < nBiquads; section++) {
+            final Biquad biquad = prototype.getBiquad(section);
+            coefficients[5 * section] = biquad.mB0;
+            coefficients[5 * section + 1] = biquad.mB1;
+            coefficients[5 * section + 2] = biquad.mB2;
+            coefficients[5 * section + 3] = biquad.mA1;
+            coefficients[5 * section + 4] = biquad.mA2;
+        }
+        state = new double[directFormType == DirectFormAbstract.DIRECT_FORM_I ? 4 : 2][nChannels * nBiquads];
+    }
+
+    /**
+     * Filters the block {@code in[channel][from, from + len[} into {@code out[channel][from, from + len[} for all
+     * channels.
+     *
+     * @param in input samples per channel
+     * @param out output samples per channel (may be identical to {@code in} for in-place filtering)
+     * @param from index of the first sample
+     * @param len number of samples
+     */
+    public void filter(final double[][] in, final double[][] out, final int from, final int len) {
+        AssertUtils.gtOrEqual("in", nChannels, in.length);
+        AssertUtils.gtOrEqual("out", nChannels, out.length);
+        final int nthreads = Math.min(ConcurrencyUtils.getNumberOfThreads(), nChannels);
+        if (nthreads <= 1 || (long) nChannels * len < startThreads) {
+            for (int channel = 0; channel < nChannels; channel++) {
+                filter(channel, in[channel], out[channel], from, len);
+            }
+            return;
+        }
+
+        final Future<?>[] futures = new Future[nthreads];
+        final int k = nChannels / nthreads;
+        for (int thread = 0; thread < nthreads; thread++) {
+            final int firstChannel = thread * k;
+            final int lastChannel = thread == nthreads - 1 ? nChannels : firstChannel + k;
+            futures[thread] = ConcurrencyUtils.submit(() -> {
+                for (int channel = firstChannel; channel < lastChannel; channel++) {
+                    filter(channel, in[channel], out[channel], from, len);
+                }
+            });
+        }
+        ConcurrencyUtils.waitForCompletion(futures);
+    }
+
+    /**
+     * Filters the block {@code in[from, from + len[} of a single channel into {@code out[from, from + len[}.
+     *
+     * @param channel channel index
+     * @param in input samples
+     * @param out output samples (may be identical to {@code in} for in-place filtering)
+     * @param from index of the first sample
+     * @param len number of samples
+     */
+    public void filter(final int channel, final double[] in, final double[] out, final int from, final int len) {
+        AssertUtils.indexInBounds(channel, nChannels, "channel");
+        AssertUtils.gtEqThanZero("from", from);
+        AssertUtils.gtEqThanZero("len", len);
+        AssertUtils.gtOrEqual("in", from + len, in.length);
+        AssertUtils.gtOrEqual("out", from + len, out.length);
+        if (in != out) {
+            System.arraycopy(in, from, out, from, len);
+        }
+        for (int section = 0; section < nBiquads; section++) {
+            if (directFormType == DirectFormAbstract.DIRECT_FORM_I) {
+                processDirectFormI(out, from, len, section, channel * nBiquads + section);
+            } else {
+                processDirectFormII(out, from, len, section, channel * nBiquads + section);
+            }
+        }
+    }
+
+    public int getDirectFormType() {
+        return directFormType;
+    }
+
+    public int getNumberOfBiquads() {
+        return nBiquads;
+    }
+
+    public int getNumberOfChannels() {
+        return nChannels;
+    }
+
+    /**
+     * @return minimum number of samples (all channels) of a block from which on the channels are processed in parallel
+     */
+    public int getStartThreads() {
+        return startThreads;
+    }
+
+    /**
+     * Resets the filter state of all channels
+     */
+    public void reset() {
+        for (final double[] variable : state) {
+            Arrays.fill(variable, 0.0);
+        }
+    }
+
+    /**
+     * Resets the filter state of a single channel
+     *
+     * @param channel channel index
+     */
+    public void reset(final int channel) {
+        AssertUtils.indexInBounds(channel, nChannels, "channel");
+        for (final double[] variable : state) {
+            Arrays.fill(variable, channel * nBiquads, (channel + 1) * nBiquads, 0.0);
+        }
+    }
+
+    /**
+     * @param startThreads minimum number of samples (all channels) of a block from which on the channels are processed
+     *        in parallel
+     */
+    public void setStartThreads(final int startThreads) {
+        AssertUtils.gtThanZero("startThreads", startThreads);
+        this.startThreads = startThreads;
+    }
+
+    // N.B. same arithmetic as DirectFormI#process1
+    private void processDirectFormI(final double[] data, final int from, final int len, final int section, final int index) {
+        final double b0 = coefficients[5 * section];
+        final double b1 = coefficients[5 * section + 1];
+        final double b2 = coefficients[5 * section + 2];
+        final double a1 = coefficients[5 * section + 3];
+        final double a2 = coefficients[5 * section + 4];
+        double x1 = state[0][index];
+        double x2 = state[1][index];
+        double y1 = state[2][index];
+        double y2 = state[3][index];
+        for (int i = from; i < from + len; i++) {
+            final double input = data[i];
+            final double output = b0 * input + b1 * x1 + b2 * x2 - a1 * y1 - a2 * y2;
+            x2 = x1;
+            y2 = y1;
+            x1 = input;
+            y1 = output;
+            data[i] = output;
+        }
+        state[0][index] = x1;
+        state[1][index] = x2;
+        state[2][index] = y1;
+        state[3][index] = y2;
+    }
+
+    // N.B. same arithmetic as DirectFormII#process1
+    private void processDirectFormII(final double[] data, final int from, final int len, final int section, final int index) {
+        final double b0 = coefficients[5 * section];
+        final double b1 = coefficients[5 * section + 1];
+        final double b2 = coefficients[5 * section + 2];
+        final double a1 = coefficients[5 * section + 3];
+        final double a2 = coefficients[5 * section + 4];
+        double v1 = state[0][index];
+        double v2 = state[1][index];
+        for (int i = from; i < from + len; i++) {
+            final double w = data[i] - a1 * v1 - a2 * v2;
+            data[i] = b0 * w + b1 * v1 + b2 * v2;
+            v2 = v1;
+            v1 = w;
+        }
+        state[0][index] = v1;
+        state[1][index] = v2;
+    }
+}
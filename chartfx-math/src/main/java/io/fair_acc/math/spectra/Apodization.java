@@ -1,5 +1,6 @@
 package io.fair_acc.math.spectra;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -11,7 +12,7 @@ import io.fair_acc.math.MathBase;
  * implementation of frequenty used apodization (aka. windowing) functions reference:
  * http://en.wikipedia.org/wiki/Apodization_function - feel free to populate this with the other (however also less
  * frequently used) windows
- * The array for the windows are cached. By default a WeakHashMap is used, but the cache can be replaced e.g by
+ * The array for the windows are cached. By default a synchronised WeakHashMap is used, but the cache can be replaced e.g by
  * {@link Cache} if different caching behaviour is wanted.
  *
  * @author rstein
@@ -29,7 +30,7 @@ public enum Apodization {
     FlatTop("Flat-Top"),
     Exponential("exponential");
 
-    private static Map<ApodizationArrayDescription, double[]> windowCache = new WeakHashMap<>();
+    private static Map<ApodizationArrayDescription, double[]> windowCache = Collections.synchronizedMap(new WeakHashMap<>());
 
     private final String fname;
 
@@ -189,10 +190,11 @@ public enum Apodization {
      * The map should implement some sort of caching behaviour e.g
      * <ul>
      * <li>{@link java.util.WeakHashMap} {@code <ApodizationArrayDescription, double[]>} invalidates under memory
-     * pressure (The default)
+     * pressure (The default, wrapped by {@link Collections#synchronizedMap(Map)})
      * <li>{@link Cache} limits retention time and number of cached entries
      * <li>custom implementation
      * </ul>
+     * N.B. the map should be thread-safe since the windows may be requested concurrently.
      *
      * @param windowCache A map to use as a cache for the apodization windows
      */
@@ -6,6 +6,9 @@ import java.util.Arrays;
 import org.jtransforms.fft.DoubleFFT_1D;
 
 import io.fair_acc.math.MathBase;
+import io.fair_acc.math.filter.fir.FirFilter;
+import io.fair_acc.math.filter.fir.StreamingFirFilter;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
 /**
@@ -17,9 +20,8 @@ public class Convolution {
     public DoubleFFT_1D f1dFFT;
 
     private void init(final int size) {
-        if (f1dFFT == null) {
-            f1dFFT = new DoubleFFT_1D(size);
-        }
+        // N.B. shared plans from the cache, also fixes re-use of a plan sized for a previous data length
+        f1dFFT = FftPlanCache.getInstance().getDoubleFFT(size);
     }
 
     public void Test() {
@@ -188,6 +190,24 @@ public class Convolution {
         }
     }
 
+    /**
+     * implements the causal linear convolution {@code output[n] = sum_k taps[k] * data[n - k]} with a time-domain
+     * (impulse response) filter. Switches from the direct evaluation to the FFT-based overlap-save method for filters
+     * with {@link StreamingFirFilter#DEFAULT_FFT_CROSSOVER_TAPS} or more taps.
+     *
+     * @param data the data set
+     * @param taps the filter coefficients
+     * @param output storage for the convoluted data (if null a new vector is being allocated)
+     * @return the convoluted data
+     */
+    public static double[] convolve(final double[] data, final double[] taps, final double[] output) {
+        if (data == null || data.length == 0) {
+            throw new InvalidParameterException("Convolution::convolve(double[], double[], double[])\n-"
+                                                + "data is null");
+        }
+        return FirFilter.filter(data, output, taps);
+    }
+
     /**
      * computes derivative filter (Fourier Domain)
      *
@@ -1,142 +1,103 @@
 package io.fair_acc.math.spectra;
 
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.DataSetBuilder;
+import io.fair_acc.dataset.utils.AssertUtils;
 import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
 import io.fair_acc.math.Spline;
-import io.fair_acc.math.TRandom;
 import io.fair_acc.math.matrix.MatrixD;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
 /**
+ * Ensemble empirical mode decomposition (EEMD).
+ * <p>
+ * The noise-added ensemble trials are independent of each other and are executed in parallel on the fork-join pool of
+ * the calling thread (usually the common pool). Each trial draws its noise from its own {@link SplittableRandom}
+ * stream that is split off a root generator in trial order, and the per-trial modes are summed in a binary tree whose
+ * shape depends only on the number of trials. Thus, for a given seed, the result is bit-identical regardless of the
+ * number of threads.
+ *
  * @author rstein
  */
 public class EEMD {
-    private static final TRandom rnd = new TRandom(0);
-    private int fstatus = 100;
+    /** seed used by {@link #eemd(double[], double, double)} */
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+    /** number of trials that are computed sequentially (and share the scratch buffers) by a single fork-join task */
+    private static final int TRIALS_PER_TASK = 2;
+    private static final int MAX_SIFTING_ITERATIONS = 30000;
+    private static final double BREAK_CRITERIA = 1e-12; // 0.3;
+    private volatile int fstatus = 100;
 
+    /**
+     * @param data input data
+     * @param rms_noise r.m.s. of the Gaussian noise added to the normalised data for each trial
+     * @param NE number of ensemble trials
+     * @return ensemble mean of the modes [sample][mode], column 0 contains the input data and column {@code TNM + 1}
+     *         the residual
+     * @see #eemd(double[], double, double, long)
+     */
     public MatrixD eemd(final double[] data, final double rms_noise, final double NE) {
+        return eemd(data, rms_noise, NE, DEFAULT_SEED);
+    }
+
+    /**
+     * @param data input data
+     * @param rms_noise r.m.s. of the Gaussian noise added to the normalised data for each trial
+     * @param NE number of ensemble trials
+     * @param seed seed of the per-trial random number streams
+     * @return ensemble mean of the modes [sample][mode], column 0 contains the input data and column {@code TNM + 1}
+     *         the residual
+     */
+    public MatrixD eemd(final double[] data, final double rms_noise, final double NE, final long seed) {
+        try {
+            return computeEnsemble(data, rms_noise, NE, seed, false);
+        } finally {
+            fstatus = 100;
+        }
+    }
+
+    /**
+     * @param normalised true: modes of the data normalised by their r.m.s., false: modes in units of the data
+     */
+    private MatrixD computeEnsemble(final double[] data, final double rms_noise, final double NE, final long seed, final boolean normalised) {
+        AssertUtils.notNull("data", data);
+        AssertUtils.gtThanZero("NE", NE);
         final int xsize = data.length;
-        final double[] X1 = new double[xsize];
-        final double[] xorigin = new double[xsize];
-        final double[] xstart = new double[xsize];
-        final double[] xstart_old = new double[xsize];
-        final double[] xend = new double[xsize];
-        // dd=1:1:xsize;
+        final int nTrials = (int) MathBase.ceil(NE);
         final double Ystd = Math.rms(data);
 
         final int TNM = (int) Math.floor(MathBase.log2(xsize)) - 1;
         final int TNM2 = TNM + 2;
 
-        final MatrixD allmode = new MatrixD(xsize, TNM2 + 1);
-        final MatrixD mode = new MatrixD(xsize, TNM2 + 1);
-
-        for (int iii = 0; iii < NE; iii++) {
-            for (int i = 0; i < xsize; i++) {
-                final double temp = rnd.Gaus(0, rms_noise);
-                X1[i] = data[i] / Ystd + temp;
-            }
-
-            for (int jj = 0; jj < xsize; jj++) {
-                mode.set(jj, 0, data[jj]);
-            }
-
-            System.arraycopy(X1, 0, xorigin, 0, xsize);
-            System.arraycopy(X1, 0, xend, 0, xsize);
-
-            for (int nmode = 1; nmode < TNM; nmode++) {
-                System.arraycopy(xend, 0, xstart, 0, xsize);
-                System.arraycopy(xend, 0, xstart_old, 0, xsize);
-
-                fstatus = (int) ((double) nmode / (double) TNM) * 100;
-                // the sifting process
-                // need to implement a more proper break condition than
-                // limited number of interactions
-                boolean abort = false;
-                for (int iter = 0; iter < 30000; iter++) {
-                    final double[][] spmax = SpectrumTools.computeMaxima(xstart);
-                    final double[][] spmin = SpectrumTools.computeMinima(xstart);
-                    final int nextrema = spmax[0].length + spmin[0].length;
-                    final int ncrossing = computeZeroCrossings(xstart);
-
-                    if (spmax[0].length < 3 || spmin[0].length < 3) {
-                        abort = true;
-                        System.err.println("break loop: iter = " + iter + " nmode " + nmode);
-                        break;
-                    }
-
-                    // System.err.printf("extrema %d vs. %d zero-crossings = %d vs (%d)\n", spmax[0].length,
-                    // spmin[0].length, ncrossing, nextrema);
-
-                    final Spline upper = new Spline(spmax[0], spmax[1]);
-                    final Spline lower = new Spline(spmin[0], spmin[1]);
-
-                    for (int i = 0; i < xsize; i++) {
-                        final double mean_ul = (upper.getValue(i) + lower.getValue(i)) / 2.0;
-                        xstart[i] -= mean_ul;
-                    }
-                    // final double residual = TMath.Mean(xstart);
-                    // final double rms = TMath.RMS(xstart);
-                    // System.err.printf("mode %d iter %d -> residual = %f\n",
-                    // nmode, iter, residual/rms);
-
-                    // check breaking condition
-                    double sum_sqr = 0, diff_sqr = 0;
-                    for (int i = 0; i < xstart.length; i++) {
-                        diff_sqr += MathBase.sqr(xstart_old[i] - xstart[i]);
-                        sum_sqr += MathBase.sqr(xstart_old[i]);
-                    }
-
-                    final double break_crit = 1e-12; // 0.3;
-
-                    final double estimate = sum_sqr != 0 ? diff_sqr / sum_sqr : 42;
-
-                    if (true) {
-                        if (sum_sqr == 0 || estimate < break_crit) {
-                            System.err.printf("break at mode %d and  iteration %d with criteria %e\n", nmode, iter,
-                                    estimate);
-                            break;
-                        }
-                    }
-
-                    if (true) {
-                        if (sum_sqr == 0 || Math.abs(nextrema - ncrossing) <= 0) {
-                            System.err.printf("break (crossing) at mode %d and  iteration %d with criteria %f\n", nmode,
-                                    iter, diff_sqr / sum_sqr);
-                            break;
-                        }
-                    }
-
-                    System.arraycopy(xstart, 0, xstart_old, 0, xstart.length);
-                }
-                for (int i = 0; i < xsize; i++) {
-                    xend[i] -= xstart[i];
-                }
-
-                // System.out.printf("store mode %d -> %f\n", nmode,
-                // TMath.RMS(xstart));
-                for (int jj = 0; jj < xsize; jj++) {
-                    mode.set(jj, nmode, xstart[jj]);
-                }
+        // per-trial random streams, split in trial order -> independent of the execution order
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] streams = new SplittableRandom[nTrials];
+        for (int trial = 0; trial < nTrials; trial++) {
+            streams[trial] = root.split();
+        }
 
-                if (abort) {
-                    nmode = TNM + 1;
-                }
-            }
+        fstatus = 0;
+        final Ensemble ensemble = new Ensemble(data, Ystd, rms_noise, TNM, TNM2 + 1, streams, nTrials);
+        final double[][] sum = ensemble.invoke(); // N.B. runs in the caller's pool, forked trials in the common pool
 
-            // store remainder of the sifting process
+        final MatrixD allmode = new MatrixD(xsize, TNM2 + 1);
+        final double scale = (normalised ? 1.0 : Ystd) / nTrials;
+        for (int nmode = 1; nmode < sum.length; nmode++) {
+            final double[] column = sum[nmode];
             for (int jj = 0; jj < xsize; jj++) {
-                mode.set(jj, TNM + 1, xend[jj]);
+                allmode.set(jj, nmode, scale * column[jj]);
             }
-
-            allmode.plus(mode);
         }
-
-        allmode.times(1.0 / NE);
-        allmode.times(Ystd);
-
-        return mode;
+        for (int jj = 0; jj < xsize; jj++) {
+            allmode.set(jj, 0, data[jj]);
+        }
+        return allmode;
     }
 
     /**
@@ -183,7 +144,9 @@ public class EEMD {
         }
 
         final HilbertTransform hilbert = new HilbertTransform();
-        final MatrixD emd = eemd(data, 0, 1.0);
+        // N.B. normalised modes, i.e. the dB values and the [-10, 10] clipping window below are independent of the
+        // data amplitude
+        final MatrixD emd = computeEnsemble(data, 0, 1.0, DEFAULT_SEED, true);
         final double[] mode = new double[nsamples];
         final int nmodes = emd.getColumnDimension() - 1;
         for (int nmode = 1; nmode < nmodes; nmode++) {
@@ -306,4 +269,236 @@ public class EEMD {
 
         return kk + ll > 2 ? 1 : -1;
     }
+
+    /**
+     * Sums the modes of the trials [from, to) in a binary tree that depends only on the number of trials.
+     */
+    private final class Ensemble extends RecursiveTask<double[][]> {
+        private static final long serialVersionUID = 1L;
+        private final transient double[] data;
+        private final double ystd;
+        private final double rmsNoise;
+        private final int tnm;
+        private final int nColumns;
+        private final transient SplittableRandom[] streams;
+        private final transient AtomicInteger done;
+        private final int nTrials;
+        private final int from;
+        private final int to;
+
+        private Ensemble(final double[] data, final double ystd, final double rmsNoise, final int tnm, final int nColumns, final SplittableRandom[] streams, final int nTrials) {
+            this(data, ystd, rmsNoise, tnm, nColumns, streams, new AtomicInteger(), nTrials, 0, nTrials);
+        }
+
+        private Ensemble(final double[] data, final double ystd, final double rmsNoise, final int tnm, final int nColumns, final SplittableRandom[] streams, final AtomicInteger done, final int nTrials, final int from, final int to) {
+            super();
+            this.data = data;
+            this.ystd = ystd;
+            this.rmsNoise = rmsNoise;
+            this.tnm = tnm;
+            this.nColumns = nColumns;
+            this.streams = streams;
+            this.done = done;
+            this.nTrials = nTrials;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[][] compute() {
+            if (to - from <= TRIALS_PER_TASK) {
+                final Sifter sifter = new Sifter(data.length);
+                final double[][] sum = new double[nColumns][data.length];
+                for (int trial = from; trial < to; trial++) {
+                    sifter.decompose(data, ystd, rmsNoise, streams[trial], tnm);
+                    for (int nmode = 1; nmode < nColumns; nmode++) {
+                        add(sum[nmode], sifter.modes[nmode]);
+                    }
+                    fstatus = (int) (100.0 * done.incrementAndGet() / (nTrials + 1));
+                }
+                return sum;
+            }
+
+            final int middle = (from + to) >>> 1;
+            final Ensemble left = new Ensemble(data, ystd, rmsNoise, tnm, nColumns, streams, done, nTrials, from, middle);
+            final Ensemble right = new Ensemble(data, ystd, rmsNoise, tnm, nColumns, streams, done, nTrials, middle, to);
+            left.fork();
+            final double[][] rightSum = right.compute();
+            final double[][] sum = left.join();
+            for (int nmode = 1; nmode < nColumns; nmode++) {
+                add(sum[nmode], rightSum[nmode]);
+            }
+            return sum;
+        }
+
+        private static void add(final double[] sum, final double[] value) {
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += value[i];
+            }
+        }
+    }
+
+    /**
+     * Scratch buffers of a single decomposition that are reused across the sifting iterations and trials.
+     */
+    private static final class Sifter {
+        private final double[] xstart;
+        private final double[] xstartOld;
+        private final double[] xend;
+        private final double[] maxX;
+        private final double[] maxY;
+        private final double[] minX;
+        private final double[] minY;
+        private double[][] modes = new double[0][];
+        private int nMaxima;
+        private int nMinima;
+
+        private Sifter(final int xsize) {
+            xstart = new double[xsize];
+            xstartOld = new double[xsize];
+            xend = new double[xsize];
+            maxX = new double[xsize];
+            maxY = new double[xsize];
+            minX = new double[xsize];
+            minY = new double[xsize];
+        }
+
+        private void decompose(final double[] data, final double ystd, final double rmsNoise, final SplittableRandom random, final int tnm) {
+            final int xsize = data.length;
+            if (modes.length != tnm + 3) {
+                modes = new double[tnm + 3][xsize];
+            }
+            for (final double[] mode : modes) {
+                Arrays.fill(mode, 0.0);
+            }
+
+            for (int i = 0; i < xsize; i++) {
+                xend[i] = data[i] / ystd + rmsNoise * random.nextGaussian();
+            }
+
+            for (int nmode = 1; nmode < tnm; nmode++) {
+                System.arraycopy(xend, 0, xstart, 0, xsize);
+                System.arraycopy(xend, 0, xstartOld, 0, xsize);
+
+                // the sifting process
+                // need to implement a more proper break condition than
+                // limited number of interactions
+                boolean abort = false;
+                for (int iter = 0; iter < MAX_SIFTING_ITERATIONS; iter++) {
+                    computeMaxima(xstart);
+                    computeMinima(xstart);
+                    final int nextrema = nMaxima + nMinima;
+                    final int ncrossing = computeZeroCrossings(xstart);
+
+                    if (nMaxima < 3 || nMinima < 3) {
+                        abort = true;
+                        break;
+                    }
+
+                    final Spline upper = new Spline(maxX, maxY, nMaxima, 0);
+                    final Spline lower = new Spline(minX, minY, nMinima, 0);
+
+                    for (int i = 0; i < xsize; i++) {
+                        final double mean_ul = (upper.getValue(i) + lower.getValue(i)) / 2.0;
+                        xstart[i] -= mean_ul;
+                    }
+
+                    // check breaking condition
+                    double sum_sqr = 0;
+                    double diff_sqr = 0;
+                    for (int i = 0; i < xsize; i++) {
+                        diff_sqr += MathBase.sqr(xstartOld[i] - xstart[i]);
+                        sum_sqr += MathBase.sqr(xstartOld[i]);
+                    }
+                    final double estimate = sum_sqr != 0 ? diff_sqr / sum_sqr : 42;
+                    if (sum_sqr == 0 || estimate < BREAK_CRITERIA || Math.abs(nextrema - ncrossing) <= 0) {
+                        break;
+                    }
+
+                    System.arraycopy(xstart, 0, xstartOld, 0, xsize);
+                }
+                for (int i = 0; i < xsize; i++) {
+                    xend[i] -= xstart[i];
+                }
+                System.arraycopy(xstart, 0, modes[nmode], 0, xsize);
+
+                if (abort) {
+                    break;
+                }
+            }
+
+            // store remainder of the sifting process
+            System.arraycopy(xend, 0, modes[tnm + 1], 0, xsize);
+        }
+
+        /**
+         * same as {@link SpectrumTools#computeMaxima(double[])} but using the pre-allocated buffers
+         */
+        private void computeMaxima(final double[] data) {
+            final int n = data.length;
+            final double[] x = maxX;
+            final double[] y = maxY;
+            x[0] = 0;
+            y[0] = data[1];
+            int npeaks = 1;
+            for (int i = 1; i < n - 1; i++) {
+                if (data[i - 1] <= data[i] & data[i] >= data[i + 1]) {
+                    x[npeaks] = i;
+                    y[npeaks] = data[i];
+                    npeaks++;
+                }
+            }
+            x[npeaks] = n - 1;
+            y[npeaks] = data[n - 1];
+
+            if (npeaks >= 3) {
+                final double slope1 = (y[1] - y[2]) / (x[1] - x[2]);
+                final double tmp1 = slope1 * (x[0] - x[1]) + y[1];
+                if (tmp1 > y[0]) {
+                    y[0] = tmp1;
+                }
+                final double slope2 = (y[npeaks - 1] - y[npeaks - 2]) / (x[npeaks - 1] - x[npeaks - 2]);
+                final double tmp2 = slope2 * (x[npeaks] - x[npeaks - 1]) + y[npeaks - 1];
+                if (tmp2 > y[npeaks]) {
+                    y[npeaks] = tmp2;
+                }
+            }
+            nMaxima = npeaks + 1;
+        }
+
+        /**
+         * same as {@link SpectrumTools#computeMinima(double[])} but using the pre-allocated buffers
+         */
+        private void computeMinima(final double[] data) {
+            final int n = data.length;
+            final double[] x = minX;
+            final double[] y = minY;
+            x[0] = 0;
+            y[0] = data[0];
+            int npeaks = 1;
+            for (int i = 2; i < n - 1; i++) {
+                if (data[i - 1] >= data[i] && data[i] <= data[i + 1]) {
+                    x[npeaks] = i;
+                    y[npeaks] = data[i];
+                    npeaks++;
+                }
+            }
+            x[npeaks] = n - 1;
+            y[npeaks] = data[n - 1];
+
+            if (npeaks >= 3) {
+                final double slope1 = (y[1] - y[2]) / (x[1] - x[2]);
+                final double tmp1 = slope1 * (x[0] - x[1]) + y[1];
+                if (tmp1 < y[0]) {
+                    y[0] = tmp1;
+                }
+                final double slope2 = (y[npeaks - 1] - y[npeaks - 2]) / (x[npeaks - 1] - x[npeaks - 2]);
+                final double tmp2 = slope2 * (x[npeaks] - x[npeaks - 1]) + y[npeaks - 1];
+                if (tmp2 < y[npeaks]) {
+                    y[npeaks] = tmp2;
+                }
+            }
+            nMinima = npeaks + 1;
+        }
+    }
 }
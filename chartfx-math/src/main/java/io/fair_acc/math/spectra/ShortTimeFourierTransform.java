@@ -10,11 +10,10 @@ import org.jtransforms.fft.DoubleFFT_1D;
 
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.GridDataSet;
-import io.fair_acc.dataset.spi.DataSetBuilder;
+import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.spi.DoubleGridDataSet;
-import io.fair_acc.dataset.spi.MultiDimDoubleDataSet;
 import io.fair_acc.dataset.utils.AssertUtils;
-import io.fair_acc.dataset.utils.DoubleArrayCache;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
 
 /**
  * Static utility class providing magnitude spectrograms from complex and real valued input data.
@@ -77,6 +76,9 @@ public class ShortTimeFourierTransform {
         AssertUtils.notNull("apodization", apodization);
         AssertUtils.notNull("padding", padding);
         AssertUtils.gtOrEqual("input.getDimension()", 3, input.getDimension());
+        if (input instanceof GridDataSet) {
+            throw new IllegalArgumentException("input must be a sampled complex signal [t, Re, Im], but is a GridDataSet: " + input.getName());
+        }
         // early returns for trivial cases
         if (input.getDataCount() == 0) {
             if (output instanceof DoubleGridDataSet) {
@@ -91,21 +93,17 @@ public class ShortTimeFourierTransform {
         final double dt = (input.get(DIM_X, nSamples - 1) - input.get(DIM_X, 0)) / Math.max(nSamples, 1);
         final double[] real = input.getValues(DIM_Y);
         final double[] imag = input.getValues(DIM_Z);
-        final double[] oldTimeAxis = output == null ? null : output.getValues(DIM_X);
-        final double[] timeAxis = getTimeAxis(dt, nSamples, step, oldTimeAxis);
-        final double[] oldFrequencyAxis = output == null ? null : output.getValues(DIM_Y);
-        final double[] frequencyAxis = getFrequencyAxisComplex(dt, nFFT, oldFrequencyAxis);
-        final double[] oldAmplitudeData = output instanceof MultiDimDoubleDataSet ? output.getValues(DIM_Z) : null;
-        final double[] amplitudeData = complex(real, imag, oldAmplitudeData, nFFT, step, apodization, padding, dbScale, truncateDCNy);
 
-        // initialize result dataset
-        DoubleGridDataSet result;
-        if (output instanceof DoubleGridDataSet) {
-            result = (DoubleGridDataSet) output;
-        } else {
-            result = new DataSetBuilder(getStftName(input)).setValues(DIM_X, frequencyAxis).setValues(DIM_Y, timeAxis).setValues(DIM_Z, amplitudeData).build(DoubleGridDataSet.class);
-        }
+        // re-use the output data set and its arrays if possible (N.B. transform is computed under the output's write lock)
+        final DoubleGridDataSet result = output instanceof DoubleGridDataSet ? (DoubleGridDataSet) output : new DoubleGridDataSet(getStftName(input), false, new double[2][0], new double[0]);
         result.lock().writeLockGuard(() -> {
+            final double[] oldFrequencyAxis = result.getGridValues(DIM_X);
+            final double[] oldTimeAxis = result.getGridValues(DIM_Y);
+            final double[] oldAmplitudeData = result.getValues(DIM_Z);
+            final double[] timeAxis = getTimeAxis(dt, nSamples, step, oldTimeAxis);
+            final double[] frequencyAxis = getFrequencyAxisComplex(dt, nFFT, oldFrequencyAxis);
+            final double[] amplitudeData = complex(real, imag, oldAmplitudeData, nFFT, step, apodization, padding, dbScale, truncateDCNy);
+
             // only update data arrays if at least one array was newly allocated
             if (oldTimeAxis != timeAxis || oldFrequencyAxis != frequencyAxis || oldAmplitudeData != amplitudeData) {
                 result.set(false, new double[][] { frequencyAxis, timeAxis }, amplitudeData);
@@ -122,6 +120,7 @@ public class ShortTimeFourierTransform {
             result.getAxisDescription(DIM_Z).set("Magnitude", input.getAxisDescription(DIM_Y).getUnit());
             result.recomputeLimits(DIM_Z);
         });
+        result.fireInvalidated(ChartBits.DataSetData);
 
         return result;
     }
@@ -135,10 +134,10 @@ public class ShortTimeFourierTransform {
         AssertUtils.equalDoubleArrays(real, imag); // check for same length
         final int nT = ceilDiv(real.length, step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT * nT ? new double[nFFT * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT);
+        final double[] currentMagnitudeData = FftPlanCache.getWorkBuffer(0, nFFT);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(2 * nFFT); // array to perform calculations in
+        final DoubleFFT_1D fastFourierTrafo = FftPlanCache.getInstance().getDoubleFFT(nFFT);
+        final double[] raw = FftPlanCache.getWorkBuffer(1, 2 * nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * step;
@@ -179,9 +178,6 @@ public class ShortTimeFourierTransform {
             System.arraycopy(currentMagnitudeData, 0, amplitudeData, i * nFFT + nFFT / 2, nFFT / 2);
             System.arraycopy(currentMagnitudeData, nFFT / 2, amplitudeData, i * nFFT, nFFT / 2);
         }
-        // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
         return amplitudeData;
     }
 
@@ -189,10 +185,10 @@ public class ShortTimeFourierTransform {
             final Padding padding, final boolean dbScale, final boolean truncateDCNy) {
         final int nT = ceilDiv(complexInput.length, 2 * step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT * nT ? new double[nFFT * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT);
+        final double[] currentMagnitudeData = FftPlanCache.getWorkBuffer(0, nFFT);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(2 * nFFT); // array to perform calculations in
+        final DoubleFFT_1D fastFourierTrafo = FftPlanCache.getInstance().getDoubleFFT(nFFT);
+        final double[] raw = FftPlanCache.getWorkBuffer(1, 2 * nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * 2 * step;
@@ -234,9 +230,6 @@ public class ShortTimeFourierTransform {
             System.arraycopy(currentMagnitudeData, 0, amplitudeData, i * nFFT + nFFT / 2, nFFT / 2);
             System.arraycopy(currentMagnitudeData, nFFT / 2, amplitudeData, i * nFFT, nFFT / 2);
         }
-        // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
         return amplitudeData;
     }
 
@@ -291,21 +284,17 @@ public class ShortTimeFourierTransform {
         final int nSamples = input.getDataCount();
         final double dt = (input.get(DIM_X, nSamples - 1) - input.get(DIM_X, 0)) / Math.max(nSamples, 1);
         final double[] yData = input.getValues(DIM_Y);
-        final double[] oldTimeAxis = output == null ? null : output.getValues(DIM_X);
-        final double[] timeAxis = getTimeAxis(dt, nSamples, step, oldTimeAxis);
-        final double[] oldFrequencyAxis = output == null ? null : output.getValues(DIM_Y);
-        final double[] frequencyAxis = getFrequencyAxisReal(dt, nFFT, oldFrequencyAxis);
-        final double[] oldAmplitudeData = output instanceof MultiDimDoubleDataSet ? output.getValues(DIM_Z) : null;
-        final double[] amplitudeData = real(yData, oldAmplitudeData, nFFT, step, apodization, padding, dbScale, truncateDCNy);
 
-        // initialize result dataset
-        DoubleGridDataSet result;
-        if (output instanceof DoubleGridDataSet) {
-            result = (DoubleGridDataSet) output;
-        } else {
-            result = new DataSetBuilder(getStftName(input)).setValues(DIM_X, frequencyAxis).setValues(DIM_Y, timeAxis).setValues(DIM_Z, amplitudeData).build(DoubleGridDataSet.class);
-        }
+        // re-use the output data set and its arrays if possible (N.B. transform is computed under the output's write lock)
+        final DoubleGridDataSet result = output instanceof DoubleGridDataSet ? (DoubleGridDataSet) output : new DoubleGridDataSet(getStftName(input), false, new double[2][0], new double[0]);
         result.lock().writeLockGuard(() -> {
+            final double[] oldFrequencyAxis = result.getGridValues(DIM_X);
+            final double[] oldTimeAxis = result.getGridValues(DIM_Y);
+            final double[] oldAmplitudeData = result.getValues(DIM_Z);
+            final double[] timeAxis = getTimeAxis(dt, nSamples, step, oldTimeAxis);
+            final double[] frequencyAxis = getFrequencyAxisReal(dt, nFFT, oldFrequencyAxis);
+            final double[] amplitudeData = real(yData, oldAmplitudeData, nFFT, step, apodization, padding, dbScale, truncateDCNy);
+
             // only update data arrays if at least one array was newly allocated
             if (oldTimeAxis != timeAxis || oldFrequencyAxis != frequencyAxis || oldAmplitudeData != amplitudeData) {
                 result.set(false, new double[][] { frequencyAxis, timeAxis }, amplitudeData);
@@ -322,6 +311,7 @@ public class ShortTimeFourierTransform {
             result.getAxisDescription(DIM_Z).set("Magnitude", input.getAxisDescription(DIM_Y).getUnit());
             result.recomputeLimits(DIM_Z);
         });
+        result.fireInvalidated(ChartBits.DataSetData);
 
         return result;
     }
@@ -330,10 +320,10 @@ public class ShortTimeFourierTransform {
             final Padding padding, final boolean dbScale, final boolean truncateDCNy) {
         final int nT = ceilDiv(input.length, step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT / 2 * nT ? new double[nFFT / 2 * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT / 2);
+        final double[] currentMagnitudeData = FftPlanCache.getWorkBuffer(0, nFFT / 2);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(nFFT); // array to perform calculations in
+        final DoubleFFT_1D fastFourierTrafo = FftPlanCache.getInstance().getDoubleFFT(nFFT);
+        final double[] raw = FftPlanCache.getWorkBuffer(1, nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * step;
@@ -369,10 +359,6 @@ public class ShortTimeFourierTransform {
             }
             System.arraycopy(currentMagnitudeData, 0, amplitudeData, i * nFFT / 2, nFFT / 2);
         }
-        // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
-
         return amplitudeData;
     }
 
@@ -8,6 +8,7 @@ import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
 import io.fair_acc.math.fitter.NonLinearRegressionFitter;
 import io.fair_acc.math.functions.CombFunction;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
 
 /**
  * Class implements frequency interpolation of spectral peaks. The main idea behind these algorithm is: The resolution
@@ -596,18 +597,28 @@ public class SpectrumTools {
         }
     }
 
-    public static synchronized double[] interpolateSpectrum(final double[] data, final int noversampling) {
-        final double[] val1 = Arrays.copyOf(data, data.length);
+    public static double[] interpolateSpectrum(final double[] data, final int noversampling) {
+        return interpolateSpectrum(data, noversampling, null);
+    }
 
-        DoubleFFT_1D fft1D = new DoubleFFT_1D(data.length);
-        fft1D.realInverse(val1, true);
+    /**
+     * Interpolates the spectrum by zero-padding the corresponding time-domain signal.
+     *
+     * @param data spectrum in the packed layout of {@link DoubleFFT_1D#realForward(double[])}
+     * @param noversampling over-sampling factor
+     * @param output optional output array, re-used if its length is {@code noversampling * data.length}
+     * @return the interpolated spectrum of length {@code noversampling * data.length}
+     */
+    public static double[] interpolateSpectrum(final double[] data, final int noversampling, final double[] output) {
+        final int fftLength = noversampling * data.length;
+        final double[] val1 = FftPlanCache.getWorkBuffer(0, data.length);
+        System.arraycopy(data, 0, val1, 0, data.length);
+        FftPlanCache.getInstance().getDoubleFFT(data.length).realInverse(val1, true);
 
-        final double[] val2 = new double[noversampling * val1.length];
+        final double[] val2 = output == null || output.length != fftLength ? new double[fftLength] : output;
         System.arraycopy(val1, 0, val2, 0, val1.length - 2);
-
-        final int fftLength = noversampling * data.length;
-        fft1D = new DoubleFFT_1D(fftLength);
-        fft1D.realForward(val2);
+        Arrays.fill(val2, val1.length - 2, fftLength, 0.0);
+        FftPlanCache.getInstance().getDoubleFFT(fftLength).realForward(val2);
 
         for (int i = 0; i < val2.length; i++) {
             val2[i] *= noversampling;
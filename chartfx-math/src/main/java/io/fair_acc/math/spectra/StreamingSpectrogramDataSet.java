@@ -0,0 +1,417 @@
+package io.fair_acc.math.spectra;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.ThreadEventProcessor;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.DoubleCircularBuffer;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
+
+/**
+ * Incremental (streaming) real-valued short-time Fourier transform for live waterfall displays.
+ * <p>
+ * In contrast to {@link ShortTimeFourierTransform#real(DataSet, io.fair_acc.dataset.GridDataSet, int, int, Apodization,
+ * ShortTimeFourierTransform.Padding, boolean, boolean) ShortTimeFourierTransform.real(...)}, which re-computes all time
+ * slices of the whole input, only the time slices completed by newly arrived samples are transformed and appended as
+ * new rows to this grid data set. Once {@code nHistory} rows are filled, the oldest rows are evicted and the existing
+ * arrays are re-used, i.e. the steady-state update does not allocate and its FFT cost is proportional to the new data.
+ * Time slices are emitted only once all {@code nFFT} samples are available (no padding), slice {@code k} covers samples
+ * {@code [k * step, k * step + nFFT[} and is identical to the corresponding slice of the non-streaming transform.
+ * <p>
+ * The samples can be pushed explicitly via {@link #add(double[], int, int)}, {@link #add(DoubleCircularBuffer)} and
+ * {@link #add(DataSet)}, or -- similar to {@link io.fair_acc.math.MathDataSet} -- be pulled automatically from a source
+ * data set whenever it is invalidated. For the latter, the source needs to be time-ordered in its x-coordinate (e.g.
+ * {@link io.fair_acc.dataset.spi.CircularDoubleErrorDataSet}) and only samples with x-coordinates beyond the last
+ * consumed sample are added.
+ * <p>
+ * Grid layout: DIM_X = frequency, DIM_Y = time (start of the slice), DIM_Z = magnitude. Rows that have not been filled
+ * yet are set to NaN.
+ */
+@SuppressWarnings({ "java:S2160" }) // equals is still valid because of DataSet interface
+public class StreamingSpectrogramDataSet extends DoubleGridDataSet {
+    private static final long serialVersionUID = 2613427452185539734L;
+    private final int nFFT;
+    private final int step;
+    private final int nHistory;
+    private final int nFreq;
+    private final Apodization apodization;
+    private final boolean dbScale;
+    private final boolean truncateDCNy;
+    private final transient DataSet source;
+    private final transient BitState inputDataSetBitState;
+    // sample history covering the current FFT window
+    private final transient DoubleCircularBuffer samples;
+    private final transient DoubleCircularBuffer sampleTimes;
+    private double samplingPeriod = 1.0;
+    private long nSamples; // number of samples consumed since the last reset
+    private long nextFrameEnd; // sample count at which the next time slice is complete
+    private long sampleIndex; // time index for samples without time information (includes lost samples)
+    private double lastSourceX = Double.NaN;
+    private long lastWriteCount;
+    // time slices computed since the last publication (ring buffer with nHistory rows)
+    private final transient double[] pendingRows;
+    private final transient double[] pendingTimes;
+    private final transient double[] pendingDt;
+    private int nPending;
+    private long nSkip; // number of time slices to be skipped since they would be evicted before publication
+    // published spectrogram (allocated once with the first time slice)
+    private transient double[] frequencyAxis;
+    private transient double[] timeAxis;
+    private transient double[] amplitudeData;
+    private transient double[] rowMin;
+    private transient double[] rowMax;
+
+    /**
+     * @param name name of the data set
+     * @param nFFT the number of samples per time slice (N.B. the spectrum has nFFT/2 frequency bins)
+     * @param step the time step between consecutive time slices in samples
+     * @param nHistory the number of retained time slices
+     * @param apodization function, by default Hann window is used
+     * @param dbScale {@code true} to convert the spectrum to dB scale
+     * @param truncateDCNy {@code true} to interpolate the DC- and Nyquist-bins to their respective nearest neighbours
+     */
+    public StreamingSpectrogramDataSet(final String name, final int nFFT, final int step, final int nHistory, final Apodization apodization, final boolean dbScale,
+            final boolean truncateDCNy) {
+        this(name, null, nFFT, step, nHistory, apodization, dbScale, truncateDCNy);
+    }
+
+    /**
+     * @param name name of the data set
+     * @param source time-ordered source data set (y(x) = signal(t)) that is automatically consumed on updates, may be
+     *            null
+     * @param nFFT the number of samples per time slice (N.B. the spectrum has nFFT/2 frequency bins)
+     * @param step the time step between consecutive time slices in samples
+     * @param nHistory the number of retained time slices
+     * @param apodization function, by default Hann window is used
+     * @param dbScale {@code true} to convert the spectrum to dB scale
+     * @param truncateDCNy {@code true} to interpolate the DC- and Nyquist-bins to their respective nearest neighbours
+     */
+    public StreamingSpectrogramDataSet(final String name, final DataSet source, final int nFFT, final int step, final int nHistory, final Apodization apodization,
+            final boolean dbScale, final boolean truncateDCNy) {
+        super(name, false, new double[2][0], new double[0]);
+        AssertUtils.gtOrEqual("nFFT", 4, nFFT);
+        AssertUtils.gtThanZero("step", step);
+        AssertUtils.gtThanZero("nHistory", nHistory);
+        AssertUtils.notNull("apodization", apodization);
+        this.nFFT = nFFT;
+        this.step = step;
+        this.nHistory = nHistory;
+        this.nFreq = nFFT / 2;
+        this.apodization = apodization;
+        this.dbScale = dbScale;
+        this.truncateDCNy = truncateDCNy;
+        this.source = source;
+        samples = new DoubleCircularBuffer(nFFT);
+        sampleTimes = new DoubleCircularBuffer(nFFT);
+        pendingRows = new double[nHistory * nFreq];
+        pendingTimes = new double[nHistory];
+        pendingDt = new double[nHistory];
+        nextFrameEnd = nFFT;
+
+        getMetaInfo().put("RealSTFT-nFFT", Integer.toString(nFFT));
+        getMetaInfo().put("RealSTFT-step", Integer.toString(step));
+
+        if (source == null) {
+            inputDataSetBitState = null;
+            return;
+        }
+        inputDataSetBitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        registerListener();
+        ThreadEventProcessor.getUserInstance().addAction(inputDataSetBitState, () -> add(source));
+    }
+
+    /**
+     * Adds the samples of the given buffer that have been written since the last call. If more samples have been
+     * written than the buffer retains, the lost samples are accounted for in the time axis only.
+     *
+     * @param buffer circular sample buffer
+     * @return the number of new time slices
+     */
+    public int add(final DoubleCircularBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        final int nFrames = lock().writeLockGuard(() -> {
+            long nNew = buffer.writeCount() - lastWriteCount;
+            if (nNew < 0) {
+                // buffer has been reset -> restart
+                resetState();
+                nNew = buffer.writeCount();
+            }
+            lastWriteCount = buffer.writeCount();
+            final int available = buffer.available();
+            if (nNew > available) {
+                sampleIndex += nNew - available;
+                nNew = available;
+            }
+            final int length = (int) nNew;
+            final int readPos = available - length;
+            prepareSkip(length);
+            for (int i = 0; i < length; i++) {
+                addSample(buffer.get(readPos + i), sampleIndex * samplingPeriod);
+                sampleIndex++;
+            }
+            return publish();
+        });
+        fireIfUpdated(nFrames);
+        return nFrames;
+    }
+
+    /**
+     * Adds the samples of a time-ordered data set (y(x) = signal(t)) with x-coordinates beyond those of the last
+     * consumed sample. The data set is restarted if the data set's last x-coordinate precedes the last consumed one.
+     *
+     * @param input time-ordered data set
+     * @return the number of new time slices
+     */
+    public int add(final DataSet input) {
+        AssertUtils.notNull("input", input);
+        final int nFrames = lock().writeLockGuard(() -> input.lock().readLockGuard(() -> {
+            final int n = input.getDataCount();
+            if (n == 0) {
+                return 0;
+            }
+            if (input.get(DataSet.DIM_X, n - 1) < lastSourceX) {
+                resetState();
+            }
+            // scan backwards -> proportional to the number of new samples
+            int first = n;
+            while (first > 0 && !(input.get(DataSet.DIM_X, first - 1) <= lastSourceX)) { // NOPMD NOSONAR -- also true for NaN
+                first--;
+            }
+            prepareSkip(n - first);
+            for (int i = first; i < n; i++) {
+                addSample(input.get(DataSet.DIM_Y, i), input.get(DataSet.DIM_X, i));
+            }
+            if (first < n) {
+                lastSourceX = input.get(DataSet.DIM_X, n - 1);
+            }
+            return publish();
+        }));
+        fireIfUpdated(nFrames);
+        return nFrames;
+    }
+
+    /**
+     * Adds new samples, their time is derived from the sample count and {@link #getSamplingPeriod()}.
+     *
+     * @param values new samples
+     * @param offset index of the first new sample
+     * @param length number of new samples
+     * @return the number of new time slices
+     */
+    public int add(final double[] values, final int offset, final int length) {
+        AssertUtils.notNull("values", values);
+        AssertUtils.gtEqThanZero("offset", offset);
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.gtOrEqual("values.length", offset + length, values.length);
+        final int nFrames = lock().writeLockGuard(() -> {
+            prepareSkip(length);
+            for (int i = offset; i < offset + length; i++) {
+                addSample(values[i], sampleIndex * samplingPeriod);
+                sampleIndex++;
+            }
+            return publish();
+        });
+        fireIfUpdated(nFrames);
+        return nFrames;
+    }
+
+    public final void deregisterListener() {
+        if (source != null) {
+            source.getBitState().removeInvalidateListener(inputDataSetBitState);
+        }
+    }
+
+    public int getHistoryLength() {
+        return nHistory;
+    }
+
+    public int getNFFT() {
+        return nFFT;
+    }
+
+    /**
+     * @return sampling period for samples without time information (default: 1.0)
+     */
+    public double getSamplingPeriod() {
+        return samplingPeriod;
+    }
+
+    public DataSet getSource() {
+        return source;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public final void registerListener() {
+        if (source != null) {
+            source.getBitState().addInvalidateListener(inputDataSetBitState);
+        }
+    }
+
+    /**
+     * Clears the spectrogram and the sample history.
+     */
+    public void reset() {
+        lock().writeLockGuard(() -> {
+            resetState();
+            lastWriteCount = 0;
+            sampleIndex = 0;
+        });
+        fireInvalidated(ChartBits.DataSetData);
+    }
+
+    /**
+     * @param samplingPeriod sampling period for samples without time information, i.e. those added via
+     *            {@link #add(double[], int, int)} and {@link #add(DoubleCircularBuffer)}
+     */
+    public void setSamplingPeriod(final double samplingPeriod) {
+        AssertUtils.gtThanZero("samplingPeriod", samplingPeriod);
+        this.samplingPeriod = samplingPeriod;
+    }
+
+    public final void triggerUpdate() {
+        if (inputDataSetBitState != null) {
+            inputDataSetBitState.setDirty(BitState.ALL_BITS);
+        }
+    }
+
+    private void addSample(final double value, final double time) {
+        samples.put(value);
+        sampleTimes.put(time);
+        nSamples++;
+        if (nSamples != nextFrameEnd) {
+            return;
+        }
+        nextFrameEnd += step;
+        if (nSkip > 0) {
+            nSkip--;
+            nPending++;
+            return;
+        }
+        final int row = nPending % nHistory;
+        final double[] raw = FftPlanCache.getWorkBuffer(1, nFFT);
+        samples.get(raw, 0, nFFT); // N.B. buffer is full -> chronological order
+        apodization.apodize(raw);
+        FftPlanCache.getInstance().getDoubleFFT(nFFT).realForward(raw);
+        if (dbScale) {
+            SpectrumTools.computeMagnitudeSpectrum_dB(raw, 0, nFFT, pendingRows, row * nFreq, truncateDCNy);
+        } else {
+            SpectrumTools.computeMagnitudeSpectrum(raw, 0, nFFT, pendingRows, row * nFreq, truncateDCNy);
+        }
+        pendingTimes[row] = sampleTimes.get(0);
+        pendingDt[row] = (sampleTimes.get(nFFT - 1) - sampleTimes.get(0)) / (nFFT - 1);
+        nPending++;
+    }
+
+    private void fireIfUpdated(final int nFrames) {
+        if (nFrames > 0) {
+            fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    /**
+     * Time slices that are evicted by later ones of the same update are not computed.
+     *
+     * @param length number of samples to be added
+     */
+    private void prepareSkip(final int length) {
+        final long end = nSamples + length;
+        final long nFrames = end < nextFrameEnd ? 0 : (end - nextFrameEnd) / step + 1;
+        nSkip = Math.max(0, nFrames - nHistory);
+    }
+
+    /**
+     * Appends the pending time slices to the published arrays, evicting the oldest rows.
+     *
+     * @return number of new time slices
+     */
+    private int publish() {
+        final int nFrames = nPending;
+        if (nFrames == 0) {
+            return 0;
+        }
+        final int nNew = Math.min(nFrames, nHistory);
+        final int firstPending = (nFrames - nNew) % nHistory;
+        final double dt = pendingDt[(nFrames - 1) % nHistory];
+        if (amplitudeData == null) {
+            // first time slice(s): allocate once, extrapolate the time axis of the unfilled rows backwards
+            frequencyAxis = new double[nFreq];
+            timeAxis = new double[nHistory];
+            amplitudeData = new double[nHistory * nFreq];
+            rowMin = new double[nHistory];
+            rowMax = new double[nHistory];
+            Arrays.fill(amplitudeData, Double.NaN);
+            Arrays.fill(rowMin, Double.NaN);
+            Arrays.fill(rowMax, Double.NaN);
+            final double firstTime = pendingTimes[firstPending];
+            for (int i = 0; i < nHistory; i++) {
+                timeAxis[i] = firstTime - (nHistory - i) * step * dt;
+            }
+            ShortTimeFourierTransform.getFrequencyAxisReal(dt, nFFT, frequencyAxis);
+            set(false, new double[][] { frequencyAxis, timeAxis }, amplitudeData);
+        } else if (frequencyAxis[1] != 1.0 / dt / nFFT) {
+            ShortTimeFourierTransform.getFrequencyAxisReal(dt, nFFT, frequencyAxis);
+        }
+
+        // evict the oldest rows
+        final int nKeep = nHistory - nNew;
+        System.arraycopy(amplitudeData, nNew * nFreq, amplitudeData, 0, nKeep * nFreq);
+        System.arraycopy(timeAxis, nNew, timeAxis, 0, nKeep);
+        System.arraycopy(rowMin, nNew, rowMin, 0, nKeep);
+        System.arraycopy(rowMax, nNew, rowMax, 0, nKeep);
+        // append the new rows in chronological order
+        for (int i = 0; i < nNew; i++) {
+            final int src = (firstPending + i) % nHistory;
+            final int dst = nKeep + i;
+            System.arraycopy(pendingRows, src * nFreq, amplitudeData, dst * nFreq, nFreq);
+            timeAxis[dst] = pendingTimes[src];
+            double min = Double.NaN;
+            double max = Double.NaN;
+            for (int j = dst * nFreq; j < (dst + 1) * nFreq; j++) {
+                final double value = amplitudeData[j];
+                min = value < min || Double.isNaN(min) ? value : min;
+                max = value > max || Double.isNaN(max) ? value : max;
+            }
+            rowMin[dst] = min;
+            rowMax[dst] = max;
+        }
+        nPending = 0;
+        nSkip = 0;
+
+        // limits -- N.B. O(nHistory) rather than O(nHistory * nFreq)
+        double zMin = Double.NaN;
+        double zMax = Double.NaN;
+        for (int i = 0; i < nHistory; i++) {
+            zMin = rowMin[i] < zMin || Double.isNaN(zMin) ? rowMin[i] : zMin;
+            zMax = rowMax[i] > zMax || Double.isNaN(zMax) ? rowMax[i] : zMax;
+        }
+        final String timeUnit = source == null ? "a.u." : source.getAxisDescription(DIM_X).getUnit();
+        final String freqUnit = "s".equals(timeUnit) ? "Hz" : "1/" + timeUnit;
+        getAxisDescription(DIM_X).set("Frequency", freqUnit, frequencyAxis[0], frequencyAxis[nFreq - 1]);
+        getAxisDescription(DIM_Y).set("Time", timeUnit, timeAxis[0], timeAxis[nHistory - 1]);
+        getAxisDescription(DIM_Z).set("Magnitude", source == null ? "a.u." : source.getAxisDescription(DIM_Y).getUnit(), zMin, zMax);
+        return nFrames;
+    }
+
+    private void resetState() {
+        samples.reset();
+        sampleTimes.reset();
+        nSamples = 0;
+        nextFrameEnd = nFFT;
+        nPending = 0;
+        nSkip = 0;
+        lastSourceX = Double.NaN;
+        frequencyAxis = null;
+        timeAxis = null;
+        amplitudeData = null;
+        rowMin = null;
+        rowMax = null;
+        set(false, new double[2][0], new double[0]);
+    }
+}
@@ -4,9 +4,12 @@ import java.util.concurrent.Future;
 
 import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
+import io.fair_acc.math.spectra.fft.NonUniformFFT;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
 public class DiscreteTimeFourierTransform {
+    /** oversampling factor selecting the direct O(N·M) evaluation */
+    public static final int EXACT = 0;
     protected int START_THREADS = 128;
     protected boolean DEBUG = false;
 
@@ -62,11 +65,39 @@ public class DiscreteTimeFourierTransform {
      * @return array containing magnitude spectrum
      */
     public double[] computeMagnitudeSpectrum(final double[] t, final double[] val, final double[] testFrequencies) {
+        return computeMagnitudeSpectrum(t, val, testFrequencies, EXACT);
+    }
+
+    /**
+     * Discrete Time Fourier Transform
+     *
+     * @param t the time indices
+     * @param val the measurement
+     * @param testFrequencies array containing the frequencies for which the spectra is being evaluated
+     * @param oversampling {@link #EXACT} for the direct O(N·M) evaluation, or the oversampling factor (&gt;=
+     *        {@link NonUniformFFT#MIN_OVERSAMPLING}, default: {@link NonUniformFFT#DEFAULT_OVERSAMPLING}) of the
+     *        O(N + M log M) non-uniform FFT. N.B. the latter requires equidistant test frequencies, otherwise the
+     *        direct evaluation is used
+     * @return array containing magnitude spectrum
+     */
+    public double[] computeMagnitudeSpectrum(final double[] t, final double[] val, final double[] testFrequencies, final int oversampling) {
         final int n = testFrequencies.length;
         final int tn = t.length;
         final double[] ret = new double[n];
         final long start = System.nanoTime();
 
+        if (oversampling != EXACT && NonUniformFFT.isUniform(testFrequencies)) {
+            final double f0 = testFrequencies[0];
+            final double df = (testFrequencies[n - 1] - f0) / (n - 1);
+            final double[] real = new double[n];
+            final double[] imag = new double[n];
+            NonUniformFFT.transform(t, val, f0, df, real, imag, n, oversampling);
+            for (int i = 0; i < n; i++) {
+                ret[i] = 2 * MathBase.sqrt(MathBase.sqr(real[i] / tn) + MathBase.sqr(imag[i] / tn));
+            }
+            return ret;
+        }
+
         final int nthreads = ConcurrencyUtils.getNumberOfThreads();
         if (nthreads > 1 && n > START_THREADS) {
             final Future<?>[] futures = new Future[nthreads];
@@ -92,11 +123,12 @@ public class DiscreteTimeFourierTransform {
                     }
                 });
             }
+            ConcurrencyUtils.waitForCompletion(futures);
         } else {
-            double sum1 = 0.0;
-            double sum2 = 0.0;
             for (int i = 0; i < n; i++) {
                 final double omega = MathBase.TWO_PI * testFrequencies[i];
+                double sum1 = 0.0;
+                double sum2 = 0.0;
                 for (int j = 0; j < t.length; j++) {
                     sum1 += val[j] * MathBase.cos(omega * t[j]);
                     sum2 += val[j] * MathBase.sin(omega * t[j]);
@@ -0,0 +1,149 @@
+package io.fair_acc.math.spectra.fft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.jtransforms.fft.DoubleFFT_1D;
+import org.jtransforms.fft.FloatFFT_1D;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Thread-safe, bounded (least-recently-used) cache of JTransforms FFT plans keyed by transform size and precision, and
+ * per-thread scratch buffers for the FFT based spectrum routines.
+ * <p>
+ * Constructing a {@link DoubleFFT_1D} computes the twiddle factors (and for non-power-of-two sizes the Bluestein
+ * chirp), which for repeatedly computed spectra of the same size is more expensive than the transform itself. The
+ * plans are immutable after construction and may thus be shared between threads. N.B. a plan serves both the real
+ * ({@code realForward}, ...) and the complex ({@code complexForward}, ...) transforms of a given size.
+ * <p>
+ * usage example:
+ *
+ * <pre>
+ *  {@code
+ *      final DoubleFFT_1D fft = FftPlanCache.getInstance().getDoubleFFT(n);
+ *      final double[] buffer = FftPlanCache.getWorkBuffer(0, n); // thread-local, no need to return it
+ *      // [...] fill buffer
+ *      fft.realForward(buffer);
+ *  }
+ * </pre>
+ */
+public final class FftPlanCache {
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int N_WORK_BUFFERS = 4;
+    private static final FftPlanCache SELF = new FftPlanCache(DEFAULT_CAPACITY);
+    private static final ThreadLocal<double[][]> WORK_BUFFERS = ThreadLocal.withInitial(() -> new double[N_WORK_BUFFERS][0]);
+    private final PlanMap<DoubleFFT_1D> doublePlans;
+    private final PlanMap<FloatFFT_1D> floatPlans;
+
+    /**
+     * @param capacity maximum number of retained plans per precision (least recently used plans are evicted first)
+     */
+    public FftPlanCache(final int capacity) {
+        AssertUtils.gtThanZero("capacity", capacity);
+        doublePlans = new PlanMap<>(capacity);
+        floatPlans = new PlanMap<>(capacity);
+    }
+
+    /**
+     * Evicts all cached plans
+     */
+    public void clear() {
+        synchronized (doublePlans) {
+            doublePlans.clear();
+        }
+        synchronized (floatPlans) {
+            floatPlans.clear();
+        }
+    }
+
+    /**
+     * @return maximum number of retained plans per precision
+     */
+    public int getCapacity() {
+        return doublePlans.capacity;
+    }
+
+    /**
+     * @param n transform size (number of real or complex samples)
+     * @return shared double-precision FFT plan for the given size
+     */
+    public DoubleFFT_1D getDoubleFFT(final int n) {
+        return getPlan(doublePlans, n, DoubleFFT_1D::new);
+    }
+
+    /**
+     * @param n transform size (number of real or complex samples)
+     * @return shared single-precision FFT plan for the given size
+     */
+    public FloatFFT_1D getFloatFFT(final int n) {
+        return getPlan(floatPlans, n, FloatFFT_1D::new);
+    }
+
+    /**
+     * @return number of cached plans (both precisions)
+     */
+    public int size() {
+        synchronized (doublePlans) {
+            synchronized (floatPlans) {
+                return doublePlans.size() + floatPlans.size();
+            }
+        }
+    }
+
+    public static FftPlanCache getInstance() {
+        return SELF;
+    }
+
+    /**
+     * Returns a thread-local scratch array of exactly the requested length. The array is re-used by subsequent calls
+     * on the same thread and slot, i.e. it must neither be retained nor be passed to routines that use the same slot.
+     * The contents of the returned array are undefined.
+     *
+     * @param slot buffer index [0, {@link #N_WORK_BUFFERS}[ allowing several buffers to be used concurrently
+     * @param length required length
+     * @return scratch array of the given length
+     */
+    public static double[] getWorkBuffer(final int slot, final int length) {
+        AssertUtils.indexInBounds(slot, N_WORK_BUFFERS, "slot");
+        AssertUtils.gtEqThanZero("length", length);
+        final double[][] buffers = WORK_BUFFERS.get();
+        if (buffers[slot].length != length) {
+            buffers[slot] = new double[length];
+        }
+        return buffers[slot];
+    }
+
+    private static <T> T getPlan(final PlanMap<T> plans, final int n, final IntFunction<T> constructor) {
+        AssertUtils.gtThanZero("n", n);
+        final Integer key = n;
+        synchronized (plans) {
+            final T plan = plans.get(key);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        // N.B. construction (possibly expensive) outside of the lock, concurrent constructions of the same plan are benign
+        final T newPlan = constructor.apply(n);
+        synchronized (plans) {
+            final T plan = plans.putIfAbsent(key, newPlan);
+            return plan == null ? newPlan : plan;
+        }
+    }
+
+    private static class PlanMap<T> extends LinkedHashMap<Integer, T> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        private PlanMap(final int capacity) {
+            super(2 * capacity, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, T> eldest) {
+            return size() > capacity;
+        }
+    }
+}
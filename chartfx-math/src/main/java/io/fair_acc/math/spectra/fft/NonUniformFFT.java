@@ -0,0 +1,174 @@
+package io.fair_acc.math.spectra.fft;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.MathBase;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Fast evaluation of the trigonometric sums of unevenly sampled data
+ *
+ * <pre>
+ *  F[k] = sum_j w[j] exp(+i 2 pi (f0 + k df) t[j]),  k = 0 ... m - 1
+ * </pre>
+ *
+ * on a uniform frequency grid in O(N + M log M) rather than O(N M) operations, following the extirpolation scheme of
+ * W. H. Press and G. B. Rybicki, "Fast algorithm for spectral analysis of unevenly sampled data", The Astrophysical
+ * Journal, Vol. 338, 1989, pp. 277–280: each sample is spread onto the {@value #EXTIRPOLATION_ORDER} nearest points of
+ * a regular time grid using Lagrange interpolation weights, so that the sums reduce to a single complex FFT of the
+ * grid.
+ * <p>
+ * The accuracy is set by the oversampling factor {@code s}, i.e. the ratio between the FFT size and the number of
+ * frequencies. The real and imaginary part of each sum deviate from the exact value by at most
+ *
+ * <pre>
+ *  |dF[k]| &lt;= eps(s) * sum_j |w[j]|,  eps(s) = 5/1024 * (2 pi / s)^6
+ * </pre>
+ *
+ * (Lagrange remainder of the 6-point interpolation of {@code exp(i theta x)} with {@code theta < 2 pi / s}), e.g.
+ * {@code eps(8) ~ 1.1e-3}, {@code eps(16) ~ 1.8e-5} and {@code eps(32) ~ 2.8e-7}, see {@link #getErrorBound(int)}.
+ */
+public final class NonUniformFFT {
+    /** default ratio between the FFT size and the number of computed frequencies */
+    public static final int DEFAULT_OVERSAMPLING = 16;
+    /** minimum ratio between the FFT size and the number of computed frequencies */
+    public static final int MIN_OVERSAMPLING = 2;
+    /** number of grid points each sample is extirpolated to */
+    public static final int EXTIRPOLATION_ORDER = 6;
+    /** max_x |prod_i (x - i)| / EXTIRPOLATION_ORDER! for x within the central interval */
+    private static final double LAGRANGE_REMAINDER = 5.0 / 1024.0;
+    /** relative tolerance of {@link #isUniform(double[])} */
+    private static final double UNIFORM_TOLERANCE = 1e-9;
+    private static final double[] DENOMINATORS = new double[EXTIRPOLATION_ORDER];
+    static {
+        // prod_(j != i) (i - j) = (-1)^(p - 1 - i) i! (p - 1 - i)!
+        for (int i = 0; i < EXTIRPOLATION_ORDER; i++) {
+            double denominator = 1.0;
+            for (int j = 0; j < EXTIRPOLATION_ORDER; j++) {
+                if (j != i) {
+                    denominator *= i - j;
+                }
+            }
+            DENOMINATORS[i] = denominator;
+        }
+    }
+
+    private NonUniformFFT() {
+        // static utility class
+    }
+
+    /**
+     * @param oversampling ratio between the FFT size and the number of computed frequencies
+     * @return upper bound of the deviation of the real and imaginary parts relative to {@code sum_j |w[j]|}
+     */
+    public static double getErrorBound(final int oversampling) {
+        AssertUtils.gtOrEqual("oversampling", MIN_OVERSAMPLING, oversampling);
+        return LAGRANGE_REMAINDER * MathBase.pow(MathBase.TWO_PI / oversampling, EXTIRPOLATION_ORDER);
+    }
+
+    /**
+     * @param frequencies test frequencies
+     * @return {@code true} if there are at least two frequencies that are equidistant and increasing, i.e. if they can
+     *         be evaluated by {@link #transform}
+     */
+    public static boolean isUniform(final double[] frequencies) {
+        final int m = frequencies.length;
+        if (m < 2) {
+            return false;
+        }
+        final double f0 = frequencies[0];
+        final double df = (frequencies[m - 1] - f0) / (m - 1);
+        if (!(df > 0)) {
+            return false;
+        }
+        final double tolerance = UNIFORM_TOLERANCE * MathBase.max(MathBase.abs(f0), MathBase.abs(frequencies[m - 1]));
+        for (int k = 1; k < m - 1; k++) {
+            if (MathBase.abs(frequencies[k] - (f0 + k * df)) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes {@code F[k] = sum_j w[j] exp(+i 2 pi (f0 + k df) t[j])} for {@code k = 0 ... m - 1}.
+     *
+     * @param t sample times
+     * @param weights sample weights {@code w[j]}, {@code null} for unit weights
+     * @param f0 first frequency
+     * @param df frequency spacing
+     * @param real storage of the real parts (length &gt;= m)
+     * @param imag storage of the imaginary parts (length &gt;= m)
+     * @param m number of frequencies
+     * @param oversampling ratio between the FFT size and {@code m}, see {@link #getErrorBound(int)}
+     */
+    public static void transform(final double[] t, final double[] weights, final double f0, final double df, final double[] real, final double[] imag, final int m, final int oversampling) { // NOPMD - long parameter list is the primitive API
+        AssertUtils.notNull("t", t);
+        if (weights != null) {
+            AssertUtils.equalDoubleArrays(t, weights);
+        }
+        AssertUtils.gtThanZero("df", df);
+        AssertUtils.gtThanZero("m", m);
+        AssertUtils.gtOrEqual("oversampling", MIN_OVERSAMPLING, oversampling);
+        AssertUtils.gtOrEqual("real", m, real.length);
+        AssertUtils.gtOrEqual("imag", m, imag.length);
+
+        final int nfft = ConcurrencyUtils.nextPow2(Math.max(EXTIRPOLATION_ORDER, oversampling * m));
+        final double[] grid = FftPlanCache.getWorkBuffer(0, 2 * nfft);
+        Arrays.fill(grid, 0.0);
+
+        // extirpolation onto the grid t = tMin + x / (nfft df), i.e. exp(i 2 pi k df (t - tMin)) = exp(i 2 pi k x / nfft)
+        final double tMin = t.length == 0 ? 0.0 : io.fair_acc.math.Math.minimum(t);
+        final double scale = nfft * df;
+        final int offset = EXTIRPOLATION_ORDER / 2 - 1;
+        for (int j = 0; j < t.length; j++) {
+            final double dt = t[j] - tMin;
+            final double w = weights == null ? 1.0 : weights[j];
+            // N.B. the offset frequency is applied exactly per sample
+            final double phase = MathBase.TWO_PI * f0 * dt;
+            final double wRe = w * MathBase.cos(phase);
+            final double wIm = w * MathBase.sin(phase);
+
+            double x = dt * scale;
+            x -= nfft * Math.floor(x / nfft);
+            final int base = (int) Math.floor(x) - offset;
+            extirpolate(grid, nfft, x, base, wRe, wIm);
+        }
+
+        // sum_m g[m] exp(+i 2 pi k m / nfft)
+        FftPlanCache.getInstance().getDoubleFFT(nfft).complexInverse(grid, false);
+
+        // phase of the time reference
+        for (int k = 0; k < m; k++) {
+            final double phase = MathBase.TWO_PI * (f0 + k * df) * tMin;
+            final double cos = MathBase.cos(phase);
+            final double sin = MathBase.sin(phase);
+            final double re = grid[2 * k];
+            final double im = grid[2 * k + 1];
+            real[k] = re * cos - im * sin;
+            imag[k] = re * sin + im * cos;
+        }
+    }
+
+    private static void extirpolate(final double[] grid, final int nfft, final double x, final int base, final double wRe, final double wIm) {
+        double product = 1.0;
+        for (int i = 0; i < EXTIRPOLATION_ORDER; i++) {
+            final double d = x - (base + i);
+            if (d == 0.0) {
+                // sample coincides with a grid point
+                final int index = 2 * Math.floorMod(base + i, nfft);
+                grid[index] += wRe;
+                grid[index + 1] += wIm;
+                return;
+            }
+            product *= d;
+        }
+        for (int i = 0; i < EXTIRPOLATION_ORDER; i++) {
+            final double lagrange = product / ((x - (base + i)) * DENOMINATORS[i]);
+            final int index = 2 * Math.floorMod(base + i, nfft);
+            grid[index] += lagrange * wRe;
+            grid[index + 1] += lagrange * wIm;
+        }
+    }
+}
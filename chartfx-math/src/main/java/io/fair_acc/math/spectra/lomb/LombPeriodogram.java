@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 
 import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
+import io.fair_acc.math.spectra.fft.NonUniformFFT;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
 /**
@@ -16,12 +17,18 @@ import io.fair_acc.math.utils.ConcurrencyUtils;
  * Frequency Analysis of Unequally Spaced Data", in: Astrophysics and Space Science, Vol. 39, 1976, pp. 447–462. V. F.
  * Pisarenko, "The retrieval of harmonics from a covariance function Geophysics", in: Royal Astronomical Society, Vol.
  * 33, 1973, pp. 347–366.
+ * <p>
+ * Besides the direct O(N·M) evaluation, the periodogram of equidistant test frequencies can be computed in
+ * O(N + M log M) using the extirpolation and FFT scheme of Press and Rybicki (see {@link NonUniformFFT} for the
+ * accuracy bound as a function of the oversampling factor).
  *
  * @author rstein
  */
 public class LombPeriodogram {
     private static final Logger LOGGER = LoggerFactory.getLogger(LombPeriodogram.class);
     protected static final int START_THREADS = 256;
+    /** oversampling factor selecting the direct O(N·M) evaluation */
+    public static final int EXACT = 0;
 
     private LombPeriodogram() {
         // static utilitiy class
@@ -79,6 +86,22 @@ public class LombPeriodogram {
      * @return vector containing Lomb-type Periodogram
      */
     public static double[] computePeridodogram(final double[] t, final double[] val, final double[] testFrequencies) {
+        return computePeridodogram(t, val, testFrequencies, EXACT);
+    }
+
+    /**
+     * Lomb periodogram computation
+     *
+     * @param t the time indices
+     * @param val the measurement
+     * @param testFrequencies array containing the frequencies for which the spectra is being evaluated
+     * @param oversampling {@link #EXACT} for the direct O(N·M) evaluation, or the oversampling factor (&gt;=
+     *        {@link NonUniformFFT#MIN_OVERSAMPLING}, default: {@link NonUniformFFT#DEFAULT_OVERSAMPLING}) of the
+     *        O(N + M log M) approximation. N.B. the latter requires equidistant test frequencies, otherwise the direct
+     *        evaluation is used
+     * @return vector containing Lomb-type Periodogram
+     */
+    public static double[] computePeridodogram(final double[] t, final double[] val, final double[] testFrequencies, final int oversampling) {
         final int n = testFrequencies.length;
         final double[] ret = new double[n];
         final long start = System.nanoTime();
@@ -92,6 +115,14 @@ public class LombPeriodogram {
         }
         final double tau = MathBase.aTan2(sum1, sum2) / MathBase.TWO_PI;
 
+        if (oversampling != EXACT && NonUniformFFT.isUniform(testFrequencies)) {
+            computeFast(t, val, testFrequencies, tau, oversampling, ret);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.atDebug().addArgument((System.nanoTime() - start) * 1e-6).log("LombPeriodogram(double[], double[], double[], int) - took {} ms");
+            }
+            return ret;
+        }
+
         final int nthreads = ConcurrencyUtils.getNumberOfThreads();
         if (nthreads > 1 && n > START_THREADS) {
             final Future<?>[] futures = new Future[nthreads];
@@ -156,4 +187,40 @@ public class LombPeriodogram {
 
         return ret;
     }
+
+    private static void computeFast(final double[] t, final double[] val, final double[] testFrequencies, final double tau, final int oversampling, final double[] ret) {
+        final int n = testFrequencies.length;
+        final double f0 = testFrequencies[0];
+        final double df = (testFrequencies[n - 1] - f0) / (n - 1);
+        // sum_j val[j] exp(i omega t[j]) and sum_j exp(i 2 omega t[j])
+        final double[] c = new double[n];
+        final double[] s = new double[n];
+        final double[] c2 = new double[n];
+        final double[] s2 = new double[n];
+        NonUniformFFT.transform(t, val, f0, df, c, s, n, oversampling);
+        NonUniformFFT.transform(t, null, 2 * f0, 2 * df, c2, s2, n, oversampling);
+
+        // sums below the approximation error are indistinguishable from zero
+        final double tolerance = NonUniformFFT.getErrorBound(oversampling) * t.length;
+        final double halfLength = 0.5 * t.length;
+        for (int i = 0; i < n; i++) {
+            final double phi = MathBase.TWO_PI * testFrequencies[i] * tau;
+            final double cos = MathBase.cos(phi);
+            final double sin = MathBase.sin(phi);
+            final double cos2 = cos * cos - sin * sin;
+            final double sin2 = 2 * sin * cos;
+
+            // sums of the direct evaluation expressed through the shifted angle omega (t - tau)
+            final double sum11 = c[i] * cos + s[i] * sin;
+            final double sum21 = s[i] * cos - c[i] * sin;
+            final double harmonic = 0.5 * (c2[i] * cos2 + s2[i] * sin2);
+            final double sum12 = halfLength + harmonic;
+            final double sum22 = halfLength - harmonic;
+            if (sum12 <= tolerance || sum22 <= tolerance) {
+                ret[i] = 0.0;
+            } else {
+                ret[i] = MathBase.sqrt(2 * (MathBase.sqr(sum11) / sum12 + MathBase.sqr(sum21) / sum22) / t.length);
+            }
+        }
+    }
 }
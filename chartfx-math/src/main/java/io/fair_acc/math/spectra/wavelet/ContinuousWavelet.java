@@ -1,23 +1,34 @@
 package io.fair_acc.math.spectra.wavelet;
 
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.complex.Complex;
 
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.spi.DataSetBuilder;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
 import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
-import io.fair_acc.math.spectra.Convolution;
+import io.fair_acc.math.spectra.fft.FftPlanCache;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
+/**
+ * Continuous wavelet transforms and scalograms.
+ * <p>
+ * The static {@link #computeScalogram(double[], int, int, double, double, double, DoubleGridDataSet)} is stateless and
+ * thread-safe, i.e. may be used concurrently for several channels. The Fourier-domain Morlet filters are shared via
+ * the {@link MorletFilterBank} cache and the data spectrum is computed only once per scalogram.
+ */
 public class ContinuousWavelet {
-    protected int START_THREADS = 512;
+    /** default minimum number of scales above which the scalogram computation is split over several threads */
+    public static final int DEFAULT_START_THREADS = 512;
+    protected int START_THREADS = DEFAULT_START_THREADS;
     protected boolean DEBUG = false;
-    private int fstatus = 100;
-    private final Convolution[] fdecon = new Convolution[ConcurrencyUtils.getNumberOfThreads()];
+    private volatile int fstatus = 100;
 
     /**
      * Wavelet Scalogram implementation with truncated convolution the assumption is made that the wavelet vanishes for
@@ -33,20 +44,7 @@ public class ContinuousWavelet {
      */
     public GridDataSet getScalogram(final double[] data, final int nQuantx, final int nQuanty, final double nu,
             final double fmin, final double fmax) {
-        if (data == null || data.length == 0) {
-            throw new InvalidParameterException(
-                    " getScalogram(double[],int,int,double,fmin,fmax) - data null or zero length");
-        }
-
-        if (fmin < 0 || fmax > 0.5 || fmax <= fmin) {
-            throw new InvalidParameterException(" getScalogram(double[],int,int,double," + fmin + "," + fmax
-                                                + ") - frequency range not within 0<=fmin<fmax<=0.5");
-        }
-
-        if (nQuantx <= 0 || nQuantx > data.length) {
-            throw new InvalidParameterException(" getScalogram(double[]," + nQuantx + ",int,double," + fmin + "," + fmax
-                                                + ") - nQuantx out of range [0," + data.length + "]");
-        }
+        checkScalogramParameter(data, nQuantx, fmin, fmax);
 
         // create and return data set.
         return new DataSetBuilder("Scalogram") //
@@ -65,9 +63,9 @@ public class ContinuousWavelet {
      * @param fmax maximum scalogram frequency range
      * @return Scalogram power in dB
      */
-    public synchronized double[][] getScalogramArray(final double[] data, final int nQuantx, final int nQuanty,
+    public double[][] getScalogramArray(final double[] data, final int nQuantx, final int nQuanty,
             final double nu, final double fmin, final double fmax) {
-        final int nQuantyInternal = (int) Math.floor(nQuanty * (fmax - fmin) / 0.5) + 1;
+        final int nQuantyInternal = getNumberOfFrequencyBins(nQuanty, fmin, fmax);
         final double[][] ret = new double[nQuantx][nQuantyInternal];
 
         fstatus = 0;
@@ -109,134 +107,17 @@ public class ContinuousWavelet {
      * @param fmax maximum scalogram frequency range
      * @return Scalogram power in dB
      */
-    public synchronized double[][] getScalogramArrayFourier(final double[] data, final int nQuantx, final int nQuanty,
+    public double[][] getScalogramArrayFourier(final double[] data, final int nQuantx, final int nQuanty,
             final double nu, final double fmin, final double fmax) {
-        final int nQuantyInternal = (int) Math.floor(nQuanty * (fmax - fmin) / 0.5) + 1;
-        final double[][] ret = new double[nQuantyInternal][nQuantx];
-        final boolean cyclicBoundaries = true;
-
+        final int nQuantyInternal = getNumberOfFrequencyBins(nQuanty, fmin, fmax);
+        final double[] values = new double[nQuantyInternal * nQuantx];
         final long start = System.nanoTime();
 
         fstatus = 0;
-
-        final int min = (int) (2 * fmin * nQuanty);
-        final int max = (int) (2 * fmax * nQuanty);
-        final int n = max - min;
-        final int filterDim = ConcurrencyUtils.nextPow2((cyclicBoundaries ? 1 : 3) * data.length);
-
-        final int nthreads = ConcurrencyUtils.getNumberOfThreads();
-        if (nthreads > 1 && n > START_THREADS) {
-            final Future<?>[] futures = new Future[nthreads];
-            final int k = n / nthreads;
-            for (int thread = 0; thread < nthreads; thread++) {
-                final int firstIdx = min + thread * k;
-                final int lastIdx = thread == nthreads - 1 ? max : firstIdx + k;
-                final int thread_id = thread;
-
-                futures[thread] = ConcurrencyUtils.submit(() -> {
-                    if (fdecon[thread_id] == null) {
-                        fdecon[thread_id] = new Convolution();
-                    }
-
-                    for (int j = firstIdx; j < lastIdx; j++) {
-                        final double f0 = 0.5 * j / nQuanty;
-                        // update status variable
-                        if (thread_id == 0) {
-                            fstatus = (int) ((double) j / (double) lastIdx * 100);
-                        }
-                        final double[] filter = Convolution.getMorletFilter(filterDim, f0, nu);
-                        final double[] wtransformed = fdecon[thread_id].transformFull(data, filter,
-                                cyclicBoundaries);
-
-                        // compute magnitude spectra
-                        if (f0 != 0) {
-                            if (nQuantx != filterDim) {
-                                final int nbin = filterDim / nQuantx;
-                                for (int i = 0; i < nQuantx; i++) {
-                                    final int index = i * nbin;
-                                    final int i2 = index << 1;
-                                    double power = 0.0;
-                                    for (int l = 0; l < nbin; l++) {
-                                        final int l2 = l << 1;
-                                        final double Re = wtransformed[i2 + l2];
-                                        final double Im = wtransformed[i2 + l2 + 1];
-
-                                        power += MathBase.sqr(Re) + MathBase.sqr(Im);
-                                    }
-                                    power /= nbin;
-
-                                    ret[j - min][i] = 10 * MathBase.log10(power + 1e-99);
-                                }
-                            } else {
-                                for (int i = 0; i < filterDim; i++) {
-                                    final int i2 = i << 1;
-                                    final double Re = wtransformed[i2];
-                                    final double Im = wtransformed[i2 + 1];
-
-                                    final double power = MathBase.sqr(Re) + MathBase.sqr(Im);
-                                    ret[j - min][i] = 10 * MathBase.log10(power + 1e-99);
-                                }
-                            }
-
-                        } else {
-                            for (int i = 0; i < nQuantx; i++) {
-                                ret[j - min][i] = Double.NaN;
-                            }
-                        }
-                    }
-                });
-            }
-            ConcurrencyUtils.waitForCompletion(futures);
-
-        } else {
-            // single thread code
-            final int thread_id = 0;
-            if (fdecon[thread_id] == null) {
-                fdecon[thread_id] = new Convolution();
-            }
-            for (int j = min; j < max; j++) {
-                final double f0 = 0.5 * j / nQuanty;
-                // update status variable
-                fstatus = (int) ((double) j / (double) nQuanty * 100);
-                final double[] filter = Convolution.getMorletFilter(filterDim, f0, nu);
-                final double[] wtransformed = fdecon[thread_id].transformFull(data, filter, cyclicBoundaries);
-
-                // compute magnitude spectra
-                if (f0 != 0) {
-                    if (nQuantx != filterDim) {
-                        final int nbin = filterDim / nQuantx;
-                        for (int i = 0; i < nQuantx; i++) {
-                            final int index = i * nbin;
-                            final int i2 = index << 1;
-                            double power = 0.0;
-                            for (int k = 0; k < nbin; k++) {
-                                final int k2 = k << 1;
-                                final double Re = wtransformed[i2 + k2];
-                                final double Im = wtransformed[i2 + k2 + 1];
-
-                                power += MathBase.sqr(Re) + MathBase.sqr(Im);
-                            }
-                            power /= nbin;
-
-                            ret[j - min][i] = 10 * MathBase.log10(power + 1e-99);
-                        }
-                    } else {
-                        for (int i = 0; i < filterDim; i++) {
-                            final int i2 = i << 1;
-                            final double Re = wtransformed[i2];
-                            final double Im = wtransformed[i2 + 1];
-
-                            final double power = MathBase.sqr(Re) + MathBase.sqr(Im);
-                            ret[j - min][i] = 10 * MathBase.log10(power + 1e-99);
-                        }
-                    }
-
-                } else {
-                    for (int i = 0; i < nQuantx; i++) {
-                        ret[j - min][i] = Double.NaN;
-                    }
-                }
-            }
+        computeScalogramFourier(data, nQuantx, nQuanty, nu, fmin, fmax, values, START_THREADS);
+        final double[][] ret = new double[nQuantyInternal][nQuantx];
+        for (int j = 0; j < nQuantyInternal; j++) {
+            System.arraycopy(values, j * nQuantx, ret[j], 0, nQuantx);
         }
 
         final long stop = System.nanoTime();
@@ -251,20 +132,12 @@ public class ContinuousWavelet {
 
     public double[] getScalogramFrequencyAxis(final int nQuantx, final int nQuanty, final double nu, final double fmin,
             final double fmax) {
-        final double[] ret = new double[(int) Math.floor(nQuanty * (fmax - fmin) / 0.5) + 1];
-        for (int i = 0; i < ret.length; i++) {
-            ret[i] = fmin + i * (fmax - fmin) / ret.length;
-        }
-        return ret;
+        return fillFrequencyAxis(new double[getNumberOfFrequencyBins(nQuanty, fmin, fmax)], fmin, fmax);
     }
 
     public double[] getScalogramTimeAxis(final double[] data, final int nQuantx, final int nQuanty, final double nu,
             final double fmin, final double fmax) {
-        final double[] ret = new double[nQuantx];
-        for (int i = 0; i < ret.length; i++) {
-            ret[i] = i * data.length / nQuantx;
-        }
-        return ret;
+        return fillTimeAxis(new double[nQuantx], data.length);
     }
 
     /**
@@ -352,7 +225,7 @@ public class ContinuousWavelet {
      * @param nu the number of oscillations per wavelet
      * @return the complex scalogram spectrum coefficient
      */
-    public synchronized Complex WaveletTransform(final Complex[] data, final double scale, final double translation,
+    public Complex WaveletTransform(final Complex[] data, final double scale, final double translation,
             final double nu) {
         double re = 0;
         double im = 0;
@@ -377,7 +250,7 @@ public class ContinuousWavelet {
      * @param nu the number of oscillations per wavelet
      * @return the complex scalogram spectrum coefficient
      */
-    public synchronized Complex WaveletTransform(final double[] data, final double scale, final double translation,
+    public Complex WaveletTransform(final double[] data, final double scale, final double translation,
             final double nu) {
         double re = 0, im = 0;
         final double[] ret = new double[2]; // temp. real/imaginary storage for
@@ -406,6 +279,152 @@ public class ContinuousWavelet {
         return new Complex(re, im);
     }
 
+    /**
+     * Stateless and thread-safe Morlet wavelet scalogram (Fourier-domain convolution with cyclic boundaries).
+     * <p>
+     * The output data set is updated in place if its shape already matches (i.e. no re-allocation for repeated, e.g.
+     * live, scalograms of the same dimensions) or otherwise re-initialised.
+     *
+     * @param data real valued input data
+     * @param nQuantx number of bins on the time axis
+     * @param nQuanty number of frequency bins of full range
+     * @param nu the number of oscillations per wavelet
+     * @param fmin minimum scalogram frequency range
+     * @param fmax maximum scalogram frequency range
+     * @param output optional data set to be filled, {@code null}: a new data set is created
+     * @return the scalogram power in dB (i.e. output if non-null)
+     */
+    public static DoubleGridDataSet computeScalogram(final double[] data, final int nQuantx, final int nQuanty, final double nu, final double fmin, final double fmax, final DoubleGridDataSet output) {
+        checkScalogramParameter(data, nQuantx, fmin, fmax);
+        final int nQuantyInternal = getNumberOfFrequencyBins(nQuanty, fmin, fmax);
+        final DoubleGridDataSet ret = output == null ? new DoubleGridDataSet("Scalogram", 3) : output;
+
+        final int[] shape = ret.getShape();
+        if (ret.getDimension() == 3 && shape.length == 2 && shape[DataSet.DIM_X] == nQuantx && shape[DataSet.DIM_Y] == nQuantyInternal) {
+            // N.B. computed outside of the write lock into a thread-local buffer, copied to the existing arrays
+            final double[] values = FftPlanCache.getWorkBuffer(2, nQuantyInternal * nQuantx);
+            computeScalogramFourier(data, nQuantx, nQuanty, nu, fmin, fmax, values, DEFAULT_START_THREADS);
+            ret.lock().writeLockGuard(() -> {
+                fillTimeAxis(ret.getGridValues(DataSet.DIM_X), data.length);
+                fillFrequencyAxis(ret.getGridValues(DataSet.DIM_Y), fmin, fmax);
+                System.arraycopy(values, 0, ret.getValues(DataSet.DIM_Z), 0, values.length);
+            });
+            ret.fireInvalidated(ChartBits.DataSetData);
+            return ret;
+        }
+
+        final double[] values = new double[nQuantyInternal * nQuantx];
+        computeScalogramFourier(data, nQuantx, nQuanty, nu, fmin, fmax, values, DEFAULT_START_THREADS);
+        final double[][] grid = { fillTimeAxis(new double[nQuantx], data.length), fillFrequencyAxis(new double[nQuantyInternal], fmin, fmax) };
+        ret.set(false, grid, values);
+        return ret;
+    }
+
+    private static void checkScalogramParameter(final double[] data, final int nQuantx, final double fmin, final double fmax) {
+        if (data == null || data.length == 0) {
+            throw new InvalidParameterException(
+                    " getScalogram(double[],int,int,double,fmin,fmax) - data null or zero length");
+        }
+
+        if (fmin < 0 || fmax > 0.5 || fmax <= fmin) {
+            throw new InvalidParameterException(" getScalogram(double[],int,int,double," + fmin + "," + fmax
+                                                + ") - frequency range not within 0<=fmin<fmax<=0.5");
+        }
+
+        if (nQuantx <= 0 || nQuantx > data.length) {
+            throw new InvalidParameterException(" getScalogram(double[]," + nQuantx + ",int,double," + fmin + "," + fmax
+                                                + ") - nQuantx out of range [0," + data.length + "]");
+        }
+    }
+
+    /**
+     * @param values output power in dB [nFrequencies * nQuantx], row-major w.r.t. frequency
+     */
+    private static void computeScalogramFourier(final double[] data, final int nQuantx, final int nQuanty, final double nu, final double fmin, final double fmax, final double[] values, final int startThreads) { // NOPMD - long parameter list
+        final int min = (int) (2 * fmin * nQuanty);
+        final int max = (int) (2 * fmax * nQuanty);
+        final int n = max - min;
+        final int filterDim = ConcurrencyUtils.nextPow2(data.length); // cyclic boundaries
+        final MorletFilterBank bank = MorletFilterBank.getCached(filterDim, nu, nQuanty, min, max);
+        // rows not covered by [min, max[
+        Arrays.fill(values, n * nQuantx, values.length, 0.0);
+
+        // spectrum of the zero-padded data, shared by all scales
+        final double[] spectrum = new double[2 * filterDim];
+        for (int i = 0; i < data.length; i++) {
+            spectrum[i << 1] = data[i];
+        }
+        FftPlanCache.getInstance().getDoubleFFT(filterDim).complexForward(spectrum);
+
+        final int nthreads = ConcurrencyUtils.getNumberOfThreads();
+        if (nthreads > 1 && n > startThreads) {
+            final Future<?>[] futures = new Future[nthreads];
+            final int k = n / nthreads;
+            for (int thread = 0; thread < nthreads; thread++) {
+                final int firstIdx = min + thread * k;
+                final int lastIdx = thread == nthreads - 1 ? max : firstIdx + k;
+                futures[thread] = ConcurrencyUtils.submit(() -> computeScales(bank, spectrum, nQuantx, firstIdx, lastIdx, values));
+            }
+            ConcurrencyUtils.waitForCompletion(futures);
+        } else {
+            computeScales(bank, spectrum, nQuantx, min, max, values);
+        }
+    }
+
+    private static void computeScales(final MorletFilterBank bank, final double[] spectrum, final int nQuantx, final int firstIdx, final int lastIdx, final double[] values) { // NOPMD - long parameter list
+        final int filterDim = bank.getLength();
+        final int min = bank.getMin();
+        final double[] wtransformed = FftPlanCache.getWorkBuffer(3, 2 * filterDim);
+        for (int j = firstIdx; j < lastIdx; j++) {
+            final int offset = (j - min) * nQuantx;
+            if (bank.getFrequency(j) == 0) {
+                Arrays.fill(values, offset, offset + nQuantx, Double.NaN);
+                continue;
+            }
+            bank.multiply(spectrum, j, wtransformed);
+            FftPlanCache.getInstance().getDoubleFFT(filterDim).complexInverse(wtransformed, true);
+
+            // compute magnitude spectra
+            if (nQuantx != filterDim) {
+                final int nbin = filterDim / nQuantx;
+                for (int i = 0; i < nQuantx; i++) {
+                    final int i2 = (i * nbin) << 1;
+                    double power = 0.0;
+                    for (int l = 0; l < nbin; l++) {
+                        final int l2 = l << 1;
+                        power += MathBase.sqr(wtransformed[i2 + l2]) + MathBase.sqr(wtransformed[i2 + l2 + 1]);
+                    }
+                    power /= nbin;
+                    values[offset + i] = 10 * MathBase.log10(power + 1e-99);
+                }
+            } else {
+                for (int i = 0; i < filterDim; i++) {
+                    final int i2 = i << 1;
+                    final double power = MathBase.sqr(wtransformed[i2]) + MathBase.sqr(wtransformed[i2 + 1]);
+                    values[offset + i] = 10 * MathBase.log10(power + 1e-99);
+                }
+            }
+        }
+    }
+
+    private static double[] fillFrequencyAxis(final double[] axis, final double fmin, final double fmax) {
+        for (int i = 0; i < axis.length; i++) {
+            axis[i] = fmin + i * (fmax - fmin) / axis.length;
+        }
+        return axis;
+    }
+
+    private static double[] fillTimeAxis(final double[] axis, final int length) {
+        for (int i = 0; i < axis.length; i++) {
+            axis[i] = i * length / axis.length;
+        }
+        return axis;
+    }
+
+    private static int getNumberOfFrequencyBins(final int nQuanty, final double fmin, final double fmax) {
+        return (int) Math.floor(nQuanty * (fmax - fmin) / 0.5) + 1;
+    }
+
     public static void main(final String[] args) {
         final ContinuousWavelet wTrafo = new ContinuousWavelet();
 
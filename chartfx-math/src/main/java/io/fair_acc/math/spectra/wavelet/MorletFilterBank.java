@@ -0,0 +1,284 @@
+package io.fair_acc.math.spectra.wavelet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.spectra.Convolution;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Immutable bank of Fourier-domain Morlet wavelet filters (see {@link Convolution#getMorletFilter(int, double, double)})
+ * for the frequencies {@code f_j = 0.5 * j / nQuanty} with {@code j} in [min, max[.
+ * <p>
+ * The banks only depend on the transform length, the oscillation parameter and the frequency grid and are thus shared
+ * between subsequent scalograms (and threads) via a bounded least-recently-used cache. For the sake of memory, only
+ * the {@code length} real-valued filter coefficients are kept per frequency rather than the interleaved complex
+ * {@code 2 * length} array returned by {@link Convolution#getMorletFilter(int, double, double)}: its real part of bin
+ * {@code i} equals {@code kernel[i]} and its imaginary part {@code kernel[length - 1 - i]} for the lower and zero for
+ * the upper half of the bins.
+ * <p>
+ * The filters are computed lazily, i.e. on first use of the given frequency by the (possibly parallel) scale workers,
+ * and a bank thus grows up to {@code (max - min) * length} doubles. The cache is bounded by this maximum size in bytes
+ * rather than by the number of banks: banks larger than {@link #getMaxCachedBankBytes()} are not cached at all, and
+ * the least-recently-used banks are evicted once the total exceeds {@link #getCacheCapacity()}.
+ */
+public final class MorletFilterBank {
+    /** default maximum total size of the cached banks [bytes] */
+    public static final long DEFAULT_CACHE_CAPACITY = 256L << 20;
+    /** default maximum size of an individual bank to be cached [bytes] */
+    public static final long DEFAULT_MAX_CACHED_BANK_BYTES = 64L << 20;
+    private static final Map<Key, MorletFilterBank> CACHE = new LinkedHashMap<>(16, 0.75f, true); // guarded by 'CACHE'
+    private static long cacheCapacity = DEFAULT_CACHE_CAPACITY; // guarded by 'CACHE'
+    private static long maxCachedBankBytes = DEFAULT_MAX_CACHED_BANK_BYTES; // guarded by 'CACHE'
+    private static long cacheBytes; // guarded by 'CACHE'
+    private final Key key;
+    private final AtomicReferenceArray<double[]> kernels;
+
+    /**
+     * @param length transform length (power of two)
+     * @param nu the Morlet wavelet oscillation parameter
+     * @param nQuanty number of frequency bins of full range [0, 0.5]
+     * @param min index of the first frequency
+     * @param max index of the last (exclusive) frequency
+     */
+    public MorletFilterBank(final int length, final double nu, final int nQuanty, final int min, final int max) {
+        this(new Key(length, nu, nQuanty, min, max));
+    }
+
+    private MorletFilterBank(final Key key) {
+        AssertUtils.gtThanZero("length", key.length);
+        AssertUtils.gtThanZero("nQuanty", key.nQuanty);
+        AssertUtils.gtEqThanZero("min", key.min);
+        AssertUtils.gtOrEqual("max", key.min, key.max);
+        if (!ConcurrencyUtils.isPowerOf2(key.length)) {
+            throw new IllegalArgumentException("length " + key.length + " must be a power of two");
+        }
+        this.key = key;
+        kernels = new AtomicReferenceArray<>(key.max - key.min);
+    }
+
+    /**
+     * @return maximum size of the bank once all filters have been computed [bytes]
+     */
+    public long getBytes() {
+        return key.getBytes();
+    }
+
+    /**
+     * @param index frequency index [min, max[
+     * @return the frequency {@code 0.5 * index / nQuanty}
+     */
+    public double getFrequency(final int index) {
+        return 0.5 * index / key.nQuanty;
+    }
+
+    /**
+     * @param index frequency index [min, max[
+     * @return the (shared, not to be modified) real-valued filter coefficients, computed on first use
+     */
+    public double[] getKernel(final int index) {
+        final double[] kernel = kernels.get(index - key.min);
+        if (kernel != null) {
+            return kernel;
+        }
+        // N.B. concurrent computations of the same filter are benign, the first one wins
+        final double[] filter = Convolution.getMorletFilter(key.length, getFrequency(index), key.nu);
+        final double[] newKernel = new double[key.length];
+        for (int i = 0; i < key.length; i++) {
+            newKernel[i] = filter[i << 1];
+        }
+        return kernels.compareAndSet(index - key.min, null, newKernel) ? newKernel : kernels.get(index - key.min);
+    }
+
+    public int getLength() {
+        return key.length;
+    }
+
+    public int getMax() {
+        return key.max;
+    }
+
+    public int getMin() {
+        return key.min;
+    }
+
+    public double getNu() {
+        return key.nu;
+    }
+
+    public int getNQuanty() {
+        return key.nQuanty;
+    }
+
+    /**
+     * Multiplies the complex spectrum with the filter of the given frequency, i.e. the equivalent of
+     * {@link Convolution#complexMultiply(double[], double[])} with {@link Convolution#getMorletFilter(int, double, double)}.
+     *
+     * @param spectrum interleaved complex input spectrum [re0, im0, re1, im1, ...] of the transform length
+     * @param index frequency index [min, max[
+     * @param result interleaved complex output (may be identical to spectrum)
+     */
+    public void multiply(final double[] spectrum, final int index, final double[] result) {
+        final double[] kernel = getKernel(index);
+        final int length = key.length;
+        final int half = length >> 1;
+        for (int i = 0; i < length; i++) {
+            final int i2 = i << 1;
+            final double aRe = spectrum[i2];
+            final double aIm = spectrum[i2 + 1];
+            final double bRe = kernel[i];
+            final double bIm = i < half ? kernel[length - 1 - i] : 0.0;
+            result[i2] = aRe * bRe - aIm * bIm;
+            result[i2 + 1] = aRe * bIm + aIm * bRe;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MorletFilterBank-" + key.length + "-nu" + key.nu + "-[" + key.min + "," + key.max + "[/" + key.nQuanty;
+    }
+
+    /**
+     * Evicts all cached banks
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            cacheBytes = 0;
+        }
+    }
+
+    /**
+     * @return total (maximum) size of the cached banks [bytes]
+     */
+    public static long getCacheBytes() {
+        synchronized (CACHE) {
+            return cacheBytes;
+        }
+    }
+
+    /**
+     * @return maximum total size of the cached banks [bytes]
+     */
+    public static long getCacheCapacity() {
+        synchronized (CACHE) {
+            return cacheCapacity;
+        }
+    }
+
+    /**
+     * @param length transform length (power of two)
+     * @param nu the Morlet wavelet oscillation parameter
+     * @param nQuanty number of frequency bins of full range [0, 0.5]
+     * @param min index of the first frequency
+     * @param max index of the last (exclusive) frequency
+     * @return the shared filter bank, or a new bank if it exceeds {@link #getMaxCachedBankBytes()}
+     */
+    public static MorletFilterBank getCached(final int length, final double nu, final int nQuanty, final int min, final int max) {
+        final Key key = new Key(length, nu, nQuanty, min, max);
+        synchronized (CACHE) {
+            final MorletFilterBank bank = CACHE.get(key);
+            if (bank != null) {
+                return bank;
+            }
+            final MorletFilterBank newBank = new MorletFilterBank(key);
+            if (key.getBytes() <= maxCachedBankBytes) {
+                CACHE.put(key, newBank);
+                cacheBytes += key.getBytes();
+                evict();
+            }
+            return newBank;
+        }
+    }
+
+    /**
+     * @return number of cached banks
+     */
+    public static int getCacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * @return maximum size of an individual bank to be cached [bytes]
+     */
+    public static long getMaxCachedBankBytes() {
+        synchronized (CACHE) {
+            return maxCachedBankBytes;
+        }
+    }
+
+    /**
+     * @param capacity maximum total size of the cached banks [bytes], least-recently-used banks beyond are evicted
+     */
+    public static void setCacheCapacity(final long capacity) {
+        AssertUtils.gtEqThanZero("capacity", capacity);
+        synchronized (CACHE) {
+            cacheCapacity = capacity;
+            evict();
+        }
+    }
+
+    /**
+     * @param bytes maximum size of an individual bank to be cached [bytes], larger banks are re-created on each use
+     */
+    public static void setMaxCachedBankBytes(final long bytes) {
+        AssertUtils.gtEqThanZero("bytes", bytes);
+        synchronized (CACHE) {
+            maxCachedBankBytes = bytes;
+        }
+    }
+
+    private static void evict() { // guarded by 'CACHE'
+        final Iterator<Key> eldest = CACHE.keySet().iterator();
+        while (cacheBytes > cacheCapacity && eldest.hasNext()) {
+            cacheBytes -= eldest.next().getBytes();
+            eldest.remove();
+        }
+    }
+
+    private static final class Key {
+        private final int length;
+        private final double nu;
+        private final int nQuanty;
+        private final int min;
+        private final int max;
+
+        private Key(final int length, final double nu, final int nQuanty, final int min, final int max) {
+            this.length = length;
+            this.nu = nu;
+            this.nQuanty = nQuanty;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return length == other.length && Double.compare(nu, other.nu) == 0 && nQuanty == other.nQuanty && min == other.min && max == other.max;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Integer.hashCode(length);
+            hash = 31 * hash + Double.hashCode(nu);
+            hash = 31 * hash + nQuanty;
+            hash = 31 * hash + min;
+            return 31 * hash + max;
+        }
+
+        private long getBytes() {
+            return (long) (max - min) * length * Double.BYTES;
+        }
+    }
+}
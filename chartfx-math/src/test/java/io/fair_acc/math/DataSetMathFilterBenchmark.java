@@ -0,0 +1,129 @@
+package io.fair_acc.math;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.math.DataSetMath.Filter;
+
+/**
+ * Compares the sliding-window {@link DataSetMath#filterFunction} with the previous brute-force implementation, which
+ * re-scanned all samples for each output point.
+ * <p>
+ * N.B. the brute-force reference scales as O(n²), run with e.g. {@code -p nSamples=1000,10000} for quick checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 0)
+public class DataSetMathFilterBenchmark {
+    @Param({ "1000", "10000", "50000" })
+    private int nSamples;
+    @Param({ "MEAN", "MEDIAN", "P2P" })
+    private Filter filterType;
+    @Param({ "10" })
+    private double width;
+    private DataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rnd = new Random(42);
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        final double[] eyn = new double[nSamples];
+        final double[] eyp = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = java.lang.Math.sin(0.01 * i) + 0.1 * rnd.nextGaussian();
+            eyn[i] = 0.1;
+            eyp[i] = 0.2;
+        }
+        dataSet = new DoubleErrorDataSet("bench", x, y, eyn, eyp, nSamples, false);
+    }
+
+    @Benchmark
+    public void bruteForce(final Blackhole blackhole) {
+        blackhole.consume(bruteForceFilterFunction(dataSet, width, filterType));
+    }
+
+    @Benchmark
+    public void slidingWindow(final Blackhole blackhole) {
+        blackhole.consume(DataSetMath.filterFunction(dataSet, width, filterType));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(DataSetMathFilterBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * reference: the previous O(n²) implementation of {@link DataSetMath#filterFunction} (MEAN, MEDIAN and P2P only)
+     */
+    private static DataSet bruteForceFilterFunction(final DataSet function, final double width, final Filter filterType) {
+        final int n = function.getDataCount();
+        final var filteredFunction = new DoubleErrorDataSet(filterType.getTag(), n);
+        final var subArrayY = new double[n];
+        final var subArrayYn = new double[n];
+        final var subArrayYp = new double[n];
+
+        final double[] xValues = function.getValues(DIM_X);
+        final double[] yValues = function.getValues(DIM_Y);
+        final double[] yen = DataSetMath.errors(function, DataSetMath.ErrType.EYN);
+        final double[] yep = DataSetMath.errors(function, DataSetMath.ErrType.EYP);
+
+        for (var i = 0; i < n; i++) {
+            final double time0 = xValues[i];
+
+            var count = 0;
+            for (var j = 0; j < n; j++) {
+                final double time = xValues[j];
+                if (MathBase.abs(time0 - time) <= width) {
+                    subArrayY[count] = yValues[j];
+                    subArrayYn[count] = yen[j];
+                    subArrayYp[count] = yep[j];
+                    count++;
+                }
+            }
+
+            final double norm = count > 0 ? 1.0 / MathBase.sqrt(count) : 0.0;
+            switch (filterType) {
+            case MEDIAN:
+                // N.B. as before, i.e. including the off-by-one indexing for even window sizes
+                filteredFunction.add(time0, Math.median(subArrayY, count), Math.median(subArrayYn, count), Math.median(subArrayYp, count));
+                break;
+            case P2P:
+                filteredFunction.add(time0, Math.peakToPeak(subArrayY, count), Math.peakToPeak(subArrayYn, count), Math.peakToPeak(subArrayYp, count));
+                break;
+            case MEAN:
+            default:
+                filteredFunction.add(time0, Math.mean(subArrayY, count), Math.mean(subArrayYn, count) * norm, Math.mean(subArrayYp, count) * norm);
+                break;
+            }
+        }
+        return filteredFunction;
+    }
+}
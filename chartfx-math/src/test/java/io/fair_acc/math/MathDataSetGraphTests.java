@@ -0,0 +1,183 @@
+package io.fair_acc.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.PooledEventProcessor;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the dependency-graph scheduler {@link MathDataSetGraph}
+ */
+class MathDataSetGraphTests {
+    @Test
+    void testTopologicalEvaluation() {
+        final DoubleDataSet raw = MathDataSetTests.generateSineWaveData(64);
+        final AtomicInteger[] counter = { new AtomicInteger(), new AtomicInteger(), new AtomicInteger(), new AtomicInteger() };
+
+        // diamond: raw -> scaled -> (offset, squared) -> sum
+        final MathDataSet scaled = new MathDataSet("scaled", (in, out, length) -> {
+            counter[0].incrementAndGet();
+            for (int i = 0; i < length; i++) {
+                out[i] = 2.0 * in[i];
+            }
+        }, -1, raw);
+        final MathDataSet offset = new MathDataSet("offset", (in, out, length) -> {
+            counter[1].incrementAndGet();
+            for (int i = 0; i < length; i++) {
+                out[i] = in[i] + 1.0;
+            }
+        }, -1, scaled);
+        final MathDataSet squared = new MathDataSet("squared", (in, out, length) -> {
+            counter[2].incrementAndGet();
+            for (int i = 0; i < length; i++) {
+                out[i] = in[i] * in[i];
+            }
+        }, -1, scaled);
+        final MathDataSet sum = new MathDataSet("sum", (inputs, output) -> {
+            counter[3].incrementAndGet();
+            final DataSet a = inputs.get(0);
+            final DataSet b = inputs.get(1);
+            final double[] y = new double[a.getDataCount()];
+            for (int i = 0; i < y.length; i++) {
+                y[i] = a.get(DataSet.DIM_Y, i) + b.get(DataSet.DIM_Y, i);
+            }
+            output.set(a.getValues(DataSet.DIM_X), y, new double[y.length], new double[y.length], y.length, true);
+        }, -1, offset, squared);
+
+        // wait for the initial (stand-alone) updates to settle
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> counter[3].get() > 0 && PooledEventProcessor.getInstance().getQueueDepth() == 0);
+
+        // N.B. registered in reverse order
+        final MathDataSetGraph graph = new MathDataSetGraph().add(sum, squared, offset, scaled);
+        final List<MathDataSet> order = graph.getDataSets();
+        assertEquals(scaled, order.get(0));
+        assertEquals(sum, order.get(3));
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration() > 0 && graph.getGeneration(sum) == graph.getGeneration());
+
+        final int[] before = { counter[0].get(), counter[1].get(), counter[2].get(), counter[3].get() };
+        final long generation = graph.getGeneration();
+        raw.set(0, 0.0, 3.0);
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration(sum) > generation && graph.getGeneration() == graph.getGeneration(sum));
+        // each node computed exactly once per source generation
+        for (int i = 0; i < counter.length; i++) {
+            assertEquals(before[i] + 1, counter[i].get(), "node " + i);
+        }
+        assertEquals(6.0, scaled.get(DataSet.DIM_Y, 0));
+        assertEquals(7.0 + 36.0, sum.get(DataSet.DIM_Y, 0));
+
+        // removed nodes are updated individually again
+        graph.remove(sum, squared, offset, scaled);
+        assertTrue(graph.getDataSets().isEmpty());
+        raw.set(0, 0.0, 1.0);
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> sum.get(DataSet.DIM_Y, 0) == 3.0 + 4.0);
+        assertThrows(IllegalArgumentException.class, () -> graph.getGeneration(sum));
+    }
+
+    @Test
+    void testTriggerUpdateOfMember() {
+        final DoubleDataSet raw = MathDataSetTests.generateSineWaveData(16);
+        final AtomicInteger gain = new AtomicInteger(1);
+        final AtomicInteger downstreamCounter = new AtomicInteger();
+        final MathDataSet upstream = new MathDataSet("gain", (in, out, length) -> {
+            for (int i = 0; i < length; i++) {
+                out[i] = gain.get() * in[i];
+            }
+        }, -1, raw);
+        final MathDataSet downstream = new MathDataSet("offset", (in, out, length) -> {
+            downstreamCounter.incrementAndGet();
+            for (int i = 0; i < length; i++) {
+                out[i] = in[i] + 1.0;
+            }
+        }, -1, upstream);
+        final MathDataSetGraph graph = new MathDataSetGraph().add(upstream, downstream);
+        assertEquals(graph, upstream.getGraph());
+        assertThrows(IllegalArgumentException.class, () -> new MathDataSetGraph().add(downstream));
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration() > 0 && graph.getGeneration(downstream) == graph.getGeneration());
+        final double y0 = raw.get(DataSet.DIM_Y, 3);
+        assertEquals(y0 + 1.0, downstream.get(DataSet.DIM_Y, 3));
+
+        // N.B. source unchanged -> only the explicit trigger of the upstream node propagates
+        final long generation = graph.getGeneration();
+        final int executed = downstreamCounter.get();
+        gain.set(3);
+        upstream.triggerUpdate();
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration(downstream) > generation);
+        assertEquals(3.0 * y0 + 1.0, downstream.get(DataSet.DIM_Y, 3));
+        assertEquals(executed + 1, downstreamCounter.get());
+
+        graph.remove(upstream, downstream);
+        assertEquals(null, upstream.getGraph());
+        gain.set(5);
+        upstream.triggerUpdate();
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> downstream.get(DataSet.DIM_Y, 3) == 5.0 * y0 + 1.0);
+    }
+
+    @Test
+    void testRejectedCycleKeepsGraph() {
+        final DoubleDataSet raw = MathDataSetTests.generateSineWaveData(16);
+        final MathDataSet upstream = new MathDataSet("copy", (in, out, length) -> System.arraycopy(in, 0, out, 0, length), -1, raw);
+        final MathDataSet downstream = new MathDataSet("offset", (in, out, length) -> {
+            for (int i = 0; i < length; i++) {
+                out[i] = in[i] + 1.0;
+            }
+        }, -1, upstream);
+        final MathDataSetGraph graph = new MathDataSetGraph().add(upstream, downstream);
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration() > 0 && graph.getGeneration(downstream) == graph.getGeneration());
+
+        // N.B. cycle introduced via the mutable source list
+        final MathDataSet cycleA = new MathDataSet("cycleA", (in, out, length) -> System.arraycopy(in, 0, out, 0, length), -1, downstream);
+        final MathDataSet cycleB = new MathDataSet("cycleB", (in, out, length) -> System.arraycopy(in, 0, out, 0, length), -1, cycleA);
+        cycleA.getSourceDataSets().add(cycleB);
+        assertThrows(IllegalArgumentException.class, () -> graph.add(cycleA, cycleB));
+        assertEquals(null, cycleA.getGraph());
+        assertEquals(null, cycleB.getGraph());
+        assertEquals(List.of(upstream, downstream), graph.getDataSets());
+        assertThrows(IllegalArgumentException.class, () -> graph.getGeneration(cycleA));
+
+        // existing graph still listens to its source and propagates updates
+        final long generation = graph.getGeneration(downstream);
+        raw.set(3, 3.0, 42.0);
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> graph.getGeneration(downstream) > generation && downstream.get(DataSet.DIM_Y, 3) == 43.0);
+    }
+
+    @Test
+    void testMinUpdatePeriod() {
+        final DoubleDataSet raw = MathDataSetTests.generateSineWaveData(16);
+        final AtomicInteger counter = new AtomicInteger();
+        final MathDataSet identity = new MathDataSet("I", (in, out, length) -> {
+            counter.incrementAndGet();
+            System.arraycopy(in, 0, out, 0, length);
+        }, 200, raw);
+        assertEquals(200, identity.getMinUpdatePeriod());
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(() -> counter.get() == 1);
+
+        // burst is rate-limited but the final state is processed
+        for (int i = 0; i < 50; i++) {
+            raw.set(0, 0.0, i);
+        }
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> identity.get(DataSet.DIM_Y, 0) == 49.0);
+        assertTrue(counter.get() <= 3, "updates: " + counter.get());
+
+        // graph evaluation honours the update period as well
+        final MathDataSetGraph graph = new MathDataSetGraph().add(identity);
+        Awaitility.await().atMost(1, TimeUnit.SECONDS).until(() -> graph.getGeneration() == 1);
+        final int executed = counter.get();
+        for (int i = 0; i < 50; i++) {
+            raw.fireInvalidated(ChartBits.DataSetData);
+        }
+        Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> counter.get() > executed);
+        assertTrue(counter.get() - executed <= 2, "updates: " + (counter.get() - executed));
+    }
+}
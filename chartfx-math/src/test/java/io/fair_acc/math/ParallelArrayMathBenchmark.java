@@ -0,0 +1,212 @@
+package io.fair_acc.math;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the scalar {@link Math} reductions with the unrolled and fork-join variants of {@link ParallelArrayMath} for
+ * the double, float and int implementations.
+ * <p>
+ * e.g. run with {@code -p nSamples=10000000 -p variant=UNROLLED,PARALLEL} to compare only the new implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, warmups = 0)
+public class ParallelArrayMathBenchmark {
+    @Param({ "10000", "1000000", "10000000" })
+    private int nSamples;
+    @Param({ "SCALAR", "UNROLLED", "PARALLEL" })
+    private Variant variant;
+    private double[] doubleData;
+    private float[] floatData;
+    private int[] intData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rnd = new Random(42);
+        doubleData = new double[nSamples];
+        floatData = new float[nSamples];
+        intData = new int[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            doubleData[i] = rnd.nextGaussian();
+            floatData[i] = (float) doubleData[i];
+            intData[i] = rnd.nextInt(1 << 16);
+        }
+    }
+
+    @Benchmark
+    public void maximumDouble(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.maximumUnrolled(doubleData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.maximumParallel(doubleData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.maximum(doubleData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void maximumFloat(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.maximumUnrolled(floatData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.maximumParallel(floatData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.maximum(floatData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void maximumInt(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.maximumUnrolled(intData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.maximumParallel(intData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.maximum(intData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void meanDouble(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.sumUnrolled(doubleData, 0, nSamples) / nSamples);
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.sumParallel(doubleData, 0, nSamples) / nSamples);
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.mean(doubleData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void meanFloat(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.sumUnrolled(floatData, 0, nSamples) / nSamples);
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.sumParallel(floatData, 0, nSamples) / nSamples);
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.mean(floatData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void meanInt(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.sumUnrolled(intData, 0, nSamples) / nSamples);
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.sumParallel(intData, 0, nSamples) / nSamples);
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.mean(intData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void rmsDouble(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.rmsUnrolled(doubleData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.rmsParallel(doubleData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.rms(doubleData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void rmsFloat(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.rmsUnrolled(floatData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.rmsParallel(floatData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.rms(floatData, nSamples));
+            break;
+        }
+    }
+
+    @Benchmark
+    public void rmsInt(final Blackhole blackhole) {
+        switch (variant) {
+        case UNROLLED:
+            blackhole.consume(ParallelArrayMath.rmsUnrolled(intData, 0, nSamples));
+            break;
+        case PARALLEL:
+            blackhole.consume(ParallelArrayMath.rmsParallel(intData, 0, nSamples));
+            break;
+        case SCALAR:
+        default:
+            blackhole.consume(Math.rms(intData, nSamples));
+            break;
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(ParallelArrayMathBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    public enum Variant {
+        SCALAR,
+        UNROLLED,
+        PARALLEL
+    }
+}
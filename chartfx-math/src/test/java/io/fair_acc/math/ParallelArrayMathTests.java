@@ -0,0 +1,142 @@
+package io.fair_acc.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the unrolled and fork-join variants of {@link ParallelArrayMath} against the scalar reference implementations
+ */
+class ParallelArrayMathTests {
+    private static final int N_SAMPLES = 100_003; // N.B. deliberately not a multiple of the unroll factor
+
+    @AfterEach
+    void resetThreshold() {
+        ParallelArrayMath.setParallelThreshold(ParallelArrayMath.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Test
+    void testDoubleReductions() {
+        final Random rnd = new Random(42);
+        final double[] data = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            data[i] = 1.0 + rnd.nextGaussian();
+        }
+        final int offset = 17;
+        final int length = N_SAMPLES - 2 * offset;
+        final double[] range = Arrays.copyOfRange(data, offset, offset + length);
+        final double sum = Arrays.stream(range).sum();
+
+        assertEquals(sum, ParallelArrayMath.sumUnrolled(data, offset, length), 1e-9 * length);
+        assertEquals(sum, ParallelArrayMath.sumParallel(data, offset, length), 1e-9 * length);
+        assertEquals(Math.mean(range), ParallelArrayMath.mean(data, offset, length), 1e-9);
+        assertEquals(Math.rms(range, length), ParallelArrayMath.rmsUnrolled(data, offset, length), 1e-9);
+        assertEquals(Math.rms(range, length), ParallelArrayMath.rmsParallel(data, offset, length), 1e-9);
+        assertEquals(Math.maximum(range), ParallelArrayMath.maximumUnrolled(data, offset, length));
+        assertEquals(Math.maximum(range), ParallelArrayMath.maximumParallel(data, offset, length));
+        assertEquals(Math.minimum(range), ParallelArrayMath.minimumUnrolled(data, offset, length));
+        assertEquals(Math.minimum(range), ParallelArrayMath.minimumParallel(data, offset, length));
+
+        final double[] sorted = range.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[length / 2], ParallelArrayMath.median(data, offset, length));
+        assertEquals(2.5, ParallelArrayMath.median(new double[] { 4.0, 1.0, 3.0, 2.0 }));
+        assertEquals(0.0, ParallelArrayMath.sum(new double[0]));
+
+        // NaN propagates as for the scalar implementation
+        data[N_SAMPLES / 2] = Double.NaN;
+        assertTrue(Double.isNaN(ParallelArrayMath.maximumParallel(data, 0, N_SAMPLES)));
+        assertTrue(Double.isNaN(ParallelArrayMath.minimumUnrolled(data, 0, N_SAMPLES)));
+    }
+
+    @Test
+    void testFloatAndIntegerReductions() {
+        final Random rnd = new Random(42);
+        final float[] floatData = new float[N_SAMPLES];
+        final int[] intData = new int[N_SAMPLES];
+        final short[] shortData = new short[N_SAMPLES];
+        final long[] longData = new long[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            floatData[i] = (float) rnd.nextGaussian();
+            intData[i] = rnd.nextInt();
+            shortData[i] = (short) rnd.nextInt();
+            longData[i] = rnd.nextLong();
+        }
+        shortData[N_SAMPLES / 3] = Short.MAX_VALUE;
+        shortData[N_SAMPLES / 2] = Short.MIN_VALUE;
+
+        double floatSum = 0.0;
+        long intSum = 0;
+        for (int i = 0; i < N_SAMPLES; i++) {
+            floatSum += floatData[i];
+            intSum += intData[i];
+        }
+        // N.B. accumulated as double, i.e. no integer overflow
+        assertEquals(floatSum, ParallelArrayMath.sumParallel(floatData, 0, N_SAMPLES), 1e-6 * N_SAMPLES);
+        assertEquals(intSum, ParallelArrayMath.sumParallel(intData, 0, N_SAMPLES), 1e-9 * java.lang.Math.abs(intSum));
+        assertEquals(intSum, ParallelArrayMath.sumUnrolled(intData, 0, N_SAMPLES), 1e-9 * java.lang.Math.abs(intSum));
+        assertEquals((double) intSum / N_SAMPLES, ParallelArrayMath.mean(intData), 1e-3);
+
+        assertEquals(Math.maximum(floatData), ParallelArrayMath.maximumParallel(floatData, 0, N_SAMPLES));
+        assertEquals(Arrays.stream(intData).max().orElseThrow(), ParallelArrayMath.maximumParallel(intData, 0, N_SAMPLES));
+        assertEquals(Arrays.stream(intData).min().orElseThrow(), ParallelArrayMath.minimumUnrolled(intData, 0, N_SAMPLES));
+        assertEquals(Arrays.stream(longData).max().orElseThrow(), ParallelArrayMath.maximumParallel(longData, 0, N_SAMPLES));
+        assertEquals(Short.MAX_VALUE, ParallelArrayMath.maximumUnrolled(shortData, 0, N_SAMPLES));
+        assertEquals(Short.MIN_VALUE, ParallelArrayMath.minimumParallel(shortData, 0, N_SAMPLES));
+        final double[] intAsDouble = Arrays.stream(intData).asDoubleStream().toArray();
+        assertEquals(ParallelArrayMath.rmsUnrolled(intAsDouble, 0, N_SAMPLES), ParallelArrayMath.rmsParallel(intData, 0, N_SAMPLES), 1e-6 * Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testInPlaceOperations() {
+        ParallelArrayMath.setParallelThreshold(1000);
+        assertEquals(ForkJoinPool.getCommonPoolParallelism() > 1, ParallelArrayMath.isParallel(N_SAMPLES));
+        assertFalse(ParallelArrayMath.isParallel(999));
+
+        final double[] reference = new double[N_SAMPLES];
+        final double[] ones = new double[N_SAMPLES];
+        Arrays.fill(ones, 1.0);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            reference[i] = i;
+        }
+        final double[] data = reference.clone();
+        ParallelArrayMath.addInPlace(data, 2.0);
+        ParallelArrayMath.multiplyInPlace(data, 3.0);
+        ParallelArrayMath.subtractInPlace(data, ones);
+        ParallelArrayMath.multiplyInPlace(data, 0, ones, 0, N_SAMPLES);
+        ParallelArrayMath.addInPlace(data, 1, ones, 0, N_SAMPLES - 1);
+        ArrayMath.subtractInPlace(ArrayMath.multiplyInPlace(ArrayMath.addInPlace(reference, 2.0), 3.0), ones);
+        ArrayMath.addInPlace(reference, 1, ones, 0, N_SAMPLES - 1);
+        assertArrayEquals(reference, data);
+
+        final int[] intData = new int[N_SAMPLES];
+        ParallelArrayMath.addInPlace(intData, 10, 7, N_SAMPLES - 20);
+        ParallelArrayMath.subtractInPlace(intData, 10, 2, N_SAMPLES - 20);
+        assertEquals(0, intData[9]);
+        assertEquals(5, intData[10]);
+        assertEquals(5, intData[N_SAMPLES - 11]);
+        assertEquals(0, intData[N_SAMPLES - 10]);
+        assertEquals(5.0 * (N_SAMPLES - 20), ParallelArrayMath.sum(intData));
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalStateException.class, ParallelArrayMath::new);
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.setParallelThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.maximum(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.mean(new float[0]));
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.sumUnrolled(new double[10], 5, 6));
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.sumParallel(new double[10], -1, 6));
+        ParallelArrayMath.setParallelThreshold(10);
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayMath.addInPlace(new double[100], new double[50]));
+    }
+}
@@ -0,0 +1,160 @@
+package io.fair_acc.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.math.DataSetMath.Filter;
+
+/**
+ * Unit-Tests of {@link SlidingWindowFilter} against a brute-force evaluation of every window
+ */
+class SlidingWindowFilterTests {
+    private static final int N_SAMPLES = 2000;
+
+    @ParameterizedTest
+    @EnumSource(Filter.class)
+    void testAgainstBruteForce(final Filter filterType) {
+        final Random rnd = new Random(42);
+        final double[] xSorted = new double[N_SAMPLES];
+        final double[] y = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            // non-equidistant sampling including duplicate x-coordinates and quantised y-values (duplicate ranks)
+            xSorted[i] = i == 0 ? 0.0 : xSorted[i - 1] + (rnd.nextInt(4) == 0 ? 0.0 : rnd.nextDouble());
+            y[i] = filterType == Filter.GEOMMEAN ? 0.5 + rnd.nextInt(20) : rnd.nextInt(50) - 25.0;
+        }
+        y[N_SAMPLES / 2] = 0.0; // exercises the GEOMMEAN zero handling
+
+        for (final double width : new double[] { 0.0, 0.5, 3.0, 40.0, 1e6 }) {
+            final double[] result = new SlidingWindowFilter(xSorted, N_SAMPLES, width).apply(y, filterType, null);
+            final double[] expected = bruteForce(xSorted, y, N_SAMPLES, width, filterType);
+            for (int i = 0; i < N_SAMPLES; i++) {
+                assertEquals(expected[i], result[i], 1e-9 * (1.0 + java.lang.Math.abs(expected[i])), filterType + " width = " + width + " index = " + i);
+            }
+        }
+
+        // same samples in shuffled order -> same results per sample
+        final int[] permutation = new int[N_SAMPLES];
+        Arrays.setAll(permutation, i -> i);
+        for (int i = N_SAMPLES - 1; i > 0; i--) {
+            final int j = rnd.nextInt(i + 1);
+            final int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        final double[] xShuffled = new double[N_SAMPLES];
+        final double[] yShuffled = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            xShuffled[i] = xSorted[permutation[i]];
+            yShuffled[i] = y[permutation[i]];
+        }
+        final double[] result = new SlidingWindowFilter(xShuffled, N_SAMPLES, 3.0).apply(yShuffled, filterType, null);
+        final double[] expected = bruteForce(xShuffled, yShuffled, N_SAMPLES, 3.0, filterType);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            assertEquals(expected[i], result[i], 1e-9 * (1.0 + java.lang.Math.abs(expected[i])), filterType + " shuffled index = " + i);
+        }
+    }
+
+    @Test
+    void testNonFiniteValues() {
+        final double[] x = { 0, 1, 2, Double.NaN, 4, 5, 6, 7, 8 };
+        final double[] y = { 1, 2, Double.NaN, 4, 5, Double.POSITIVE_INFINITY, 7, 8, 9 };
+        final SlidingWindowFilter filter = new SlidingWindowFilter(x, x.length, 1.0);
+        assertArrayEquals(new int[] { 2, 3, 2, 0, 2, 3, 3, 3, 2 }, filter.getWindowSizes(null));
+
+        final double[] max = filter.apply(y, Filter.MAX, null);
+        assertArrayEquals(new double[] { 2, Double.NaN, Double.NaN, Double.NaN, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 9, 9 }, max);
+        final double[] median = filter.apply(y, Filter.MEDIAN, null);
+        assertArrayEquals(new double[] { 1.5, Double.NaN, Double.NaN, Double.NaN, Double.POSITIVE_INFINITY, 7, 8, 8, 8.5 }, median);
+        final double[] mean = filter.apply(y, Filter.MEAN, null);
+        assertArrayEquals(new double[] { 1.5, Double.NaN, Double.NaN, Double.NaN, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 8, 8.5 }, mean);
+
+        // negative widths yield empty windows
+        assertArrayEquals(new double[] { Double.NaN, Double.NaN }, new SlidingWindowFilter(new double[] { 0, 1 }, 2, -1.0).apply(new double[] { 1, 2 }, Filter.MEAN, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> new SlidingWindowFilter(x, x.length + 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> filter.apply(new double[2], Filter.MEAN, null));
+    }
+
+    @Test
+    void testFilterFunction() {
+        final double[] x = new double[N_SAMPLES];
+        final double[] y = new double[N_SAMPLES];
+        final double[] eyn = new double[N_SAMPLES];
+        final double[] eyp = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x[i] = 0.1 * i;
+            y[i] = java.lang.Math.sin(0.01 * i);
+            eyn[i] = 0.1;
+            eyp[i] = 0.4;
+        }
+        final DataSet dataSet = new DoubleErrorDataSet("test", x, y, eyn, eyp, N_SAMPLES, true);
+
+        final DataSetError mean = (DataSetError) DataSetMath.lowPassFilterFunction(dataSet, 0.25);
+        assertEquals(N_SAMPLES, mean.getDataCount());
+        assertEquals("LowPass(test,0.25)", mean.getName());
+        assertEquals(x[10], mean.get(DIM_X, 10));
+        assertEquals((y[8] + y[9] + y[10] + y[11] + y[12]) / 5.0, mean.get(DIM_Y, 10), 1e-12);
+        // error of the mean: positive and negative errors are propagated separately
+        assertEquals(0.1 / java.lang.Math.sqrt(5), mean.getErrorNegative(DIM_Y, 10), 1e-12);
+        assertEquals(0.4 / java.lang.Math.sqrt(5), mean.getErrorPositive(DIM_Y, 10), 1e-12);
+
+        final DataSetError median = (DataSetError) DataSetMath.medianFilteredFunction(dataSet, 0.15);
+        assertEquals(0.5 * (y[0] + y[1]), median.get(DIM_Y, 0), 1e-12);
+        assertEquals(y[10], median.get(DIM_Y, 10), 1e-12);
+        assertEquals(0.4, median.getErrorPositive(DIM_Y, 10), 1e-12);
+    }
+
+    private static double[] bruteForce(final double[] x, final double[] y, final int n, final double width, final Filter filterType) {
+        final double[] result = new double[n];
+        final double[] window = new double[n];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (java.lang.Math.abs(x[i] - x[j]) <= width) {
+                    window[count++] = y[j];
+                }
+            }
+            final double[] values = Arrays.copyOf(window, count);
+            Arrays.sort(values);
+            switch (filterType) {
+            case MEDIAN:
+                result[i] = count % 2 == 1 ? values[count / 2] : 0.5 * (values[count / 2 - 1] + values[count / 2]);
+                break;
+            case MIN:
+                result[i] = values[0];
+                break;
+            case MAX:
+                result[i] = values[count - 1];
+                break;
+            case P2P:
+                result[i] = values[count - 1] - values[0];
+                break;
+            case RMS:
+                final double mean = Arrays.stream(values).average().orElseThrow();
+                result[i] = java.lang.Math.sqrt(java.lang.Math.abs(Arrays.stream(values).map(v -> v * v).average().orElseThrow() - mean * mean));
+                break;
+            case GEOMMEAN:
+                result[i] = values[0] == 0.0 ? 0.0 : java.lang.Math.exp(Arrays.stream(values).map(java.lang.Math::log).average().orElseThrow());
+                break;
+            case MEAN:
+            default:
+                result[i] = Arrays.stream(values).average().orElseThrow();
+                break;
+            }
+        }
+        return result;
+    }
+}
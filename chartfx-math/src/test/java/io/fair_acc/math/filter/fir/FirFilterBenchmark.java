@@ -0,0 +1,90 @@
+package io.fair_acc.math.filter.fir;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the time-domain and the overlap-save FFT evaluation of the {@link StreamingFirFilter} as a function of the
+ * number of taps, i.e. measures the crossover {@link StreamingFirFilter#DEFAULT_FFT_CROSSOVER_TAPS} on the target
+ * platform.
+ * <p>
+ * N.B. the time-domain path scales as O(samples * taps), run with e.g. {@code -p nTaps=16,32,64,128} for quick checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, warmups = 0)
+public class FirFilterBenchmark {
+    @Param({ "1000000" })
+    private int nSamples;
+    @Param({ "16", "32", "64", "128", "256", "4096" })
+    private int nTaps;
+    @Param({ "65536" })
+    private int blockSize;
+    private double[] input;
+    private double[] output;
+    private StreamingFirFilter direct;
+    private StreamingFirFilter overlapSave;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rnd = new Random(42);
+        input = new double[nSamples];
+        output = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            input[i] = Math.sin(0.01 * i) + 0.1 * rnd.nextGaussian();
+        }
+        final double[] taps = new double[nTaps];
+        for (int k = 0; k < nTaps; k++) {
+            taps[k] = rnd.nextGaussian() / nTaps;
+        }
+        direct = new StreamingFirFilter(taps, Integer.MAX_VALUE);
+        overlapSave = new StreamingFirFilter(taps, 1);
+    }
+
+    @Benchmark
+    public void direct(final Blackhole blackhole) {
+        blackhole.consume(filterRecord(direct));
+    }
+
+    @Benchmark
+    public void overlapSave(final Blackhole blackhole) {
+        blackhole.consume(filterRecord(overlapSave));
+    }
+
+    /**
+     * filters the full record in blocks as for live data
+     */
+    private double[] filterRecord(final StreamingFirFilter filter) {
+        filter.reset();
+        for (int from = 0; from < nSamples; from += blockSize) {
+            filter.filter(input, output, from, Math.min(blockSize, nSamples - from));
+        }
+        return output;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(FirFilterBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+}
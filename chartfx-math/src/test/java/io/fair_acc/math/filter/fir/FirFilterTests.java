@@ -1,12 +1,22 @@
 package io.fair_acc.math.filter.fir;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.security.InvalidParameterException;
+
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import io.fair_acc.math.TRandom;
 import io.fair_acc.math.filter.FilterType;
+import io.fair_acc.math.spectra.Convolution;
 
 public class FirFilterTests {
     private static final TRandom rnd = new TRandom(0);
@@ -30,4 +40,74 @@ public class FirFilterTests {
 
         assertDoesNotThrow(() -> FirFilter.filterSignal(input, new double[input.length], cutoffFraction, filterOrder, FilterType.LOW_PASS, ripplePercent));
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 31, 64, 300 })
+    public void filterTapsTests(final int nTaps) {
+        final int dim = 5000;
+        final double[] input = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            input[i] = Math.sin(2.0 * Math.PI * 0.01 * i) + TRandom.Gaus(0.0, 0.1);
+        }
+        final double[] taps = new double[nTaps];
+        for (int k = 0; k < nTaps; k++) {
+            taps[k] = Math.exp(-0.01 * k) * Math.cos(0.3 * k) / nTaps;
+        }
+        final double[] expected = convolveReference(input, taps);
+        final double tolerance = 1e-12;
+
+        final double[] output = FirFilter.filter(input, null, taps);
+        assertArrayEquals(expected, output, tolerance);
+        assertSame(output, FirFilter.filter(input, output, taps));
+        assertArrayEquals(expected, Convolution.convolve(input, taps, null), tolerance);
+
+        // both methods irrespective of the number of taps
+        for (final int crossover : new int[] { 1, Integer.MAX_VALUE }) {
+            final StreamingFirFilter filter = new StreamingFirFilter(taps, crossover);
+            assertEquals(crossover == 1, filter.isFftBased());
+            assertArrayEquals(taps, filter.getTaps());
+
+            // streaming in blocks shorter and longer than the filter (and FFT segments)
+            final double[] streamed = new double[dim];
+            int from = 0;
+            for (int block = 1; from < dim; block = 3 * block + 7) {
+                final int len = Math.min(block, dim - from);
+                filter.filter(input, streamed, from, len);
+                from += len;
+            }
+            assertArrayEquals(expected, streamed, tolerance, "crossover " + crossover);
+
+            filter.reset();
+            final double[] restarted = new double[dim];
+            filter.filter(input, restarted, 0, dim);
+            assertArrayEquals(expected, restarted, tolerance);
+        }
+    }
+
+    @Test
+    public void filterTapsParameterTests() {
+        final double[] input = new double[10];
+        final StreamingFirFilter shortFilter = new StreamingFirFilter(new double[] { 0.5, 0.5 });
+        assertFalse(shortFilter.isFftBased());
+        assertEquals(0, shortFilter.getFftSize());
+        final StreamingFirFilter longFilter = new StreamingFirFilter(new double[StreamingFirFilter.DEFAULT_FFT_CROSSOVER_TAPS]);
+        assertTrue(longFilter.isFftBased());
+        assertTrue(longFilter.getFftSize() >= StreamingFirFilter.FFT_SIZE_FACTOR * StreamingFirFilter.DEFAULT_FFT_CROSSOVER_TAPS);
+
+        assertThrows(IllegalArgumentException.class, () -> new StreamingFirFilter(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingFirFilter(new double[2], 0));
+        assertThrows(IllegalArgumentException.class, () -> shortFilter.filter(input, input, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> shortFilter.filter(input, new double[5], 0, 10));
+        assertThrows(InvalidParameterException.class, () -> Convolution.convolve(new double[0], new double[2], null));
+    }
+
+    private static double[] convolveReference(final double[] input, final double[] taps) {
+        final double[] output = new double[input.length];
+        for (int n = 0; n < input.length; n++) {
+            for (int k = 0; k < taps.length && k <= n; k++) {
+                output[n] += taps[k] * input[n - k];
+            }
+        }
+        return output;
+    }
 }
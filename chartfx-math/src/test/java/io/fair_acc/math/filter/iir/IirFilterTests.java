@@ -2,6 +2,7 @@ package io.fair_acc.math.filter.iir;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -13,13 +14,17 @@ import static io.fair_acc.dataset.DataSet.DIM_Y;
 import static io.fair_acc.math.SimpleDataSetEstimators.getMaximum;
 import static io.fair_acc.math.SimpleDataSetEstimators.getRange;
 
+import java.util.Random;
+
 import org.apache.commons.math3.complex.Complex;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.CircularDoubleErrorDataSet;
 import io.fair_acc.dataset.spi.DefaultDataSet;
 import io.fair_acc.math.DataSetMath;
 import io.fair_acc.math.MathBase;
@@ -68,6 +73,140 @@ public class IirFilterTests {
         assertThat("band-pass pass-band ripple", rangePassBand, lessThan(10 * EPSILON_DB));
     }
 
+    @DisplayName("Block filter")
+    @ParameterizedTest(name = "{displayName}: filter-order: {0}, algorithm: {1}")
+    @CsvSource({ "1, 0", "4, 0", "5, 1", "6, 1" })
+    public void testBlockFilter(final int filterOrder, final int directFormType) {
+        final double[] input = generateNoise(N_SAMPLES);
+        final Cascade[] filters = { new Butterworth(), new ChebyshevI(), new Butterworth(), new ChebyshevI() };
+        ((Butterworth) filters[0]).lowPass(filterOrder, 1.0, F_CUT_LOW, directFormType);
+        ((ChebyshevI) filters[1]).bandPass(filterOrder, 1.0, F_BAND_CENTRE, F_BAND_WIDTH, 1.0, directFormType);
+        ((Butterworth) filters[2]).lowPass(filterOrder, 1.0, F_CUT_LOW, directFormType);
+        ((ChebyshevI) filters[3]).bandPass(filterOrder, 1.0, F_BAND_CENTRE, F_BAND_WIDTH, 1.0, directFormType);
+        assertEquals(directFormType, filters[0].getDirectFormType());
+
+        for (int k = 0; k < 2; k++) {
+            final Cascade sampleFilter = filters[k];
+            final Cascade blockFilter = filters[k + 2];
+            final double[] expected = new double[N_SAMPLES];
+            for (int i = 0; i < N_SAMPLES; i++) {
+                expected[i] = sampleFilter.filter(input[i]);
+            }
+            // uneven blocks -> state carried across block boundaries
+            final double[] actual = new double[N_SAMPLES];
+            blockFilter.filter(input, actual, 0, 7);
+            blockFilter.filter(input, actual, 7, 100);
+            blockFilter.filter(input, actual, 107, 0);
+            blockFilter.filter(input, actual, 107, N_SAMPLES - 107);
+            assertArrayEquals(expected, actual);
+
+            // in-place
+            blockFilter.reset();
+            final double[] inPlace = input.clone();
+            blockFilter.filter(inPlace, inPlace, 0, N_SAMPLES);
+            assertArrayEquals(expected, inPlace);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> filters[0].filter(input, new double[10], 0, 11));
+        assertThrows(IllegalArgumentException.class, () -> filters[0].filter(input, input, -1, 10));
+    }
+
+    @DisplayName("Multi-channel block filter")
+    @ParameterizedTest(name = "{displayName}: algorithm: {0}")
+    @CsvSource({ "0", "1" })
+    public void testMultiChannelCascade(final int directFormType) {
+        final int nChannels = 5;
+        final Butterworth prototype = new Butterworth();
+        prototype.highPass(5, 1.0, F_CUT_LOW, directFormType);
+        final MultiChannelCascade multiChannel = new MultiChannelCascade(prototype, nChannels);
+        assertEquals(nChannels, multiChannel.getNumberOfChannels());
+        assertEquals(prototype.getNumBiquads(), multiChannel.getNumberOfBiquads());
+        assertEquals(directFormType, multiChannel.getDirectFormType());
+
+        final double[][] input = new double[nChannels][];
+        final double[][] expected = new double[nChannels][N_SAMPLES];
+        for (int channel = 0; channel < nChannels; channel++) {
+            input[channel] = generateNoise(N_SAMPLES);
+            prototype.reset();
+            for (int i = 0; i < N_SAMPLES; i++) {
+                expected[channel][i] = prototype.filter(input[channel][i]);
+            }
+        }
+
+        for (final int startThreads : new int[] { Integer.MAX_VALUE, 1 }) {
+            multiChannel.reset();
+            multiChannel.setStartThreads(startThreads);
+            assertEquals(startThreads, multiChannel.getStartThreads());
+            final double[][] output = new double[nChannels][N_SAMPLES];
+            multiChannel.filter(input, output, 0, 100);
+            multiChannel.filter(input, output, 100, N_SAMPLES - 100);
+            for (int channel = 0; channel < nChannels; channel++) {
+                assertArrayEquals(expected[channel], output[channel], "channel " + channel);
+            }
+        }
+
+        // single channel reset
+        multiChannel.reset(2);
+        final double[] channel2 = new double[N_SAMPLES];
+        multiChannel.filter(2, input[2], channel2, 0, N_SAMPLES);
+        assertArrayEquals(expected[2], channel2);
+
+        assertThrows(IllegalArgumentException.class, () -> new MultiChannelCascade(prototype, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> multiChannel.reset(nChannels));
+        assertThrows(IllegalArgumentException.class, () -> multiChannel.setStartThreads(0));
+    }
+
+    @Test
+    public void testIirFilterDataSet() {
+        final int capacity = 200;
+        final int nTotal = 600;
+        final double[] input = generateNoise(nTotal);
+        final Butterworth reference = new Butterworth();
+        reference.lowPass(4, 1.0, F_CUT_LOW);
+        final double[] expected = new double[nTotal];
+        for (int i = 0; i < nTotal; i++) {
+            expected[i] = reference.filter(input[i]);
+        }
+
+        final CircularDoubleErrorDataSet source = new CircularDoubleErrorDataSet("source", capacity);
+        final Butterworth filter = new Butterworth();
+        filter.lowPass(4, 1.0, F_CUT_LOW);
+        final IirFilterDataSet filtered = new IirFilterDataSet("IIR", filter, source);
+        assertEquals(filter, filtered.getFilter());
+
+        // appends in chunks of varying size, up to the full source capacity in between two updates
+        int index = 0;
+        for (final int chunk : new int[] { 1, 50, 149, 30, 200, 20, 150 }) {
+            for (int i = index; i < index + chunk; i++) {
+                source.add(i, input[i], 0.0, 0.0);
+            }
+            index += chunk;
+            final double lastX = index - 1.0;
+            Awaitility.await().until(() -> filtered.getLastX() == lastX);
+            filtered.lock().readLockGuard(() -> {
+                assertEquals(source.getDataCount(), filtered.getDataCount());
+                for (int i = 0; i < filtered.getDataCount(); i++) {
+                    final int sample = (int) filtered.get(DIM_X, i);
+                    assertEquals(source.get(DIM_X, i), sample);
+                    assertEquals(expected[sample], filtered.get(DIM_Y, i), "sample " + sample);
+                }
+            });
+        }
+        assertEquals(nTotal, index);
+
+        // restart of the source -> re-filtered from scratch
+        source.reset();
+        reference.reset();
+        for (int i = 0; i < 10; i++) {
+            source.add(i, input[i], 0.0, 0.0);
+        }
+        Awaitility.await().until(() -> filtered.getLastX() == 9.0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(reference.filter(input[i]), filtered.get(DIM_Y, i));
+        }
+        assertEquals(10, filtered.getDataCount());
+    }
+
     @DisplayName("Bessel - Band-Stop")
     @ParameterizedTest(name = "{displayName}: filter-order: {0}, algorithm: {1}")
     @CsvSource({ "2, 0", "3, 0", "4, 0", "2, 1", "3, 1", "4, 1", "2, 2", "3, 2", "4, 2" })
@@ -545,6 +684,15 @@ public class IirFilterTests {
         return DataSetMath.normalisedMagnitudeSpectrumDecibel(filteredDataSet);
     }
 
+    private static double[] generateNoise(final int nSamples) {
+        final Random random = new Random(nSamples);
+        final double[] noise = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            noise[i] = random.nextGaussian();
+        }
+        return noise;
+    }
+
     private static DataSet generateDemoDataSet() {
         // generate some random samples
         final double[] xValues = new double[N_SAMPLES];
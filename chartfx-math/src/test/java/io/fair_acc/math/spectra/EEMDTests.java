@@ -2,9 +2,17 @@ package io.fair_acc.math.spectra;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
+import io.fair_acc.math.matrix.MatrixD;
+
 public class EEMDTests {
     @Test
     public void extremeTest() {
@@ -23,4 +31,55 @@ public class EEMDTests {
         assertArrayEquals(new double[] { 0, 4, 0, 0, 0, 0, 0, 0, 0, 0 }, spmin[0]);
         assertArrayEquals(new double[] { 1, 1, 0, 0, 0, 0, 0, 0, 0, 0 }, spmin[1]);
     }
+
+    @Test
+    public void ensembleDeterminismTest() throws Exception {
+        final double[] data = new double[128];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Math.sin(2 * Math.PI * i / 16.0) + 0.5 * Math.sin(2 * Math.PI * i / 64.0);
+        }
+        final EEMD eemd = new EEMD();
+        final MatrixD reference = eemd.eemd(data, 0.2, 5, 42);
+        assertEquals(100, eemd.getStatus());
+        assertFalse(eemd.isBusy());
+        for (int i = 0; i < data.length; i++) {
+            assertEquals(data[i], reference.get(i, 0));
+        }
+
+        // bit-identical results independent of the number of threads
+        for (final int nThreads : new int[] { 1, 3 }) {
+            final ForkJoinPool pool = new ForkJoinPool(nThreads);
+            try {
+                final MatrixD result = pool.submit(() -> new EEMD().eemd(data, 0.2, 5, 42)).get();
+                for (int i = 0; i < data.length; i++) {
+                    assertArrayEquals(reference.getArray()[i], result.getArray()[i], 0.0, "threads = " + nThreads);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        final MatrixD other = eemd.eemd(data, 0.2, 5, 43);
+        assertFalse(Arrays.deepEquals(reference.getArray(), other.getArray()));
+        assertThrows(IllegalArgumentException.class, () -> eemd.eemd(data, 0.2, 0));
+    }
+
+    @Test
+    public void spectrumAmplitudeInvarianceTest() {
+        final double[] data = new double[128];
+        final double[] scaled = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Math.sin(2 * Math.PI * i / 16.0) + 0.5 * Math.sin(2 * Math.PI * i / 64.0);
+            scaled[i] = 64.0 * data[i]; // N.B. power of two -> identical normalised data
+        }
+        final double[][] reference = new EEMD().getSpectrumArray(data, data.length, data.length / 2);
+        final double[][] spectrum = new EEMD().getSpectrumArray(scaled, data.length, data.length / 2);
+        assertEquals(reference.length, spectrum.length);
+        boolean finite = false;
+        for (int i = 0; i < reference.length; i++) {
+            assertArrayEquals(reference[i], spectrum[i], "row " + i);
+            finite |= Arrays.stream(reference[i]).anyMatch(Double::isFinite);
+        }
+        assertTrue(finite, "spectrum must not be fully clipped");
+    }
 }
@@ -0,0 +1,183 @@
+package io.fair_acc.math.spectra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.fair_acc.dataset.spi.CircularDoubleErrorDataSet;
+import io.fair_acc.dataset.utils.DoubleCircularBuffer;
+
+/**
+ * Unit-Tests of {@link StreamingSpectrogramDataSet} against the non-streaming {@link ShortTimeFourierTransform}
+ */
+class StreamingSpectrogramDataSetTests {
+    private static final int N_SAMPLES = 5000;
+    private static final int N_FFT = 256;
+    private static final int N_HISTORY = 20;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 64, 100, 300 })
+    void testAgainstBatchTransform(final int step) {
+        final double[] signal = getSignal();
+        final double[] reference = ShortTimeFourierTransform.real(signal, null, N_FFT, step, Apodization.Hann, ShortTimeFourierTransform.Padding.ZERO, false, true);
+        final int nFrames = (N_SAMPLES - N_FFT) / step + 1;
+
+        final StreamingSpectrogramDataSet spectrogram = new StreamingSpectrogramDataSet("test", N_FFT, step, N_HISTORY, Apodization.Hann, false, true);
+        spectrogram.setSamplingPeriod(0.5);
+        final Random rnd = new Random(42);
+        int totalFrames = 0;
+        for (int offset = 0; offset < N_SAMPLES;) {
+            final int length = Math.min(rnd.nextInt(3 * N_FFT), N_SAMPLES - offset);
+            totalFrames += spectrogram.add(signal, offset, length);
+            offset += length;
+        }
+        assertEquals(nFrames, totalFrames);
+        assertSpectrogram(reference, nFrames, step, 0.5, spectrogram);
+    }
+
+    @Test
+    void testCircularBufferInput() {
+        final double[] signal = getSignal();
+        final int step = 50;
+        final double[] reference = ShortTimeFourierTransform.real(signal, null, N_FFT, step, Apodization.Hann, ShortTimeFourierTransform.Padding.ZERO, true, false);
+        final int nFrames = (N_SAMPLES - N_FFT) / step + 1;
+
+        final StreamingSpectrogramDataSet spectrogram = new StreamingSpectrogramDataSet("test", N_FFT, step, N_HISTORY, Apodization.Hann, true, false);
+        final DoubleCircularBuffer buffer = new DoubleCircularBuffer(1000);
+        double[] amplitudeData = null;
+        for (int offset = 0; offset < N_SAMPLES; offset += 125) {
+            buffer.put(signal, offset, 125);
+            spectrogram.add(buffer);
+            if (spectrogram.getShape(DIM_Y) == N_HISTORY) {
+                // steady state: arrays are re-used
+                amplitudeData = amplitudeData == null ? spectrogram.getValues(DIM_Z) : amplitudeData;
+                assertSame(amplitudeData, spectrogram.getValues(DIM_Z));
+            }
+        }
+        assertSpectrogram(reference, nFrames, step, 1.0, spectrogram);
+
+        // buffer overrun: lost samples advance the time axis but the window is no longer contiguous
+        buffer.put(new double[2500], 2500);
+        assertEquals((N_SAMPLES + 1000 - N_FFT) / step + 1 - nFrames, spectrogram.add(buffer));
+        // last slice starts at consumed sample 5700, i.e. sample 7200 including the 1500 lost samples
+        assertEquals(7200.0, spectrogram.getGrid(DIM_Y, N_HISTORY - 1), 1e-9);
+
+        // buffer reset -> spectrogram restarts
+        buffer.reset();
+        buffer.put(signal, 0, N_FFT);
+        assertEquals(1, spectrogram.add(buffer));
+        assertTrue(Double.isNaN(spectrogram.get(DIM_Z, 0, 0)));
+    }
+
+    @Test
+    void testDataSetInput() {
+        final double[] signal = getSignal();
+        final int step = 128;
+        final double[] reference = ShortTimeFourierTransform.real(signal, null, N_FFT, step, Apodization.Hann, ShortTimeFourierTransform.Padding.ZERO, false, true);
+        final int nFrames = (N_SAMPLES - N_FFT) / step + 1;
+
+        final CircularDoubleErrorDataSet source = new CircularDoubleErrorDataSet("source", 700);
+        final StreamingSpectrogramDataSet spectrogram = new StreamingSpectrogramDataSet("test", N_FFT, step, N_HISTORY, Apodization.Hann, false, true);
+        final double[] zero = new double[N_SAMPLES];
+        final double[] time = new double[N_SAMPLES];
+        Arrays.setAll(time, i -> 1e-3 * i);
+        for (int offset = 0; offset < N_SAMPLES; offset += 500) {
+            source.add(Arrays.copyOfRange(time, offset, offset + 500), Arrays.copyOfRange(signal, offset, offset + 500), zero, zero);
+            spectrogram.add(source);
+            assertEquals(0, spectrogram.add(source), "no new samples");
+        }
+        assertSpectrogram(reference, nFrames, step, 1e-3, spectrogram);
+        assertEquals(0.5 / 1e-3, spectrogram.getAxisDescription(DIM_X).getMax(), 1.0 / 1e-3 / N_FFT + 1e-6);
+
+        // time going backwards -> spectrogram restarts
+        source.reset();
+        source.add(Arrays.copyOf(time, N_FFT), Arrays.copyOf(signal, N_FFT), zero, zero);
+        assertEquals(1, spectrogram.add(source));
+        assertEquals(0.0, spectrogram.getGrid(DIM_Y, N_HISTORY - 1), 1e-12);
+    }
+
+    @Test
+    void testSourceUpdates() {
+        final CircularDoubleErrorDataSet source = new CircularDoubleErrorDataSet("source", 1000);
+        final StreamingSpectrogramDataSet spectrogram = new StreamingSpectrogramDataSet("test", source, N_FFT, N_FFT, N_HISTORY, Apodization.Hann, false, true);
+        assertSame(source, spectrogram.getSource());
+        final double[] signal = getSignal();
+        final double[] time = new double[N_FFT];
+        Arrays.setAll(time, i -> i);
+        spectrogram.getBitState().clear();
+        source.add(time, Arrays.copyOf(signal, N_FFT), new double[N_FFT], new double[N_FFT]);
+        Awaitility.await().until(() -> spectrogram.getBitState().isDirty());
+        Awaitility.await().until(() -> spectrogram.getShape(DIM_Y) == N_HISTORY);
+        assertEquals(0.0, spectrogram.getGrid(DIM_Y, N_HISTORY - 1));
+        spectrogram.deregisterListener();
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingSpectrogramDataSet("test", 2, 1, 1, Apodization.Hann, false, false));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingSpectrogramDataSet("test", 8, 0, 1, Apodization.Hann, false, false));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingSpectrogramDataSet("test", 8, 1, 0, Apodization.Hann, false, false));
+        final StreamingSpectrogramDataSet spectrogram = new StreamingSpectrogramDataSet("test", 8, 1, 1, Apodization.Hann, false, false);
+        assertThrows(IllegalArgumentException.class, () -> spectrogram.add(new double[4], 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> spectrogram.setSamplingPeriod(0.0));
+        assertEquals(0, spectrogram.add(new double[7], 0, 7));
+        assertArrayEquals(new int[] { 0, 0 }, spectrogram.getShape());
+        assertEquals(1, spectrogram.add(new double[1], 0, 1));
+        assertArrayEquals(new int[] { 4, 1 }, spectrogram.getShape());
+        spectrogram.reset();
+        assertArrayEquals(new int[] { 0, 0 }, spectrogram.getShape());
+    }
+
+    private static void assertSpectrogram(final double[] reference, final int nFrames, final int step, final double dt, final StreamingSpectrogramDataSet spectrogram) {
+        final int nFreq = N_FFT / 2;
+        assertArrayEquals(new int[] { nFreq, N_HISTORY }, spectrogram.getShape());
+        final double[] amplitudeData = spectrogram.getValues(DIM_Z);
+        for (int row = 0; row < N_HISTORY; row++) {
+            final int frame = nFrames - N_HISTORY + row;
+            if (frame < 0) {
+                assertTrue(Double.isNaN(amplitudeData[row * nFreq]), "unfilled row " + row);
+                continue;
+            }
+            assertEquals(frame * step * dt, spectrogram.getGrid(DIM_Y, row), 1e-9, "time of row " + row);
+            for (int bin = 0; bin < nFreq; bin++) {
+                assertEquals(reference[frame * nFreq + bin], amplitudeData[row * nFreq + bin], 1e-9, "row " + row + " bin " + bin);
+            }
+        }
+        for (int row = 1; row < N_HISTORY; row++) {
+            assertTrue(spectrogram.getGrid(DIM_Y, row) > spectrogram.getGrid(DIM_Y, row - 1), "monotonic time axis");
+        }
+        assertEquals(0.0, spectrogram.getGrid(DIM_X, 0));
+        assertEquals(1.0 / dt / N_FFT, spectrogram.getGrid(DIM_X, 1), 1e-9);
+        double zMin = Double.POSITIVE_INFINITY;
+        double zMax = Double.NEGATIVE_INFINITY;
+        for (final double value : amplitudeData) {
+            zMin = Double.isNaN(value) ? zMin : Math.min(zMin, value);
+            zMax = Double.isNaN(value) ? zMax : Math.max(zMax, value);
+        }
+        assertEquals(zMin, spectrogram.getAxisDescription(DIM_Z).getMin());
+        assertEquals(zMax, spectrogram.getAxisDescription(DIM_Z).getMax());
+    }
+
+    private static double[] getSignal() {
+        final Random rnd = new Random(1234);
+        final double[] signal = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            signal[i] = Math.sin(2 * Math.PI * (0.05 + 1e-5 * i) * i) + 0.1 * rnd.nextGaussian();
+        }
+        return signal;
+    }
+}
@@ -0,0 +1,89 @@
+package io.fair_acc.math.spectra.fft;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jtransforms.fft.DoubleFFT_1D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit-Tests of {@link FftPlanCache}
+ */
+class FftPlanCacheTests {
+    @Test
+    void testPlanCaching() {
+        final FftPlanCache cache = new FftPlanCache(3);
+        assertEquals(3, cache.getCapacity());
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new FftPlanCache(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.getDoubleFFT(0));
+
+        final DoubleFFT_1D plan16 = cache.getDoubleFFT(16);
+        assertSame(plan16, cache.getDoubleFFT(16));
+        cache.getFloatFFT(16);
+        assertEquals(2, cache.size());
+
+        // least-recently-used plans are evicted first
+        cache.getDoubleFFT(32);
+        cache.getDoubleFFT(64);
+        assertSame(plan16, cache.getDoubleFFT(16));
+        cache.getDoubleFFT(128); // evicts 32
+        assertEquals(4, cache.size());
+        assertSame(plan16, cache.getDoubleFFT(16));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(plan16, cache.getDoubleFFT(16));
+    }
+
+    @Test
+    void testWorkBuffers() {
+        final double[] buffer = FftPlanCache.getWorkBuffer(0, 10);
+        assertEquals(10, buffer.length);
+        assertSame(buffer, FftPlanCache.getWorkBuffer(0, 10));
+        assertNotSame(buffer, FftPlanCache.getWorkBuffer(1, 10));
+        assertEquals(12, FftPlanCache.getWorkBuffer(0, 12).length);
+        assertThrows(IndexOutOfBoundsException.class, () -> FftPlanCache.getWorkBuffer(FftPlanCache.N_WORK_BUFFERS, 10));
+        assertThrows(IllegalArgumentException.class, () -> FftPlanCache.getWorkBuffer(0, -1));
+    }
+
+    @Test
+    void testConcurrentUse() throws InterruptedException, ExecutionException {
+        final int n = 1000; // N.B. non-power-of-two size
+        final double[] reference = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            reference[i] = Math.sin(0.1 * i);
+        }
+        new DoubleFFT_1D(n).realForwardFull(reference);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<double[]>> results = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                results.add(executor.submit(() -> {
+                    final double[] buffer = FftPlanCache.getWorkBuffer(0, 2 * n);
+                    for (int i = 0; i < n; i++) {
+                        buffer[i] = Math.sin(0.1 * i);
+                    }
+                    FftPlanCache.getInstance().getDoubleFFT(n).realForwardFull(buffer);
+                    return buffer.clone();
+                }));
+            }
+            for (final Future<double[]> result : results) {
+                assertArrayEquals(reference, result.get(), 1e-9);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.fair_acc.math.spectra.fft;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.math.spectra.dtft.DiscreteTimeFourierTransform;
+import io.fair_acc.math.spectra.lomb.LombPeriodogram;
+
+/**
+ * Unit-Tests of {@link NonUniformFFT} and the fast {@link LombPeriodogram} and {@link DiscreteTimeFourierTransform}
+ */
+class NonUniformFFTTests {
+    private static final int N_SAMPLES = 1000;
+    private final double[] time = new double[N_SAMPLES];
+    private final double[] value = new double[N_SAMPLES];
+
+    NonUniformFFTTests() {
+        // unevenly sampled data with gaps
+        final Random random = new Random(42);
+        double t = 3.0;
+        for (int i = 0; i < N_SAMPLES; i++) {
+            t += 0.5 + random.nextDouble() * (i % 100 == 0 ? 20.0 : 0.5);
+            time[i] = t;
+            value[i] = Math.sin(2 * Math.PI * 0.11 * t) + 0.3 * Math.cos(2 * Math.PI * 0.37 * t) + 0.1 * random.nextGaussian();
+        }
+    }
+
+    @Test
+    void testTransformErrorBound() {
+        final int m = 300;
+        final double f0 = 0.013;
+        final double df = 0.0017;
+        double sumAbs = 0.0;
+        for (final double v : value) {
+            sumAbs += Math.abs(v);
+        }
+
+        final double[] real = new double[m];
+        final double[] imag = new double[m];
+        for (final int oversampling : new int[] { 4, 8, 16, 32 }) {
+            NonUniformFFT.transform(time, value, f0, df, real, imag, m, oversampling);
+            final double bound = NonUniformFFT.getErrorBound(oversampling) * sumAbs;
+            for (int k = 0; k < m; k++) {
+                final double omega = 2 * Math.PI * (f0 + k * df);
+                double re = 0.0;
+                double im = 0.0;
+                for (int j = 0; j < time.length; j++) {
+                    re += value[j] * Math.cos(omega * time[j]);
+                    im += value[j] * Math.sin(omega * time[j]);
+                }
+                assertEquals(re, real[k], bound, "real, oversampling = " + oversampling + " k = " + k);
+                assertEquals(im, imag[k], bound, "imag, oversampling = " + oversampling + " k = " + k);
+            }
+        }
+        assertEquals(1.79e-5, NonUniformFFT.getErrorBound(16), 1e-7);
+
+        assertTrue(NonUniformFFT.isUniform(new double[] { 0.0, 0.1, 0.2, 0.3 }));
+        assertFalse(NonUniformFFT.isUniform(new double[] { 0.0, 0.1, 0.25, 0.3 }));
+        assertFalse(NonUniformFFT.isUniform(new double[] { 0.3, 0.2, 0.1 }));
+        assertFalse(NonUniformFFT.isUniform(new double[] { 0.3 }));
+        assertThrows(IllegalArgumentException.class, () -> NonUniformFFT.transform(time, value, f0, df, real, imag, m, 1));
+        assertThrows(IllegalArgumentException.class, () -> NonUniformFFT.transform(time, value, f0, df, real, imag, m + 1, 8));
+    }
+
+    @Test
+    void testFastLombPeriodogram() {
+        final double[] frequencies = LombPeriodogram.computeFrequencyRange(time);
+        final double[] exact = LombPeriodogram.computePeridodogram(time, value, frequencies);
+        assertArrayEquals(exact, LombPeriodogram.computePeridodogram(time, value, frequencies, LombPeriodogram.EXACT));
+
+        final double[] fast = LombPeriodogram.computePeridodogram(time, value, frequencies, NonUniformFFT.DEFAULT_OVERSAMPLING);
+        assertEquals(exact.length, fast.length);
+        int peakExact = 0;
+        int peakFast = 0;
+        for (int i = 0; i < exact.length; i++) {
+            assertEquals(exact[i], fast[i], 1e-3 * (1.0 + exact[i]), "frequency index " + i);
+            peakExact = exact[i] > exact[peakExact] ? i : peakExact;
+            peakFast = fast[i] > fast[peakFast] ? i : peakFast;
+        }
+        assertEquals(peakExact, peakFast);
+        assertEquals(0.11, frequencies[peakFast], 2 * (frequencies[1] - frequencies[0]));
+
+        // non-uniform test frequencies fall back to the direct evaluation
+        final double[] sparse = { 0.05, 0.11, 0.2, 0.37 };
+        assertArrayEquals(LombPeriodogram.computePeridodogram(time, value, sparse), LombPeriodogram.computePeridodogram(time, value, sparse, 16));
+    }
+
+    @Test
+    void testFastDiscreteTimeFourierTransform() {
+        final DiscreteTimeFourierTransform dtft = new DiscreteTimeFourierTransform();
+        final double[] frequencies = dtft.computeFrequencyRange(time);
+        final double[] exact = dtft.computeMagnitudeSpectrum(time, value, frequencies);
+        final double[] fast = dtft.computeMagnitudeSpectrum(time, value, frequencies, 8);
+        double sumAbs = 0.0;
+        for (final double v : value) {
+            sumAbs += Math.abs(v);
+        }
+        // |dF| <= sqrt(2) * eps * sum|w|, magnitude scaled by 2/N
+        final double tolerance = 2.0 * Math.sqrt(2.0) * NonUniformFFT.getErrorBound(8) * sumAbs / N_SAMPLES;
+        assertArrayEquals(exact, fast, tolerance);
+    }
+}
@@ -0,0 +1,200 @@
+package io.fair_acc.math.spectra.wavelet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+import io.fair_acc.math.MathBase;
+import io.fair_acc.math.spectra.Convolution;
+
+/**
+ * Unit-Tests of the {@link ContinuousWavelet} scalograms and the {@link MorletFilterBank}
+ */
+class ContinuousWaveletTests {
+    private static final int N_SAMPLES = 256;
+    private static final int N_QUANT_X = 128;
+    private static final int N_QUANT_Y = 64;
+    private static final double NU = 3.0;
+    private static final double F_MIN = 0.0;
+    private static final double F_MAX = 0.4;
+
+    @Test
+    void testFilterBank() {
+        MorletFilterBank.clearCache();
+        final MorletFilterBank bank = MorletFilterBank.getCached(N_SAMPLES, NU, N_QUANT_Y, 2, 10);
+        assertSame(bank, MorletFilterBank.getCached(N_SAMPLES, NU, N_QUANT_Y, 2, 10));
+        assertNotSame(bank, MorletFilterBank.getCached(N_SAMPLES, NU + 1, N_QUANT_Y, 2, 10));
+        assertEquals(2, MorletFilterBank.getCacheSize());
+        assertEquals(N_SAMPLES, bank.getLength());
+        assertEquals(0.5 * 5 / N_QUANT_Y, bank.getFrequency(5));
+
+        // equivalent to the complex multiplication with the full filter
+        final double[] spectrum = new double[2 * N_SAMPLES];
+        for (int i = 0; i < spectrum.length; i++) {
+            spectrum[i] = Math.sin(0.3 * i) + 0.1 * i;
+        }
+        final double[] expected = spectrum.clone();
+        Convolution.complexMultiply(expected, Convolution.getMorletFilter(N_SAMPLES, bank.getFrequency(5), NU));
+        final double[] actual = new double[spectrum.length];
+        bank.multiply(spectrum, 5, actual);
+        assertArrayEquals(expected, actual);
+
+        assertThrows(IllegalArgumentException.class, () -> new MorletFilterBank(100, NU, N_QUANT_Y, 0, 1));
+    }
+
+    @Test
+    void testFilterBankCacheBounds() {
+        assertEquals(MorletFilterBank.DEFAULT_CACHE_CAPACITY, MorletFilterBank.getCacheCapacity());
+        assertEquals(MorletFilterBank.DEFAULT_MAX_CACHED_BANK_BYTES, MorletFilterBank.getMaxCachedBankBytes());
+        final long bankBytes = 10L * 64 * Double.BYTES;
+        try {
+            MorletFilterBank.clearCache();
+            MorletFilterBank.setCacheCapacity(4 * bankBytes);
+            // bounded by bytes, least-recently-used banks are evicted
+            final MorletFilterBank first = MorletFilterBank.getCached(64, NU, N_QUANT_Y, 0, 10);
+            assertEquals(bankBytes, first.getBytes());
+            for (int i = 1; i < 8; i++) {
+                MorletFilterBank.getCached(64, NU, N_QUANT_Y, i, i + 10);
+                assertTrue(MorletFilterBank.getCacheBytes() <= 4 * bankBytes);
+            }
+            assertEquals(4, MorletFilterBank.getCacheSize());
+            assertEquals(4 * bankBytes, MorletFilterBank.getCacheBytes());
+            assertNotSame(first, MorletFilterBank.getCached(64, NU, N_QUANT_Y, 0, 10));
+
+            // banks above the size limit are not cached
+            MorletFilterBank.setMaxCachedBankBytes(bankBytes - 1);
+            final MorletFilterBank large = MorletFilterBank.getCached(64, NU, N_QUANT_Y, 20, 30);
+            assertNotSame(large, MorletFilterBank.getCached(64, NU, N_QUANT_Y, 20, 30));
+            assertEquals(4, MorletFilterBank.getCacheSize());
+
+            // filters are computed lazily and kept
+            final double[] kernel = large.getKernel(25);
+            assertSame(kernel, large.getKernel(25));
+            assertArrayEquals(kernel, new MorletFilterBank(64, NU, N_QUANT_Y, 20, 30).getKernel(25));
+
+            MorletFilterBank.setCacheCapacity(0);
+            assertEquals(0, MorletFilterBank.getCacheSize());
+            assertEquals(0, MorletFilterBank.getCacheBytes());
+            assertThrows(IllegalArgumentException.class, () -> MorletFilterBank.setCacheCapacity(-1));
+        } finally {
+            MorletFilterBank.setCacheCapacity(MorletFilterBank.DEFAULT_CACHE_CAPACITY);
+            MorletFilterBank.setMaxCachedBankBytes(MorletFilterBank.DEFAULT_MAX_CACHED_BANK_BYTES);
+        }
+    }
+
+    @Test
+    void testScalogramMatchesConvolution() {
+        final double[] data = createData(0.1);
+        final double[][] scalogram = new ContinuousWavelet().getScalogramArrayFourier(data, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX);
+        final double[][] reference = referenceScalogram(data);
+        assertEquals(reference.length, scalogram.length);
+        for (int j = 0; j < reference.length; j++) {
+            assertArrayEquals(reference[j], scalogram[j], "row " + j);
+        }
+    }
+
+    @Test
+    void testStatelessScalogram() throws Exception {
+        final double[] data = createData(0.1);
+        final DoubleGridDataSet scalogram = ContinuousWavelet.computeScalogram(data, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX, null);
+        assertArrayEquals(new int[] { N_QUANT_X, (int) Math.floor(N_QUANT_Y * (F_MAX - F_MIN) / 0.5) + 1 }, scalogram.getShape());
+        final double[][] reference = new ContinuousWavelet().getScalogramArrayFourier(data, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX);
+        for (int j = 0; j < reference.length; j++) {
+            for (int i = 0; i < N_QUANT_X; i++) {
+                assertEquals(reference[j][i], scalogram.get(DataSet.DIM_Z, i, j));
+            }
+        }
+
+        // re-use of the existing arrays for the same shape
+        final double[] values = scalogram.getValues(DataSet.DIM_Z);
+        final double[] timeAxis = scalogram.getGridValues(DataSet.DIM_X);
+        final double[] other = createData(0.2);
+        assertSame(scalogram, ContinuousWavelet.computeScalogram(other, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX, scalogram));
+        assertSame(values, scalogram.getValues(DataSet.DIM_Z));
+        assertSame(timeAxis, scalogram.getGridValues(DataSet.DIM_X));
+        final double[][] reference2 = new ContinuousWavelet().getScalogramArrayFourier(other, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX);
+        assertEquals(reference2[3][7], scalogram.get(DataSet.DIM_Z, 7, 3));
+
+        // different shape -> re-initialised
+        ContinuousWavelet.computeScalogram(other, N_QUANT_X / 2, N_QUANT_Y, NU, F_MIN, F_MAX, scalogram);
+        assertEquals(N_QUANT_X / 2, scalogram.getShape(DataSet.DIM_X));
+
+        // concurrent channels
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<DoubleGridDataSet>> results = new ArrayList<>();
+            for (int channel = 0; channel < 8; channel++) {
+                final double[] channelData = createData(0.1);
+                results.add(executor.submit(() -> ContinuousWavelet.computeScalogram(channelData, N_QUANT_X, N_QUANT_Y, NU, F_MIN, F_MAX, null)));
+            }
+            for (final Future<DoubleGridDataSet> result : results) {
+                assertArrayEquals(scalogramValues(reference), result.get().getValues(DataSet.DIM_Z));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThrows(InvalidParameterException.class, () -> ContinuousWavelet.computeScalogram(data, N_QUANT_X, N_QUANT_Y, NU, 0.3, 0.2, null));
+        assertTrue(MorletFilterBank.getCacheSize() > 0);
+    }
+
+    private static double[] createData(final double frequency) {
+        final double[] data = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            data[i] = Math.sin(MathBase.TWO_PI * frequency * i) + (i > N_SAMPLES / 2 ? Math.sin(MathBase.TWO_PI * 0.3 * i) : 0.0);
+        }
+        return data;
+    }
+
+    /**
+     * the former per-scale implementation with {@link Convolution#transformFull(double[], double[], boolean)}
+     */
+    private static double[][] referenceScalogram(final double[] data) {
+        final int nQuantyInternal = (int) Math.floor(N_QUANT_Y * (F_MAX - F_MIN) / 0.5) + 1;
+        final double[][] ret = new double[nQuantyInternal][N_QUANT_X];
+        final int min = (int) (2 * F_MIN * N_QUANT_Y);
+        final int max = (int) (2 * F_MAX * N_QUANT_Y);
+        final int filterDim = N_SAMPLES;
+        final Convolution convolution = new Convolution();
+        for (int j = min; j < max; j++) {
+            final double f0 = 0.5 * j / N_QUANT_Y;
+            final double[] wtransformed = convolution.transformFull(data, Convolution.getMorletFilter(filterDim, f0, NU), true);
+            final int nbin = filterDim / N_QUANT_X;
+            for (int i = 0; i < N_QUANT_X; i++) {
+                if (f0 == 0) {
+                    ret[j - min][i] = Double.NaN;
+                    continue;
+                }
+                final int i2 = (i * nbin) << 1;
+                double power = 0.0;
+                for (int l = 0; l < nbin; l++) {
+                    power += MathBase.sqr(wtransformed[i2 + 2 * l]) + MathBase.sqr(wtransformed[i2 + 2 * l + 1]);
+                }
+                ret[j - min][i] = 10 * MathBase.log10(power / nbin + 1e-99);
+            }
+        }
+        return ret;
+    }
+
+    private static double[] scalogramValues(final double[][] scalogram) {
+        final double[] values = new double[scalogram.length * N_QUANT_X];
+        for (int j = 0; j < scalogram.length; j++) {
+            System.arraycopy(scalogram[j], 0, values, j * N_QUANT_X, N_QUANT_X);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,114 @@
+package io.fair_acc.sample.dataset;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.bench.DurationMeasure;
+import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.TimeMeasure;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.CircularDoubleErrorDataSet;
+
+/**
+ * Benchmark of the writer latency (duration of a single {@code add(..)} including acquiring the lock and publishing a
+ * snapshot) of a 10 kHz acquisition thread while a simulated chart redraws the data set at 60 Hz. The chart either
+ * read-locks the data set for the whole frame (default behaviour) or renders the latest immutable snapshot (opt-in
+ * snapshot mode).
+ */
+@SuppressWarnings("PMD") // this class tests possible performance bottle-necks
+// not code style/readability
+public class SnapshotDataSetBenchmarkSample {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotDataSetBenchmarkSample.class);
+    private static final int N_SAMPLES = 100_000;
+    private static final long WRITER_PERIOD_NANOS = TimeUnit.MICROSECONDS.toNanos(100); // 10 kHz
+    private static final long FRAME_PERIOD_NANOS = TimeUnit.MICROSECONDS.toNanos(16_667); // 60 Hz
+    private static final long FRAME_DRAW_NANOS = TimeUnit.MILLISECONDS.toNanos(8); // typical layout and draw time
+    private static final long TEST_DURATION_MILLIS = 5_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (final boolean snapshotMode : new boolean[] { false, true, false, true }) {
+            final Histogram latency = measureWriterLatency(snapshotMode);
+            LOGGER.atInfo().log(String.format("snapshotMode = %5s: writer latency [us] p50 = %6d p99 = %6d p99.9 = %6d max = %6d (n = %d)", //
+                    snapshotMode, latency.getValueAtPercentile(50.0), latency.getValueAtPercentile(99.0), //
+                    latency.getValueAtPercentile(99.9), latency.getMaxValue(), latency.getTotalCount()));
+        }
+    }
+
+    private static Histogram measureWriterLatency(final boolean snapshotMode) throws InterruptedException {
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", N_SAMPLES);
+        dataSet.setSnapshotMode(snapshotMode);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, Math.sin(0.001 * i), 0.1, 0.1);
+        }
+
+        // N.B. only the single writer thread records into the histogram
+        final Histogram histogram = new Histogram(TimeUnit.SECONDS.toMicros(10), 3);
+        final MeasurementRecorder recorder = (tag, level) -> (TimeMeasure) (unit, time) -> histogram.recordValue(Math.max(0, unit.toMicros(time)));
+        final DurationMeasure writerLatency = recorder.newDuration("writer-add");
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread chart = new Thread(() -> {
+            long nextFrame = System.nanoTime();
+            while (running.get()) {
+                // simulated layout and draw of all points
+                if (snapshotMode) {
+                    simulateDraw(dataSet.acquireSnapshot());
+                    dataSet.releaseSnapshot();
+                } else {
+                    dataSet.lock().readLockGuard(() -> simulateDraw(dataSet));
+                }
+                nextFrame += FRAME_PERIOD_NANOS;
+                sleepUntil(nextFrame);
+            }
+        }, "simulated-fx-thread");
+        chart.start();
+
+        final long stop = System.currentTimeMillis() + TEST_DURATION_MILLIS;
+        long nextSample = System.nanoTime();
+        int count = N_SAMPLES;
+        while (System.currentTimeMillis() < stop) {
+            writerLatency.start();
+            dataSet.add(count, Math.sin(0.001 * count), 0.1, 0.1);
+            writerLatency.stop();
+            count++;
+            nextSample += WRITER_PERIOD_NANOS;
+            sleepUntil(nextSample);
+        }
+        running.set(false);
+        chart.join();
+        return histogram;
+    }
+
+    private static double simulateDraw(final DataSet dataSet) {
+        final long stop = System.nanoTime() + FRAME_DRAW_NANOS;
+        double sum = 0.0;
+        final int nPoints = dataSet.getDataCount();
+        for (int i = 0; i < nPoints; i++) {
+            sum += dataSet.get(DataSet.DIM_X, i) + dataSet.get(DataSet.DIM_Y, i);
+        }
+        while (System.nanoTime() < stop) {
+            Thread.onSpinWait();
+        }
+        return sum;
+    }
+
+    private static void sleepUntil(final long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MILLISECONDS.toNanos(1)) {
+                try {
+                    Thread.sleep(0, 500_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}